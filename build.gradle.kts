@@ -20,6 +20,18 @@ tasks.withType(JavaCompile::class) {
     options.release.set(17)
 }
 
+// physics.BoxBatch tests boxes with the incubating Vector API; a JVM started without the module
+// falls back to a scalar loop
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(vectorModule)
+}
+
+tasks.withType<JavaExec> {
+    jvmArgs(vectorModule)
+}
+
 dependencies {
     // ---- JUnit 5 (Gradle 9 friendly) ----
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.3")
@@ -38,10 +50,12 @@ javafx {
 
 application {
     mainClass.set("com.yoad.arkanoid.App")
+    applicationDefaultJvmArgs = vectorModule
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(vectorModule)
     testLogging {
         events("FAILED", "SKIPPED")
         exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL
@@ -53,10 +67,20 @@ tasks.named<org.gradle.api.tasks.JavaExec>("run") {
     notCompatibleWithConfigurationCache("JavaFX run task touches SourceSetContainer via plugin")
 }
 
+// Headless games for soak tests / throughput; JavaFX jars are left off the classpath on purpose
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Plays simulated games without JavaFX (args: games [difficulty] [seed])."
+    mainClass.set("com.yoad.arkanoid.sim.HeadlessRunner")
+    classpath = sourceSets["main"].runtimeClasspath.filter { !it.name.startsWith("javafx") }
+    notCompatibleWithConfigurationCache("reads SourceSetContainer at configuration time")
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
 tasks.withType<Javadoc> {
     (options as StandardJavadocDocletOptions).encoding = "UTF-8"
+    (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector")
 }
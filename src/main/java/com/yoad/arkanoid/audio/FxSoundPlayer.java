@@ -0,0 +1,17 @@
+package com.yoad.arkanoid.audio;
+
+import com.yoad.arkanoid.sim.SoundCue;
+import com.yoad.arkanoid.sim.SoundPlayer;
+
+/** Plays simulation sound cues through the JavaFX {@link Sounds} clips. */
+public final class FxSoundPlayer implements SoundPlayer {
+
+    @Override
+    public void play(SoundCue cue) {
+        switch (cue) {
+            case BRICK   -> Sounds.BRICK.play();
+            case POWERUP -> Sounds.POWERUP.playRestart();
+            case LOSE    -> Sounds.LOSE.play();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.yoad.arkanoid.config;
 
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.sprites.BallSystem;
+
 import static com.yoad.arkanoid.game.Dimensions.*;
 
 /** Runtime config chosen from the main menu. */
@@ -24,6 +27,28 @@ public final class GameConfig {
     private Difficulty difficulty = Difficulty.NORMAL;
     private Theme theme = Theme.OCEAN; // default theme
 
+    // --- simulation timing (independent of the display refresh rate) ---
+    private double simulationHz = 120.0;
+    private int maxCatchUpSteps = 8;
+    private boolean simulationThread = false;
+
+    // --- balls in play at once (MULTI_BALL stops doubling here) ---
+    private int maxBalls = DEFAULT_MAX_BALLS;
+    private boolean parallelPhysics = false;
+    private boolean eventPhysics = false;
+    private boolean fixedPointPhysics = false;
+    private boolean ballCollisions = false;
+    private boolean movingBricks = false;
+    private boolean bumpers = false;
+    private boolean aimGuide = false;
+    private int trailLength = BallSystem.DEFAULT_TRAIL_LENGTH;
+    private World.Broadphase broadphase = World.Broadphase.SPATIAL_HASH;
+
+    /** Ball cap for normal play. */
+    public static final int DEFAULT_MAX_BALLS = 8;
+    /** Ball cap for chaos mode, where MULTI_BALL keeps doubling into the thousands. */
+    public static final int CHAOS_MAX_BALLS = 20_000;
+
     // --- base layout (before difficulty deltas) ---
     private static final int BASE_ROWS = 6;
     private static final int BASE_COLS = 12;
@@ -68,6 +93,64 @@ public final class GameConfig {
         };
     }
 
+    // --- simulation timing ---
+    /** Fixed simulation steps per second. */
+    public double simulationHz()            { return simulationHz; }
+    public void setSimulationHz(double hz)  { if (hz > 0) simulationHz = hz; }
+
+    /** Most steps one rendered frame may run to catch up; the rest are dropped. */
+    public int maxCatchUpSteps()            { return maxCatchUpSteps; }
+    public void setMaxCatchUpSteps(int n)   { if (n > 0) maxCatchUpSteps = n; }
+
+    /** Step the simulation on its own thread; the FX thread only draws its snapshots. */
+    public boolean simulationThread()           { return simulationThread; }
+    public void setSimulationThread(boolean on) { simulationThread = on; }
+
+    // --- balls ---
+    /** Most balls in play at once; MULTI_BALL spawns no more past this. */
+    public int maxBalls()                   { return maxBalls; }
+    public void setMaxBalls(int n)          { if (n > 0) maxBalls = n; }
+
+    /** Chaos mode: lift the ball cap to {@link #CHAOS_MAX_BALLS}. */
+    public boolean isChaos()                { return maxBalls > DEFAULT_MAX_BALLS; }
+    public void setChaos(boolean on)        { maxBalls = on ? CHAOS_MAX_BALLS : DEFAULT_MAX_BALLS; }
+
+    /** Run ball collision queries across cores; same results as the serial update. */
+    public boolean parallelPhysics()           { return parallelPhysics; }
+    public void setParallelPhysics(boolean on) { parallelPhysics = on; }
+
+    /** Skip ball collision queries until each ball's predicted contact; same results. */
+    public boolean eventPhysics()           { return eventPhysics; }
+    public void setEventPhysics(boolean on) { eventPhysics = on; }
+
+    /** Move balls in 16.16 integer math: bit-identical games on every machine. */
+    public boolean fixedPointPhysics()           { return fixedPointPhysics; }
+    public void setFixedPointPhysics(boolean on) { fixedPointPhysics = on; }
+
+    /** Balls bounce off each other instead of passing through. */
+    public boolean ballCollisions()           { return ballCollisions; }
+    public void setBallCollisions(boolean on) { ballCollisions = on; }
+
+    /** Brick rows slide, swing or circle on their own instead of standing still. */
+    public boolean movingBricks()           { return movingBricks; }
+    public void setMovingBricks(boolean on) { movingBricks = on; }
+
+    /** A round, a pill-shaped and an angled bumper stand between the bricks and the paddle. */
+    public boolean bumpers()           { return bumpers; }
+    public void setBumpers(boolean on) { bumpers = on; }
+
+    /** Draw the ball's predicted path through its next bounces (toggled in game with G). */
+    public boolean aimGuide()           { return aimGuide; }
+    public void setAimGuide(boolean on) { aimGuide = on; }
+
+    /** Positions kept per ball for its motion trail; 0 turns trails off. */
+    public int trailLength()          { return trailLength; }
+    public void setTrailLength(int n) { if (n >= 0) trailLength = n; }
+
+    /** How collision queries pick the collidables worth testing; same results either way. */
+    public World.Broadphase broadphase()           { return broadphase; }
+    public void setBroadphase(World.Broadphase b)  { if (b != null) broadphase = b; }
+
     // --- derived values ---
     /** Rows after difficulty delta (min 3). */
     public int rows() { return Math.max(3, BASE_ROWS + difficulty.rowDelta()); }
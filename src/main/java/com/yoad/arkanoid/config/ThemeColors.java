@@ -0,0 +1,34 @@
+package com.yoad.arkanoid.config;
+
+/**
+ * Brick row colors per theme as packed {@code 0xRRGGBB} values. Kept free of any UI toolkit so
+ * the simulation can build levels headless; {@code ui.ThemePalettes} turns them into FX colors.
+ */
+public final class ThemeColors {
+  private ThemeColors() {}
+
+  public static int[] brickRows(Theme t) {
+    return switch (t) {
+      case OCEAN -> new int[]{
+        0x60a5fa, 0x38bdf8, 0x22d3ee,
+        0xa78bfa, 0x7dd3fc, 0x93c5fd
+      };
+      case SUNSET -> new int[]{
+        0xfca5a5, 0xfdba74, 0xfbbf24,
+        0xf59e0b, 0xfb7185, 0xf97316
+      };
+      case NEON -> new int[]{
+        0x22d3ee, 0xa78bfa, 0xf472b6,
+        0x34d399, 0xfbbf24, 0x60a5fa
+      };
+      case FOREST -> new int[]{
+        0x4ade80, 0x22c55e, 0x10b981,
+        0x84cc16, 0xa3e635, 0x16a34a
+      };
+      case MONO -> new int[]{
+        0xe5e7eb, 0xd1d5db, 0x9ca3af,
+        0x6b7280, 0x4b5563, 0x374151
+      };
+    };
+  }
+}
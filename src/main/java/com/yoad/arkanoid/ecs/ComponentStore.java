@@ -0,0 +1,133 @@
+package com.yoad.arkanoid.ecs;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One kind of component, stored as a sparse set: a dense array of components (and the entities
+ * owning them) plus a sparse array from entity id to dense slot. Adding, removing and looking up
+ * are constant time, and a system that loops over the store touches only entities that have the
+ * component.
+ *
+ * <p>Removing swaps the last component into the freed slot, so the dense order is arbitrary. A
+ * loop may remove the component it is visiting if it walks the slots from the top down.
+ *
+ * @param <T> component type
+ */
+public final class ComponentStore<T> {
+    private int[] sparse = new int[64];   // entity -> dense slot + 1, 0 when absent
+    private int[] entities = new int[16]; // dense slot -> entity
+    private Object[] components = new Object[16];
+    private int size = 0;
+
+    private final List<T> view = new AbstractList<>() {
+        @Override
+        public T get(int i) {
+            return at(i);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    /** @return number of entities that have this component. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i dense slot, {@code 0 <= i < size()}
+     * @return the entity in that slot
+     */
+    public int entityAt(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return entities[i];
+    }
+
+    /**
+     * @param i dense slot, {@code 0 <= i < size()}
+     * @return the component in that slot
+     */
+    @SuppressWarnings("unchecked")
+    public T at(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return (T) components[i];
+    }
+
+    /** @return read-only live view of the components, in dense order. */
+    public List<T> view() {
+        return view;
+    }
+
+    /**
+     * @param entity an entity id
+     * @return {@code true} if the entity has this component
+     */
+    public boolean has(int entity) {
+        return entity >= 0 && entity < sparse.length && sparse[entity] != 0;
+    }
+
+    /**
+     * @param entity an entity id
+     * @return the entity's component, or null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int entity) {
+        return has(entity) ? (T) components[sparse[entity] - 1] : null;
+    }
+
+    /**
+     * Gives the entity this component, replacing any it had.
+     *
+     * @param entity    an entity id, not negative
+     * @param component the component
+     */
+    public void put(int entity, T component) {
+        if (entity < 0) {
+            throw new IllegalArgumentException("bad entity id: " + entity);
+        }
+        if (has(entity)) {
+            components[sparse[entity] - 1] = component;
+            return;
+        }
+        if (entity >= sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(entity + 1, sparse.length * 2));
+        }
+        if (size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+            components = Arrays.copyOf(components, size * 2);
+        }
+        entities[size] = entity;
+        components[size] = component;
+        sparse[entity] = ++size;
+    }
+
+    /**
+     * Takes the component away from the entity.
+     *
+     * @param entity an entity id
+     * @return {@code true} if it had one
+     */
+    public boolean remove(int entity) {
+        if (!has(entity)) {
+            return false;
+        }
+        int slot = sparse[entity] - 1;
+        int last = --size;
+        if (slot != last) {
+            entities[slot] = entities[last];
+            components[slot] = components[last];
+            sparse[entities[slot]] = slot + 1;
+        }
+        components[last] = null;
+        sparse[entity] = 0;
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.yoad.arkanoid.ecs;
+
+/** Constant drift of an entity's {@link Transform}, in pixels per second. */
+public final class Motion {
+    public double vx;
+    public double vy;
+
+    public Motion(double vx, double vy) {
+        this.vx = vx;
+        this.vy = vy;
+    }
+}
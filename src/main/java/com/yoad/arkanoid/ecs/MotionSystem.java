@@ -0,0 +1,23 @@
+package com.yoad.arkanoid.ecs;
+
+/** Moves every entity that has a {@link Motion} by its velocity. */
+public final class MotionSystem {
+    private MotionSystem() {}
+
+    /**
+     * @param registry the entities
+     * @param dt       step length in seconds
+     */
+    public static void update(Registry registry, double dt) {
+        ComponentStore<Motion> motions = registry.motions();
+        ComponentStore<Transform> transforms = registry.transforms();
+        for (int i = 0, n = motions.size(); i < n; i++) {
+            Transform t = transforms.get(motions.entityAt(i));
+            if (t != null) {
+                Motion m = motions.at(i);
+                t.x += m.vx * dt;
+                t.y += m.vy * dt;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.yoad.arkanoid.ecs;
+
+/**
+ * A looping route, as an offset from where it starts over simulation time. Offsets are 0 at
+ * time 0. The factories use {@link StrictMath} for their sines, so a path gives the same
+ * positions everywhere.
+ */
+public interface Path {
+    /**
+     * @param time simulation time in seconds
+     * @return horizontal offset from the start, in pixels
+     */
+    double offsetX(double time);
+
+    /**
+     * @param time simulation time in seconds
+     * @return vertical offset from the start, in pixels
+     */
+    double offsetY(double time);
+
+    /**
+     * Out to {@code (dx, dy)} and back in a straight line at constant speed.
+     * @param dx     farthest offset x
+     * @param dy     farthest offset y
+     * @param period seconds for the round trip
+     * @return the path
+     */
+    static Path slide(double dx, double dy, double period) {
+        checkPeriod(period);
+        return new Path() {
+            // 0 at the start, 1 at the far end, back to 0 after a period
+            private double along(double time) {
+                double phase = time / period - Math.floor(time / period); // floor is exact either way
+                return 1 - Math.abs(1 - 2 * phase);
+            }
+
+            @Override
+            public double offsetX(double time) { return dx * along(time); }
+
+            @Override
+            public double offsetY(double time) { return dy * along(time); }
+        };
+    }
+
+    /**
+     * Around a circle, counter-clockwise on screen, starting at its rightmost point.
+     * @param radius circle radius in pixels
+     * @param period seconds per turn
+     * @return the path
+     */
+    static Path orbit(double radius, double period) {
+        checkPeriod(period);
+        return new Wave(period) {
+            @Override
+            public double offsetX(double time) { return -radius * (1 - cos(time)); }
+
+            @Override
+            public double offsetY(double time) { return -radius * sin(time); }
+        };
+    }
+
+    /**
+     * Swinging on a sine: out to {@code (ampX, ampY)}, over to the opposite side and back.
+     * @param ampX   farthest offset x
+     * @param ampY   farthest offset y
+     * @param period seconds per swing
+     * @return the path
+     */
+    static Path oscillate(double ampX, double ampY, double period) {
+        checkPeriod(period);
+        return new Wave(period) {
+            @Override
+            public double offsetX(double time) { return ampX * sin(time); }
+
+            @Override
+            public double offsetY(double time) { return ampY * sin(time); }
+        };
+    }
+
+    private static void checkPeriod(double period) {
+        if (!(period > 0)) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+    }
+}
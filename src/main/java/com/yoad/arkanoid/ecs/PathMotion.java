@@ -0,0 +1,32 @@
+package com.yoad.arkanoid.ecs;
+
+/**
+ * Moves an entity's {@link Transform} along a {@link Path} from a fixed starting corner, such as
+ * a brick that slides or circles. Unlike {@link Motion} the position is a function of time, not
+ * a running sum, so it never drifts.
+ */
+public final class PathMotion {
+    private final Path path;
+    private final double originX;
+    private final double originY;
+
+    /**
+     * @param path    the route
+     * @param originX top-left x at time 0
+     * @param originY top-left y at time 0
+     */
+    public PathMotion(Path path, double originX, double originY) {
+        this.path = path;
+        this.originX = originX;
+        this.originY = originY;
+    }
+
+    /** @return the route. */
+    public Path path() { return path; }
+
+    /** @return top-left x at time 0. */
+    public double originX() { return originX; }
+
+    /** @return top-left y at time 0. */
+    public double originY() { return originY; }
+}
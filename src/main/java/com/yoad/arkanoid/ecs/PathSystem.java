@@ -0,0 +1,23 @@
+package com.yoad.arkanoid.ecs;
+
+/** Puts every entity that has a {@link PathMotion} where its path is at the current time. */
+public final class PathSystem {
+    private PathSystem() {}
+
+    /**
+     * @param registry the entities
+     * @param time     simulation time in seconds
+     */
+    public static void update(Registry registry, double time) {
+        ComponentStore<PathMotion> paths = registry.paths();
+        ComponentStore<Transform> transforms = registry.transforms();
+        for (int i = 0, n = paths.size(); i < n; i++) {
+            Transform t = transforms.get(paths.entityAt(i));
+            if (t != null) {
+                PathMotion p = paths.at(i);
+                t.x = p.originX() + p.path().offsetX(time);
+                t.y = p.originY() + p.path().offsetY(time);
+            }
+        }
+    }
+}
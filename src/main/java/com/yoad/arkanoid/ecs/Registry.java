@@ -0,0 +1,124 @@
+package com.yoad.arkanoid.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hands out entity ids and owns the component stores of one game.
+ *
+ * <p>An entity is just an id; what it is comes from the components it has. Ids are never reused,
+ * so an id kept by an object after its entity was destroyed cannot point at a newer entity.
+ * Between {@link #deferChanges()} and {@link #applyChanges()}, destroying an entity is only
+ * recorded, so systems can loop over stores while the entities they visit end others.
+ */
+public final class Registry {
+    /** Id meaning "no entity". */
+    public static final int NONE = -1;
+
+    private final List<ComponentStore<?>> stores = new ArrayList<>();
+    private final ComponentStore<Transform> transforms = newStore();
+    private final ComponentStore<Motion> motions = newStore();
+    private final ComponentStore<PathMotion> paths = newStore();
+    private final ComponentStore<Renderable> renderables = newStore();
+    private final ComponentStore<TimedEffect> effects = newStore();
+
+    private int nextId = 0;
+    private int alive = 0;
+    private boolean[] live = new boolean[64];
+
+    private int deferring = 0;
+    private int[] doomed = new int[8];
+    private int doomedCount = 0;
+
+    /**
+     * Creates a store for another kind of component; {@link #destroy} clears it too.
+     *
+     * @param <T> component type
+     * @return the new, empty store
+     */
+    public <T> ComponentStore<T> newStore() {
+        ComponentStore<T> s = new ComponentStore<>();
+        stores.add(s);
+        return s;
+    }
+
+    /** @return position and size, for entities placed in the playfield. */
+    public ComponentStore<Transform> transforms() { return transforms; }
+
+    /** @return velocities of entities that drift on their own (falling power-ups). */
+    public ComponentStore<Motion> motions() { return motions; }
+
+    /** @return routes of entities that move along a path over time (moving bricks). */
+    public ComponentStore<PathMotion> paths() { return paths; }
+
+    /** @return what to draw, per entity. */
+    public ComponentStore<Renderable> renderables() { return renderables; }
+
+    /** @return running timers, such as a hit flash or a power-up that wears off. */
+    public ComponentStore<TimedEffect> effects() { return effects; }
+
+    /** @return a new entity with no components. */
+    public int create() {
+        int id = nextId++;
+        if (id >= live.length) {
+            live = Arrays.copyOf(live, live.length * 2);
+        }
+        live[id] = true;
+        alive++;
+        return id;
+    }
+
+    /**
+     * @param entity an entity id
+     * @return {@code true} if it was created and not destroyed yet
+     */
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < nextId && live[entity];
+    }
+
+    /** @return number of live entities. */
+    public int size() {
+        return alive;
+    }
+
+    /**
+     * Destroys an entity and all its components. While deferring, this happens when the changes
+     * are applied.
+     *
+     * @param entity an entity id; unknown or dead ids are ignored
+     */
+    public void destroy(int entity) {
+        if (!isAlive(entity)) {
+            return;
+        }
+        if (deferring > 0) {
+            if (doomedCount == doomed.length) {
+                doomed = Arrays.copyOf(doomed, doomedCount * 2);
+            }
+            doomed[doomedCount++] = entity;
+            return;
+        }
+        for (int i = 0; i < stores.size(); i++) {
+            stores.get(i).remove(entity);
+        }
+        live[entity] = false;
+        alive--;
+    }
+
+    /** Starts recording destroys instead of applying them. Calls nest. */
+    public void deferChanges() {
+        deferring++;
+    }
+
+    /** Ends a {@link #deferChanges()}; the outermost one applies every recorded destroy. */
+    public void applyChanges() {
+        if (deferring == 0 || --deferring > 0) {
+            return;
+        }
+        for (int i = 0; i < doomedCount; i++) {
+            destroy(doomed[i]);
+        }
+        doomedCount = 0;
+    }
+}
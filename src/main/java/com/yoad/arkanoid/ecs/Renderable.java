@@ -0,0 +1,30 @@
+package com.yoad.arkanoid.ecs;
+
+/**
+ * Marks an entity as drawn, and how. The simulation has no drawing code; the front end looks at
+ * {@link #kind()} and hands {@link #source()} to the matching painter.
+ *
+ * @param kind   which painter draws it
+ * @param layer  lower layers are drawn first
+ * @param source the object the painter reads (a brick, the paddle, the balls...)
+ */
+public record Renderable(Kind kind, int layer, Object source) {
+
+    /** Layer of overlays drawn right over the background. */
+    public static final int HUD = 0;
+    /** Layer of the paddle. */
+    public static final int PADDLE = 1;
+    /** Layer of the balls. */
+    public static final int BALLS = 2;
+    /** Layer of bricks, walls and bumpers. */
+    public static final int BRICKS = 3;
+    /** Layer of falling power-ups, on top of everything else in play. */
+    public static final int POWER_UPS = 4;
+    /** Number of layers. */
+    public static final int LAYERS = 5;
+
+    /** What an entity looks like. */
+    public enum Kind {
+        BRICK, BUMPER, PADDLE, BALLS, POWER_UP
+    }
+}
@@ -0,0 +1,28 @@
+package com.yoad.arkanoid.ecs;
+
+/**
+ * Something that lasts until a point in simulation time, such as a hit flash or a power-up.
+ * When it runs out, {@link TimedEffectSystem} takes it off the entity and runs its expiry action.
+ */
+public final class TimedEffect {
+    private double until;
+    private final Runnable onExpire;
+
+    /**
+     * @param until    simulation time (seconds) at which it wears off
+     * @param onExpire run when it wears off; may be null
+     */
+    public TimedEffect(double until, Runnable onExpire) {
+        this.until = until;
+        this.onExpire = onExpire;
+    }
+
+    /** @return simulation time (seconds) at which it wears off. */
+    public double until() { return until; }
+
+    /** Pushes the end back (or forward), e.g. when the same power-up is caught again. */
+    public void extendTo(double until) { this.until = until; }
+
+    /** @return the expiry action, or null. */
+    public Runnable onExpire() { return onExpire; }
+}
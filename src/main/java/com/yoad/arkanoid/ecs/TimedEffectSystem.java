@@ -0,0 +1,29 @@
+package com.yoad.arkanoid.ecs;
+
+/** Ends the {@link TimedEffect}s whose time is up. Costs nothing while none are running. */
+public final class TimedEffectSystem {
+    private TimedEffectSystem() {}
+
+    /**
+     * Removes every effect that ends at or before {@code now}, then runs its expiry action.
+     *
+     * @param registry the entities
+     * @param now      current simulation time in seconds
+     */
+    public static void update(Registry registry, double now) {
+        ComponentStore<TimedEffect> effects = registry.effects();
+        // top down, so removing the visited effect doesn't skip one
+        for (int i = effects.size() - 1; i >= 0; i--) {
+            if (i >= effects.size()) {
+                continue; // an expiry action ended several effects
+            }
+            TimedEffect e = effects.at(i);
+            if (now >= e.until()) {
+                effects.remove(effects.entityAt(i));
+                if (e.onExpire() != null) {
+                    e.onExpire().run();
+                }
+            }
+        }
+    }
+}
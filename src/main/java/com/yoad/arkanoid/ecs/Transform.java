@@ -0,0 +1,16 @@
+package com.yoad.arkanoid.ecs;
+
+/** Top-left corner and size of an entity, in pixels. Mutable; systems update it in place. */
+public final class Transform {
+    public double x;
+    public double y;
+    public double w;
+    public double h;
+
+    public Transform(double x, double y, double w, double h) {
+        this.x = x;
+        this.y = y;
+        this.w = w;
+        this.h = h;
+    }
+}
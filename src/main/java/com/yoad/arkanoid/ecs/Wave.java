@@ -0,0 +1,36 @@
+package com.yoad.arkanoid.ecs;
+
+/**
+ * Base of the periodic paths. Every brick of a row shares one path and asks it for the same
+ * time, so the last sine and cosine are kept rather than worked out again for each brick. That
+ * makes a path safe to use from one thread at a time only, as the simulation does.
+ */
+abstract class Wave implements Path {
+    private final double period;
+    private double lastTime = Double.NaN;
+    private double sin;
+    private double cos;
+
+    Wave(double period) {
+        this.period = period;
+    }
+
+    double sin(double time) {
+        at(time);
+        return sin;
+    }
+
+    double cos(double time) {
+        at(time);
+        return cos;
+    }
+
+    private void at(double time) {
+        if (time != lastTime) {
+            double angle = 2 * StrictMath.PI * time / period;
+            sin = StrictMath.sin(angle);
+            cos = StrictMath.cos(angle);
+            lastTime = time;
+        }
+    }
+}
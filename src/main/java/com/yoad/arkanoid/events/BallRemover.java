@@ -1,8 +1,7 @@
 package com.yoad.arkanoid.events;
 
 import com.yoad.arkanoid.game.Brick;
-import com.yoad.arkanoid.audio.Sounds;
-import com.yoad.arkanoid.game.ArkanoidGame;
+import com.yoad.arkanoid.sim.Simulation;
 import com.yoad.arkanoid.sprites.Ball;
 
 /**
@@ -12,15 +11,15 @@ import com.yoad.arkanoid.sprites.Ball;
  * This is useful for handling game-over conditions or respawning logic.
  */
 public class BallRemover implements HitListener {
-    private ArkanoidGame game;
+    private Simulation game;
     private Counter remainingBalls;
 
     /**
      * Constructs a new BallRemover.
-     * @param game the {@link ArkanoidGame} instance from which balls will be removed.
+     * @param game the {@link Simulation} instance from which balls will be removed.
      * @param remainingBalls a {@link Counter} tracking how many balls remain in play.
      */
-    public BallRemover(ArkanoidGame game, Counter remainingBalls) {
+    public BallRemover(Simulation game, Counter remainingBalls) {
         this.game = game;
         this.remainingBalls = remainingBalls;
     }
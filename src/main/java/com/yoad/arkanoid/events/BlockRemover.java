@@ -1,8 +1,8 @@
 package com.yoad.arkanoid.events;
 
 import com.yoad.arkanoid.game.Brick;
-import com.yoad.arkanoid.audio.Sounds;
-import com.yoad.arkanoid.game.ArkanoidGame;
+import com.yoad.arkanoid.sim.Simulation;
+import com.yoad.arkanoid.sim.SoundCue;
 import com.yoad.arkanoid.sprites.Ball;
 
 import java.util.Random;
@@ -14,20 +14,17 @@ import java.util.Random;
  * as a listener to any block that should be removed upon being hit.
  */
 public class BlockRemover implements HitListener {
-    private ArkanoidGame game;
+    private Simulation game;
     private Counter remainingBlocks;
     private Counter scoreCounter;
 
-    // Power ups spawner purposes
-    private final Random rng = new Random();
-
     /**
      * Constructs a new BlockRemover.
-     * @param game the {@link ArkanoidGame} instance from which blocks will be removed.
+     * @param game the {@link Simulation} instance from which blocks will be removed.
      * @param remainingBlocks a {@link Counter} that keeps track of remaining blocks.
      * @param scoreCounter score counter.
      */
-    public BlockRemover(ArkanoidGame game, Counter remainingBlocks, Counter scoreCounter) {
+    public BlockRemover(Simulation game, Counter remainingBlocks, Counter scoreCounter) {
         this.game = game;
         this.remainingBlocks = remainingBlocks;
         this.scoreCounter = scoreCounter;
@@ -46,8 +43,9 @@ public class BlockRemover implements HitListener {
         beingHit.removeHitListener(this);
         remainingBlocks.decrease(1);
         // Sound effect
-        Sounds.BRICK.play();
-        // ~25% drop chance
+        game.playSound(SoundCue.BRICK);
+        // ~25% drop chance (drawn from the game's random source so seeded games repeat)
+        Random rng = game.random();
         if (rng.nextDouble() < 0.25) {
             var rect = beingHit.getCollisionRectangle();
             double cx = rect.getStartX() + rect.getWidth() / 2.0;
@@ -6,19 +6,19 @@ import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
 import com.yoad.arkanoid.ui.Backgrounds;
 import com.yoad.arkanoid.ui.MenuButton;
+import com.yoad.arkanoid.ui.TextCache;
 import static com.yoad.arkanoid.ui.UIUtils.drawCentered;
 
 import com.yoad.arkanoid.audio.Sounds;
 import com.yoad.arkanoid.config.GameConfig;
+import com.yoad.arkanoid.render.FxRenderer;
+import com.yoad.arkanoid.render.LayerStack;
 
 import static com.yoad.arkanoid.game.Dimensions.*;
 
@@ -29,7 +29,7 @@ public class FxLauncher extends Application {
     private enum UiState { MENU, GAME }
     private UiState state = UiState.MENU;
 
-    private Canvas canvas;
+    private LayerStack layers;
     private GraphicsContext g;
     private AnimationTimer timer;
 
@@ -39,6 +39,7 @@ public class FxLauncher extends Application {
     // Menu buttons
     private final GameConfig config = new GameConfig();
     private MenuButton btnPlay, btnQuit, btnDiff, btnTheme;
+    private final FxRenderer menuRenderer = new FxRenderer(null);
     private double mouseX = -1, mouseY = -1;
 
     private long lastNs = 0;
@@ -49,10 +50,10 @@ public class FxLauncher extends Application {
 
     @Override
     public void start(Stage stage) {
-        canvas = new Canvas(WIDTH, HEIGHT);
-        g = canvas.getGraphicsContext2D();
+        layers = new LayerStack(WIDTH, HEIGHT);
+        g = layers.graphics(LayerStack.Layer.OVERLAY); // the menu's background covers the game layers
 
-        Scene scene = new Scene(new StackPane(canvas), WIDTH, HEIGHT);
+        Scene scene = new Scene(layers.getPane(), WIDTH, HEIGHT);
         stage.setTitle("Arkanoid");
         stage.setScene(scene);
         stage.setResizable(false);
@@ -109,10 +110,11 @@ public class FxLauncher extends Application {
                     game = new ArkanoidGame(config);
                     game.initialize();
                 }
-                game.tick(g, dt);
+                game.tick(layers, dt);
 
                 if (game.consumeReturnToMenuRequest()) {
                     state = UiState.MENU;
+                    game.dispose();              // stop its simulation thread, if any
                     game = null;                 // GC old game
                     updateMenuHover(mouseX, mouseY);
                     return;
@@ -169,10 +171,10 @@ public class FxLauncher extends Application {
 
         // 3) Title + subtitle
         g.setFill(Color.WHITE);
-        g.setFont(Font.font(30 * SCALE));
+        g.setFont(TextCache.font(30 * SCALE));
         drawCentered(g, "ARKANOID", WIDTH / 2.0, y + sx(40));
 
-        g.setFont(Font.font(14 * SCALE));
+        g.setFont(TextCache.font(14 * SCALE));
         g.setFill(Color.color(1, 1, 1, 0.75));
         drawCentered(g, "JavaFX Edition by Yoad Lotan", WIDTH / 2.0, y + sx(65));
 
@@ -182,7 +184,7 @@ public class FxLauncher extends Application {
 
         // 5) Selectors (labels + buttons)
         g.setFill(Color.color(1, 1, 1, 0.85));
-        g.setFont(Font.font(14 * SCALE));
+        g.setFont(TextCache.font(14 * SCALE));
         drawCentered(g, "Difficulty", btnDiff.x + btnDiff.w / 2.0, btnDiff.y - sx(8));
         drawCentered(g, "Theme",      btnTheme.x + btnTheme.w / 2.0, btnTheme.y - sx(8));
 
@@ -191,20 +193,21 @@ public class FxLauncher extends Application {
 
         // 6) Current values (use new labels)
         g.setFill(Color.WHITE);
-        g.setFont(Font.font(16 * SCALE));
+        g.setFont(TextCache.font(16 * SCALE));
         drawCentered(g, config.difficultyLabel(), btnDiff.x + btnDiff.w / 2.0,  btnDiff.y + btnDiff.h / 2.0 + sx(6));
         drawCentered(g, config.themeLabel(),      btnTheme.x + btnTheme.w / 2.0, btnTheme.y + btnTheme.h / 2.0 + sx(6));
 
         // 7) Footer hint
         g.setFill(Color.color(1, 1, 1, 0.6));
-        g.setFont(Font.font(12 * SCALE));
+        g.setFont(TextCache.font(12 * SCALE));
         drawCentered(g, "Mouse: hover & click • ESC pauses in-game", WIDTH / 2.0, y + panelH - sx(14));
     }
 
 
     private void drawMenuButton(GraphicsContext g, MenuButton b, Color base, Color hover) {
         // Main menu uses the default styling
-        b.draw(g, base, hover); // default = 20*SCALE font, sx(12) radius
+        menuRenderer.setContext(g);
+        b.draw(menuRenderer, base, hover); // default = 20*SCALE font, sx(12) radius
     }
 
     private void updateMenuHover(double x, double y) {
@@ -1,58 +1,64 @@
 package com.yoad.arkanoid.game;
 
-import com.yoad.arkanoid.audio.Sounds;
+import com.yoad.arkanoid.audio.FxSoundPlayer;
 import com.yoad.arkanoid.config.GameConfig;
-import com.yoad.arkanoid.events.BallRemover;
-import com.yoad.arkanoid.events.BlockRemover;
+import com.yoad.arkanoid.ecs.Renderable;
 import com.yoad.arkanoid.events.Counter;
-import com.yoad.arkanoid.events.ScoreTrackingListener;
-import com.yoad.arkanoid.geometry.Point;
-import com.yoad.arkanoid.geometry.Rectangle;
-import com.yoad.arkanoid.physics.Collidable;
-import com.yoad.arkanoid.sprites.Ball;
-import com.yoad.arkanoid.sprites.Paddle;
-import com.yoad.arkanoid.sprites.ScoreHUD;
-import com.yoad.arkanoid.sprites.Sprite;
-import com.yoad.arkanoid.sprites.SpriteCollection;
+import com.yoad.arkanoid.powerups.PowerUpType;
+import com.yoad.arkanoid.render.DirtyRegion;
+import com.yoad.arkanoid.render.EntityPainter;
+import com.yoad.arkanoid.render.FxRenderer;
+import com.yoad.arkanoid.render.LayerStack;
+import com.yoad.arkanoid.render.LayerStack.Layer;
+import com.yoad.arkanoid.render.RecordingRenderer;
+import com.yoad.arkanoid.render.RenderSnapshot;
+import com.yoad.arkanoid.render.Renderer;
+import com.yoad.arkanoid.render.RenderSystem;
+import com.yoad.arkanoid.render.SnapshotBuffer;
+import com.yoad.arkanoid.sim.Simulation;
+import com.yoad.arkanoid.sim.SoundPlayer;
+import com.yoad.arkanoid.sim.SoundQueue;
 
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import javafx.scene.input.KeyCode;
 
 import java.util.Objects;
 
-import com.yoad.arkanoid.powerups.PowerUp;
-import com.yoad.arkanoid.powerups.PowerUpType;
-import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-
 import com.yoad.arkanoid.ui.Backgrounds;
+import com.yoad.arkanoid.ui.GlyphStrip;
 import com.yoad.arkanoid.ui.MenuButton;
-import com.yoad.arkanoid.ui.ThemePalettes;
+import com.yoad.arkanoid.ui.TextCache;
+import com.yoad.arkanoid.ui.UIUtils;
 
 import static com.yoad.arkanoid.game.Dimensions.*;
 
 /**
- * The game.ArkanoidGame class is responsible for managing the game logic, including the creation and update of sprites,
- * handling game environment interactions, and managing the game loop for rendering and timing.
+ * The game.ArkanoidGame class is the JavaFX front end of a game: it feeds keyboard input to a
+ * headless {@link Simulation}, steps it on a fixed timestep, and draws it along with the HUD,
+ * the pause menu and the end screen.
+ *
+ * <p>Each pass of stepping ends by capturing a {@link RenderSnapshot} of what to draw, and
+ * drawing reads only that. Normally both happen in the FX frame callback; with
+ * {@link GameConfig#simulationThread()} the stepping runs on a {@link SimulationThread} instead
+ * and hands snapshots over through a {@link SnapshotBuffer}, and sound cues through a
+ * {@link SoundQueue}. Input, pause and guide flags are the only other state the two share. The
+ * paddle, balls and power-ups are drawn between their last two steps by how far the clock has run
+ * since, so they move smoothly even when the display refreshes faster than the simulation steps.
+ *
+ * <p>Drawing goes to a {@link LayerStack}, and each layer is only repainted when what it shows
+ * changed: the background once, the bricks where the simulation reports one went or flashed
+ * (all of them while some move on paths), the paddle, balls and power-ups every frame, and the
+ * HUD when the score, the timers, the guide or the pause menu need it. Everything but the
+ * background is recorded on a {@link RecordingRenderer} and replayed onto its layer sorted by
+ * state.
  */
 public class ArkanoidGame {
 
-    private SpriteCollection sprites = new SpriteCollection();
-    private World environment = new World();
+    private Simulation sim;
     private final GameConfig config;
-
-    // Primary controllable entities
-    private Paddle paddle;
-
-    // Save original size and speed for reverting
-    private int basePaddleWidth;
-    private int basePaddleSpeed;
+    private final SimulationClock clock;
 
     // Input (fed from JavaFX Scene events)
     private volatile boolean keyLeft  = false;
@@ -60,35 +66,73 @@ public class ArkanoidGame {
     private volatile boolean keyEnter = false;
 
     // Pause state
-    private boolean paused = false;
+    private volatile boolean paused = false;
+
+    // Power-up timer and pause menu colors, made once rather than every frame
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+    private static final Color EXPAND_FILL = Color.web("#22c55e").deriveColor(0, 1, 1, 0.92);
+    private static final Color EXPAND_BORDER = Color.web("#16a34a");
+    private static final Color SPEED_FILL = Color.web("#f59e0b").deriveColor(0, 1, 1, 0.92);
+    private static final Color SPEED_BORDER = Color.web("#d97706");
+    private static final Color OTHER_FILL = Color.web("#64748b").deriveColor(0, 1, 1, 0.92);
+    private static final Color OTHER_BORDER = Color.web("#475569");
+    private static final Color DIM = Color.color(0, 0, 0, 0.45);
+    private static final Color END_DIM = Color.color(0, 0, 0, 0.55);
+    private static final Color PANEL = Color.color(0.13, 0.16, 0.22, 0.92); // bluish glass
+    private static final Color PANEL_EDGE = Color.color(1, 1, 1, 0.12);
+    private static final Color GREEN = Color.web("#22c55e"), GREEN_HOVER = Color.web("#16a34a");
+    private static final Color BLUE = Color.web("#60a5fa"), BLUE_HOVER = Color.web("#3b82f6");
+    private static final Color ORANGE = Color.web("#f97316"), ORANGE_HOVER = Color.web("#ea580c");
+
+    // Aim guide: the first ball's path through this many bounces, re-traced every snapshot
+    private static final int GUIDE_BOUNCES = 4;
+    private volatile boolean showGuide;
+    private boolean guidePublished; // stepping side: showGuide as of the last snapshot
 
     // Pause menu buttons
     private MenuButton btnResume, btnRestart, btnLobby;
     private boolean returnToMenuRequested = false;
 
-    // Game accounting
-    private Counter blockCounter = new Counter();
-    private Counter ballCounter  = new Counter();
-    private Counter score        = new Counter();
-
-    private BlockRemover blockRemover = new BlockRemover(this, blockCounter, score);
-    private BallRemover  ballRemover  = new BallRemover(this, ballCounter);
-    private ScoreTrackingListener scoreTracker = new ScoreTrackingListener(score);
-
-    // power-ups
-    private final List<PowerUp> powerUps = new ArrayList<>();
-    private final Map<PowerUpType, Long> effectExpiryNs = new EnumMap<>(PowerUpType.class);
-
     // End state
     private boolean finished = false;
     private String endMessage = "";
 
+    // Stepping side to drawing side: snapshots, and sound cues when stepping has its own thread
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final SoundPlayer sounds = new FxSoundPlayer();
+    private final SoundQueue queuedSounds = new SoundQueue();
+    private final SimulationThread simThread;
+
+    // What the layers show: every layer starts out stale
+    private boolean backgroundDrawn = false;
+    private boolean endDrawn = false;
+    private boolean overlayDrawn = false;
+    private boolean overlayAnimated = false;
+    private int overlayScore;
+
+    // Entity drawing is recorded, then replayed onto a layer's canvas with fewer state changes
+    private final RecordingRenderer recorder = new RecordingRenderer();
+    private final FxRenderer screen = new FxRenderer(null);
+    private int drawCalls;
+    private int stateChanges;
+
     // constructor for game config (difficulty etc...)
     public ArkanoidGame() {
         this(new GameConfig());
     }
     public ArkanoidGame(GameConfig config) {
         this.config = config;
+        this.clock = new SimulationClock(config.simulationHz(), config.maxCatchUpSteps());
+        this.showGuide = config.aimGuide();
+        this.simThread = config.simulationThread() ? new SimulationThread(clock.stepSeconds(), this::advance) : null;
+        this.sim = newSimulation();
+    }
+
+    private Simulation newSimulation() {
+        Simulation s = new Simulation(config);
+        s.setSoundPlayer(simThread != null ? queuedSounds : sounds);
+        s.setSceneryListener(snapshots::markScenery);
+        return s;
     }
 
     /**
@@ -112,77 +156,29 @@ public class ArkanoidGame {
     }
 
     /**
-     * Initializes the game by setting up the graphical user interface (GUI),
-     * creating the ball and blocks (as sprites and collidables), and adding them to the game.
-     * A simple grid of blocks is created for the game, and the ball is set up with an initial position and velocity.
+     * Initializes the game: builds the level in the simulation (paddle, ball, bricks, walls)
+     * and sets up the pause menu on top of it.
      */
     public void initialize() {
-        // HUD
-        new ScoreHUD(score).addToGame(this);
-
-        // Paddle — anchor from the bottom, not a magic number
-        Rectangle r = new Rectangle(sx(357), HEIGHT - sx(24), sx(94), sx(12));
-        paddle = new Paddle(r);
-        paddle.addToGame(this);
-        basePaddleWidth = paddle.getCollisionRectangle().getWidth();
-        basePaddleSpeed = paddle.getSpeed();
-
-        // Balls (good as-is)
-        double s = config.ballSpeed();
-        Ball ball = new Ball(new Point(sx(200), sx(360)), sx(6), java.awt.Color.WHITE, this.environment);
-        ball.setVelocity(s, -s);
-        ball.addToGame(this);
-        ballCounter.increase(1);
-
-        // Bricks (grid) — scale the ORIGIN too (not just sizes)
-        int blockWidth  = sx(49);
-        int blockHeight = sx(23);
-        int rows = config.rows();
-        int cols = config.cols();
-
-        // 800×600-era origin was ~ (xRight=751, yTop=150)
-        int startXRight = sx(751);
-        int startY      = sx(150);
-
-        var colors = ThemePalettes.palette(config.theme());
-
-        for (int row = 0; row < rows; row++) {
-            javafx.scene.paint.Color current = colors[row % colors.length];
-
-            for (int col = 0; col < cols; col++) {
-                int x = startXRight - col * blockWidth;   // use scaled origin + scaled width
-                int y = startY + row * blockHeight;       // use scaled origin + scaled height
-
-                java.awt.Color awt = new java.awt.Color(
-                    (int)(current.getRed()   * 255),
-                    (int)(current.getGreen() * 255),
-                    (int)(current.getBlue()  * 255)
-                );
-
-                Brick block = new Brick(new Rectangle(new Point(x, y), blockWidth, blockHeight), awt);
-                block.addToGame(this);
-                blockCounter.increase(1);
-                block.addHitListener(blockRemover);
-                block.addHitListener(scoreTracker);
-            }
-            cols--;
-        }
-
-        // Walls placed just outside the visible canvas (still collidable)
-        int t = sx(28); // wall thickness
+        sim.initialize();
+        snapshots.markAllScenery();
 
-        Brick topWall    = new Brick(new Rectangle(new Point(0,   -t),    WIDTH, t), java.awt.Color.GRAY);
-        Brick leftWall   = new Brick(new Rectangle(new Point(-t,   0),     t,     HEIGHT), java.awt.Color.GRAY);
-        Brick rightWall  = new Brick(new Rectangle(new Point(WIDTH, 0),     t,     HEIGHT), java.awt.Color.GRAY);
-        Brick bottomWall = new Brick(new Rectangle(new Point(0,    HEIGHT), WIDTH, t), java.awt.Color.GRAY);
-        bottomWall.addHitListener(ballRemover);
+        createPauseButtons();
 
-        topWall.addToGame(this);
-        leftWall.addToGame(this);
-        rightWall.addToGame(this);
-        bottomWall.addToGame(this);
+        publish();
+        if (simThread != null) {
+            simThread.start();
+        }
+    }
 
-        createPauseButtons();
+    /**
+     * Stops the simulation thread, if the game has one. Call when leaving the game; it can't be
+     * resumed, only {@link #restart()}ed.
+     */
+    public void dispose() {
+        if (simThread != null) {
+            simThread.stop();
+        }
     }
 
     // ---------------- Input from JavaFX ----------------
@@ -195,6 +191,7 @@ public class ArkanoidGame {
             case RIGHT, D -> keyRight = down;
             case ENTER -> keyEnter = down;
             case ESCAPE -> { if (down) paused = !paused; }
+            case G -> { if (down) showGuide = !showGuide; }
             default -> { /* ignore other keys */ }
         }
     }
@@ -224,81 +221,205 @@ public class ArkanoidGame {
     // ---------------- Per-frame update & render ----------------
 
     /**
-     * Called every frame by the FX AnimationTimer.
-     * @param g  GraphicsContext for drawing this frame
-     * @param dt Seconds since last frame (you can use it to scale movement if you wish)
+     * Called every frame by the FX AnimationTimer. Runs as many fixed simulation steps as the
+     * elapsed time calls for (see {@link SimulationClock}), then draws the current state, so the
+     * game runs at the same speed on any display refresh rate. With a simulation thread, only
+     * draws its newest snapshot and plays its sounds.
+     * @param layers the canvases to draw this frame on
+     * @param dt     Seconds since last frame
+     * @throws IllegalStateException once, if the simulation thread failed; the game then stands
+     *     still at its last snapshot
      */
-    public void tick(GraphicsContext g, double dt) {
-        if (finished) {
-            drawBackground(g);
-            drawEndOverlay(g);
-            return;
-        }
-
-        // feed input to paddle each frame
-        if (paddle != null) {
-            // when paused, disable movement
-            paddle.setInput(!paused && keyLeft, !paused && keyRight);
+    public void tick(LayerStack layers, double dt) {
+        if (simThread == null) {
+            advance(dt);
+        } else {
+            Throwable failure = simThread.takeFailure();
+            if (failure != null) {
+                throw new IllegalStateException("simulation thread failed", failure);
+            }
+            queuedSounds.playQueued(sounds);
         }
+        render(layers);
+    }
 
-        // UPDATE only if not paused
-        if (!paused) {
-            sprites.notifyAllTimePassed();
-            if (blockCounter.getValue() <= 0) {
-                finished = true;
-                endMessage = "You Win!\nScore: " + score.getValue();
-            } else if (ballCounter.getValue() <= 0) {
-                // Sound effect
-                Sounds.LOSE.play();
-                finished = true;
-                endMessage = "Game Over\nScore: " + score.getValue();
+    /**
+     * One pass of the stepping side: feeds the input to the paddle, runs the steps owed for
+     * {@code dt} seconds and publishes a snapshot of the result. If no step was owed, the last
+     * snapshot stands and is drawn further into its step. While paused or over, a snapshot is
+     * only published when the guide was toggled or bricks changed.
+     * @param dt seconds since the previous pass
+     */
+    private void advance(double dt) {
+        // when paused, disable movement
+        boolean hold = paused || sim.isFinished();
+        sim.setInput(!hold && keyLeft, !hold && keyRight);
+
+        if (hold) {
+            clock.reset(); // don't fast-forward on resume
+            if (showGuide == guidePublished && !snapshots.hasScenery()) {
+                return; // the last snapshot still shows it all
             }
-
-            // update falling power-ups
-            Iterator<PowerUp> it = powerUps.iterator();
-            while (it.hasNext()) {
-                PowerUp p = it.next();
-                p.update(dt);
-                // off-screen bottom → drop
-                if (p.y() > HEIGHT) { it.remove(); continue; }
-                // caught by paddle?
-                if (intersects(p, paddle.getCollisionRectangle())) {
-                    applyPowerUp(p.type);
-                    it.remove();
+        } else {
+            int steps = clock.advance(dt);
+            if (steps == 0) {
+                return;
+            }
+            for (int i = 0; i < steps && !sim.isFinished(); i++) {
+                if (i == steps - 1) {
+                    snapshots.back().capturePrevious(sim); // to interpolate the last step
                 }
+                update(clock.stepSeconds());
             }
+        }
+        publish();
+    }
 
-            // expire timed effects
-            long now = System.nanoTime();
-            Long exp = effectExpiryNs.get(PowerUpType.EXPAND_PADDLE);
-            if (exp != null && now >= exp) {
-                setPaddleWidth(basePaddleWidth);          // revert
-                effectExpiryNs.remove(PowerUpType.EXPAND_PADDLE);
+    /**
+     * Advances the simulation by one fixed step.
+     * @param dt step length in seconds
+     */
+    public void update(double dt) {
+        sim.step(dt);
+    }
+
+    /** Captures what to draw into the back snapshot and hands it to the drawing side. */
+    private void publish() {
+        if (sim.getRegistry().paths().size() > 0) {
+            snapshots.markAllScenery(); // bricks on paths move every step
+        }
+        boolean guide = showGuide;
+        RenderSnapshot s = snapshots.back();
+        s.capture(sim, guide ? GUIDE_BOUNCES : 0);
+        guidePublished = guide;
+        s.stamp(clock.alpha(), clock.stepSeconds());
+        snapshots.publish();
+    }
+
+    /**
+     * Draws the current state: the world, or the end screen once the game is over. Only the
+     * layers whose content changed since the last call are repainted.
+     * @param layers the canvases to draw on
+     */
+    public void render(LayerStack layers) {
+        drawCalls = 0;
+        stateChanges = 0;
+        RenderSnapshot s = snapshots.latest();
+        if (s.isFinished() && !finished) {
+            finished = true;
+            endMessage = (s.isWon() ? "You Win!" : "Game Over") + "\nScore: " + s.score();
+        }
+        GraphicsContext actors = layers.graphics(Layer.ACTORS);
+        EntityPainter.prepare(config.theme(), UIUtils.renderScale(actors.getCanvas()));
+        if (!backgroundDrawn) {
+            drawBackground(layers.graphics(Layer.BACKGROUND));
+            backgroundDrawn = true;
+        }
+
+        if (finished) {
+            if (!endDrawn) {
+                layers.clear(Layer.SCENERY);
+                layers.clear(Layer.ACTORS);
+                layers.clear(Layer.OVERLAY);
+                drawEndOverlay(recorder);
+                replay(layers.graphics(Layer.OVERLAY));
+                endDrawn = true;
             }
-            // speed expiry
-            Long expS = effectExpiryNs.get(PowerUpType.PADDLE_SPEED);
-            if (expS != null && now >= expS) {
-                paddle.setSpeed(basePaddleSpeed);
-                effectExpiryNs.remove(PowerUpType.PADDLE_SPEED);
+            // Simple restart on ENTER (re-init world)
+            if (keyEnter) {
+                returnToMenuRequested = true; paused = false;
             }
+            return;
         }
 
-        // DRAW
-        Backgrounds.drawGameBackground(g, config.theme());
-        sprites.drawAll(g);
+        drawScenery(layers, s);
 
-        // draw power-ups on top
-        for (PowerUp p : powerUps) {
-            p.draw(g);
+        // paddle, balls, then power-ups on top, between their last two steps by the time since;
+        // nothing moves while paused
+        if (!paused) {
+            layers.clear(Layer.ACTORS);
+            double alpha = s.alphaAt(System.nanoTime());
+            RenderSystem.draw(recorder, s, Renderable.PADDLE, alpha);
+            RenderSystem.draw(recorder, s, Renderable.BALLS, alpha);
+            RenderSystem.draw(recorder, s, Renderable.POWER_UPS, alpha);
+            replay(actors);
         }
 
-        // draw timers (always visible, even when paused)
-        if (paused) {
-            drawPauseOverlay(g);      // your existing pause panel
-            drawPowerupTimers(g);     // draw on top of overlay
+        drawOverlay(layers, s);
+    }
+
+    /**
+     * Repaints the part of the brick layer that changed since the last snapshot drawn, clipped
+     * to it.
+     * @param layers the canvases to draw on
+     * @param s      the snapshot to draw
+     */
+    private void drawScenery(LayerStack layers, RenderSnapshot s) {
+        DirtyRegion sceneryDamage = s.scenery();
+        if (sceneryDamage.isEmpty()) {
+            return;
+        }
+        GraphicsContext g = layers.graphics(Layer.SCENERY);
+        if (sceneryDamage.isAll()) {
+            layers.clear(Layer.SCENERY);
+            RenderSystem.draw(recorder, s, Renderable.BRICKS);
+            replay(g);
         } else {
-            drawPowerupTimers(g);
+            double x0 = sceneryDamage.getMinX(), y0 = sceneryDamage.getMinY();
+            double x1 = sceneryDamage.getMaxX(), y1 = sceneryDamage.getMaxY();
+            g.save();
+            g.beginPath();
+            g.rect(x0, y0, x1 - x0, y1 - y0);
+            g.clip();
+            g.clearRect(x0, y0, x1 - x0, y1 - y0);
+            RenderSystem.draw(recorder, s, Renderable.BRICKS, x0, y0, x1, y1);
+            replay(g);
+            g.restore();
         }
+        sceneryDamage.clear();
+    }
+
+    /**
+     * Repaints the score, the guide, the timers and the pause menu when any of them may look
+     * different: the score changed, or something on it moves (the guide, a ticking timer, the
+     * menu's hover), or did last frame. All of it is drawn from the snapshot.
+     * @param layers the canvases to draw on
+     * @param s      the snapshot to draw
+     */
+    private void drawOverlay(LayerStack layers, RenderSnapshot s) {
+        int score = s.score();
+        boolean animated = paused || showGuide || s.hasActiveEffects();
+        if (overlayDrawn && !animated && !overlayAnimated && score == overlayScore) {
+            return;
+        }
+        overlayDrawn = true;
+        overlayAnimated = animated;
+        overlayScore = score;
+
+        layers.clear(Layer.OVERLAY);
+        EntityPainter.drawScore(recorder, score);
+        if (s.guide() != null) {
+            EntityPainter.drawGuide(recorder, s.guide());
+        }
+        // draw timers (always visible, even when paused, on top of the pause panel)
+        if (paused) {
+            drawPauseOverlay(recorder);
+        }
+        drawPowerupTimers(recorder, s);
+        replay(layers.graphics(Layer.OVERLAY));
+    }
+
+    /**
+     * Draws what was recorded since the last replay onto a canvas, and counts it.
+     * @param g graphic content on which to draw
+     */
+    private void replay(GraphicsContext g) {
+        screen.setContext(g);
+        g.save();
+        recorder.replay(screen);
+        g.restore();
+        drawCalls += recorder.getDrawCalls();
+        stateChanges += recorder.getStateChanges();
     }
 
     /**
@@ -311,66 +432,54 @@ public class ArkanoidGame {
 
     /**
      * End of game overlay creator
-     * @param g graphic content on which to draw the overlay
+     * @param g where to draw the overlay
      */
-    private void drawEndOverlay(GraphicsContext g) {
-        g.setFill(Color.color(0, 0, 0, 0.55));
+    private void drawEndOverlay(Renderer g) {
+        g.setFill(END_DIM);
         g.fillRect(0, 0, WIDTH, HEIGHT);
 
         g.setFill(Color.WHITE);
-        g.setFont(Font.font(28));
+        Font font = TextCache.font(28);
+        g.setFont(font);
         String msg = Objects.requireNonNullElse(endMessage, "");
         double y = HEIGHT / 2.0 - 10;
         for (String line : msg.split("\\n")) {
-            double w = textWidth(g, line);
+            double w = TextCache.width(font, line);
             g.fillText(line, (WIDTH - w) / 2.0, y);
             y += 36;
         }
-        g.setFont(Font.font(sx(18)));
+        g.setFont(TextCache.font(sx(18)));
         g.fillText("Press ENTER to return to the lobby", WIDTH / 2.0 - 175, y + 10);
-
-        // Simple restart on ENTER (re-init world)
-        if (keyEnter) {
-            returnToMenuRequested = true; paused = false;
-        }
     }
 
     /**
      * End of game - loss/win, optional restart
      */
     public void restart() {
+        dispose(); // the old simulation's thread, if any; initialize starts a new one
+
         // clear runtime flags
         paused = false;
+        clock.reset();
         finished = false;
         endMessage = null;
+        endDrawn = false;
+        overlayDrawn = false;
 
-        // clear power-ups and timers
-        powerUps.clear();
-        effectExpiryNs.clear();
-
-        // rebuild core containers
-        sprites = new SpriteCollection();
-        environment = new World();
+        // fresh simulation (counters, power-ups, timers)
+        sim = newSimulation();
 
-        // reset counters + listeners
-        blockCounter = new Counter();
-        ballCounter  = new Counter();
-        score        = new Counter();
-        blockRemover = new BlockRemover(this, blockCounter, score);
-        ballRemover  = new BallRemover(this, ballCounter);
-        scoreTracker = new ScoreTrackingListener(score);
-
-        // re-create level entities (HUD, paddle, balls, bricks…)
-        initialize(); // this should add fresh HUD/paddle/balls/blocks
+        // re-create level entities (paddle, balls, bricks…)
+        initialize(); // this should add fresh paddle/balls/blocks
     }
 
     /**
      * Pause overlay creation function
-     * @param g graphics content on which to draw the pause overlay
+     * @param g where to draw the pause overlay
      */
-    private void drawPauseOverlay(GraphicsContext g) {
+    private void drawPauseOverlay(Renderer g) {
         // dim the world
-        g.setFill(Color.color(0, 0, 0, 0.45));
+        g.setFill(DIM);
         g.fillRect(0, 0, WIDTH, HEIGHT);
 
         double panelW = sx(360);
@@ -380,59 +489,24 @@ public class ArkanoidGame {
         double r = sx(16);
 
         // panel
-        g.setFill(Color.color(0.13, 0.16, 0.22, 0.92)); // bluish glass
+        g.setFill(PANEL);
         fillRoundRect(g, x, y, panelW, panelH, r);
-        g.setStroke(Color.color(1, 1, 1, 0.12));
+        g.setStroke(PANEL_EDGE);
         g.setLineWidth(1.5);
         strokeRoundRect(g, x, y, panelW, panelH, r);
 
         // title
         g.setFill(Color.WHITE);
-        g.setFont(Font.font(22 * SCALE));
-        drawCentered(g, "Paused", WIDTH / 2.0, y + sx(40));
+        Font title = TextCache.font(22 * SCALE);
+        g.setFont(title);
+        drawCentered(g, title, "Paused", WIDTH / 2.0, y + sx(40));
 
         // buttons
-        drawButton(g, btnResume,  Color.web("#22c55e"), Color.web("#16a34a")); // green
-        drawButton(g, btnRestart, Color.web("#60a5fa"), Color.web("#3b82f6")); // blue
-        drawButton(g, btnLobby,    Color.web("#f97316"), Color.web("#ea580c")); // orange
-    }
-
-
-    // ---------------- Game interface (used by listeners & sprites) ----------------
-
-    /**
-     * Adds a collidable object to the game environment.
-     *
-     * @param c the collidable object to add
-     */
-    public void addCollidable(Collidable c) {
-        environment.addCollidable(c);
-    }
-
-    /**
-     * Adds a sprite to the game. Sprites are drawn and updated during the game loop.
-     *
-     * @param s the sprite to add
-     */
-    public void addSprite(Sprite s) {
-        sprites.addSprite(s);
-    }
-
-    /**
-     * removes block from the list.
-     * @param c removes c
-     */
-    public void removeCollidable(Collidable c) {
-        this.environment.getCollidables().remove(c);
+        drawButton(g, btnResume,  GREEN, GREEN_HOVER);
+        drawButton(g, btnRestart, BLUE, BLUE_HOVER);
+        drawButton(g, btnLobby,   ORANGE, ORANGE_HOVER);
     }
 
-    /**
-     * removes sprite from the list.
-     * @param s removes s
-     */
-    public void removeSprite(Sprite s) {
-        this.sprites.removeSprite(s);
-    }
 
     // ---------------- Helpers for FxLauncher ----------------
 
@@ -445,49 +519,52 @@ public class ArkanoidGame {
     }
 
     public Counter getScoreCounter() {
-         return score; 
+         return sim.getScoreCounter(); 
     }
 
     public Counter getBlockCounter() { 
-        return blockCounter; 
+        return sim.getBlockCounter(); 
     }
 
     public Counter getBallCounter() { 
-        return ballCounter; 
+        return sim.getBallCounter(); 
     }
 
-    private java.util.List<Ball> getBalls() {
-        java.util.ArrayList<Ball> list = new java.util.ArrayList<>();
-        for (Sprite s : this.sprites.getSprites()) {
-            if (s instanceof Ball b) list.add(b);
-        }
-        return list;
+    /** The headless game state this front end draws; leave it alone while a simulation thread runs. */
+    public Simulation getSimulation() {
+        return sim;
     }
 
+    /** Simulation steps dropped so far because frames arrived too late to catch up. */
+    public long getDroppedSteps() {
+        return clock.droppedSteps();
+    }
 
-    // ------ Helpers for Graphics ------
-    private static double textWidth(GraphicsContext g, String s) {
-        Text t = new Text(s);
-        t.setFont(g.getFont());
-        return t.getLayoutBounds().getWidth();
+    /** Entity and HUD draw calls made by the last {@link #render}; skipped layers count none. */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /** Fill, stroke, opacity and other state settings made by the last {@link #render}'s draws. */
+    public int getStateChanges() {
+        return stateChanges;
     }
 
-    private void drawButton(GraphicsContext g, MenuButton b, Color base, Color hover) {
+    // ------ Helpers for Graphics ------
+    private void drawButton(Renderer g, MenuButton b, Color base, Color hover) {
         // Pause menu uses slightly smaller font + radius than main menu
         b.draw(g, base, hover, 18 * SCALE, sx(10));
     }
 
-    private void fillRoundRect(GraphicsContext g, double x, double y, double w, double h, double arc) {
+    private void fillRoundRect(Renderer g, double x, double y, double w, double h, double arc) {
         g.fillRoundRect(x, y, w, h, arc, arc);
     }
-    private void strokeRoundRect(GraphicsContext g, double x, double y, double w, double h, double arc) {
+    private void strokeRoundRect(Renderer g, double x, double y, double w, double h, double arc) {
         g.strokeRoundRect(x, y, w, h, arc, arc);
     }
 
-    private void drawCentered(GraphicsContext g, String text, double cx, double cy) {
-        var t = new javafx.scene.text.Text(text);
-        t.setFont(g.getFont());
-        double w = t.getLayoutBounds().getWidth();
+    private void drawCentered(Renderer g, Font font, String text, double cx, double cy) {
+        double w = TextCache.width(font, text);
         g.fillText(text, cx - w / 2.0, cy);
     }
 
@@ -503,119 +580,47 @@ public class ArkanoidGame {
         return r;
     }
 
-    // ------ Helpers for PowerUps ------
-
-    public void spawnPowerUp(double centerX, double centerY) {
-        int half = sx(12);
-        powerUps.add(new PowerUp(PowerUpType.EXPAND_PADDLE, centerX - half, centerY - half));
-    }
-
-    public void spawnPowerUp(double centerX, double centerY, PowerUpType type) {
-        int half = sx(12);
-        powerUps.add(new PowerUp(type, centerX - half, centerY - half));
-    }
-
-    private boolean intersects(PowerUp p, com.yoad.arkanoid.geometry.Rectangle r) {
-        int rx = r.getStartX(), ry = r.getStartY(), rw = r.getWidth(), rh = r.getHeight();
-        double px = p.x(), py = p.y(); int pw = p.w(), ph = p.h();
-        return px < rx + rw && px + pw > rx && py < ry + rh && py + ph > ry;
-    }
-
-    private void applyPowerUp(PowerUpType type) {
-        // Sound effect
-        Sounds.POWERUP.playRestart();
-        switch (type) {
-            case EXPAND_PADDLE -> {
-                setPaddleWidth((int)Math.round(basePaddleWidth * 1.5));
-                effectExpiryNs.put(PowerUpType.EXPAND_PADDLE, System.nanoTime() + (long)(12e9)); // 12s
-            }
-            case PADDLE_SPEED -> {
-                paddle.setSpeed((int)Math.round(basePaddleSpeed * 1.5));
-                effectExpiryNs.put(PowerUpType.PADDLE_SPEED, System.nanoTime() + (long)(10e9)); // 10s
-            }
-            case MULTI_BALL -> {
-                var balls = getBalls();
-                int cap = 8; // total balls max
-                int canAdd = Math.max(0, cap - balls.size());
-                if (canAdd <= 0) return;
-
-                double s = config.ballSpeed(); // same as your first ball
-                int spawned = 0;
-
-                for (Ball b : balls) {
-                    if (spawned >= canAdd) break;
-
-                    // decide vertical sign: keep current up/down, or force up (-1.0)
-                    double signY = (b.getVelocity().getDy() < 0 ? -1.0 : 1.0);
-
-                    double dx = +s * 0.95;
-                    double dy = signY * s;
-
-                    // nudge start so it doesn’t overlap the source ball
-                    double offset = b.getSize() + sx(2);
-                    double ox = +offset;
-                    double oy = -offset;
-
-                    Ball nb = new Ball(
-                        new Point(b.getX() + ox, b.getY() + oy),
-                        b.getSize(),
-                        b.getColor(),
-                        this.environment
-                    );
-                    nb.setVelocity(dx, dy);     // EXACTLY like your initial spawn (±s, -s)
-                    nb.addToGame(this);
-
-                    ballCounter.increase(1);
-                    spawned++;
-                    if (spawned >= canAdd) break;
-                }
-            }
-        }
-    }
-
-
-    private void setPaddleWidth(int newWidth) {
-        // delegate to Paddle
-        paddle.scaleWidthTo(newWidth);
-    }
-
     /** Draw active power-up timers (top-left). */
-    private void drawPowerupTimers(GraphicsContext g) {
-        if (effectExpiryNs.isEmpty()) return;
+    private void drawPowerupTimers(Renderer g, RenderSnapshot s) {
+        if (!s.hasActiveEffects()) return;
 
         double x = sx(12), y = sx(12);
         double w = sx(180), h = sx(28), r = sx(10);
-        long now = System.nanoTime();
+        double now = s.time();
+        Font font = TextCache.font(14 * SCALE);
+        GlyphStrip digits = TextCache.digits(font, Color.WHITE);
 
-        for (var entry : effectExpiryNs.entrySet()) {
-            var type = entry.getKey();
-            long expNs = entry.getValue();
-            double remaining = Math.max(0.0, (expNs - now) / 1_000_000_000.0);
+        for (PowerUpType type : POWER_UP_TYPES) {
+            double until = s.effectExpiry(type);
+            if (Double.isNaN(until)) continue;
+            double remaining = Math.max(0.0, until - now);
 
             // style per effect
             Color base, border; String label;
             switch (type) {
                 case EXPAND_PADDLE -> {
-                    base = Color.web("#22c55e"); border = Color.web("#16a34a"); label = "Expand";
+                    base = EXPAND_FILL; border = EXPAND_BORDER; label = "Expand";
                 }
                 case PADDLE_SPEED -> {
-                    base = Color.web("#f59e0b"); border = Color.web("#d97706"); label = "Speed";
+                    base = SPEED_FILL; border = SPEED_BORDER; label = "Speed";
                 }
                 default -> {
-                    base = Color.web("#64748b"); border = Color.web("#475569"); label = type.name();
+                    base = OTHER_FILL; border = OTHER_BORDER; label = type.name();
                 }
             }
 
-            g.setFill(base.deriveColor(0, 1, 1, 0.92));
+            g.setFill(base);
             fillRoundRect(g, x, y, w, h, r);
             g.setStroke(border);
             g.setLineWidth(1.0);
             strokeRoundRect(g, x, y, w, h, r);
 
+            // "Expand  3.4s", the seconds from the digit strip
             g.setFill(Color.WHITE);
-            g.setFont(Font.font(14 * SCALE));
-            String text = label + "  " + String.format("%.1fs", remaining);
-            g.fillText(text, x + sx(12), y + h / 2.0 + sx(5));
+            g.setFont(font);
+            double tx = x + sx(12), ty = y + h / 2.0 + sx(5);
+            g.fillText(label, tx, ty);
+            digits.drawSeconds(g, remaining, tx + TextCache.width(font, label) + TextCache.width(font, "  "), ty);
 
             y += h + sx(8); // stack vertically
         }
@@ -0,0 +1,109 @@
+package com.yoad.arkanoid.game;
+
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.physics.Collidable;
+
+import java.util.Arrays;
+
+/**
+ * The predicted path of a ball through a number of bounces, filled in by
+ * {@link World#traceBounces}: the start, every contact point with what was hit there, and where
+ * the trace ran out of length. Holds its own working memory, so one path can be re-traced every
+ * frame without allocating.
+ */
+public final class BouncePath {
+    private final double[] xs;
+    private final double[] ys;
+    private final Collidable[] hits;
+    private int size;
+
+    // working memory for the trace's queries
+    final World.Scratch scratch = new World.Scratch();
+    final RayHit hit = new RayHit();
+
+    /**
+     * @param maxBounces how many bounces a trace follows at most
+     */
+    public BouncePath(int maxBounces) {
+        if (maxBounces < 0) {
+            throw new IllegalArgumentException("maxBounces must not be negative: " + maxBounces);
+        }
+        xs = new double[maxBounces + 2];
+        ys = new double[maxBounces + 2];
+        hits = new Collidable[maxBounces + 2];
+    }
+
+    /**
+     * @return how many bounces a trace follows at most.
+     */
+    public int getMaxBounces() {
+        return xs.length - 2;
+    }
+
+    /**
+     * @return number of points: the start, one per bounce, and the end if the trace ran out of
+     *     length before bounces.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i point index, 0 is the start
+     * @return ball centre x there
+     */
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    /**
+     * @param i point index, 0 is the start
+     * @return ball centre y there
+     */
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * @param i point index
+     * @return what the ball touches at that point, or null for the start and a free end
+     */
+    public Collidable getHit(int i) {
+        return hits[i];
+    }
+
+    /**
+     * Where the path first comes down to a horizontal line, e.g. the top of the paddle less the
+     * ball's radius.
+     *
+     * @param lineY the line's y
+     * @return centre x where the path first reaches {@code lineY} going down, or NaN if it never
+     *     does
+     */
+    public double crossingX(double lineY) {
+        for (int i = 1; i < size; i++) {
+            double y0 = ys[i - 1];
+            double y1 = ys[i];
+            if (y0 <= lineY && y1 >= lineY && y1 > y0) {
+                return xs[i - 1] + (xs[i] - xs[i - 1]) * (lineY - y0) / (y1 - y0);
+            }
+        }
+        return Double.NaN;
+    }
+
+    // ---------------- Filled by World ----------------
+
+    void clear() {
+        Arrays.fill(hits, 0, size, null);
+        size = 0;
+    }
+
+    /** @return {@code false} once the path holds as many bounces as it can. */
+    boolean add(double x, double y, Collidable hitObject) {
+        xs[size] = x;
+        ys[size] = y;
+        hits[size] = hitObject;
+        size++;
+        return size < xs.length - 1;
+    }
+}
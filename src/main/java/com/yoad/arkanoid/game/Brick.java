@@ -5,26 +5,42 @@ import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.yoad.arkanoid.audio.Sounds;
+import com.yoad.arkanoid.ecs.Path;
+import com.yoad.arkanoid.ecs.Registry;
+import com.yoad.arkanoid.ecs.Transform;
 import com.yoad.arkanoid.events.HitListener;
 import com.yoad.arkanoid.events.HitNotifier;
 import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayBox;
+import com.yoad.arkanoid.geometry.RayHit;
 import com.yoad.arkanoid.geometry.Rectangle;
 import com.yoad.arkanoid.geometry.Velocity;
 import com.yoad.arkanoid.physics.Collidable;
-import com.yoad.arkanoid.sprites.Sprite;
-import com.yoad.arkanoid.fx.FxColors;
+import com.yoad.arkanoid.sim.Simulation;
 
 /**
  * represents a class for our game blocks that will be rectangles.
+ * Once added to a {@link Simulation} it is an entity there, with this brick as its collider,
+ * hit notifier and block components.
  */
-public class Brick implements Collidable, Sprite, HitNotifier {
+public class Brick implements Collidable, HitNotifier {
     //Fields
     private final Rectangle rect;
     private final Color color;
     private List<HitListener> hitListeners;
 
-    private long flashUntilNs = 0L;
+    private final Transform transform;
+    private Path path; // null for a brick that stays put
+
+    // the simulation this brick is in, and its entity there
+    private Simulation game;
+    private int entity = Registry.NONE;
+
+    /** How long a brick glows after being hit, in simulation seconds. */
+    public static final double FLASH_SECONDS = 0.12;
+
+    // reused by hit() to find the face without allocating
+    private final RayHit faceProbe = new RayHit();
 
     /**
      * constructor for the class.
@@ -35,6 +51,57 @@ public class Brick implements Collidable, Sprite, HitNotifier {
         this.rect = rect;
         this.color = color;
         this.hitListeners = new ArrayList<>();
+        this.transform = new Transform(rect.getStartX(), rect.getStartY(), rect.getWidth(), rect.getHeight());
+    }
+
+    /**
+     * Called by the simulation when this brick becomes one of its entities.
+     * @param game   the simulation
+     * @param entity the brick's entity id there
+     */
+    public void bind(Simulation game, int entity) {
+        this.game = game;
+        this.entity = entity;
+    }
+
+    /**
+     * @return the brick's entity id in its simulation, or {@link Registry#NONE}.
+     */
+    public int getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return position and size, as the brick's transform component.
+     */
+    public Transform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Makes the brick move along a path once it is in a game. Must be set before the brick is
+     * added: the world files moving and still collidables apart.
+     * @param path offsets from the brick's starting corner over time, or null to keep it still
+     */
+    public void setPath(Path path) {
+        if (game != null) {
+            throw new IllegalStateException("brick is already in a game");
+        }
+        this.path = path;
+    }
+
+    /**
+     * @return the path the brick moves along, or null if it stays put.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Moves the collision rectangle to the transform, after a system moved the transform.
+     */
+    public void followTransform() {
+        rect.moveTo(transform.x, transform.y);
     }
 
     /**
@@ -49,49 +116,10 @@ public class Brick implements Collidable, Sprite, HitNotifier {
     }
 
     /**
-     * Draws the block.
-     * The block is filled with its specified color and positioned according to its rectangle.
-     *
-     * @param g the Surface on which the block will be drawn
+     * @return {@code true} for a short while after the block was hit.
      */
-    @Override
-    public void draw(javafx.scene.canvas.GraphicsContext g) {
-        var r = this.getCollisionRectangle();
-        double x = r.getStartX(), y = r.getStartY(), w = r.getWidth(), h = r.getHeight();
-
-        // Corner radius (nice & rounded)
-        double rad = Math.min(w, h) * 0.32;
-
-        // Convert AWT -> FX
-        javafx.scene.paint.Color base = javafx.scene.paint.Color.rgb(
-            color.getRed(), color.getGreen(), color.getBlue()
-        );
-
-        // Optional: don't flash the gray walls
-        boolean isWall = (color.equals(java.awt.Color.GRAY));
-
-        // Hit flash — brighten briefly
-        double bright = (!isWall && System.nanoTime() < flashUntilNs) ? 1.25 : 1.0;
-        javafx.scene.paint.Color body = javafx.scene.paint.Color.color(
-            clamp01(base.getRed()   * bright),
-            clamp01(base.getGreen() * bright),
-            clamp01(base.getBlue()  * bright)
-        );
-
-        // Fill
-        g.setFill(body);
-        g.fillRoundRect(x, y, w, h, rad, rad);
-
-        // Soft top-left highlight
-        g.setStroke(body.brighter().brighter());
-        g.setLineWidth(1.2);
-        g.strokeLine(x + 3, y + 3, x + w * 0.65, y + 3);
-        g.strokeLine(x + 3, y + 3, x + 3,        y + h * 0.65);
-
-        // Subtle border
-        g.setStroke(javafx.scene.paint.Color.color(0, 0, 0, 0.35));
-        g.setLineWidth(1.0);
-        g.strokeRoundRect(x + 0.5, y + 0.5, w - 1, h - 1, rad, rad);
+    public boolean isFlashing() {
+        return game != null && game.isFlashing(entity);
     }
 
     /**
@@ -102,6 +130,15 @@ public class Brick implements Collidable, Sprite, HitNotifier {
         return this.rect;
     }
 
+    /**
+     * A brick with a path moves, so the world must not bin it by position.
+     * @return true unless the brick has a path.
+     */
+    @Override
+    public boolean isStatic() {
+        return path == null;
+    }
+
     /**
      * Notify the object that we collided with at collisionPoint with a given velocity.
      * @param collisionPoint the point of collision.
@@ -111,7 +148,9 @@ public class Brick implements Collidable, Sprite, HitNotifier {
     @Override
     public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
 
-        flashUntilNs = System.nanoTime() + (long) (120e6);
+        if (game != null) {
+            game.flash(entity, FLASH_SECONDS);
+        }
 
         double dx = currentVelocity.getDx();
         double dy = currentVelocity.getDy();
@@ -120,25 +159,13 @@ public class Brick implements Collidable, Sprite, HitNotifier {
             this.notifyHit(hitter);
         }
 
-        // Get rectangle boundaries with a small buffer to catch edge cases
-        double left = rect.getStartX() - 0.6;
-        double right = rect.getStartX() + rect.getWidth() + 0.6;
-        double top = rect.getStartY() - 0.6;
-        double bottom = rect.getStartY() + rect.getHeight() + 0.6;
-
-        // Determine which side was hit (with priority to corners)
-        boolean hitLeft = Math.abs(collisionPoint.getX() - left) < 0.8;
-        boolean hitRight = Math.abs(collisionPoint.getX() - right) < 0.8;
-        boolean hitTop = Math.abs(collisionPoint.getY() - top) < 0.8;
-        boolean hitBottom = Math.abs(collisionPoint.getY() - bottom) < 0.8;
-
-        // Corner collision (reverse both velocities)
-        if ((hitLeft || hitRight) && (hitTop || hitBottom)) {
-            return new Velocity(-dx, -dy);
-        } else if (hitLeft || hitRight) {
-            return new Velocity(-dx, dy);
-        } else if (hitTop || hitBottom) {
-            return new Velocity(dx, -dy);
+        // Re-cast the last bit of the path through the contact to find the face that was hit
+        if (RayBox.intersect(collisionPoint.getX() - dx, collisionPoint.getY() - dy, 2 * dx, 2 * dy,
+                rect, 1.0, faceProbe) && !faceProbe.isInside()) {
+            // Corner hits set both components and reverse both velocities
+            double nx = faceProbe.getNormalX() != 0 ? -dx : dx;
+            double ny = faceProbe.getNormalY() != 0 ? -dy : dy;
+            return new Velocity(nx, ny);
         }
 
         // Emergency fallback - if somehow no edge detected but we're in collision
@@ -151,32 +178,22 @@ public class Brick implements Collidable, Sprite, HitNotifier {
     }
 
     /**
-     * Adds this sprite to the specified game and registers it as a collidable object.
-     * The sprite will be managed by the game and be part of the game's sprite collection for rendering,
-     * and it will also be included in the game's collidable collection for collision detection.
+     * Adds this block to the specified game and registers it as a collidable object.
+     * The game keeps it in its brick list for rendering, and in its collidable collection
+     * for collision detection.
      *
-     * @param g the game to which this sprite will be added.
-     *          This game will manage the sprite by adding it to both the sprite collection
-     *          (for drawing and updating) and the collidable collection (for collision detection).
-     */
-    public void addToGame(ArkanoidGame g) {
-        g.addSprite(this);
-        g.addCollidable(this);
-    }
-
-    /**
-     * not done yet.
+     * @param g the game to which this block will be added.
      */
-    public void timePassed() {
+    public void addToGame(Simulation g) {
+        g.addBrick(this);
     }
 
     /**
      * removes this from the game.
      * @param g the game.
      */
-    public void removeFromGame(ArkanoidGame g) {
-        g.removeCollidable(this);
-        g.removeSprite(this);
+    public void removeFromGame(Simulation g) {
+        g.removeBrick(this);
     }
 
     /**
@@ -185,7 +202,7 @@ public class Brick implements Collidable, Sprite, HitNotifier {
      * @return true if same color, false otherwise.
      */
     public boolean ballColorMatch(Ball ball) {
-        return this.color.equals(ball.getColor());
+        return this.color.getRGB() == ball.getArgb();
     }
 
     @Override
@@ -205,7 +222,4 @@ public class Brick implements Collidable, Sprite, HitNotifier {
     public Color getColor() {
         return color;
     }
-
-    // helper
-    private static double clamp01(double v) { return v < 0 ? 0 : (v > 1 ? 1 : v); }
 }
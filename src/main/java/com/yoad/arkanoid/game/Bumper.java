@@ -0,0 +1,110 @@
+package com.yoad.arkanoid.game;
+
+import com.yoad.arkanoid.ecs.Registry;
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.physics.Collidable;
+import com.yoad.arkanoid.sim.Simulation;
+import com.yoad.arkanoid.sprites.Ball;
+
+import java.awt.Color;
+
+/**
+ * A fixed obstacle with a round or angled outline (a {@link ConvexShape}) that balls bounce off
+ * like a mirror: the part of the velocity going into the surface is reversed, the rest is kept.
+ * Bumpers are never destroyed and score nothing.
+ */
+public class Bumper implements Collidable {
+    private final ConvexShape shape;
+    private final Rectangle bounds;
+    private final Color color;
+
+    // the simulation this bumper is in, and its entity there
+    private Simulation game;
+    private int entity = Registry.NONE;
+
+    // reused by hit() to find the surface normal without allocating
+    private final RayHit normal = new RayHit();
+
+    /**
+     * @param shape the outline
+     * @param color fill color
+     */
+    public Bumper(ConvexShape shape, Color color) {
+        this.shape = shape;
+        this.bounds = shape.bounds();
+        this.color = color;
+    }
+
+    /**
+     * Called by the simulation when this bumper becomes one of its entities.
+     * @param game   the simulation
+     * @param entity the bumper's entity id there
+     */
+    public void bind(Simulation game, int entity) {
+        this.game = game;
+        this.entity = entity;
+    }
+
+    /**
+     * @return the outline.
+     */
+    @Override
+    public ConvexShape getShape() {
+        return shape;
+    }
+
+    /**
+     * @return the box holding the outline.
+     */
+    @Override
+    public Rectangle getCollisionRectangle() {
+        return bounds;
+    }
+
+    /**
+     * @return fill color.
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * @return {@code true} for a short while after a ball hit it.
+     */
+    public boolean isFlashing() {
+        return game != null && game.isFlashing(entity);
+    }
+
+    /**
+     * Reflects the ball's velocity about the surface normal where it touches. The ball is at the
+     * contact, so the normal is the direction from the outline to its centre.
+     */
+    @Override
+    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+        if (game != null) {
+            game.flash(entity, Brick.FLASH_SECONDS);
+        }
+        shape.distance(hitter.getCenterX(), hitter.getCenterY(), normal);
+        double nx = normal.getNormalX();
+        double ny = normal.getNormalY();
+        double dx = currentVelocity.getDx();
+        double dy = currentVelocity.getDy();
+        double into = dx * nx + dy * ny;
+        if (into >= 0) {
+            return currentVelocity; // already leaving
+        }
+        return new Velocity(dx - 2 * into * nx, dy - 2 * into * ny);
+    }
+
+    /**
+     * Adds this bumper to the game as a drawn collidable.
+     * @param g the game
+     */
+    public void addToGame(Simulation g) {
+        g.addBumper(this);
+    }
+}
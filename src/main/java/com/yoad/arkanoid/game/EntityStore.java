@@ -0,0 +1,198 @@
+package com.yoad.arkanoid.game;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense, unordered storage for game entities with constant-time add and remove.
+ *
+ * <p>Entities live in one array. Each has a handle that knows its slot, so removing one moves the
+ * last entity into the hole instead of scanning and shifting the array. The order of the array
+ * therefore only matches insertion order until the first removal; where ties must go to the
+ * older entity, compare {@link #orderOf} instead. Entities are told apart by identity, not
+ * {@code equals}.
+ *
+ * <p>Between {@link #deferChanges()} and {@link #applyChanges()}, adds and removes are only
+ * recorded and take effect, in the order they were made, when the outermost {@code applyChanges}
+ * runs. Code can then loop over the store while the entities it visits add or remove others,
+ * without copying the store first.
+ *
+ * @param <T> entity type
+ */
+public final class EntityStore<T> {
+    private Object[] items = new Object[16];
+    private Handle[] handles = new Handle[16];
+    private int size = 0;
+    private long nextOrder = 0L;
+    private final Map<T, Handle> byEntity = new IdentityHashMap<>();
+
+    // command buffer, used while deferring
+    private int deferring = 0;
+    private Object[] commandItems = new Object[8];
+    private boolean[] commandAdds = new boolean[8];
+    private int commands = 0;
+
+    private final List<T> view = new AbstractList<>() {
+        @Override
+        public T get(int i) {
+            return EntityStore.this.get(i);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return byEntity.containsKey(o);
+        }
+    };
+
+    /** Where one stored entity lives, and when it was added. */
+    private static final class Handle {
+        int slot;
+        final long order;
+
+        Handle(int slot, long order) {
+            this.slot = slot;
+            this.order = order;
+        }
+    }
+
+    /**
+     * @return number of stored entities; pending adds and removes are not counted yet.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i slot, {@code 0 <= i < size()}
+     * @return the entity in that slot
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return (T) items[i];
+    }
+
+    /**
+     * @param e an entity
+     * @return {@code true} if it is stored (pending adds and removes not applied yet)
+     */
+    public boolean contains(T e) {
+        return byEntity.containsKey(e);
+    }
+
+    /**
+     * @param e a stored entity
+     * @return a number that grows with every add, for telling which of two entities is older
+     */
+    public long orderOf(T e) {
+        return byEntity.get(e).order;
+    }
+
+    /** @return read-only live view of the stored entities, in slot order. */
+    public List<T> view() {
+        return view;
+    }
+
+    /**
+     * Adds an entity, unless it is already stored.
+     *
+     * @param e the entity
+     */
+    public void add(T e) {
+        if (deferring > 0) {
+            record(e, true);
+            return;
+        }
+        if (byEntity.containsKey(e)) {
+            return;
+        }
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            handles = Arrays.copyOf(handles, size * 2);
+        }
+        Handle h = new Handle(size, nextOrder++);
+        items[size] = e;
+        handles[size] = h;
+        byEntity.put(e, h);
+        size++;
+    }
+
+    /**
+     * Removes an entity. While deferring, it stays stored until the changes are applied.
+     *
+     * @param e the entity
+     * @return {@code true} if it was stored (or, while deferring, is stored now)
+     */
+    public boolean remove(T e) {
+        if (deferring > 0) {
+            record(e, false);
+            return byEntity.containsKey(e);
+        }
+        Handle h = byEntity.remove(e);
+        if (h == null) {
+            return false;
+        }
+        int last = --size;
+        if (h.slot != last) {
+            items[h.slot] = items[last];
+            handles[h.slot] = handles[last];
+            handles[h.slot].slot = h.slot;
+        }
+        items[last] = null;
+        handles[last] = null;
+        return true;
+    }
+
+    /** Removes everything, including pending changes. */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(handles, 0, size, null);
+        Arrays.fill(commandItems, 0, commands, null);
+        byEntity.clear();
+        size = 0;
+        commands = 0;
+    }
+
+    /** Starts recording adds and removes instead of applying them. Calls nest. */
+    public void deferChanges() {
+        deferring++;
+    }
+
+    /** Ends a {@link #deferChanges()}; the outermost one applies every recorded change. */
+    @SuppressWarnings("unchecked")
+    public void applyChanges() {
+        if (deferring == 0 || --deferring > 0) {
+            return;
+        }
+        for (int i = 0; i < commands; i++) {
+            T e = (T) commandItems[i];
+            commandItems[i] = null;
+            if (commandAdds[i]) {
+                add(e);
+            } else {
+                remove(e);
+            }
+        }
+        commands = 0;
+    }
+
+    private void record(T e, boolean add) {
+        if (commands == commandItems.length) {
+            commandItems = Arrays.copyOf(commandItems, commands * 2);
+            commandAdds = Arrays.copyOf(commandAdds, commands * 2);
+        }
+        commandItems[commands] = e;
+        commandAdds[commands] = add;
+        commands++;
+    }
+}
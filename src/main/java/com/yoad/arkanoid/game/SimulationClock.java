@@ -0,0 +1,95 @@
+package com.yoad.arkanoid.game;
+
+/**
+ * Fixed-timestep accumulator that decouples the simulation rate from the display refresh rate.
+ *
+ * <p>Each rendered frame feeds its real duration to {@link #advance(double)}, which returns how
+ * many fixed steps the simulation should run to catch up. If a frame took so long that more than
+ * {@code maxStepsPerFrame} steps are owed (a hitch, a window drag), the extra steps are dropped
+ * instead of spiralling, and counted.
+ */
+public class SimulationClock {
+
+    /**
+     * Rate the game's per-tick speeds (ball velocity, paddle speed) were tuned at. A step of
+     * {@code dt} seconds advances those speeds by {@code dt * REFERENCE_HZ} ticks.
+     */
+    public static final double REFERENCE_HZ = 60.0;
+
+    private final double stepSeconds;
+    private final int maxStepsPerFrame;
+
+    private double accumulator = 0.0;
+    private long droppedSteps = 0L;
+    private int lastDroppedSteps = 0;
+
+    /**
+     * Constructs a clock.
+     *
+     * @param stepsPerSecond simulation rate in Hz
+     * @param maxStepsPerFrame most steps a single frame may run before the rest is dropped
+     */
+    public SimulationClock(double stepsPerSecond, int maxStepsPerFrame) {
+        if (!(stepsPerSecond > 0)) {
+            throw new IllegalArgumentException("stepsPerSecond must be positive: " + stepsPerSecond);
+        }
+        this.stepSeconds = 1.0 / stepsPerSecond;
+        this.maxStepsPerFrame = Math.max(1, maxStepsPerFrame);
+    }
+
+    /**
+     * Adds a frame's real duration and returns how many fixed steps to run now.
+     *
+     * @param frameSeconds time since the previous frame
+     * @return number of {@link #stepSeconds()} steps to simulate
+     */
+    public int advance(double frameSeconds) {
+        if (frameSeconds > 0) {
+            accumulator += frameSeconds;
+        }
+        int steps = (int) (accumulator / stepSeconds);
+        lastDroppedSteps = 0;
+        if (steps > maxStepsPerFrame) {
+            lastDroppedSteps = steps - maxStepsPerFrame;
+            droppedSteps += lastDroppedSteps;
+            steps = maxStepsPerFrame;
+            accumulator -= lastDroppedSteps * stepSeconds;
+        }
+        accumulator -= steps * stepSeconds;
+        return steps;
+    }
+
+    /** Forgets any owed time, e.g. while paused, so resuming doesn't fast-forward. */
+    public void reset() {
+        accumulator = 0.0;
+        lastDroppedSteps = 0;
+    }
+
+    /**
+     * @return length of one simulation step in seconds.
+     */
+    public double stepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * @return leftover time as a fraction of a step, in [0, 1).
+     */
+    public double alpha() {
+        return accumulator / stepSeconds;
+    }
+
+    /**
+     * @return total steps dropped since this clock was created.
+     */
+    public long droppedSteps() {
+        return droppedSteps;
+    }
+
+    /**
+     * @return steps dropped by the most recent {@link #advance(double)} call.
+     */
+    public int lastDroppedSteps() {
+        return lastDroppedSteps;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yoad.arkanoid.game;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Runs a game's simulation on a thread of its own rather than in the FX frame callback: about
+ * once per simulation step it hands the real time elapsed since its last pass to a callback,
+ * which runs the owed steps (see {@link SimulationClock}) and publishes a snapshot. A slow frame
+ * then no longer holds up physics, nor heavy physics the frame.
+ *
+ * <p>If a pass throws, the thread stops calling back and keeps the failure for the owner to
+ * {@link #takeFailure() take} and report on its own thread.
+ */
+final class SimulationThread {
+    private final DoubleConsumer pass;
+    private final long periodNanos;
+    private volatile boolean running;
+    private Thread thread;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * @param stepSeconds length of a simulation step; the thread wakes about this often
+     * @param pass        called with the seconds elapsed since the previous call
+     */
+    SimulationThread(double stepSeconds, DoubleConsumer pass) {
+        this.pass = pass;
+        this.periodNanos = Math.max(1L, (long) (stepSeconds * 1e9));
+    }
+
+    /** Starts calling back, if not already. */
+    void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops calling back, and waits for a pass under way to finish. */
+    void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        thread = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return what made a pass throw and the thread stop, or null if nothing did since the last
+     *     call; each failure is returned once
+     */
+    Throwable takeFailure() {
+        return failure.getAndSet(null);
+    }
+
+    /** @return {@code true} between {@link #start()} and {@link #stop()}, even after a failure. */
+    boolean isRunning() {
+        return thread != null;
+    }
+
+    private void run() {
+        long last = System.nanoTime();
+        while (running) {
+            long wait = last + periodNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue; // woken early, or stopped
+            }
+            long now = System.nanoTime();
+            try {
+                pass.accept((now - last) / 1e9);
+            } catch (RuntimeException | Error e) {
+                running = false;
+                failure.set(e);
+                return;
+            }
+            last = now;
+        }
+    }
+}
@@ -1,28 +1,110 @@
 package com.yoad.arkanoid.game;
 
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.geometry.Fixed;
+import com.yoad.arkanoid.geometry.FixedHit;
+import com.yoad.arkanoid.geometry.FixedRayBox;
 import com.yoad.arkanoid.geometry.Line;
 import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayBox;
+import com.yoad.arkanoid.geometry.RayHit;
 import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.physics.AabbTree;
+import com.yoad.arkanoid.physics.BoxBatch;
+import com.yoad.arkanoid.physics.BrickGrid;
 import com.yoad.arkanoid.physics.Collidable;
 import com.yoad.arkanoid.physics.CollisionInfo;
+import com.yoad.arkanoid.physics.SpatialHashGrid;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Environment of the game, meaning the rectangles to collide with and such.
  */
 public class World {
+
+    /** How {@link #getClosestCollision(Line)} finds the collidables worth testing. */
+    public enum Broadphase {
+        /** Test every collidable (the original scan). */
+        LINEAR,
+        /**
+         * Test only collidables binned in the cells the trajectory's bounding box covers and the
+         * moving ones whose tree boxes it touches, and walk the brick grid (if any) along the
+         * trajectory.
+         */
+        SPATIAL_HASH,
+        /**
+         * Pick the moving collidables from their tree like {@link #SPATIAL_HASH} and the static ones
+         * worth testing with a batched box test over all of them at once (SIMD where the JVM allows, see
+         * {@link BoxBatch}). Pays off when many bricks are near the path.
+         */
+        BATCH
+    }
+
+    /** Default cap on contacts a ball resolves within one tick. */
+    public static final int DEFAULT_COLLISION_ITERATIONS = 4;
+
+    // Slack around the trajectory box, matches Line's on-segment tolerance
+    private static final double QUERY_PAD = 1e-6;
+
     // Fields
     private final Rectangle screen;
-    private final List<Collidable> collidables;
+    private final EntityStore<Collidable> collidables = new EntityStore<>();
+    private final SpatialHashGrid index;
+    private final List<Collidable> moving = new ArrayList<>();
+    private final AabbTree movers = new AabbTree();
+    private int[] moverProxies = new int[8]; // tree proxy of moving.get(i)
+    private final Map<Collidable, Integer> moverSlots = new IdentityHashMap<>(); // i of moving.get(i)
+    private BrickGrid bricks;
+    private final BoxBatch batch = new BoxBatch();
+    private Broadphase broadphase = Broadphase.SPATIAL_HASH;
+    private int maxCollisionIterations = DEFAULT_COLLISION_ITERATIONS;
+
+    // bumped on every add/remove; lets callers tell whether an earlier query still holds
+    private long modifications = 0L;
+    private long insertions = 0L;
+
+    // reused by every query
+    private final List<Collidable> candidates = new ArrayList<>();
+    private final RayHit probe = new RayHit();
+    private final RayHit closest = new RayHit();
+    private final RayHit gridHit = new RayHit();
+    private final Scratch scratch = new Scratch();
+
+    /**
+     * Working memory for one thread's collision queries. The world's own queries share a single
+     * instance; code querying from several threads at once gives each thread its own.
+     */
+    public static final class Scratch {
+        private final List<Collidable> candidates = new ArrayList<>();
+        private final RayHit probe = new RayHit();
+        private final RayHit gridHit = new RayHit();
+        private final FixedHit fixedProbe = new FixedHit();
+        private final SpatialHashGrid.Scratch grid = new SpatialHashGrid.Scratch();
+        private final BoxBatch.Scratch batch = new BoxBatch.Scratch();
+        private final AabbTree.Scratch tree = new AabbTree.Scratch();
+    }
 
     /**
      * Constructor for the game environment.
      */
     public World() {
+        this(SpatialHashGrid.DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructor for the game environment with a custom spatial hash cell size.
+     *
+     * @param cellSize cell edge of the spatial index in pixels
+     */
+    public World(int cellSize) {
         screen = new Rectangle(28, 28, 772, 572);
-        collidables = new ArrayList<>();
+        index = new SpatialHashGrid(cellSize);
     }
 
     /**
@@ -33,10 +115,68 @@ public class World {
     }
 
     /**
-     * @return collidables list.
+     * @return read-only view of the collidables. Matches insertion order only until something
+     *     is removed; removal moves the last collidable into the freed place.
      */
     public List<Collidable> getCollidables() {
-        return collidables;
+        return collidables.view();
+    }
+
+    /**
+     * @return the broadphase used by collision queries.
+     */
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Selects how collision queries gather candidates. Every index is maintained either way,
+     * so switching is free and all modes return the same results.
+     *
+     * @param broadphase the broadphase to use
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        if (broadphase != null) {
+            this.broadphase = broadphase;
+        }
+    }
+
+    /**
+     * @return how many contacts a moving ball may resolve within a single tick.
+     */
+    public int getMaxCollisionIterations() {
+        return maxCollisionIterations;
+    }
+
+    /**
+     * Caps how many contacts a moving ball resolves within a single tick. Each contact consumes
+     * part of the tick; once the cap is hit the rest of that tick's motion is dropped.
+     *
+     * @param iterations the cap, at least 1
+     */
+    public void setMaxCollisionIterations(int iterations) {
+        this.maxCollisionIterations = Math.max(1, iterations);
+    }
+
+    /**
+     * @return the brick grid, or null if none was set.
+     */
+    public BrickGrid getBrickGrid() {
+        return bricks;
+    }
+
+    /**
+     * Sets the grid the level's bricks are laid out on. Collidables added afterwards that exactly
+     * fill a free cell are kept there instead of in the spatial hash; collidables already added
+     * stay where they are, so this may be set only once.
+     *
+     * @param grid the brick layout
+     */
+    public void setBrickGrid(BrickGrid grid) {
+        if (bricks != null) {
+            throw new IllegalStateException("brick grid already set");
+        }
+        this.bricks = grid;
     }
 
     /**
@@ -45,7 +185,90 @@ public class World {
      * @param c the collidable object to add
      */
     public void addCollidable(Collidable c) {
+        if (collidables.contains(c)) {
+            return;
+        }
         collidables.add(c);
+        if (!c.isStatic()) {
+            if (moving.size() == moverProxies.length) {
+                moverProxies = Arrays.copyOf(moverProxies, moverProxies.length * 2);
+            }
+            moverProxies[moving.size()] = movers.insert(c);
+            moverSlots.put(c, moving.size());
+            moving.add(c);
+        } else {
+            batch.add(c);
+            if (bricks == null || !bricks.insert(c, collidables.orderOf(c))) {
+                index.insert(c);
+            }
+        }
+        modifications++;
+        insertions++;
+    }
+
+    /**
+     * Removes the given collidable from the environment.
+     *
+     * @param c the collidable object to remove
+     */
+    public void removeCollidable(Collidable c) {
+        if (collidables.contains(c)) {
+            if (!c.isStatic()) {
+                // swap-remove: the last mover takes the freed slot
+                int i = moverSlots.remove(c);
+                int last = moving.size() - 1;
+                movers.remove(moverProxies[i]);
+                if (i != last) {
+                    Collidable moved = moving.get(last);
+                    moving.set(i, moved);
+                    moverProxies[i] = moverProxies[last];
+                    moverSlots.put(moved, i);
+                }
+                moving.remove(last);
+            } else {
+                batch.remove(c);
+                if (bricks == null || !bricks.remove(c)) {
+                    index.remove(c);
+                }
+            }
+            collidables.remove(c);
+            modifications++;
+        }
+    }
+
+    /**
+     * @return read-only view of the collidables that are not static (the paddle, moving bricks),
+     *     which the spatial index cannot bin; removals reorder it.
+     */
+    public List<Collidable> getMovingCollidables() {
+        return Collections.unmodifiableList(moving);
+    }
+
+    /**
+     * Brings the moving collidables' tree up to date with where they are now. Call it after they
+     * move and before querying; a collidable still inside the slack of its tree box costs a few
+     * comparisons, only one that left it is re-inserted.
+     */
+    public void refreshMovingCollidables() {
+        for (int i = 0, n = moving.size(); i < n; i++) {
+            movers.update(moverProxies[i]);
+        }
+    }
+
+    /**
+     * @return number of adds and removes so far. A query answered while this was unchanged is
+     *     still the answer.
+     */
+    public long getModificationCount() {
+        return modifications;
+    }
+
+    /**
+     * @return number of adds so far. Removing collidables can only take contacts away, so a query
+     *     that hit nothing stays a miss while this is unchanged.
+     */
+    public long getInsertionCount() {
+        return insertions;
     }
 
     /**
@@ -58,25 +281,336 @@ public class World {
      * @return information about the closest collision, or null if none
      */
     public CollisionInfo getClosestCollision(Line trajectory) {
-        Point closestPoint = null;
+        Point s = trajectory.getStart();
+        Point e = trajectory.getEnd();
+        double dx = e.getX() - s.getX();
+        double dy = e.getY() - s.getY();
+
+        Collidable c = getClosestCollision(s.getX(), s.getY(), dx, dy, closest);
+        if (c == null) {
+            return null;
+        }
+        double t = closest.getT();
+        return new CollisionInfo(new Point(s.getX() + dx * t, s.getY() + dy * t), c);
+    }
+
+    /**
+     * Allocation-free form of {@link #getClosestCollision(Line)} for the segment
+     * {@code (ox, oy) -> (ox + dx, oy + dy)}.
+     *
+     * @param ox segment start x
+     * @param oy segment start y
+     * @param dx segment extent x
+     * @param dy segment extent y
+     * @param out receives the segment parameter (0..1) and face normal of the closest hit
+     * @return the collidable hit first, or null if none
+     */
+    public Collidable getClosestCollision(double ox, double oy, double dx, double dy, RayHit out) {
+        List<Collidable> scan = collidables.view();
+        if (broadphase == Broadphase.SPATIAL_HASH) {
+            double minX = Math.min(ox, ox + dx) - QUERY_PAD;
+            double minY = Math.min(oy, oy + dy) - QUERY_PAD;
+            double maxX = Math.max(ox, ox + dx) + QUERY_PAD;
+            double maxY = Math.max(oy, oy + dy) + QUERY_PAD;
+            index.query(minX, minY, maxX, maxY, candidates);
+            movers.query(minX, minY, maxX, maxY, candidates);
+            scan = candidates;
+        } else if (broadphase == Broadphase.BATCH) {
+            scan = batchCandidates(ox, oy, dx, dy, 0, false, candidates, scratch);
+        }
+
         Collidable closestCollidable = null;
+        double closestT = Double.POSITIVE_INFINITY;
 
-        for (Collidable collidable : collidables) {
-            Rectangle collisionRectangle = collidable.getCollisionRectangle();
-            Point p = trajectory.closestIntersectionToStartOfLine(collisionRectangle);
-
-            // Ensure that p is not null before proceeding with distance comparison
-            if (p != null) {
-                // If closestPoint is null (first valid collision) or if p is closer than the previous closest
-                if (closestPoint == null || trajectory.getStart().distance(p)
-                        < trajectory.getStart().distance(closestPoint)) {
-                    closestPoint = p;
-                    closestCollidable = collidable;
-                }
+        for (int i = 0, n = scan.size(); i < n; i++) {
+            Collidable collidable = scan.get(i);
+            ConvexShape shape = collidable.getShape();
+            boolean hit = shape == null
+                ? RayBox.intersect(ox, oy, dx, dy, collidable.getCollisionRectangle(), 1.0, probe)
+                : shape.sweepCircle(ox, oy, dx, dy, 0, 1.0, probe);
+            if (hit && closerThan(collidable, probe.getT(), closestCollidable, closestT)) {
+                closestT = probe.getT();
+                closestCollidable = collidable;
+                out.set(probe);
+            }
+        }
+
+        if (broadphase == Broadphase.SPATIAL_HASH && bricks != null) {
+            Collidable brick = bricks.raycast(ox, oy, dx, dy, gridHit, probe);
+            if (brick != null && closerThan(brick, gridHit.getT(), closestCollidable, closestT)) {
+                closestCollidable = brick;
+                out.set(gridHit);
+            }
+        }
+        return closestCollidable;
+    }
+
+    /**
+     * Swept-circle form of {@link #getClosestCollision(double, double, double, double, RayHit)}:
+     * finds the first collidable a circle of the given radius touches while its centre moves
+     * from {@code (ox, oy)} by {@code (dx, dy)}.
+     *
+     * @param ox centre x at the start of the move
+     * @param oy centre y at the start of the move
+     * @param dx centre displacement x
+     * @param dy centre displacement y
+     * @param radius circle radius
+     * @param out receives the move parameter (0..1) and surface normal of the first contact
+     * @return the collidable touched first, or null if none
+     */
+    public Collidable getClosestCollision(
+            double ox, double oy, double dx, double dy, double radius, RayHit out) {
+        return getClosestCollision(ox, oy, dx, dy, radius, out, scratch);
+    }
+
+    /**
+     * Same as {@link #getClosestCollision(double, double, double, double, double, RayHit)} with
+     * caller-owned working memory. Only reads the world, so queries with distinct scratch objects
+     * may run on several threads at once while nothing is added or removed.
+     *
+     * @param ox centre x at the start of the move
+     * @param oy centre y at the start of the move
+     * @param dx centre displacement x
+     * @param dy centre displacement y
+     * @param radius circle radius
+     * @param out receives the move parameter (0..1) and surface normal of the first contact
+     * @param scratch working memory for this query
+     * @return the collidable touched first, or null if none
+     */
+    public Collidable getClosestCollision(
+            double ox, double oy, double dx, double dy, double radius, RayHit out, Scratch scratch) {
+        return sweep(ox, oy, dx, dy, radius, out, scratch, false);
+    }
+
+    /**
+     * Same as {@link #getClosestCollision(double, double, double, double, double, RayHit, Scratch)}
+     * but ignoring collidables that are not static, so the answer holds for as long as the static
+     * geometry does, wherever the paddle goes meanwhile.
+     *
+     * @param ox centre x at the start of the move
+     * @param oy centre y at the start of the move
+     * @param dx centre displacement x
+     * @param dy centre displacement y
+     * @param radius circle radius
+     * @param out receives the move parameter (0..1) and surface normal of the first contact
+     * @param scratch working memory for this query
+     * @return the static collidable touched first, or null if none
+     */
+    public Collidable getClosestStaticCollision(
+            double ox, double oy, double dx, double dy, double radius, RayHit out, Scratch scratch) {
+        return sweep(ox, oy, dx, dy, radius, out, scratch, true);
+    }
+
+    /**
+     * Fixed-point form of
+     * {@link #getClosestCollision(double, double, double, double, double, RayHit, Scratch)}: the
+     * centre, displacement and radius are 16.16 values (see {@link Fixed}) and every contact test
+     * is integer arithmetic, so the answer is the same on every machine. Candidates are still
+     * picked from the broadphase, with a pixel of slack so none is missed.
+     *
+     * @param ox centre x at the start of the move, 16.16
+     * @param oy centre y at the start of the move, 16.16
+     * @param dx centre displacement x, 16.16
+     * @param dy centre displacement y, 16.16
+     * @param radius circle radius, 16.16
+     * @param out receives the move parameter and surface normal of the first contact
+     * @param scratch working memory for this query
+     * @return the collidable touched first, or null if none
+     */
+    public Collidable getClosestCollisionFixed(
+            int ox, int oy, int dx, int dy, int radius, FixedHit out, Scratch scratch) {
+        List<Collidable> scan = collidables.view();
+        if (broadphase == Broadphase.SPATIAL_HASH) {
+            double pad = Fixed.toDouble(radius) + 1.0;
+            double minX = Fixed.toDouble(Math.min(ox, ox + dx)) - pad;
+            double minY = Fixed.toDouble(Math.min(oy, oy + dy)) - pad;
+            double maxX = Fixed.toDouble(Math.max(ox, ox + dx)) + pad;
+            double maxY = Fixed.toDouble(Math.max(oy, oy + dy)) + pad;
+            index.query(minX, minY, maxX, maxY, scratch.candidates, scratch.grid);
+            movers.query(minX, minY, maxX, maxY, scratch.candidates, scratch.tree);
+            if (bricks != null) {
+                bricks.query(minX, minY, maxX, maxY, scratch.candidates);
+            }
+            scan = scratch.candidates;
+        } else if (broadphase == Broadphase.BATCH) {
+            scan = batchCandidates(Fixed.toDouble(ox), Fixed.toDouble(oy), Fixed.toDouble(dx),
+                Fixed.toDouble(dy), Fixed.toDouble(radius) + 1.0, false, scratch.candidates, scratch);
+        }
+        FixedHit probe = scratch.fixedProbe;
+
+        Collidable closestCollidable = null;
+        int closestT = Integer.MAX_VALUE;
+
+        for (int i = 0, n = scan.size(); i < n; i++) {
+            Collidable collidable = scan.get(i);
+            ConvexShape shape = collidable.getShape();
+            boolean hit;
+            if (shape == null) {
+                Rectangle r = collidable.getCollisionRectangle();
+                long minX = (long) r.getStartX() << Fixed.SHIFT;
+                long minY = (long) r.getStartY() << Fixed.SHIFT;
+                hit = FixedRayBox.sweepCircle(ox, oy, dx, dy, radius, minX, minY,
+                    minX + ((long) r.getWidth() << Fixed.SHIFT), minY + ((long) r.getHeight() << Fixed.SHIFT),
+                    probe);
+            } else {
+                hit = shape.sweepCircleFixed(ox, oy, dx, dy, radius, scratch.probe, probe);
+            }
+            if (hit && closerThan(collidable, probe.getT(), closestCollidable, closestT)) {
+                closestT = probe.getT();
+                closestCollidable = collidable;
+                out.set(probe);
             }
         }
+        return closestCollidable;
+    }
+
+    /**
+     * Predicts a ball's path: moves a circle from {@code (x, y)} in the direction of
+     * {@code (vx, vy)} for up to {@code maxLength} pixels, mirroring it off every collidable it
+     * touches, until the length or {@code out}'s bounces run out. What the ball hits is not told
+     * (nothing breaks or scores), and the paddle's angled return is not modelled.
+     *
+     * <p>The path is swept in pieces no longer than a spatial hash cell, so each query only looks
+     * at the collidables near that piece: the work grows with the length and the bounces asked
+     * for, not with the number of bricks. Allocates nothing; {@code out} carries the working
+     * memory, so a trace may run on another thread than the balls' steps while nothing is added
+     * or removed.
+     *
+     * @param x         centre x at the start
+     * @param y         centre y at the start
+     * @param vx        direction x (any length)
+     * @param vy        direction y (any length)
+     * @param radius    circle radius
+     * @param maxLength how far to follow the path, in pixels
+     * @param out       receives the path; cleared first
+     * @return the number of bounces found
+     */
+    public int traceBounces(
+            double x, double y, double vx, double vy, double radius, double maxLength, BouncePath out) {
+        out.clear();
+        out.add(x, y, null);
+        double speed = Math.sqrt(vx * vx + vy * vy);
+        if (speed == 0 || !(maxLength > 0)) {
+            return 0;
+        }
+        double ux = vx / speed;
+        double uy = vy / speed;
+        double piece = index.getCellSize();
+        double remaining = maxLength;
+        RayHit hit = out.hit;
+        int bounces = 0;
+
+        while (remaining > 0) {
+            double len = Math.min(remaining, piece);
+            double dx = ux * len;
+            double dy = uy * len;
+            Collidable c = sweep(x, y, dx, dy, radius, hit, out.scratch, false);
+            if (c == null) {
+                x += dx;
+                y += dy;
+                remaining -= len;
+                continue;
+            }
+
+            double nx = hit.getNormalX();
+            double ny = hit.getNormalY();
+            if (hit.isInside()) {
+                // started overlapping: step out first, like a ball does
+                x += nx * hit.getDepth();
+                y += ny * hit.getDepth();
+            } else {
+                x += dx * hit.getT();
+                y += dy * hit.getT();
+                remaining -= len * hit.getT();
+            }
+            double into = ux * nx + uy * ny;
+            if (into < 0) {
+                ux -= 2 * into * nx;
+                uy -= 2 * into * ny;
+            }
+            bounces++;
+            if (!out.add(x, y, c)) {
+                return bounces;
+            }
+        }
+        out.add(x, y, null);
+        return bounces;
+    }
 
-        // Return null if no collision is found, otherwise return the closest collision information
-        return closestPoint == null ? null : new CollisionInfo(closestPoint, closestCollidable);
+    private Collidable sweep(
+            double ox, double oy, double dx, double dy, double radius, RayHit out, Scratch scratch,
+            boolean staticOnly) {
+        List<Collidable> scan = collidables.view();
+        if (broadphase == Broadphase.SPATIAL_HASH) {
+            double pad = radius + QUERY_PAD;
+            double minX = Math.min(ox, ox + dx) - pad;
+            double minY = Math.min(oy, oy + dy) - pad;
+            double maxX = Math.max(ox, ox + dx) + pad;
+            double maxY = Math.max(oy, oy + dy) + pad;
+            index.query(minX, minY, maxX, maxY, scratch.candidates, scratch.grid);
+            if (!staticOnly) {
+                movers.query(minX, minY, maxX, maxY, scratch.candidates, scratch.tree);
+            }
+            scan = scratch.candidates;
+        } else if (broadphase == Broadphase.BATCH) {
+            scan = batchCandidates(ox, oy, dx, dy, radius, staticOnly, scratch.candidates, scratch);
+        }
+        RayHit probe = scratch.probe;
+
+        Collidable closestCollidable = null;
+        double closestT = Double.POSITIVE_INFINITY;
+
+        for (int i = 0, n = scan.size(); i < n; i++) {
+            Collidable collidable = scan.get(i);
+            if (staticOnly && !collidable.isStatic()) {
+                continue;
+            }
+            ConvexShape shape = collidable.getShape();
+            boolean hit;
+            if (shape == null) {
+                Rectangle r = collidable.getCollisionRectangle();
+                hit = RayBox.sweepCircle(ox, oy, dx, dy, radius,
+                    r.getStartX(), r.getStartY(), r.getStartX() + r.getWidth(), r.getStartY() + r.getHeight(),
+                    1.0, probe);
+            } else {
+                hit = shape.sweepCircle(ox, oy, dx, dy, radius, 1.0, probe);
+            }
+            if (hit && closerThan(collidable, probe.getT(), closestCollidable, closestT)) {
+                closestT = probe.getT();
+                closestCollidable = collidable;
+                out.set(probe);
+            }
+        }
+
+        if (broadphase == Broadphase.SPATIAL_HASH && bricks != null) {
+            Collidable brick = bricks.sweep(ox, oy, dx, dy, radius, scratch.gridHit, probe);
+            if (brick != null && closerThan(brick, scratch.gridHit.getT(), closestCollidable, closestT)) {
+                closestCollidable = brick;
+                out.set(scratch.gridHit);
+            }
+        }
+        return closestCollidable;
+    }
+
+    /** Fills {@code out} with the tree's moving collidables (unless left out) and the batch's picks. */
+    private List<Collidable> batchCandidates(
+            double ox, double oy, double dx, double dy, double radius, boolean staticOnly,
+            List<Collidable> out, Scratch scratch) {
+        out.clear();
+        if (!staticOnly) {
+            double pad = radius + QUERY_PAD;
+            movers.query(Math.min(ox, ox + dx) - pad, Math.min(oy, oy + dy) - pad,
+                Math.max(ox, ox + dx) + pad, Math.max(oy, oy + dy) + pad, out, scratch.tree);
+        }
+        batch.query(ox, oy, dx, dy, radius, out, scratch.batch);
+        return out;
+    }
+
+    /** Whether a hit on {@code c} at {@code t} beats the best so far; ties go to the older one. */
+    private boolean closerThan(Collidable c, double t, Collidable best, double bestT) {
+        if (t != bestT) {
+            return t < bestT;
+        }
+        return best != null && collidables.orderOf(c) < collidables.orderOf(best);
     }
 }
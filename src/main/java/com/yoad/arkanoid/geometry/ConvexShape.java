@@ -0,0 +1,380 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * A convex outline with rounded edges: every point within {@code radius} of the convex hull of
+ * one or more vertices. One vertex makes a circle, two a capsule, three or more a convex polygon
+ * (sharp-cornered when the radius is 0).
+ *
+ * <p>A circle of radius {@code r} moving against this shape touches it exactly when its centre,
+ * as a point, touches the same hull rounded by {@code radius + r}. That outline is made of the
+ * hull's edges pushed out along their normals and circles around the vertices, so
+ * {@link #sweepCircle} is exact, with the same contact and overlap rules as
+ * {@link RayBox#sweepCircle}. Shapes are immutable and queries allocate nothing.
+ */
+public final class ConvexShape {
+  private final double[] xs;
+  private final double[] ys;
+  // outward unit normal and squared length of the edge from vertex i to vertex i + 1
+  private final double[] nx;
+  private final double[] ny;
+  private final double[] len2;
+  private final int edges;
+  private final double radius;
+  private final double minX;
+  private final double minY;
+  private final double maxX;
+  private final double maxY;
+
+  /**
+   * Constructs the hull of the given vertices rounded by a radius.
+   *
+   * @param radius rounding radius, at least 0; must be positive for a single vertex
+   * @param xy vertex coordinates as {@code x0, y0, x1, y1, ...}, in order around the outline
+   *     (either direction)
+   * @throws IllegalArgumentException if the vertices are missing, repeated or not convex
+   */
+  public ConvexShape(double radius, double... xy) {
+    if (xy.length < 2 || xy.length % 2 != 0) {
+      throw new IllegalArgumentException("need x, y pairs, got " + xy.length + " numbers");
+    }
+    if (!(radius >= 0) || xy.length == 2 && radius == 0) {
+      throw new IllegalArgumentException("bad radius: " + radius);
+    }
+    int n = xy.length / 2;
+    this.radius = radius;
+    xs = new double[n];
+    ys = new double[n];
+
+    // keep the vertices in the order that makes (ey, -ex) point outward
+    double area = 0;
+    for (int i = 0; i < n; i++) {
+      int j = (i + 1) % n;
+      area += xy[2 * i] * xy[2 * j + 1] - xy[2 * j] * xy[2 * i + 1];
+    }
+    for (int i = 0; i < n; i++) {
+      int k = area < 0 ? n - 1 - i : i;
+      xs[i] = xy[2 * k];
+      ys[i] = xy[2 * k + 1];
+    }
+
+    // a capsule's segment has an edge each way; a circle has none
+    edges = n == 1 ? 0 : n;
+    nx = new double[edges];
+    ny = new double[edges];
+    len2 = new double[edges];
+    for (int i = 0; i < edges; i++) {
+      int j = (i + 1) % n;
+      double ex = xs[j] - xs[i];
+      double ey = ys[j] - ys[i];
+      double len = Math.sqrt(ex * ex + ey * ey);
+      if (len == 0) {
+        throw new IllegalArgumentException("repeated vertex " + j);
+      }
+      nx[i] = ey / len;
+      ny[i] = -ex / len;
+      len2[i] = ex * ex + ey * ey;
+      if (n >= 3) {
+        int k = (j + 1) % n;
+        double turn = ex * (ys[k] - ys[j]) - ey * (xs[k] - xs[j]);
+        if (turn < 0) {
+          throw new IllegalArgumentException("outline is not convex at vertex " + j);
+        }
+      }
+    }
+
+    double loX = Double.POSITIVE_INFINITY;
+    double loY = Double.POSITIVE_INFINITY;
+    double hiX = Double.NEGATIVE_INFINITY;
+    double hiY = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < n; i++) {
+      loX = Math.min(loX, xs[i]);
+      loY = Math.min(loY, ys[i]);
+      hiX = Math.max(hiX, xs[i]);
+      hiY = Math.max(hiY, ys[i]);
+    }
+    minX = loX - radius;
+    minY = loY - radius;
+    maxX = hiX + radius;
+    maxY = hiY + radius;
+  }
+
+  /**
+   * @param cx centre x
+   * @param cy centre y
+   * @param radius circle radius, positive
+   * @return a circle
+   */
+  public static ConvexShape circle(double cx, double cy, double radius) {
+    return new ConvexShape(radius, cx, cy);
+  }
+
+  /**
+   * @param ax one end of the core segment, x
+   * @param ay one end of the core segment, y
+   * @param bx other end, x
+   * @param by other end, y
+   * @param radius half the capsule's thickness
+   * @return a capsule: the segment grown by the radius, with round ends
+   */
+  public static ConvexShape capsule(double ax, double ay, double bx, double by, double radius) {
+    return new ConvexShape(radius, ax, ay, bx, by);
+  }
+
+  /**
+   * @param xy vertex coordinates as {@code x0, y0, x1, y1, ...}, at least three vertices in order
+   *     around a convex outline
+   * @return a sharp-cornered convex polygon
+   */
+  public static ConvexShape polygon(double... xy) {
+    if (xy.length < 6) {
+      throw new IllegalArgumentException("a polygon needs three vertices");
+    }
+    return new ConvexShape(0, xy);
+  }
+
+  /**
+   * @return rounding radius.
+   */
+  public double getRadius() {
+    return radius;
+  }
+
+  /**
+   * @return number of hull vertices: 1 for a circle, 2 for a capsule.
+   */
+  public int getVertexCount() {
+    return xs.length;
+  }
+
+  /**
+   * @param i vertex index; vertices run clockwise on screen
+   * @return the vertex's x
+   */
+  public double getX(int i) {
+    return xs[i];
+  }
+
+  /**
+   * @param i vertex index; vertices run clockwise on screen
+   * @return the vertex's y
+   */
+  public double getY(int i) {
+    return ys[i];
+  }
+
+  /**
+   * @return left edge of the bounding box.
+   */
+  public double getMinX() {
+    return minX;
+  }
+
+  /**
+   * @return top edge of the bounding box.
+   */
+  public double getMinY() {
+    return minY;
+  }
+
+  /**
+   * @return right edge of the bounding box.
+   */
+  public double getMaxX() {
+    return maxX;
+  }
+
+  /**
+   * @return bottom edge of the bounding box.
+   */
+  public double getMaxY() {
+    return maxY;
+  }
+
+  /**
+   * @return the smallest whole-pixel rectangle holding the shape, for use as its collision
+   *     rectangle.
+   */
+  public Rectangle bounds() {
+    int x = (int) Math.floor(minX);
+    int y = (int) Math.floor(minY);
+    return new Rectangle(x, y, (int) Math.ceil(maxX) - x, (int) Math.ceil(maxY) - y);
+  }
+
+  /**
+   * Signed distance from a point to the outline, negative inside.
+   *
+   * @param px point x
+   * @param py point y
+   * @param out receives the unit normal pointing from the outline towards the point (out of the
+   *     shape when the point is inside), with {@code t = 0}, {@link RayHit#isInside()} set if the
+   *     point is inside and the depth it is inside by
+   * @return the distance
+   */
+  public double distance(double px, double py, RayHit out) {
+    double d = separation(px, py, out) - radius;
+    out.set(0, out.getNormalX(), out.getNormalY(), d < 0, Math.max(0, -d));
+    return d;
+  }
+
+  /**
+   * Sweeps a circle along a move and reports the first time it touches the shape.
+   *
+   * <p>If the circle already overlaps the shape and is moving deeper, the hit is at {@code t = 0},
+   * {@link RayHit#isInside()} is set and {@link RayHit#getDepth()} tells how far to move along
+   * the normal to separate. An overlapping circle that is already moving out is not reported. A
+   * radius of 0 sweeps a point.
+   *
+   * @param ox circle centre x at {@code t = 0}
+   * @param oy circle centre y at {@code t = 0}
+   * @param dx centre displacement x
+   * @param dy centre displacement y
+   * @param r circle radius
+   * @param tMax largest parameter to accept
+   * @param out receives the contact parameter and surface normal; holds no result on a miss
+   * @return {@code true} on a hit
+   */
+  public boolean sweepCircle(
+      double ox, double oy, double dx, double dy, double r, double tMax, RayHit out) {
+    // Bounding boxes first: most shapes are nowhere near the move
+    if (Math.min(ox, ox + dx) - r > maxX || Math.max(ox, ox + dx) + r < minX
+        || Math.min(oy, oy + dy) - r > maxY || Math.max(oy, oy + dy) + r < minY) {
+      return false;
+    }
+    double grown = radius + r;
+
+    // Already overlapping?
+    double dist = separation(ox, oy, out);
+    if (grown - dist > RayBox.CONTACT_SLOP) {
+      double nX = out.getNormalX();
+      double nY = out.getNormalY();
+      if (dx * nX + dy * nY < 0) {
+        out.set(0, nX, nY, true, grown - dist);
+        return true;
+      }
+      return false;
+    }
+
+    double best = Double.POSITIVE_INFINITY;
+    double bestNx = 0;
+    double bestNy = 0;
+
+    // Edges, pushed out by the grown radius
+    int n = xs.length;
+    for (int i = 0; i < edges; i++) {
+      double approach = nx[i] * dx + ny[i] * dy;
+      if (approach >= 0) {
+        continue; // moving along or away from this side
+      }
+      double gap = nx[i] * (ox - xs[i]) + ny[i] * (oy - ys[i]) - grown;
+      if (gap < -RayBox.CONTACT_SLOP) {
+        continue; // already past this side's line, so it is not the way in
+      }
+      double t = Math.max(0, -gap / approach);
+      if (t > tMax || t >= best) {
+        continue;
+      }
+      int j = (i + 1) % n;
+      double u = (ox + dx * t - xs[i]) * (xs[j] - xs[i]) + (oy + dy * t - ys[i]) * (ys[j] - ys[i]);
+      if (u >= 0 && u <= len2[i]) {
+        best = t;
+        bestNx = nx[i];
+        bestNy = ny[i];
+      }
+    }
+
+    // Rounded corners
+    if (grown > 0) {
+      for (int k = 0; k < n; k++) {
+        double t = RayBox.circleEntry(ox - xs[k], oy - ys[k], dx, dy, grown, tMax);
+        if (t < best) {
+          best = t;
+          bestNx = (ox + dx * t - xs[k]) / grown;
+          bestNy = (oy + dy * t - ys[k]) / grown;
+        }
+      }
+    }
+
+    if (best == Double.POSITIVE_INFINITY) {
+      return false;
+    }
+    out.set(best, bestNx, bestNy, false);
+    return true;
+  }
+
+  /**
+   * {@link #sweepCircle} for 16.16 {@link Fixed} inputs, answering in a {@link FixedHit}. The
+   * contact parameter is rounded down and an overlap depth up, so a circle moved by the answer
+   * never ends inside the shape. Java's double arithmetic and square root are exactly rounded, so
+   * the answer is still the same on every machine.
+   *
+   * @param ox circle centre x at {@code t = 0}, 16.16
+   * @param oy circle centre y at {@code t = 0}, 16.16
+   * @param dx centre displacement x, 16.16
+   * @param dy centre displacement y, 16.16
+   * @param r circle radius, 16.16
+   * @param probe working memory
+   * @param out receives the contact parameter and surface normal; untouched on a miss
+   * @return {@code true} on a hit
+   */
+  public boolean sweepCircleFixed(long ox, long oy, long dx, long dy, long r, RayHit probe, FixedHit out) {
+    if (!sweepCircle(Fixed.toDouble(ox), Fixed.toDouble(oy), Fixed.toDouble(dx), Fixed.toDouble(dy),
+        Fixed.toDouble(r), 1.0, probe)) {
+      return false;
+    }
+    out.set((int) Math.floor(probe.getT() * Fixed.ONE), Fixed.of(probe.getNormalX()),
+        Fixed.of(probe.getNormalY()), probe.isInside(), (int) Math.ceil(probe.getDepth() * Fixed.ONE));
+    return true;
+  }
+
+  /**
+   * Signed distance from a point to the hull itself (before rounding), negative inside a polygon;
+   * writes the direction away from the hull into {@code out}'s normal.
+   */
+  private double separation(double px, double py, RayHit out) {
+    int n = xs.length;
+    if (n >= 3) {
+      // inside (or on) the polygon: out through the side it is least deep behind
+      double best = Double.NEGATIVE_INFINITY;
+      int side = 0;
+      for (int i = 0; i < edges; i++) {
+        double s = nx[i] * (px - xs[i]) + ny[i] * (py - ys[i]);
+        if (s > best) {
+          best = s;
+          side = i;
+        }
+      }
+      if (best <= 0) {
+        out.set(0, nx[side], ny[side], true);
+        return best;
+      }
+    }
+
+    // outside: the nearest point of the outline (only one edge of a capsule is needed)
+    double qx = xs[0];
+    double qy = ys[0];
+    double bestD2 = (px - qx) * (px - qx) + (py - qy) * (py - qy);
+    for (int i = 0, m = n == 2 ? 1 : edges; i < m; i++) {
+      int j = (i + 1) % n;
+      double ex = xs[j] - xs[i];
+      double ey = ys[j] - ys[i];
+      double u = Math.max(0, Math.min(1, ((px - xs[i]) * ex + (py - ys[i]) * ey) / len2[i]));
+      double cx = xs[i] + ex * u;
+      double cy = ys[i] + ey * u;
+      double d2 = (px - cx) * (px - cx) + (py - cy) * (py - cy);
+      if (d2 < bestD2) {
+        bestD2 = d2;
+        qx = cx;
+        qy = cy;
+      }
+    }
+    double d = Math.sqrt(bestD2);
+    if (d > 0) {
+      out.set(0, (px - qx) / d, (py - qy) / d, false);
+    } else if (n == 2) {
+      out.set(0, nx[0], ny[0], false); // on a capsule's core: either side will do
+    } else {
+      out.set(0, 0, -1, false); // at a circle's centre: out the top
+    }
+    return d;
+  }
+}
@@ -0,0 +1,87 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * 16.16 fixed-point numbers: an {@code int} holding a value times {@link #ONE}, so pixels are
+ * kept to 1/65536. Integer arithmetic gives the same bits on every machine and JIT tier, which
+ * is what deterministic physics needs.
+ *
+ * <p>Products and quotients are taken in {@code long} and truncated toward zero, so a fraction of
+ * a move never comes out longer than the exact one.
+ */
+public final class Fixed {
+  /** Number of fraction bits. */
+  public static final int SHIFT = 16;
+  /** The fixed-point value 1.0. */
+  public static final int ONE = 1 << SHIFT;
+
+  private Fixed() {}
+
+  /**
+   * Rounds a double to the nearest fixed-point value.
+   *
+   * @param v the value
+   * @return {@code v} in 16.16
+   */
+  public static int of(double v) {
+    return (int) Math.round(v * ONE);
+  }
+
+  /**
+   * Converts back to a double. Exact: every 16.16 value is representable.
+   *
+   * @param f a 16.16 value
+   * @return its value as a double
+   */
+  public static double toDouble(long f) {
+    return f / (double) ONE;
+  }
+
+  /**
+   * Rounds a double to the 1/65536 grid, staying a double.
+   *
+   * @param v the value
+   * @return the nearest value a 16.16 number can hold
+   */
+  public static double snap(double v) {
+    return toDouble(of(v));
+  }
+
+  /**
+   * @param a a 16.16 value
+   * @param b a 16.16 value
+   * @return {@code a * b} in 16.16, truncated toward zero
+   */
+  public static long mul(long a, long b) {
+    return a * b / ONE;
+  }
+
+  /**
+   * @param a a 16.16 value
+   * @param b a non-zero 16.16 value
+   * @return {@code a / b} in 16.16, truncated toward zero
+   */
+  public static long div(long a, long b) {
+    return a * ONE / b;
+  }
+
+  /**
+   * Integer square root.
+   *
+   * @param v a non-negative value
+   * @return the largest {@code r} with {@code r * r <= v}
+   */
+  public static long isqrt(long v) {
+    if (v <= 0) {
+      return 0;
+    }
+    // Math.sqrt is correctly rounded, so the estimate is off by at most one; the loops fix that
+    long r = (long) Math.sqrt((double) v);
+    while (r * r > v) {
+      r--;
+    }
+    while ((r + 1) * (r + 1) <= v) {
+      r++;
+    }
+    return r;
+  }
+}
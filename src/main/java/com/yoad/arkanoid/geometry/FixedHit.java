@@ -0,0 +1,77 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * Mutable result of a {@link FixedRayBox} query, the 16.16 counterpart of {@link RayHit}: the
+ * move parameter of the contact and the outward unit normal, all scaled by {@link Fixed#ONE}.
+ */
+public final class FixedHit {
+  private int t;
+  private int normalX;
+  private int normalY;
+  private boolean inside;
+  private int depth;
+
+  /**
+   * Returns the move parameter of the contact, from 0 to {@link Fixed#ONE}.
+   *
+   * @return the contact parameter in 16.16
+   */
+  public int getT() {
+    return t;
+  }
+
+  /**
+   * Returns the x component of the contact normal: {@code -ONE}, {@code ONE} or 0 on a face,
+   * the diagonal on a rounded corner.
+   *
+   * @return the normal's x component in 16.16
+   */
+  public int getNormalX() {
+    return normalX;
+  }
+
+  /**
+   * Returns the y component of the contact normal.
+   *
+   * @return the normal's y component in 16.16
+   */
+  public int getNormalY() {
+    return normalY;
+  }
+
+  /**
+   * Whether the circle started overlapping the box; see {@link RayHit#isInside()}.
+   *
+   * @return {@code true} if the circle started inside
+   */
+  public boolean isInside() {
+    return inside;
+  }
+
+  /**
+   * How far an overlapping circle must move along the normal to just touch the box. Zero for
+   * every other hit.
+   *
+   * @return the penetration depth in 16.16 pixels
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Copies another result into this one.
+   *
+   * @param other the result to copy
+   */
+  public void set(FixedHit other) {
+    set(other.t, other.normalX, other.normalY, other.inside, other.depth);
+  }
+
+  void set(int t, int normalX, int normalY, boolean inside, int depth) {
+    this.t = t;
+    this.normalX = normalX;
+    this.normalY = normalY;
+    this.inside = inside;
+    this.depth = depth;
+  }
+}
@@ -0,0 +1,159 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * Integer form of {@link RayBox#sweepCircle}: every coordinate is a 16.16 {@link Fixed} value
+ * and every step is {@code long} arithmetic, so the answer is bit-identical everywhere.
+ *
+ * <p>Contact parameters are truncated toward zero, so a circle moved by {@code t} of its
+ * displacement ends at or before the surface, never inside it. Moves and radii must stay under
+ * 1024 pixels each; the intermediate squares then fit in a {@code long}.
+ */
+public final class FixedRayBox {
+  private static final long ONE = Fixed.ONE;
+
+  private FixedRayBox() {}
+
+  /**
+   * Sweeps a circle along a move and reports the first time it touches the box, with the same
+   * rounded-corner shape and overlap rules as {@link RayBox#sweepCircle}.
+   *
+   * @param ox circle centre x at {@code t = 0}
+   * @param oy circle centre y at {@code t = 0}
+   * @param dx centre displacement x
+   * @param dy centre displacement y
+   * @param radius circle radius
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param out receives the contact parameter (0 to {@code ONE}) and surface normal; untouched
+   *     on a miss
+   * @return {@code true} on a hit
+   */
+  public static boolean sweepCircle(
+      long ox, long oy, long dx, long dy, long radius,
+      long minX, long minY, long maxX, long maxY, FixedHit out) {
+    // Already overlapping?
+    long ex = ox - Math.max(minX, Math.min(ox, maxX));
+    long ey = oy - Math.max(minY, Math.min(oy, maxY));
+    long dist2 = ex * ex + ey * ey;
+    long r2 = radius * radius;
+    if (dist2 < r2) {
+      long dist = Fixed.isqrt(dist2);
+      long nx;
+      long ny;
+      long depth;
+      if (dist > 0) {
+        nx = Fixed.div(ex, dist);
+        ny = Fixed.div(ey, dist);
+        depth = radius - dist;
+      } else {
+        // centre inside the box: leave through the nearest face
+        long left = ox - minX;
+        long right = maxX - ox;
+        long top = oy - minY;
+        long bottom = maxY - oy;
+        long m = Math.min(Math.min(left, right), Math.min(top, bottom));
+        nx = m == left ? -ONE : (m == right ? ONE : 0);
+        ny = nx != 0 ? 0 : (m == top ? -ONE : ONE);
+        depth = m + radius;
+      }
+      if (dx * nx + dy * ny < 0) {
+        out.set(0, (int) nx, (int) ny, true, (int) depth);
+        return true;
+      }
+      return false;
+    }
+
+    long best = Long.MAX_VALUE;
+    long bestNx = 0;
+    long bestNy = 0;
+
+    // Left/right faces, pushed out by the radius
+    long t = faceEntry(ox, dx, minX - radius, maxX + radius, oy, dy, minY, maxY);
+    if (t < best) {
+      best = t;
+      bestNx = dx > 0 ? -ONE : ONE;
+      bestNy = 0;
+    }
+    // Top/bottom faces
+    t = faceEntry(oy, dy, minY - radius, maxY + radius, ox, dx, minX, maxX);
+    if (t < best) {
+      best = t;
+      bestNx = 0;
+      bestNy = dy > 0 ? -ONE : ONE;
+    }
+
+    // Rounded corners
+    long cornerX = dx > 0 ? minX : maxX;
+    long cornerY = dy > 0 ? minY : maxY;
+    for (int i = 0; i < 4; i++) {
+      long cx = (i & 1) == 0 ? minX : maxX;
+      long cy = (i & 2) == 0 ? minY : maxY;
+      if (dx != 0 && dy != 0 && cx != cornerX && cy != cornerY) {
+        continue; // the far corner can never be touched first
+      }
+      t = circleEntry(ox - cx, oy - cy, dx, dy, radius);
+      if (t < best) {
+        best = t;
+        bestNx = Fixed.div(ox - cx + Fixed.mul(dx, t), radius);
+        bestNy = Fixed.div(oy - cy + Fixed.mul(dy, t), radius);
+      }
+    }
+
+    if (best == Long.MAX_VALUE) {
+      return false;
+    }
+    out.set((int) best, (int) bestNx, (int) bestNy, false, 0);
+    return true;
+  }
+
+  /**
+   * Parameter at which a move crosses the near face of the {@code [lo, hi]} slab while its cross
+   * coordinate lies in {@code [crossLo, crossHi]}, or {@code Long.MAX_VALUE}.
+   */
+  private static long faceEntry(
+      long o, long d, long lo, long hi, long crossO, long crossD, long crossLo, long crossHi) {
+    if (d == 0) {
+      return Long.MAX_VALUE;
+    }
+    long gap = (d > 0 ? lo : hi) - o;
+    if (d > 0 ? gap < 0 : gap > 0) {
+      return Long.MAX_VALUE; // already past the face
+    }
+    long t = Fixed.div(gap, d);
+    if (t > ONE) {
+      return Long.MAX_VALUE;
+    }
+    long c = crossO + Fixed.mul(crossD, t);
+    if (c < crossLo || c > crossHi) {
+      return Long.MAX_VALUE;
+    }
+    return t;
+  }
+
+  /**
+   * Parameter at which a point starting at {@code (fx, fy)} relative to a circle's centre and
+   * moving by {@code (dx, dy)} reaches the circle, or {@code Long.MAX_VALUE}. Works on distances
+   * along the move rather than the quadratic, whose terms would overflow.
+   */
+  private static long circleEntry(long fx, long fy, long dx, long dy, long r) {
+    if (Math.abs(fx) > Math.abs(dx) + r || Math.abs(fy) > Math.abs(dy) + r) {
+      return Long.MAX_VALUE; // out of reach within this move
+    }
+    long b = fx * dx + fy * dy;
+    if (b >= 0) {
+      return Long.MAX_VALUE; // not approaching
+    }
+    long len = Fixed.isqrt(dx * dx + dy * dy);
+    long along = -b / len;                  // distance to the point of closest approach
+    long off2 = fx * fx + fy * fy - along * along; // squared distance from the centre there
+    long r2 = r * r;
+    if (off2 > r2) {
+      return Long.MAX_VALUE;
+    }
+    long dist = Math.max(0, along - Fixed.isqrt(r2 - off2));
+    long t = Fixed.div(dist, len);
+    return t <= ONE ? t : Long.MAX_VALUE;
+  }
+}
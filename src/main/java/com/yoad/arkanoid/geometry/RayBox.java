@@ -0,0 +1,326 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * Ray versus axis-aligned box tests using the slab method.
+ *
+ * <p>Everything here takes and returns primitives (or fills a caller-owned {@link RayHit}), so
+ * the collision hot path allocates nothing. The ray is {@code origin + t * direction}; callers
+ * pass the full segment as the direction and {@code tMax = 1} to test a segment. Box edges are
+ * inclusive, so grazing an edge counts as a hit, like {@link Line#intersectionWith(Line)}.
+ */
+public final class RayBox {
+  /** Entry times closer than this count as hitting both faces (a corner). */
+  private static final double CORNER_EPSILON = 1e-9;
+
+  /**
+   * Overlap (in pixels) a swept circle may start with and still be treated as touching. Circles
+   * resting exactly on a surface are not pushed around by rounding noise.
+   */
+  static final double CONTACT_SLOP = 1e-7;
+
+  private RayBox() {}
+
+  /**
+   * Returns the parameter at which the ray enters the box, or {@link Double#POSITIVE_INFINITY}
+   * if it misses the box within {@code [0, tMax]}. A ray starting inside the box reports its exit
+   * parameter instead, which is where the ray crosses the box outline.
+   *
+   * @param ox ray origin x
+   * @param oy ray origin y
+   * @param dx ray direction x
+   * @param dy ray direction y
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param tMax largest parameter to accept
+   * @return the hit parameter, or positive infinity on a miss
+   */
+  public static double entry(
+      double ox, double oy, double dx, double dy,
+      double minX, double minY, double maxX, double maxY, double tMax) {
+    double tNear = Double.NEGATIVE_INFINITY;
+    double tFar = Double.POSITIVE_INFINITY;
+
+    if (dx == 0) {
+      if (ox < minX || ox > maxX) {
+        return Double.POSITIVE_INFINITY;
+      }
+    } else {
+      double inv = 1.0 / dx;
+      double t1 = (minX - ox) * inv;
+      double t2 = (maxX - ox) * inv;
+      tNear = Math.min(t1, t2);
+      tFar = Math.max(t1, t2);
+    }
+
+    if (dy == 0) {
+      if (oy < minY || oy > maxY) {
+        return Double.POSITIVE_INFINITY;
+      }
+    } else {
+      double inv = 1.0 / dy;
+      double t1 = (minY - oy) * inv;
+      double t2 = (maxY - oy) * inv;
+      tNear = Math.max(tNear, Math.min(t1, t2));
+      tFar = Math.min(tFar, Math.max(t1, t2));
+    }
+
+    if (tNear > tFar || tFar < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double t = tNear >= 0 ? tNear : tFar;
+    return t <= tMax ? t : Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Same test as {@link #entry}, additionally reporting the face that was hit.
+   *
+   * @param ox ray origin x
+   * @param oy ray origin y
+   * @param dx ray direction x
+   * @param dy ray direction y
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param tMax largest parameter to accept
+   * @param out receives the hit parameter and face normal; untouched on a miss
+   * @return {@code true} on a hit
+   */
+  public static boolean intersect(
+      double ox, double oy, double dx, double dy,
+      double minX, double minY, double maxX, double maxY, double tMax, RayHit out) {
+    double nearX = Double.NEGATIVE_INFINITY;
+    double farX = Double.POSITIVE_INFINITY;
+    double nearY = Double.NEGATIVE_INFINITY;
+    double farY = Double.POSITIVE_INFINITY;
+
+    if (dx == 0) {
+      if (ox < minX || ox > maxX) {
+        return false;
+      }
+    } else {
+      double inv = 1.0 / dx;
+      double t1 = (minX - ox) * inv;
+      double t2 = (maxX - ox) * inv;
+      nearX = Math.min(t1, t2);
+      farX = Math.max(t1, t2);
+    }
+
+    if (dy == 0) {
+      if (oy < minY || oy > maxY) {
+        return false;
+      }
+    } else {
+      double inv = 1.0 / dy;
+      double t1 = (minY - oy) * inv;
+      double t2 = (maxY - oy) * inv;
+      nearY = Math.min(t1, t2);
+      farY = Math.max(t1, t2);
+    }
+
+    double tNear = Math.max(nearX, nearY);
+    double tFar = Math.min(farX, farY);
+    if (tNear > tFar || tFar < 0) {
+      return false;
+    }
+
+    if (tNear >= 0) {
+      if (tNear > tMax) {
+        return false;
+      }
+      // the face of the slab entered last is the one hit
+      int nx = 0;
+      int ny = 0;
+      if (nearX >= nearY - CORNER_EPSILON) {
+        nx = dx > 0 ? -1 : 1;
+      }
+      if (nearY >= nearX - CORNER_EPSILON) {
+        ny = dy > 0 ? -1 : 1;
+      }
+      out.set(tNear, nx, ny, false);
+      return true;
+    }
+
+    // origin inside: report where the ray leaves the box
+    if (tFar > tMax) {
+      return false;
+    }
+    int nx = 0;
+    int ny = 0;
+    if (farX <= farY + CORNER_EPSILON) {
+      nx = dx > 0 ? 1 : -1;
+    }
+    if (farY <= farX + CORNER_EPSILON) {
+      ny = dy > 0 ? 1 : -1;
+    }
+    out.set(tFar, nx, ny, true);
+    return true;
+  }
+
+  /**
+   * Convenience overload taking the box as a {@link Rectangle}.
+   *
+   * @param ox ray origin x
+   * @param oy ray origin y
+   * @param dx ray direction x
+   * @param dy ray direction y
+   * @param rect the box
+   * @param tMax largest parameter to accept
+   * @param out receives the hit; untouched on a miss
+   * @return {@code true} on a hit
+   */
+  public static boolean intersect(
+      double ox, double oy, double dx, double dy, Rectangle rect, double tMax, RayHit out) {
+    return intersect(ox, oy, dx, dy,
+        rect.getStartX(), rect.getStartY(),
+        rect.getStartX() + rect.getWidth(), rect.getStartY() + rect.getHeight(),
+        tMax, out);
+  }
+
+  /**
+   * Sweeps a circle of the given radius along the ray and reports the first time it touches the
+   * box. This is the ray against the box grown by the radius, with rounded corners, so the circle
+   * cannot slip past a corner that the centre alone would miss.
+   *
+   * <p>If the circle already overlaps the box and is moving deeper, the hit is at {@code t = 0},
+   * {@link RayHit#isInside()} is set and {@link RayHit#getDepth()} tells how far to move along
+   * the normal to separate. An overlapping circle that is already moving out is not reported.
+   *
+   * @param ox circle centre x at {@code t = 0}
+   * @param oy circle centre y at {@code t = 0}
+   * @param dx centre displacement x
+   * @param dy centre displacement y
+   * @param radius circle radius
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param tMax largest parameter to accept
+   * @param out receives the contact parameter and surface normal; untouched on a miss
+   * @return {@code true} on a hit
+   */
+  public static boolean sweepCircle(
+      double ox, double oy, double dx, double dy, double radius,
+      double minX, double minY, double maxX, double maxY, double tMax, RayHit out) {
+    // Already overlapping?
+    double qx = Math.max(minX, Math.min(ox, maxX));
+    double qy = Math.max(minY, Math.min(oy, maxY));
+    double ex = ox - qx;
+    double ey = oy - qy;
+    double dist2 = ex * ex + ey * ey;
+    if (dist2 < radius * radius) {
+      double dist = Math.sqrt(dist2);
+      if (radius - dist > CONTACT_SLOP) {
+        double nx;
+        double ny;
+        double depth;
+        if (dist > 0) {
+          nx = ex / dist;
+          ny = ey / dist;
+          depth = radius - dist;
+        } else {
+          // centre inside the box: leave through the nearest face
+          double left = ox - minX;
+          double right = maxX - ox;
+          double top = oy - minY;
+          double bottom = maxY - oy;
+          double m = Math.min(Math.min(left, right), Math.min(top, bottom));
+          nx = m == left ? -1 : (m == right ? 1 : 0);
+          ny = nx != 0 ? 0 : (m == top ? -1 : 1);
+          depth = m + radius;
+        }
+        if (dx * nx + dy * ny < 0) {
+          out.set(0, nx, ny, true, depth);
+          return true;
+        }
+        return false;
+      }
+    }
+
+    double best = Double.POSITIVE_INFINITY;
+    double bestNx = 0;
+    double bestNy = 0;
+
+    // Left/right faces, pushed out by the radius
+    double t = faceEntry(ox, dx, minX - radius, maxX + radius, oy, dy, minY, maxY, tMax);
+    if (t < best) {
+      best = t;
+      bestNx = dx > 0 ? -1 : 1;
+      bestNy = 0;
+    }
+    // Top/bottom faces
+    t = faceEntry(oy, dy, minY - radius, maxY + radius, ox, dx, minX, maxX, tMax);
+    if (t < best) {
+      best = t;
+      bestNx = 0;
+      bestNy = dy > 0 ? -1 : 1;
+    }
+
+    // Rounded corners
+    double cornerX = dx > 0 ? minX : maxX;
+    double cornerY = dy > 0 ? minY : maxY;
+    for (int i = 0; i < 4; i++) {
+      double cx = (i & 1) == 0 ? minX : maxX;
+      double cy = (i & 2) == 0 ? minY : maxY;
+      if (dx != 0 && dy != 0 && cx != cornerX && cy != cornerY) {
+        continue; // the far corner can never be touched first
+      }
+      t = circleEntry(ox - cx, oy - cy, dx, dy, radius, tMax);
+      if (t < best) {
+        best = t;
+        bestNx = (ox + dx * t - cx) / radius;
+        bestNy = (oy + dy * t - cy) / radius;
+      }
+    }
+
+    if (best == Double.POSITIVE_INFINITY) {
+      return false;
+    }
+    out.set(best, bestNx, bestNy, false);
+    return true;
+  }
+
+  /**
+   * Parameter at which the ray crosses the near face of the {@code [lo, hi]} slab while its
+   * cross coordinate lies in {@code [crossLo, crossHi]}, or infinity.
+   */
+  private static double faceEntry(
+      double o, double d, double lo, double hi,
+      double crossO, double crossD, double crossLo, double crossHi, double tMax) {
+    if (d == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double face = d > 0 ? lo : hi;
+    double t = (face - o) / d;
+    if (t * Math.abs(d) < -CONTACT_SLOP || t > tMax) {
+      return Double.POSITIVE_INFINITY;
+    }
+    t = Math.max(t, 0);
+    double c = crossO + crossD * t;
+    if (c < crossLo || c > crossHi) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return t;
+  }
+
+  /**
+   * Parameter at which a point starting at {@code (fx, fy)} relative to a circle's centre and
+   * moving by {@code (dx, dy)} reaches the circle, or infinity if it does not approach it.
+   */
+  static double circleEntry(double fx, double fy, double dx, double dy, double r, double tMax) {
+    double a = dx * dx + dy * dy;
+    double b = fx * dx + fy * dy;
+    if (a == 0 || b >= 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double c = fx * fx + fy * fy - r * r;
+    double disc = b * b - a * c;
+    if (disc < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double t = Math.max(0, (-b - Math.sqrt(disc)) / a);
+    return t <= tMax ? t : Double.POSITIVE_INFINITY;
+  }
+}
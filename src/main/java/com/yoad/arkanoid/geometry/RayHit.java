@@ -0,0 +1,92 @@
+package com.yoad.arkanoid.geometry;
+
+/**
+ * Mutable result of a {@link RayBox} query: the ray parameter of the hit and the outward unit
+ * normal of the surface that was hit. Callers keep one instance around and reuse it, so queries
+ * allocate nothing.
+ */
+public final class RayHit {
+  private double t;
+  private double normalX;
+  private double normalY;
+  private boolean inside;
+  private double depth;
+
+  /**
+   * Returns the ray parameter of the hit: the hit point is {@code origin + t * direction}.
+   *
+   * @return the hit parameter
+   */
+  public double getT() {
+    return t;
+  }
+
+  /**
+   * Returns the x component of the hit normal. For box faces this is -1 (left face), 1 (right
+   * face) or 0; a swept circle hitting a rounded corner gets the exact diagonal normal.
+   *
+   * @return the normal's x component
+   */
+  public double getNormalX() {
+    return normalX;
+  }
+
+  /**
+   * Returns the y component of the hit normal. For box faces this is -1 (top face), 1 (bottom
+   * face) or 0.
+   *
+   * @return the normal's y component
+   */
+  public double getNormalY() {
+    return normalY;
+  }
+
+  /**
+   * Whether the ray started inside the box. For a plain ray the hit is then the exit point and
+   * the normal is the face the ray leaves through; for a swept circle the hit is at {@code t = 0}
+   * and the normal is the direction that resolves the overlap.
+   *
+   * @return {@code true} if the origin was inside the box
+   */
+  public boolean isInside() {
+    return inside;
+  }
+
+  /**
+   * How far a swept circle that started overlapping must move along the normal to just touch
+   * the box. Zero for every other hit.
+   *
+   * @return the penetration depth
+   */
+  public double getDepth() {
+    return depth;
+  }
+
+  /**
+   * @return {@code true} if both normal components are set (the ray hit exactly at a corner).
+   */
+  public boolean isCorner() {
+    return normalX != 0 && normalY != 0;
+  }
+
+  /**
+   * Copies another result into this one.
+   *
+   * @param other the result to copy
+   */
+  public void set(RayHit other) {
+    set(other.t, other.normalX, other.normalY, other.inside, other.depth);
+  }
+
+  void set(double t, double normalX, double normalY, boolean inside) {
+    set(t, normalX, normalY, inside, 0);
+  }
+
+  void set(double t, double normalX, double normalY, boolean inside, double depth) {
+    this.t = t;
+    this.normalX = normalX;
+    this.normalY = normalY;
+    this.inside = inside;
+    this.depth = depth;
+  }
+}
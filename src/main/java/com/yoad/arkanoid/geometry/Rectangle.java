@@ -134,4 +134,25 @@ public class Rectangle {
     // Update the x-coordinate based on direction (positive for right, negative for left)
     this.upperLeft = new Point(this.upperLeft.getX() + direction, this.upperLeft.getY());
   }
+
+  /**
+   * moves the rectangle horizontally by a fractional amount. The fraction is kept, so many small
+   * moves add up exactly; {@link #getStartX()} still reports whole pixels.
+   *
+   * @param dx horizontal displacement (positive for right, negative for left)
+   */
+  public void move(double dx) {
+    this.upperLeft = new Point(this.upperLeft.getX() + dx, this.upperLeft.getY());
+  }
+
+  /**
+   * moves the rectangle so its top-left corner is at the given point, keeping the fraction like
+   * {@link #move(double)}.
+   *
+   * @param x new top-left x
+   * @param y new top-left y
+   */
+  public void moveTo(double x, double y) {
+    this.upperLeft = new Point(x, y);
+  }
 }
@@ -27,9 +27,10 @@ public class Velocity {
    * @return A geometry.Velocity object representing the motion in Cartesian coordinates.
    */
   public static Velocity fromAngleAndSpeed(double angle, double speed) {
-    double angleRad = Math.toRadians(angle);
-    double dx = speed * Math.cos(angleRad);
-    double dy = speed * Math.sin(angleRad);
+    // StrictMath gives the same bits on every machine; Math's trig may differ in the last place
+    double angleRad = StrictMath.toRadians(angle);
+    double dx = speed * StrictMath.cos(angleRad);
+    double dy = speed * StrictMath.sin(angleRad);
     return new Velocity(dx, dy);
   }
 
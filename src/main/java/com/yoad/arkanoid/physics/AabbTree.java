@@ -0,0 +1,409 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dynamic bounding-volume hierarchy for collidables that move: a balanced binary tree of
+ * axis-aligned boxes whose leaves hold the collidables, so a box query visits only the branches
+ * it overlaps and costs about {@code log n} plus the number of hits.
+ *
+ * <p>Each leaf stores its collidable's rectangle grown by a margin (a "fat" box). As long as the
+ * rectangle stays inside it, {@link #update} only compares four numbers; a collidable that leaves
+ * its fat box is taken out and put back in. Insertion picks the sibling that grows the tree's
+ * total perimeter least, and rotations keep the tree balanced, as in Box2D's dynamic tree.
+ *
+ * <p>Like there, a stored collidable is named by the proxy id {@link #insert} returns, which
+ * stays the same until it is removed; the caller keeps it, so updating a leaf needs no lookup.
+ *
+ * <p>Queries only read the tree, so several threads may query at once with their own
+ * {@link Scratch} while nothing is added, removed or updated.
+ */
+public class AabbTree {
+  /** Default growth of every leaf box on each side, in pixels. */
+  public static final double DEFAULT_MARGIN = 8.0;
+
+  private static final int NULL = -1;
+
+  private final double margin;
+
+  // node storage; a free node keeps the next free index in parent[]
+  private double[] minX = new double[16];
+  private double[] minY = new double[16];
+  private double[] maxX = new double[16];
+  private double[] maxY = new double[16];
+  private int[] parent = new int[16];
+  private int[] left = new int[16];
+  private int[] right = new int[16];
+  private int[] height = new int[16];
+  private Collidable[] item = new Collidable[16];
+  private int root = NULL;
+  private int free = NULL;
+  private int allocated = 0;
+  private int size = 0;
+
+  private final Scratch scratch = new Scratch();
+
+  /** Working memory for one thread's queries. */
+  public static final class Scratch {
+    private int[] stack = new int[64];
+  }
+
+  /** Constructs an empty tree with the default margin. */
+  public AabbTree() {
+    this(DEFAULT_MARGIN);
+  }
+
+  /**
+   * Constructs an empty tree.
+   *
+   * @param margin growth of every leaf box on each side, in pixels; larger means fewer
+   *     re-insertions for moving collidables but looser query results
+   */
+  public AabbTree(double margin) {
+    if (margin < 0) {
+      throw new IllegalArgumentException("margin must not be negative: " + margin);
+    }
+    this.margin = margin;
+  }
+
+  /**
+   * @return number of stored collidables.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return height of the tree: 0 when empty, 1 for a single leaf.
+   */
+  public int height() {
+    return root == NULL ? 0 : height[root] + 1;
+  }
+
+  /**
+   * Stores a collidable under its current rectangle. Storing the same one twice gives two leaves.
+   *
+   * @param c the collidable
+   * @return its proxy id, for {@link #update} and {@link #remove}
+   */
+  public int insert(Collidable c) {
+    int leaf = allocate();
+    item[leaf] = c;
+    height[leaf] = 0;
+    fatten(leaf, c.getCollisionRectangle());
+    insertLeaf(leaf);
+    size++;
+    return leaf;
+  }
+
+  /**
+   * Drops a stored collidable.
+   *
+   * @param proxy the id {@link #insert} returned for it
+   */
+  public void remove(int proxy) {
+    checkProxy(proxy);
+    removeLeaf(proxy);
+    release(proxy);
+    size--;
+  }
+
+  /**
+   * @param proxy the id {@link #insert} returned
+   * @return the collidable stored under it
+   */
+  public Collidable get(int proxy) {
+    checkProxy(proxy);
+    return item[proxy];
+  }
+
+  /**
+   * Catches up with a stored collidable that may have moved or resized. Cheap while its rectangle
+   * stays inside the leaf's fat box; otherwise the leaf is re-inserted under the same id.
+   *
+   * @param proxy the id {@link #insert} returned for it
+   * @return true if the leaf had to be re-inserted
+   */
+  public boolean update(int proxy) {
+    checkProxy(proxy);
+    int leaf = proxy;
+    Rectangle r = item[leaf].getCollisionRectangle();
+    if (r.getStartX() >= minX[leaf] && r.getStartY() >= minY[leaf]
+        && r.getStartX() + r.getWidth() <= maxX[leaf] && r.getStartY() + r.getHeight() <= maxY[leaf]) {
+      return false;
+    }
+    removeLeaf(leaf);
+    fatten(leaf, r);
+    insertLeaf(leaf);
+    return true;
+  }
+
+  /**
+   * Appends every stored collidable whose fat box touches the given box (edges inclusive) to
+   * {@code out}: a superset of the ones whose rectangles do.
+   *
+   * @param qMinX box left
+   * @param qMinY box top
+   * @param qMaxX box right
+   * @param qMaxY box bottom
+   * @param out list to append to; not cleared
+   */
+  public void query(double qMinX, double qMinY, double qMaxX, double qMaxY, List<Collidable> out) {
+    query(qMinX, qMinY, qMaxX, qMaxY, out, scratch);
+  }
+
+  /**
+   * Same as {@link #query(double, double, double, double, List)} with caller-owned working
+   * memory.
+   *
+   * @param qMinX box left
+   * @param qMinY box top
+   * @param qMaxX box right
+   * @param qMaxY box bottom
+   * @param out list to append to; not cleared
+   * @param scratch working memory for this query
+   */
+  public void query(double qMinX, double qMinY, double qMaxX, double qMaxY, List<Collidable> out,
+      Scratch scratch) {
+    if (root == NULL) {
+      return;
+    }
+    int[] stack = scratch.stack;
+    int top = 0;
+    stack[top++] = root;
+    while (top > 0) {
+      int node = stack[--top];
+      if (minX[node] > qMaxX || maxX[node] < qMinX || minY[node] > qMaxY || maxY[node] < qMinY) {
+        continue;
+      }
+      if (left[node] == NULL) {
+        out.add(item[node]);
+        continue;
+      }
+      if (top + 2 > stack.length) {
+        stack = scratch.stack = Arrays.copyOf(stack, stack.length * 2);
+      }
+      stack[top++] = left[node];
+      stack[top++] = right[node];
+    }
+  }
+
+  // ---------------- Structure ----------------
+
+  private void checkProxy(int proxy) {
+    if (proxy < 0 || proxy >= allocated || item[proxy] == null) {
+      throw new IllegalArgumentException("not a stored proxy: " + proxy);
+    }
+  }
+
+  private void fatten(int leaf, Rectangle r) {
+    minX[leaf] = r.getStartX() - margin;
+    minY[leaf] = r.getStartY() - margin;
+    maxX[leaf] = r.getStartX() + r.getWidth() + margin;
+    maxY[leaf] = r.getStartY() + r.getHeight() + margin;
+  }
+
+  private void insertLeaf(int leaf) {
+    if (root == NULL) {
+      root = leaf;
+      parent[leaf] = NULL;
+      return;
+    }
+
+    // walk down to the sibling whose pairing with the leaf adds the least perimeter
+    int index = root;
+    while (left[index] != NULL) {
+      int l = left[index];
+      int r = right[index];
+      double area = perimeter(index);
+      double combined = unionPerimeter(index, leaf);
+      double cost = 2 * combined;             // pair the leaf with this whole branch
+      double inheritance = 2 * (combined - area); // growth every ancestor below here pays
+
+      double costLeft = descendCost(l, leaf) + inheritance;
+      double costRight = descendCost(r, leaf) + inheritance;
+      if (cost < costLeft && cost < costRight) {
+        break;
+      }
+      index = costLeft < costRight ? l : r;
+    }
+    int sibling = index;
+
+    // a new parent takes the sibling's place and holds both
+    int oldParent = parent[sibling];
+    int newParent = allocate();
+    parent[newParent] = oldParent;
+    item[newParent] = null;
+    height[newParent] = height[sibling] + 1;
+    left[newParent] = sibling;
+    right[newParent] = leaf;
+    parent[sibling] = newParent;
+    parent[leaf] = newParent;
+    refit(newParent);
+    if (oldParent == NULL) {
+      root = newParent;
+    } else if (left[oldParent] == sibling) {
+      left[oldParent] = newParent;
+    } else {
+      right[oldParent] = newParent;
+    }
+
+    fixUpwards(parent[leaf]);
+  }
+
+  /** Cost of pushing {@code leaf} further down into {@code child}'s branch. */
+  private double descendCost(int child, int leaf) {
+    double grown = unionPerimeter(child, leaf);
+    return left[child] == NULL ? grown : grown - perimeter(child);
+  }
+
+  private void removeLeaf(int leaf) {
+    if (leaf == root) {
+      root = NULL;
+      return;
+    }
+    int p = parent[leaf];
+    int grand = parent[p];
+    int sibling = left[p] == leaf ? right[p] : left[p];
+    if (grand == NULL) {
+      root = sibling;
+      parent[sibling] = NULL;
+    } else {
+      if (left[grand] == p) {
+        left[grand] = sibling;
+      } else {
+        right[grand] = sibling;
+      }
+      parent[sibling] = grand;
+      fixUpwards(grand);
+    }
+    release(p);
+  }
+
+  /** Rebalances and refits every node from {@code index} up to the root. */
+  private void fixUpwards(int index) {
+    while (index != NULL) {
+      index = balance(index);
+      height[index] = 1 + Math.max(height[left[index]], height[right[index]]);
+      refit(index);
+      index = parent[index];
+    }
+  }
+
+  /**
+   * If one child of {@code a} is more than one level taller than the other, rotates the taller
+   * child up into {@code a}'s place.
+   *
+   * @return the node now at {@code a}'s place
+   */
+  private int balance(int a) {
+    if (left[a] == NULL || height[a] < 2) {
+      return a;
+    }
+    int b = left[a];
+    int c = right[a];
+    int skew = height[c] - height[b];
+    if (skew > 1) {
+      return rotateUp(a, c, b);
+    }
+    if (skew < -1) {
+      return rotateUp(a, b, c);
+    }
+    return a;
+  }
+
+  /** Moves {@code up}, the taller child of {@code a}, into {@code a}'s place; {@code other} stays under {@code a}. */
+  private int rotateUp(int a, int up, int other) {
+    int f = left[up];
+    int g = right[up];
+
+    // up takes a's place
+    left[up] = a;
+    parent[up] = parent[a];
+    parent[a] = up;
+    if (parent[up] == NULL) {
+      root = up;
+    } else if (left[parent[up]] == a) {
+      left[parent[up]] = up;
+    } else {
+      right[parent[up]] = up;
+    }
+
+    // the taller of up's children stays with up, the other goes to a
+    int keep = height[f] > height[g] ? f : g;
+    int give = keep == f ? g : f;
+    right[up] = keep;
+    if (left[a] == up) {
+      left[a] = give;
+    } else {
+      right[a] = give;
+    }
+    parent[give] = a;
+
+    refit(a);
+    height[a] = 1 + Math.max(height[other], height[give]);
+    refit(up);
+    height[up] = 1 + Math.max(height[a], height[keep]);
+    return up;
+  }
+
+  private void refit(int node) {
+    int l = left[node];
+    int r = right[node];
+    minX[node] = Math.min(minX[l], minX[r]);
+    minY[node] = Math.min(minY[l], minY[r]);
+    maxX[node] = Math.max(maxX[l], maxX[r]);
+    maxY[node] = Math.max(maxY[l], maxY[r]);
+  }
+
+  private double perimeter(int n) {
+    return 2 * ((maxX[n] - minX[n]) + (maxY[n] - minY[n]));
+  }
+
+  private double unionPerimeter(int a, int b) {
+    double w = Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b]);
+    double h = Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]);
+    return 2 * (w + h);
+  }
+
+  private int allocate() {
+    int node;
+    if (free != NULL) {
+      node = free;
+      free = parent[node];
+    } else {
+      if (allocated == parent.length) {
+        grow();
+      }
+      node = allocated++;
+    }
+    parent[node] = NULL;
+    left[node] = NULL;
+    right[node] = NULL;
+    return node;
+  }
+
+  private void release(int node) {
+    item[node] = null;
+    left[node] = NULL;
+    right[node] = NULL;
+    parent[node] = free;
+    free = node;
+  }
+
+  private void grow() {
+    int n = parent.length * 2;
+    minX = Arrays.copyOf(minX, n);
+    minY = Arrays.copyOf(minY, n);
+    maxX = Arrays.copyOf(maxX, n);
+    maxY = Arrays.copyOf(maxY, n);
+    parent = Arrays.copyOf(parent, n);
+    left = Arrays.copyOf(left, n);
+    right = Arrays.copyOf(right, n);
+    height = Arrays.copyOf(height, n);
+    item = Arrays.copyOf(item, n);
+  }
+}
@@ -0,0 +1,186 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static collidables packed as four {@code float} lanes (left, top, right, bottom), so one move
+ * can be tested against many boxes per instruction.
+ *
+ * <p>The test is picked once, when this class loads: the Vector API kernel if the JVM has the
+ * {@code jdk.incubator.vector} module (start it with {@code --add-modules
+ * jdk.incubator.vector}) and {@code -Darkanoid.simd=false} is not set, and a scalar loop
+ * otherwise. Both select the same boxes. The float test only narrows the field: every box it
+ * picks still gets the exact test by the caller, with enough slack that no real contact is lost
+ * to float rounding.
+ *
+ * <p>Removing a box moves the last one into its lane, so lanes stay dense. A stored box must not
+ * move; re-add it if it does.
+ */
+public final class BoxBatch {
+  /** Lane arrays are padded to a multiple of this (the 16 floats of a 512-bit vector). */
+  static final int LANE_ALIGN = 16;
+  /** Slack on the move parameter, covering float rounding in the slab test. */
+  static final float T_SLACK = 1e-4f;
+  // slack on every box edge, in pixels, for the same reason
+  private static final float EDGE_SLACK = 1e-2f;
+  // padding lanes hold a point this far away, which no move reaches
+  private static final float FAR = 1e30f;
+  // stands in for 1 / 0
+  private static final float HUGE = 1e30f;
+
+  private static final BoxKernel KERNEL = pickKernel();
+
+  private final BoxKernel kernel;
+  private float[] minX = new float[0];
+  private float[] minY = new float[0];
+  private float[] maxX = new float[0];
+  private float[] maxY = new float[0];
+  private Collidable[] items = new Collidable[0];
+  private int size = 0;
+  private final Map<Collidable, Integer> lanes = new IdentityHashMap<>();
+
+  /** Working memory for one thread's queries. */
+  public static final class Scratch {
+    private int[] found = new int[0];
+  }
+
+  /** Constructs an empty batch using the kernel picked at startup. */
+  public BoxBatch() {
+    this(KERNEL);
+  }
+
+  BoxBatch(BoxKernel kernel) {
+    this.kernel = kernel;
+  }
+
+  private static BoxKernel pickKernel() {
+    if (!Boolean.parseBoolean(System.getProperty("arkanoid.simd", "true"))) {
+      return new ScalarBoxKernel();
+    }
+    try {
+      return (BoxKernel) Class.forName("com.yoad.arkanoid.physics.VectorBoxKernel")
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+      return new ScalarBoxKernel(); // module not present, or vectors too wide for the padding
+    }
+  }
+
+  /**
+   * @return {@code "vector"} if batches test boxes with the Vector API, {@code "scalar"} if not.
+   */
+  public static String kernelName() {
+    return KERNEL instanceof ScalarBoxKernel ? "scalar" : "vector";
+  }
+
+  /**
+   * @return number of stored boxes.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Stores a collidable's current rectangle.
+   *
+   * @param c the collidable
+   * @return false if it was already stored
+   */
+  public boolean add(Collidable c) {
+    if (lanes.containsKey(c)) {
+      return false;
+    }
+    if (size == items.length) {
+      grow();
+    }
+    Rectangle r = c.getCollisionRectangle();
+    minX[size] = r.getStartX();
+    minY[size] = r.getStartY();
+    maxX[size] = r.getStartX() + r.getWidth();
+    maxY[size] = r.getStartY() + r.getHeight();
+    items[size] = c;
+    lanes.put(c, size);
+    size++;
+    return true;
+  }
+
+  /**
+   * Drops a collidable; the last box moves into its lane.
+   *
+   * @param c the collidable
+   * @return true if it was stored
+   */
+  public boolean remove(Collidable c) {
+    Integer lane = lanes.remove(c);
+    if (lane == null) {
+      return false;
+    }
+    int i = lane;
+    int last = --size;
+    if (i != last) {
+      minX[i] = minX[last];
+      minY[i] = minY[last];
+      maxX[i] = maxX[last];
+      maxY[i] = maxY[last];
+      items[i] = items[last];
+      lanes.put(items[i], i);
+    }
+    clearLane(last);
+    return true;
+  }
+
+  /**
+   * Appends to {@code out} every stored collidable that a circle of the given radius may touch
+   * while its centre moves from {@code (ox, oy)} by {@code (dx, dy)}: a superset of the real
+   * contacts, in no particular order. A radius of 0 gives the boxes a segment may cross.
+   *
+   * @param ox centre x at the start of the move
+   * @param oy centre y at the start of the move
+   * @param dx centre displacement x
+   * @param dy centre displacement y
+   * @param radius circle radius
+   * @param out list to append to; not cleared
+   * @param scratch working memory for this query
+   */
+  public void query(double ox, double oy, double dx, double dy, double radius,
+      List<Collidable> out, Scratch scratch) {
+    if (size == 0) {
+      return;
+    }
+    if (scratch.found.length < items.length) {
+      scratch.found = new int[items.length];
+    }
+    float invDx = Math.abs(dx) < 1.0 / HUGE ? HUGE : (float) (1.0 / dx);
+    float invDy = Math.abs(dy) < 1.0 / HUGE ? HUGE : (float) (1.0 / dy);
+    int n = kernel.select(minX, minY, maxX, maxY, size, (float) ox, (float) oy, invDx, invDy,
+        (float) radius + EDGE_SLACK, scratch.found);
+    for (int k = 0; k < n; k++) {
+      out.add(items[scratch.found[k]]);
+    }
+  }
+
+  private void grow() {
+    int n = Math.max(LANE_ALIGN, items.length * 2);
+    int old = items.length;
+    minX = Arrays.copyOf(minX, n);
+    minY = Arrays.copyOf(minY, n);
+    maxX = Arrays.copyOf(maxX, n);
+    maxY = Arrays.copyOf(maxY, n);
+    items = Arrays.copyOf(items, n);
+    for (int i = old; i < n; i++) {
+      clearLane(i);
+    }
+  }
+
+  private void clearLane(int i) {
+    minX[i] = FAR;
+    minY[i] = FAR;
+    maxX[i] = FAR;
+    maxY[i] = FAR;
+    items[i] = null;
+  }
+}
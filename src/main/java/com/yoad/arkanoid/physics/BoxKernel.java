@@ -0,0 +1,30 @@
+package com.yoad.arkanoid.physics;
+
+/**
+ * Tests one move against many boxes stored as packed lanes ({@link BoxBatch}). Implementations
+ * must pick exactly the same lanes; they differ only in how many boxes one instruction covers.
+ */
+interface BoxKernel {
+
+  /**
+   * Finds the boxes, each grown by {@code grow} on every side, that the move from
+   * {@code (ox, oy)} enters or occupies for some {@code t} in {@code [0, 1]}. The move is given
+   * by its inverse direction; a zero component is passed as a huge value of either sign.
+   *
+   * @param minX box left edges
+   * @param minY box top edges
+   * @param maxX box right edges
+   * @param maxY box bottom edges
+   * @param n number of lanes to test; the arrays are padded with far-away boxes up to a multiple
+   *     of {@link BoxBatch#LANE_ALIGN}, so a kernel may run past {@code n} to the padded end
+   * @param ox move start x
+   * @param oy move start y
+   * @param invDx 1 / move x
+   * @param invDy 1 / move y
+   * @param grow margin added to every box
+   * @param out receives the lane indices found, in increasing order
+   * @return number of lanes written to {@code out}
+   */
+  int select(float[] minX, float[] minY, float[] maxX, float[] maxY, int n,
+      float ox, float oy, float invDx, float invDy, float grow, int[] out);
+}
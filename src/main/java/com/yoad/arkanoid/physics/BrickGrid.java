@@ -0,0 +1,316 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.RayBox;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+
+import java.util.List;
+
+/**
+ * A fixed grid of equally sized cells holding at most one static collidable each, laid out like
+ * the level's bricks.
+ *
+ * <p>A collidable whose rectangle is exactly one cell is stored at its (row, col), so adding and
+ * removing it is a single array write. Queries walk only the cells the moving centre passes
+ * through (Amanatides–Woo traversal), testing each visited cell's neighbours within the radius,
+ * and stop as soon as the closest contact lies before the cell being left. Their cost follows the
+ * length of the path, not the number of bricks.
+ */
+public class BrickGrid {
+  // Slack on the neighbourhood searched around each visited cell
+  private static final double RADIUS_PAD = 1e-6;
+
+  private final int originX;
+  private final int originY;
+  private final int cellWidth;
+  private final int cellHeight;
+  private final int cols;
+  private final int rows;
+  private final Collidable[] cells;
+  private final long[] order;
+  private int size = 0;
+
+  /**
+   * Constructs an empty grid.
+   *
+   * @param originX left edge of column 0
+   * @param originY top edge of row 0
+   * @param cellWidth cell width in pixels, must be positive
+   * @param cellHeight cell height in pixels, must be positive
+   * @param cols number of columns
+   * @param rows number of rows
+   */
+  public BrickGrid(int originX, int originY, int cellWidth, int cellHeight, int cols, int rows) {
+    if (cellWidth <= 0 || cellHeight <= 0) {
+      throw new IllegalArgumentException("cell size must be positive: " + cellWidth + "x" + cellHeight);
+    }
+    if (cols <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("grid must have cells: " + cols + "x" + rows);
+    }
+    this.originX = originX;
+    this.originY = originY;
+    this.cellWidth = cellWidth;
+    this.cellHeight = cellHeight;
+    this.cols = cols;
+    this.rows = rows;
+    this.cells = new Collidable[cols * rows];
+    this.order = new long[cols * rows];
+  }
+
+  /**
+   * @return number of stored collidables.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return number of columns.
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * @return number of rows.
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * @param row the row
+   * @param col the column
+   * @return the collidable in that cell, or null if it is empty or outside the grid
+   */
+  public Collidable get(int row, int col) {
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      return null;
+    }
+    return cells[row * cols + col];
+  }
+
+  /**
+   * Stores a collidable if it is static, a plain box (no {@linkplain Collidable#getShape()
+   * shape}), its rectangle is exactly one cell of this grid and that cell is free.
+   *
+   * @param c the collidable
+   * @param seq caller's ordering key; ties between equally close hits go to the smaller key
+   * @return true if it was stored, false if it does not fit the grid
+   */
+  public boolean insert(Collidable c, long seq) {
+    int cell = cellOf(c);
+    if (cell < 0 || cells[cell] != null || !c.isStatic() || c.getShape() != null) {
+      return false;
+    }
+    cells[cell] = c;
+    order[cell] = seq;
+    size++;
+    return true;
+  }
+
+  /**
+   * Clears the cell holding the given collidable.
+   *
+   * @param c the collidable
+   * @return true if it was stored here
+   */
+  public boolean remove(Collidable c) {
+    int cell = cellOf(c);
+    if (cell < 0 || cells[cell] != c) {
+      return false;
+    }
+    cells[cell] = null;
+    size--;
+    return true;
+  }
+
+  /**
+   * @param c a collidable stored in this grid
+   * @return the ordering key it was inserted with
+   */
+  public long orderOf(Collidable c) {
+    return order[cellOf(c)];
+  }
+
+  /**
+   * Appends every stored collidable whose cell touches the given box (edges inclusive) to
+   * {@code out}, row by row. For callers that test candidates themselves.
+   *
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param out list to append to; not cleared
+   */
+  public void query(double minX, double minY, double maxX, double maxY, List<Collidable> out) {
+    int c0 = Math.max(0, (int) Math.floor((minX - originX) / cellWidth));
+    int r0 = Math.max(0, (int) Math.floor((minY - originY) / cellHeight));
+    int c1 = Math.min(cols - 1, (int) Math.floor((maxX - originX) / cellWidth));
+    int r1 = Math.min(rows - 1, (int) Math.floor((maxY - originY) / cellHeight));
+    for (int row = r0; row <= r1; row++) {
+      for (int col = c0; col <= c1; col++) {
+        Collidable c = cells[row * cols + col];
+        if (c != null) {
+          out.add(c);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the first stored collidable the segment {@code (ox, oy) -> (ox + dx, oy + dy)} hits,
+   * with the same edge rules as {@link RayBox#intersect}.
+   *
+   * @param ox segment start x
+   * @param oy segment start y
+   * @param dx segment extent x
+   * @param dy segment extent y
+   * @param out receives the segment parameter and face normal of the closest hit
+   * @param probe working memory
+   * @return the collidable hit first, or null if none
+   */
+  public Collidable raycast(double ox, double oy, double dx, double dy, RayHit out, RayHit probe) {
+    return walk(ox, oy, dx, dy, 0, false, out, probe);
+  }
+
+  /**
+   * Finds the first stored collidable a circle touches while its centre moves from
+   * {@code (ox, oy)} by {@code (dx, dy)}, with the same rules as {@link RayBox#sweepCircle}.
+   *
+   * @param ox centre x at the start of the move
+   * @param oy centre y at the start of the move
+   * @param dx centre displacement x
+   * @param dy centre displacement y
+   * @param radius circle radius
+   * @param out receives the move parameter and surface normal of the first contact
+   * @param probe working memory
+   * @return the collidable touched first, or null if none
+   */
+  public Collidable sweep(
+      double ox, double oy, double dx, double dy, double radius, RayHit out, RayHit probe) {
+    return walk(ox, oy, dx, dy, radius, true, out, probe);
+  }
+
+  private Collidable walk(
+      double ox, double oy, double dx, double dy, double radius, boolean circle,
+      RayHit out, RayHit probe) {
+    if (size == 0) {
+      return null;
+    }
+    // anything the circle can touch lies within this many cells of the centre's cell
+    int kx = (int) ((radius + RADIUS_PAD) / cellWidth) + 1;
+    int ky = (int) ((radius + RADIUS_PAD) / cellHeight) + 1;
+
+    // clip the centre's path to the grid grown by that margin
+    double minX = originX - (double) kx * cellWidth;
+    double minY = originY - (double) ky * cellHeight;
+    double maxX = originX + (double) (cols + kx) * cellWidth;
+    double maxY = originY + (double) (rows + ky) * cellHeight;
+    double t0 = 0;
+    double t1 = 1;
+    if (dx == 0) {
+      if (ox < minX || ox > maxX) {
+        return null;
+      }
+    } else {
+      double a = (minX - ox) / dx;
+      double b = (maxX - ox) / dx;
+      t0 = Math.max(t0, Math.min(a, b));
+      t1 = Math.min(t1, Math.max(a, b));
+    }
+    if (dy == 0) {
+      if (oy < minY || oy > maxY) {
+        return null;
+      }
+    } else {
+      double a = (minY - oy) / dy;
+      double b = (maxY - oy) / dy;
+      t0 = Math.max(t0, Math.min(a, b));
+      t1 = Math.min(t1, Math.max(a, b));
+    }
+    if (t0 > t1) {
+      return null;
+    }
+
+    int cx = clamp((int) Math.floor((ox + dx * t0 - originX) / cellWidth), -kx, cols + kx - 1);
+    int cy = clamp((int) Math.floor((oy + dy * t0 - originY) / cellHeight), -ky, rows + ky - 1);
+    int stepX = dx > 0 ? 1 : -1;
+    int stepY = dy > 0 ? 1 : -1;
+    double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : cellWidth / Math.abs(dx);
+    double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : cellHeight / Math.abs(dy);
+    double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+        : (originX + (double) (cx + (dx > 0 ? 1 : 0)) * cellWidth - ox) / dx;
+    double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+        : (originY + (double) (cy + (dy > 0 ? 1 : 0)) * cellHeight - oy) / dy;
+
+    int best = -1;
+    double bestT = Double.POSITIVE_INFINITY;
+    while (true) {
+      for (int row = Math.max(0, cy - ky), rowEnd = Math.min(rows - 1, cy + ky); row <= rowEnd; row++) {
+        for (int col = Math.max(0, cx - kx), colEnd = Math.min(cols - 1, cx + kx); col <= colEnd; col++) {
+          int cell = row * cols + col;
+          if (cells[cell] == null) {
+            continue;
+          }
+          double left = originX + (double) col * cellWidth;
+          double top = originY + (double) row * cellHeight;
+          boolean hit = circle
+              ? RayBox.sweepCircle(ox, oy, dx, dy, radius,
+                  left, top, left + cellWidth, top + cellHeight, 1.0, probe)
+              : RayBox.intersect(ox, oy, dx, dy,
+                  left, top, left + cellWidth, top + cellHeight, 1.0, probe);
+          if (hit && (probe.getT() < bestT
+              || probe.getT() == bestT && order[cell] < order[best])) {
+            bestT = probe.getT();
+            best = cell;
+            out.set(probe);
+          }
+        }
+      }
+
+      // every contact before the centre leaves this cell has been seen; a tie may still follow
+      double tExit = Math.min(Math.min(tMaxX, tMaxY), t1);
+      if (bestT < tExit || tExit >= t1) {
+        break;
+      }
+      if (tMaxX < tMaxY) {
+        cx += stepX;
+        tMaxX += tDeltaX;
+        if (cx < -kx || cx >= cols + kx) {
+          break;
+        }
+      } else {
+        cy += stepY;
+        tMaxY += tDeltaY;
+        if (cy < -ky || cy >= rows + ky) {
+          break;
+        }
+      }
+    }
+    return best < 0 ? null : cells[best];
+  }
+
+  /** Cell index the collidable's rectangle exactly covers, or -1. */
+  private int cellOf(Collidable c) {
+    Rectangle r = c.getCollisionRectangle();
+    if (r.getWidth() != cellWidth || r.getHeight() != cellHeight) {
+      return -1;
+    }
+    int ox = r.getStartX() - originX;
+    int oy = r.getStartY() - originY;
+    if (ox < 0 || oy < 0 || ox % cellWidth != 0 || oy % cellHeight != 0) {
+      return -1;
+    }
+    int col = ox / cellWidth;
+    int row = oy / cellHeight;
+    if (col >= cols || row >= rows) {
+      return -1;
+    }
+    return row * cols + col;
+  }
+
+  private static int clamp(int v, int lo, int hi) {
+    return Math.max(lo, Math.min(hi, v));
+  }
+}
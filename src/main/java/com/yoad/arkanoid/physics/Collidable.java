@@ -1,5 +1,6 @@
 package com.yoad.arkanoid.physics;
 
+import com.yoad.arkanoid.geometry.ConvexShape;
 import com.yoad.arkanoid.geometry.Point;
 import com.yoad.arkanoid.geometry.Rectangle;
 import com.yoad.arkanoid.geometry.Velocity;
@@ -9,10 +10,22 @@ import com.yoad.arkanoid.sprites.Ball;
 public interface Collidable {
 
   /**
-   * @return the rectangle that collided with.
+   * @return the rectangle that collided with. For a collidable with a {@linkplain #getShape()
+   *     shape}, a box holding that shape, which queries use to rule it out cheaply.
    */
   Rectangle getCollisionRectangle();
 
+  /**
+   * The exact outline of a collidable that is not a plain box, such as a round or angled bumper.
+   * Balls collide with the shape; the collision rectangle only narrows down who gets the exact
+   * test, so it must hold the whole shape.
+   *
+   * @return the shape, or null (the default) if the collision rectangle is the outline.
+   */
+  default ConvexShape getShape() {
+    return null;
+  }
+
   /**
    * Notify the object that we collided with at collisionPoint with a given velocity.
    *
@@ -22,4 +35,15 @@ public interface Collidable {
    * @return the new geometry.Velocity after colliding.
    */
   Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity);
+
+  /**
+   * Whether the collision rectangle stays put for as long as this object is in the world. Static
+   * collidables are binned once by the world's spatial index; others are kept in a tree of boxes
+   * the world refits as they move.
+   *
+   * @return true unless the object moves or resizes (e.g. the paddle, a moving brick).
+   */
+  default boolean isStatic() {
+    return true;
+  }
 }
@@ -0,0 +1,28 @@
+package com.yoad.arkanoid.physics;
+
+/** Plain loop form of {@link BoxKernel}: one box at a time, the slab test in floats. */
+final class ScalarBoxKernel implements BoxKernel {
+
+  @Override
+  public int select(float[] minX, float[] minY, float[] maxX, float[] maxY, int n,
+      float ox, float oy, float invDx, float invDy, float grow, int[] out) {
+    // same float operations, in the same order, as the vector kernel
+    float loX = grow + ox;
+    float hiX = grow - ox;
+    float loY = grow + oy;
+    float hiY = grow - oy;
+    int found = 0;
+    for (int i = 0; i < n; i++) {
+      float x0 = (minX[i] - loX) * invDx;
+      float x1 = (maxX[i] + hiX) * invDx;
+      float y0 = (minY[i] - loY) * invDy;
+      float y1 = (maxY[i] + hiY) * invDy;
+      float near = Math.max(Math.min(x0, x1), Math.min(y0, y1));
+      float far = Math.min(Math.max(x0, x1), Math.max(y0, y1));
+      if (near <= far && far >= -BoxBatch.T_SLACK && near <= 1 + BoxBatch.T_SLACK) {
+        out[found++] = i;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,273 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform spatial hash over the collision rectangles of static collidables.
+ *
+ * <p>Every static collidable is binned into each cell its rectangle overlaps. Cells are hashed
+ * into a fixed power-of-two table of buckets, so the grid has no bounds and negative coordinates
+ * (e.g. the off-screen walls) work as well. Non-static collidables (the paddle) are not binned;
+ * they are returned by every query and tested exactly by the caller.
+ */
+public class SpatialHashGrid {
+  /** Default cell edge in pixels (a little larger than a brick). */
+  public static final int DEFAULT_CELL_SIZE = 64;
+
+  private static final int DEFAULT_BUCKETS = 1024;
+
+  private final int cellSize;
+  private final int mask;
+  private final Bucket[] buckets;
+  private final Map<Collidable, Entry> entries = new IdentityHashMap<>();
+  private final List<Entry> unbounded = new ArrayList<>();
+  private int nextSeq = 0;
+
+  // query scratch (reused; queries are single-threaded)
+  private final Scratch scratch = new Scratch();
+
+  /** Constructs a grid with the default cell size. */
+  public SpatialHashGrid() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Constructs a grid with the given cell size.
+   *
+   * @param cellSize cell edge in pixels, must be positive
+   */
+  public SpatialHashGrid(int cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+    this.buckets = new Bucket[DEFAULT_BUCKETS];
+    this.mask = DEFAULT_BUCKETS - 1;
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket();
+    }
+  }
+
+  /**
+   * @return the cell edge in pixels.
+   */
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  /**
+   * @return number of indexed collidables (static and non-static).
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Indexes a collidable. Static collidables are binned by their current collision rectangle;
+   * others are kept aside and returned by every query.
+   *
+   * @param c the collidable to add
+   */
+  public void insert(Collidable c) {
+    if (entries.containsKey(c)) {
+      return;
+    }
+    Entry e = new Entry(c, nextSeq++);
+    entries.put(c, e);
+
+    if (!c.isStatic()) {
+      unbounded.add(e);
+      return;
+    }
+
+    Rectangle r = c.getCollisionRectangle();
+    e.minCx = cell(r.getStartX());
+    e.minCy = cell(r.getStartY());
+    e.maxCx = cell(r.getStartX() + r.getWidth());
+    e.maxCy = cell(r.getStartY() + r.getHeight());
+    for (int cy = e.minCy; cy <= e.maxCy; cy++) {
+      for (int cx = e.minCx; cx <= e.maxCx; cx++) {
+        bucket(cx, cy).add(e);
+      }
+    }
+  }
+
+  /**
+   * Removes a collidable from the index.
+   *
+   * @param c the collidable to remove
+   * @return true if it was indexed
+   */
+  public boolean remove(Collidable c) {
+    Entry e = entries.remove(c);
+    if (e == null) {
+      return false;
+    }
+    if (!c.isStatic()) {
+      unbounded.remove(e);
+      return true;
+    }
+    for (int cy = e.minCy; cy <= e.maxCy; cy++) {
+      for (int cx = e.minCx; cx <= e.maxCx; cx++) {
+        bucket(cx, cy).remove(e);
+      }
+    }
+    return true;
+  }
+
+  /** Removes everything. */
+  public void clear() {
+    entries.clear();
+    unbounded.clear();
+    for (Bucket b : buckets) {
+      b.clear();
+    }
+  }
+
+  /**
+   * Collects every collidable whose binned cells overlap the given box, plus all non-static
+   * collidables. Each collidable appears once and the result is in insertion order, so scanning
+   * it behaves exactly like scanning the full list.
+   *
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param out cleared, then filled with the candidates
+   */
+  public void query(double minX, double minY, double maxX, double maxY, List<Collidable> out) {
+    query(minX, minY, maxX, maxY, out, scratch);
+  }
+
+  /**
+   * Same as {@link #query(double, double, double, double, List)} with caller-owned working
+   * memory. Queries with distinct scratch objects may run concurrently as long as nothing
+   * inserts or removes meanwhile.
+   *
+   * @param minX box left
+   * @param minY box top
+   * @param maxX box right
+   * @param maxY box bottom
+   * @param out cleared, then filled with the candidates
+   * @param scratch working memory for this query
+   */
+  public void query(
+      double minX, double minY, double maxX, double maxY, List<Collidable> out, Scratch scratch) {
+    out.clear();
+    int n = 0;
+
+    int qMinCx = cell(minX);
+    int qMinCy = cell(minY);
+    int qMaxCx = cell(maxX);
+    int qMaxCy = cell(maxY);
+
+    for (int cy = qMinCy; cy <= qMaxCy; cy++) {
+      for (int cx = qMinCx; cx <= qMaxCx; cx++) {
+        Bucket b = bucket(cx, cy);
+        for (int i = 0; i < b.size; i++) {
+          Entry e = b.items[i];
+          // hashed neighbour from another cell
+          if (cx < e.minCx || cx > e.maxCx || cy < e.minCy || cy > e.maxCy) {
+            continue;
+          }
+          // report each entry only from the first cell shared with the query
+          if (cx != Math.max(e.minCx, qMinCx) || cy != Math.max(e.minCy, qMinCy)) {
+            continue;
+          }
+          n = push(scratch, n, e);
+        }
+      }
+    }
+    for (Entry e : unbounded) {
+      n = push(scratch, n, e);
+    }
+
+    // restore insertion order (lists are short, insertion sort is enough)
+    Entry[] found = scratch.found;
+    for (int i = 1; i < n; i++) {
+      Entry e = found[i];
+      int j = i - 1;
+      while (j >= 0 && found[j].seq > e.seq) {
+        found[j + 1] = found[j];
+        j--;
+      }
+      found[j + 1] = e;
+    }
+    for (int i = 0; i < n; i++) {
+      out.add(found[i].collidable);
+      found[i] = null;
+    }
+  }
+
+  private static int push(Scratch scratch, int n, Entry e) {
+    if (n == scratch.found.length) {
+      Entry[] grown = new Entry[n * 2];
+      System.arraycopy(scratch.found, 0, grown, 0, n);
+      scratch.found = grown;
+    }
+    scratch.found[n] = e;
+    return n + 1;
+  }
+
+  private int cell(double v) {
+    return (int) Math.floor(v / cellSize);
+  }
+
+  private Bucket bucket(int cx, int cy) {
+    return buckets[((cx * 73856093) ^ (cy * 19349663)) & mask];
+  }
+
+  /** Per-thread working memory for {@link #query}. */
+  public static final class Scratch {
+    private Entry[] found = new Entry[32];
+  }
+
+  /** One indexed collidable and the cell range it was binned into. */
+  private static final class Entry {
+    final Collidable collidable;
+    final int seq;
+    int minCx, minCy, maxCx, maxCy;
+
+    Entry(Collidable collidable, int seq) {
+      this.collidable = collidable;
+      this.seq = seq;
+    }
+  }
+
+  /** Unordered array bag of entries (swap-remove). */
+  private static final class Bucket {
+    Entry[] items = new Entry[4];
+    int size;
+
+    void add(Entry e) {
+      if (size == items.length) {
+        Entry[] grown = new Entry[size * 2];
+        System.arraycopy(items, 0, grown, 0, size);
+        items = grown;
+      }
+      items[size++] = e;
+    }
+
+    void remove(Entry e) {
+      for (int i = 0; i < size; i++) {
+        if (items[i] == e) {
+          items[i] = items[--size];
+          items[size] = null;
+          return;
+        }
+      }
+    }
+
+    void clear() {
+      for (int i = 0; i < size; i++) {
+        items[i] = null;
+      }
+      size = 0;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.yoad.arkanoid.physics;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BoxKernel} on the incubating Vector API: the slab test runs on as many boxes at once as
+ * the CPU's widest float vector holds (16 with AVX-512, 8 with AVX2). Only loaded when the JVM
+ * was started with {@code --add-modules jdk.incubator.vector}; see {@link BoxBatch}.
+ */
+final class VectorBoxKernel implements BoxKernel {
+  private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+  VectorBoxKernel() {
+    if (SPECIES.length() > BoxBatch.LANE_ALIGN) {
+      throw new UnsupportedOperationException("vectors wider than the lane padding: " + SPECIES);
+    }
+  }
+
+  @Override
+  public int select(float[] minX, float[] minY, float[] maxX, float[] maxY, int n,
+      float ox, float oy, float invDx, float invDy, float grow, int[] out) {
+    int found = 0;
+    int step = SPECIES.length();
+    float loSlack = -BoxBatch.T_SLACK;
+    float hiSlack = 1 + BoxBatch.T_SLACK;
+    // lanes past n hold far-away boxes, so whole vectors can run to the padded end
+    for (int i = 0; i < n; i += step) {
+      FloatVector x0 = FloatVector.fromArray(SPECIES, minX, i).sub(grow + ox).mul(invDx);
+      FloatVector x1 = FloatVector.fromArray(SPECIES, maxX, i).add(grow - ox).mul(invDx);
+      FloatVector y0 = FloatVector.fromArray(SPECIES, minY, i).sub(grow + oy).mul(invDy);
+      FloatVector y1 = FloatVector.fromArray(SPECIES, maxY, i).add(grow - oy).mul(invDy);
+      FloatVector near = x0.min(x1).max(y0.min(y1));
+      FloatVector far = x0.max(x1).min(y0.max(y1));
+      VectorMask<Float> hit = near.compare(VectorOperators.LE, far)
+          .and(far.compare(VectorOperators.GE, loSlack))
+          .and(near.compare(VectorOperators.LE, hiSlack));
+      long bits = hit.toLong();
+      while (bits != 0) {
+        out[found++] = i + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,101 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+/**
+ * The part of a layer that needs repainting: the bounding box of every area marked since the
+ * last {@link #clear()}, or the whole layer. Areas are grown by {@link #PAD} so anti-aliased
+ * edges drawn just outside a box are repainted too.
+ */
+public final class DirtyRegion {
+
+    /** Growth of every marked area on each side, in pixels. */
+    public static final double PAD = 2.0;
+
+    private double minX, minY, maxX, maxY;
+    private boolean empty = true;
+    private boolean all = false;
+
+    /** Marks the whole layer. */
+    public void markAll() {
+        all = true;
+        empty = false;
+    }
+
+    /**
+     * Marks a box.
+     * @param r the box
+     */
+    public void mark(Rectangle r) {
+        mark(r.getStartX(), r.getStartY(), r.getWidth(), r.getHeight());
+    }
+
+    /**
+     * Marks a box.
+     * @param x left
+     * @param y top
+     * @param w width
+     * @param h height
+     */
+    public void mark(double x, double y, double w, double h) {
+        if (empty) {
+            minX = x - PAD;
+            minY = y - PAD;
+            maxX = x + w + PAD;
+            maxY = y + h + PAD;
+            empty = false;
+        } else {
+            minX = Math.min(minX, x - PAD);
+            minY = Math.min(minY, y - PAD);
+            maxX = Math.max(maxX, x + w + PAD);
+            maxY = Math.max(maxY, y + h + PAD);
+        }
+    }
+
+    /**
+     * Marks everything another region has marked.
+     * @param other the region to add; left as it is
+     */
+    public void mark(DirtyRegion other) {
+        if (other.empty) {
+            return;
+        }
+        all |= other.all;
+        if (empty) {
+            minX = other.minX;
+            minY = other.minY;
+            maxX = other.maxX;
+            maxY = other.maxY;
+            empty = false;
+        } else {
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+        }
+    }
+
+    /** Forgets every mark, after the layer was repainted. */
+    public void clear() {
+        empty = true;
+        all = false;
+    }
+
+    /** @return {@code true} if nothing needs repainting. */
+    public boolean isEmpty() { return empty; }
+
+    /** @return {@code true} if the whole layer needs repainting. */
+    public boolean isAll() { return all; }
+
+    /** @return left of the marked box. */
+    public double getMinX() { return minX; }
+
+    /** @return top of the marked box. */
+    public double getMinY() { return minY; }
+
+    /** @return right of the marked box. */
+    public double getMaxX() { return maxX; }
+
+    /** @return bottom of the marked box. */
+    public double getMaxY() { return maxY; }
+}
@@ -0,0 +1,432 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.config.Theme;
+import com.yoad.arkanoid.game.BouncePath;
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.powerups.PowerUpType;
+import com.yoad.arkanoid.ui.TextCache;
+import com.yoad.arkanoid.ui.TextFx;
+import com.yoad.arkanoid.ui.Typography;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+
+import static com.yoad.arkanoid.game.Dimensions.*;
+
+/**
+ * Draws the simulation's entities with JavaFX. The entities themselves only hold state, so the
+ * simulation can run without the FX toolkit; everything visual about them lives here. It draws
+ * from the plain values a {@link RenderSnapshot} copied out of them.
+ *
+ * <p>Bricks, the paddle, balls and power-ups are painted once per look into a {@link SpriteAtlas}
+ * and then copied from it; call {@link #prepare} at the start of every frame.
+ */
+public final class EntityPainter {
+    private EntityPainter() {}
+
+    private static final double TRAIL_ALPHA = 0.18;
+    private static double[] trailAlpha = new double[0];
+    private static double[] trailScale = new double[0];
+    private static final double[] GUIDE_DASHES = {6, 6};
+    private static final int WALL_RGB = java.awt.Color.GRAY.getRGB();
+    private static final Color SCORE_PILL = Color.color(0, 0, 0, 0.45);
+
+    // sprite kinds in the atlas
+    private static final int BRICK = 1, PADDLE = 2, BALL = 3, POWER_UP = 4;
+    private static final SpriteAtlas ATLAS = new SpriteAtlas();
+
+    /**
+     * Readies the sprite atlas for a frame: sprites first seen last frame become drawable from
+     * it, and it is redrawn from scratch after a change of theme or display scale. Digit strips
+     * follow the display scale too.
+     *
+     * @param theme       the current theme
+     * @param renderScale device pixels per canvas unit, see {@code UIUtils.renderScale}
+     */
+    public static void prepare(Theme theme, double renderScale) {
+        ATLAS.prepare(theme, renderScale);
+        TextCache.setRenderScale(renderScale);
+    }
+
+    /**
+     * Draws a block (or wall) as a rounded, lightly bevelled tile in its color.
+     *
+     * @param g        target
+     * @param x        left
+     * @param y        top
+     * @param w        width
+     * @param h        height
+     * @param rgb      its color
+     * @param flashing whether it was just hit
+     */
+    public static void drawBrick(Renderer g, double x, double y, int w, int h, int rgb, boolean flashing) {
+        // Optional: don't flash the gray walls
+        boolean lit = rgb != WALL_RGB && flashing;
+
+        long key = SpriteAtlas.key(BRICK, w, h, rgb, lit);
+        if (ATLAS.draw(g, key, x, y)) {
+            return;
+        }
+        Renderer a = ATLAS.begin(key, w, h, 1);
+        if (a != null) {
+            paintBrick(a, 0, 0, w, h, rgb, lit);
+            ATLAS.end();
+        }
+        paintBrick(g, x, y, w, h, rgb, lit);
+    }
+
+    private static void paintBrick(Renderer g, double x, double y, double w, double h, int rgb, boolean lit) {
+        // Corner radius (nice & rounded)
+        double rad = Math.min(w, h) * 0.32;
+
+        Color base = Color.rgb((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+
+        // Hit flash — brighten briefly
+        double bright = lit ? 1.25 : 1.0;
+        Color body = Color.color(
+            clamp01(base.getRed()   * bright),
+            clamp01(base.getGreen() * bright),
+            clamp01(base.getBlue()  * bright)
+        );
+
+        // Fill
+        g.setFill(body);
+        g.fillRoundRect(x, y, w, h, rad, rad);
+
+        // Soft top-left highlight
+        g.setStroke(body.brighter().brighter());
+        g.setLineWidth(1.2);
+        g.strokeLine(x + 3, y + 3, x + w * 0.65, y + 3);
+        g.strokeLine(x + 3, y + 3, x + 3,        y + h * 0.65);
+
+        // Subtle border
+        g.setStroke(Color.color(0, 0, 0, 0.35));
+        g.setLineWidth(1.0);
+        g.strokeRoundRect(x + 0.5, y + 0.5, w - 1, h - 1, rad, rad);
+    }
+
+    /**
+     * Draws a bumper's outline filled in its color: the hull, rounded by a stroke as wide as the
+     * shape's rounding, with a light rim. Brightened briefly after a hit.
+     *
+     * @param g        target
+     * @param shape    the bumper's outline
+     * @param rgb      its color
+     * @param flashing whether it was just hit
+     */
+    public static void drawBumper(Renderer g, ConvexShape shape, int rgb, boolean flashing) {
+        Color base = Color.rgb((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+
+        // Hit flash — brighten briefly
+        double bright = flashing ? 1.25 : 1.0;
+        Color body = Color.color(
+            clamp01(base.getRed()   * bright),
+            clamp01(base.getGreen() * bright),
+            clamp01(base.getBlue()  * bright)
+        );
+
+        int n = shape.getVertexCount();
+        double rad = shape.getRadius();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = shape.getX(i);
+            ys[i] = shape.getY(i);
+        }
+
+        // Fill: the hull, grown by a round stroke as wide as the rounding
+        g.setFill(body);
+        g.setStroke(body);
+        g.setLineCap(StrokeLineCap.ROUND);
+        g.setLineJoin(StrokeLineJoin.ROUND);
+        if (n == 1) {
+            g.fillOval(xs[0] - rad, ys[0] - rad, 2 * rad, 2 * rad);
+        } else {
+            if (n >= 3) {
+                g.fillPolygon(xs, ys, n);
+            }
+            if (rad > 0) {
+                g.setLineWidth(2 * rad);
+                g.strokePolygon(xs, ys, n);
+            }
+        }
+
+        // Light rim
+        g.setStroke(body.brighter());
+        g.setLineWidth(1.2);
+        if (n == 1) {
+            g.strokeOval(xs[0] - rad + 1, ys[0] - rad + 1, 2 * rad - 2, 2 * rad - 2);
+        } else if (rad == 0) {
+            g.strokePolygon(xs, ys, n);
+        }
+        g.setLineCap(StrokeLineCap.SQUARE);
+        g.setLineJoin(StrokeLineJoin.MITER);
+    }
+
+    /**
+     * Draws the paddle as a white capsule with a shadow, brightened briefly after a hit.
+     *
+     * @param g        target
+     * @param x        left
+     * @param y        top
+     * @param w        width
+     * @param h        height
+     * @param flashing whether it was just hit
+     */
+    public static void drawPaddle(Renderer g, double x, double y, int w, int h, boolean flashing) {
+        boolean lit = flashing;
+
+        long key = SpriteAtlas.key(PADDLE, w, h, 0, lit);
+        if (ATLAS.draw(g, key, x, y)) {
+            return;
+        }
+        // room for the shadow, which reaches a quarter of the height below
+        Renderer a = ATLAS.begin(key, w, h, Math.ceil(h * 0.25) + 1);
+        if (a != null) {
+            paintPaddle(a, 0, 0, w, h, lit);
+            ATLAS.end();
+        }
+        paintPaddle(g, x, y, w, h, lit);
+    }
+
+    private static void paintPaddle(Renderer g, double x, double y, double w, double h, boolean lit) {
+        // Capsule radius
+        double rad = Math.min(w, h) * 0.9;
+
+        // Subtle shadow under paddle
+        g.setGlobalAlpha(0.28);
+        g.setFill(Color.color(0, 0, 0, 0.55));
+        g.fillOval(x + w * 0.04, y + h * 0.65, w * 0.92, h * 0.58);
+        g.setGlobalAlpha(1.0);
+
+        // Flash brighten on recent hit (but stay in white family)
+        double boost = lit ? 1.08 : 1.0;
+
+        // White gradient: soft top → neutral → light shadowed bottom
+        Color cTop    = Color.WHITE.deriveColor(0, 1, 1.00 * boost, 1.0);
+        Color cMid    = Color.web("#f2f4f8"); // very light gray
+        Color cBottom = Color.web("#e4e7ec"); // slightly darker for depth
+
+        LinearGradient fill = new LinearGradient(
+            0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
+            new Stop(0.0, cTop),
+            new Stop(0.45, cMid),
+            new Stop(1.0, cBottom)
+        );
+
+        // Body
+        g.setFill(fill);
+        g.fillRoundRect(x, y, w, h, rad, rad);
+
+        // Crisp top highlight line
+        g.setStroke(Color.color(1, 1, 1, 0.70));
+        g.setLineWidth(Math.max(1.0, h * 0.09));
+        g.strokeLine(x + w * 0.08, y + h * 0.28, x + w * 0.92, y + h * 0.28);
+
+        // Subtle outer edge
+        g.setStroke(Color.color(0, 0, 0, 0.22));
+        g.setLineWidth(1.25);
+        g.strokeRoundRect(x + 0.5, y + 0.5, w - 1, h - 1, rad, rad);
+    }
+
+    /**
+     * Draws every ball of a snapshot with its fading trail. The trails go first, oldest points
+     * first, all points of one age in a row at that age's opacity; then the balls on top.
+     *
+     * @param g     target
+     * @param s     the snapshot
+     * @param alpha blend of the balls from where they were a step earlier (0) to where they were
+     *              captured (1); trails are drawn where they were captured
+     */
+    public static void drawBalls(Renderer g, RenderSnapshot s, double alpha) {
+        int n = s.ballCount();
+        int length = s.trailLength();
+        if (trailAlpha.length != length) {
+            trailLevels(length);
+        }
+
+        // trail: a white ball, shrinking and fading; the points of one age share their opacity.
+        // The newest point is where the ball was captured, under the ball or just ahead of it
+        // when blended back, so it is left out.
+        g.beginBatch();
+        g.setFill(Color.WHITE);
+        for (int age = length - 1; age >= 1; age--) {
+            g.setGlobalAlpha(trailAlpha[age]);
+            double k = trailScale[age];
+            for (int i = 0; i < n; i++) {
+                if (age >= s.trailCount(i)) {
+                    continue;
+                }
+                int d = s.ballRadius(i) * 2;
+                double r = d * 0.5 * k;
+                double x = s.trailX(i, age) - r, y = s.trailY(i, age) - r;
+                g.nextItem();
+                long white = SpriteAtlas.key(BALL, d, d, 0xffffffff, false);
+                if (!ATLAS.draw(g, white, d, d, x, y, r * 2, r * 2)) {
+                    bakeBall(white, d, 0xffffffff);
+                    g.fillOval(x, y, r * 2, r * 2);
+                }
+            }
+        }
+        g.setGlobalAlpha(1.0);
+        g.endBatch();
+
+        for (int i = 0; i < n; i++) {
+            drawBall(g, s.ballX(i, alpha), s.ballY(i, alpha), s.ballRadius(i), s.ballArgb(i));
+        }
+    }
+
+    // opacity and size of the trail point of each age, worked out once per trail length
+    private static void trailLevels(int length) {
+        trailAlpha = new double[length];
+        trailScale = new double[length];
+        for (int age = 0; age < length; age++) {
+            double t = 1.0 - (age / (double) length);
+            trailAlpha[age] = TRAIL_ALPHA * t;
+            trailScale[age] = 0.75 + 0.25 * t;
+        }
+    }
+
+    /**
+     * Draws a ball.
+     *
+     * @param g      target
+     * @param cx     centre x
+     * @param cy     centre y
+     * @param radius its radius
+     * @param c      its ARGB color
+     */
+    public static void drawBall(Renderer g, double cx, double cy, int radius, int c) {
+        int d = radius * 2;
+        long key = SpriteAtlas.key(BALL, d, d, c, false);
+        double x = cx - radius, y = cy - radius;
+        if (!ATLAS.draw(g, key, x, y)) {
+            bakeBall(key, d, c);
+            paintBall(g, x, y, d, c);
+        }
+    }
+
+    private static void bakeBall(long key, int d, int argb) {
+        Renderer a = ATLAS.begin(key, d, d, 1);
+        if (a != null) {
+            paintBall(a, 0, 0, d, argb);
+            ATLAS.end();
+        }
+    }
+
+    private static void paintBall(Renderer g, double x, double y, double d, int c) {
+        g.setFill(Color.rgb((c >> 16) & 0xff, (c >> 8) & 0xff, c & 0xff, ((c >>> 24) & 0xff) / 255.0));
+        g.fillOval(x, y, d, d);
+    }
+
+    /**
+     * Draws an aim guide: the predicted path as a dashed line that fades with every bounce, with a
+     * ring where each bounce happens.
+     *
+     * @param g    target
+     * @param path the predicted path
+     */
+    public static void drawGuide(Renderer g, BouncePath path) {
+        int n = path.size();
+        g.setLineWidth(1.5);
+        g.setLineDashes(GUIDE_DASHES);
+        g.setStroke(Color.WHITE);
+        for (int i = 1; i < n; i++) {
+            g.setGlobalAlpha(0.55 * (1.0 - (i - 1) / (double) n));
+            g.strokeLine(path.getX(i - 1), path.getY(i - 1), path.getX(i), path.getY(i));
+            if (path.getHit(i) != null) {
+                g.strokeOval(path.getX(i) - 3, path.getY(i) - 3, 6, 6);
+            }
+        }
+        g.setGlobalAlpha(1.0);
+        g.setLineDashes((double[]) null);
+    }
+
+    /**
+     * Draws the score as a pill centered at the top of the screen.
+     *
+     * @param g     target
+     * @param score the score
+     */
+    public static void drawScore(Renderer g, int score) {
+        TextFx.pill(g, "Score: ", score, WIDTH / 2.0, sx(18), Typography.title(), SCORE_PILL, Color.WHITE);
+    }
+
+    /**
+     * Draws a falling power-up as a colored pill with its icon.
+     *
+     * @param g    target
+     * @param x    left
+     * @param y    top
+     * @param w    width
+     * @param h    height
+     * @param type what it gives
+     */
+    public static void drawPowerUp(Renderer g, double x, double y, int w, int h, PowerUpType type) {
+        long key = SpriteAtlas.key(POWER_UP, w, h, type.ordinal(), false);
+        if (ATLAS.draw(g, key, x, y)) {
+            return;
+        }
+        Renderer a = ATLAS.begin(key, w, h, 2);
+        if (a != null) {
+            paintPowerUp(a, 0, 0, w, h, type);
+            ATLAS.end();
+        }
+        paintPowerUp(g, x, y, w, h, type);
+    }
+
+    private static void paintPowerUp(Renderer g, double x, double y, int w, int h, PowerUpType type) {
+        double r = sx(12);
+        // base pill
+        switch (type) {
+            case EXPAND_PADDLE -> {
+                g.setFill(Color.web("#22c55e")); // green
+                g.fillRoundRect(x, y, w, h, r, r);
+                g.setStroke(Color.color(0, 0, 0, 0.25));
+                g.strokeRoundRect(x, y, w, h, r, r);
+
+                // "SIZE" label
+                g.setFill(Color.WHITE);
+                g.setFont(TextCache.font(11 * SCALE));
+                // center text roughly
+                g.fillText("SIZE", x + w * 0.06, y + h * 0.65);
+            }
+            case MULTI_BALL -> {
+                g.setFill(Color.web("#60a5fa")); // blue
+                g.fillRoundRect(x, y, w, h, r, r);
+                g.setStroke(Color.color(0, 0, 0, 0.25));
+                g.strokeRoundRect(x, y, w, h, r, r);
+
+                // plus icon
+                g.setStroke(Color.WHITE);
+                g.setLineWidth(2);
+                g.strokeLine(x + w*0.5, y + h*0.28, x + w*0.5, y + h*0.72);
+                g.strokeLine(x + w*0.28, y + h*0.5, x + w*0.72, y + h*0.5);
+            }
+            case PADDLE_SPEED -> {
+                g.setFill(Color.web("#f59e0b")); // amber
+                g.fillRoundRect(x, y, w, h, r, r);
+                g.setStroke(Color.color(0, 0, 0, 0.25));
+                g.strokeRoundRect(x, y, w, h, r, r);
+
+                // lightning bolt (simple zig-zag)
+                g.setStroke(Color.WHITE);
+                g.setLineWidth(2);
+                double x1 = x + w*0.35, y1 = y + h*0.22;
+                double x2 = x + w*0.75, y2 = y + h*0.50;
+                double x3 = x + w*0.2, y3 = y + h*0.46;
+                double x4 = x + w*0.62, y4 = y + h*0.80;
+                g.strokeLine(x1, y1, x2, y2);
+                g.strokeLine(x2, y2, x3, y3);
+                g.strokeLine(x3, y3, x4, y4);
+            }
+        }
+    }
+
+    // helper
+    private static double clamp01(double v) { return v < 0 ? 0 : (v > 1 ? 1 : v); }
+}
@@ -0,0 +1,68 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+
+/** Draws straight to a canvas, call for call. */
+public final class FxRenderer implements Renderer {
+    private GraphicsContext g;
+
+    /**
+     * @param g the canvas to draw on
+     */
+    public FxRenderer(GraphicsContext g) {
+        this.g = g;
+    }
+
+    /** @return the canvas drawn on. */
+    public GraphicsContext getContext() {
+        return g;
+    }
+
+    /**
+     * Points the renderer at another canvas.
+     * @param g the canvas to draw on
+     */
+    public void setContext(GraphicsContext g) {
+        this.g = g;
+    }
+
+    @Override public void setFill(Paint p) { g.setFill(p); }
+    @Override public void setStroke(Paint p) { g.setStroke(p); }
+    @Override public void setLineWidth(double w) { g.setLineWidth(w); }
+    @Override public void setGlobalAlpha(double a) { g.setGlobalAlpha(a); }
+    @Override public void setFont(Font f) { g.setFont(f); }
+    @Override public void setLineCap(StrokeLineCap cap) { g.setLineCap(cap); }
+    @Override public void setLineJoin(StrokeLineJoin join) { g.setLineJoin(join); }
+    @Override public void setLineDashes(double[] dashes) { g.setLineDashes(dashes); }
+
+    @Override public void fillRect(double x, double y, double w, double h) { g.fillRect(x, y, w, h); }
+
+    @Override
+    public void fillRoundRect(double x, double y, double w, double h, double arcW, double arcH) {
+        g.fillRoundRect(x, y, w, h, arcW, arcH);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double w, double h, double arcW, double arcH) {
+        g.strokeRoundRect(x, y, w, h, arcW, arcH);
+    }
+
+    @Override public void fillOval(double x, double y, double w, double h) { g.fillOval(x, y, w, h); }
+    @Override public void strokeOval(double x, double y, double w, double h) { g.strokeOval(x, y, w, h); }
+    @Override public void strokeLine(double x1, double y1, double x2, double y2) { g.strokeLine(x1, y1, x2, y2); }
+    @Override public void fillPolygon(double[] xs, double[] ys, int n) { g.fillPolygon(xs, ys, n); }
+    @Override public void strokePolygon(double[] xs, double[] ys, int n) { g.strokePolygon(xs, ys, n); }
+    @Override public void fillText(String text, double x, double y) { g.fillText(text, x, y); }
+
+    @Override
+    public void drawImage(Image img, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        g.drawImage(img, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+}
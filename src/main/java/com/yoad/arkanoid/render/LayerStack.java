@@ -0,0 +1,75 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+
+/**
+ * A stack of same-sized canvases, one per {@link Layer}, composited by JavaFX. Each layer keeps
+ * what was drawn on it until it is cleared, so a frame only repaints the layers that changed:
+ * the background is drawn once, bricks only where one went or flashed, and the moving things
+ * every frame.
+ */
+public final class LayerStack {
+
+    /** The canvases, bottom to top. */
+    public enum Layer {
+        /** The themed background. */
+        BACKGROUND,
+        /** Bricks, walls and bumpers. */
+        SCENERY,
+        /** Paddle, balls and falling power-ups. */
+        ACTORS,
+        /** Score, power-up timers, aim guide, pause and end screens, and the menu. */
+        OVERLAY
+    }
+
+    private final Canvas[] canvases = new Canvas[Layer.values().length];
+    private final StackPane pane;
+    private final double width;
+    private final double height;
+
+    /**
+     * @param width  width of every layer
+     * @param height height of every layer
+     */
+    public LayerStack(double width, double height) {
+        this.width = width;
+        this.height = height;
+        for (Layer layer : Layer.values()) {
+            canvases[layer.ordinal()] = new Canvas(width, height);
+        }
+        pane = new StackPane(canvases);
+    }
+
+    /** @return the node holding every layer, for the scene. */
+    public StackPane getPane() {
+        return pane;
+    }
+
+    /**
+     * @param layer a layer
+     * @return what draws on it
+     */
+    public GraphicsContext graphics(Layer layer) {
+        return canvases[layer.ordinal()].getGraphicsContext2D();
+    }
+
+    /**
+     * Makes a layer fully transparent.
+     * @param layer the layer
+     */
+    public void clear(Layer layer) {
+        graphics(layer).clearRect(0, 0, width, height);
+    }
+
+    /** @return width of every layer. */
+    public double getWidth() {
+        return width;
+    }
+
+    /** @return height of every layer. */
+    public double getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,31 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+
+/** {@link Renderer#NONE}: every call is ignored. */
+final class NoopRenderer implements Renderer {
+
+    @Override public void setFill(Paint p) { }
+    @Override public void setStroke(Paint p) { }
+    @Override public void setLineWidth(double w) { }
+    @Override public void setGlobalAlpha(double a) { }
+    @Override public void setFont(Font f) { }
+    @Override public void setLineCap(StrokeLineCap cap) { }
+    @Override public void setLineJoin(StrokeLineJoin join) { }
+    @Override public void setLineDashes(double[] dashes) { }
+    @Override public void fillRect(double x, double y, double w, double h) { }
+    @Override public void fillRoundRect(double x, double y, double w, double h, double arcW, double arcH) { }
+    @Override public void strokeRoundRect(double x, double y, double w, double h, double arcW, double arcH) { }
+    @Override public void fillOval(double x, double y, double w, double h) { }
+    @Override public void strokeOval(double x, double y, double w, double h) { }
+    @Override public void strokeLine(double x1, double y1, double x2, double y2) { }
+    @Override public void fillPolygon(double[] xs, double[] ys, int n) { }
+    @Override public void strokePolygon(double[] xs, double[] ys, int n) { }
+    @Override public void fillText(String text, double x, double y) { }
+    @Override public void drawImage(Image img, double sx, double sy, double sw, double sh,
+                                    double dx, double dy, double dw, double dh) { }
+}
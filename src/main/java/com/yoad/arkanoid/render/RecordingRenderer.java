@@ -0,0 +1,359 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+
+import java.util.Arrays;
+
+/**
+ * Records draw calls instead of making them, then {@link #replay}s them onto another renderer in
+ * an order that needs fewer state changes, setting only the state that differs from the previous
+ * draw. Draws outside a batch keep their order. Inside a batch the draws are sorted by their
+ * place in their item (all items' first draws, then all second draws...) and then by state, so a
+ * row of bricks sets its fill once per color rather than three times per brick.
+ *
+ * <p>Commands are kept in primitive arrays that grow as needed and are reused every frame, so
+ * recording allocates nothing once a frame's worth of room exists. Each draw's state is stored as
+ * an index into a table of the distinct states seen since the last replay.
+ */
+public final class RecordingRenderer implements Renderer {
+
+    // sort key layout, high to low: group (19 bits), place in item (8), state (12), sequence (24)
+    private static final int SEQ_BITS = 24, STATE_BITS = 12, PLACE_BITS = 8, GROUP_BITS = 19;
+    private static final int MAX_GROUP = (1 << GROUP_BITS) - 1; // keeps the key's sign bit clear
+    private static final int MAX_STATE = (1 << STATE_BITS) - 1;
+    private static final int MAX_PLACE = (1 << PLACE_BITS) - 1;
+
+    // draw ops
+    private static final int FILL_RECT = 0, FILL_ROUND_RECT = 1, STROKE_ROUND_RECT = 2, FILL_OVAL = 3,
+        STROKE_OVAL = 4, STROKE_LINE = 5, FILL_POLYGON = 6, STROKE_POLYGON = 7, FILL_TEXT = 8,
+        DRAW_IMAGE = 9;
+    private static final int ARGS = 8;
+
+    // current state, as set by the painters
+    private Paint fill = Color.BLACK;
+    private Paint stroke = Color.BLACK;
+    private double lineWidth = 1.0;
+    private double alpha = 1.0;
+    private Font font;
+    private StrokeLineCap cap = StrokeLineCap.SQUARE;
+    private StrokeLineJoin join = StrokeLineJoin.MITER;
+    private double[] dashes;
+    private int state = -1; // its index in the table, or -1 if it changed since the last draw
+
+    // distinct states since the last replay
+    private int states;
+    private Paint[] fills = new Paint[16];
+    private Paint[] strokes = new Paint[16];
+    private double[] lineWidths = new double[16];
+    private double[] alphas = new double[16];
+    private Font[] fonts = new Font[16];
+    private StrokeLineCap[] caps = new StrokeLineCap[16];
+    private StrokeLineJoin[] joins = new StrokeLineJoin[16];
+    private double[][] dashTable = new double[16][];
+
+    // commands
+    private int count;
+    private int[] ops = new int[256];
+    private long[] keys = new long[256];
+    private int[] stateOf = new int[256];
+    private double[] args = new double[256 * ARGS];
+    private Object[] refs = new Object[256];
+    private double[] points = new double[256]; // polygon coordinates, copied
+    private int pointCount;
+    private double[] polyX = new double[8], polyY = new double[8]; // replay scratch
+
+    // batching
+    private int group;
+    private boolean batching;
+    private int place;
+
+    // counts of the last replay
+    private int drawCalls;
+    private int stateChanges;
+
+    @Override public void setFill(Paint p) { if (p != fill) { fill = p; state = -1; } }
+    @Override public void setStroke(Paint p) { if (p != stroke) { stroke = p; state = -1; } }
+    @Override public void setLineWidth(double w) { if (w != lineWidth) { lineWidth = w; state = -1; } }
+    @Override public void setGlobalAlpha(double a) { if (a != alpha) { alpha = a; state = -1; } }
+    @Override public void setFont(Font f) { if (f != font) { font = f; state = -1; } }
+    @Override public void setLineCap(StrokeLineCap c) { if (c != cap) { cap = c; state = -1; } }
+    @Override public void setLineJoin(StrokeLineJoin j) { if (j != join) { join = j; state = -1; } }
+    @Override public void setLineDashes(double[] d) { if (d != dashes) { dashes = d; state = -1; } }
+
+    @Override
+    public void fillRect(double x, double y, double w, double h) {
+        add(FILL_RECT, null, x, y, w, h, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double w, double h, double arcW, double arcH) {
+        add(FILL_ROUND_RECT, null, x, y, w, h, arcW, arcH, 0, 0);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double w, double h, double arcW, double arcH) {
+        add(STROKE_ROUND_RECT, null, x, y, w, h, arcW, arcH, 0, 0);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double w, double h) {
+        add(FILL_OVAL, null, x, y, w, h, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void strokeOval(double x, double y, double w, double h) {
+        add(STROKE_OVAL, null, x, y, w, h, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        add(STROKE_LINE, null, x1, y1, x2, y2, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void fillPolygon(double[] xs, double[] ys, int n) {
+        add(FILL_POLYGON, null, copyPoints(xs, ys, n), n, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void strokePolygon(double[] xs, double[] ys, int n) {
+        add(STROKE_POLYGON, null, copyPoints(xs, ys, n), n, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        add(FILL_TEXT, text, x, y, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void drawImage(Image img, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        add(DRAW_IMAGE, img, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override
+    public void beginBatch() {
+        batching = true;
+        nextGroup();
+        place = 0;
+    }
+
+    @Override
+    public void nextItem() {
+        place = 0;
+    }
+
+    @Override
+    public void endBatch() {
+        batching = false;
+        nextGroup();
+    }
+
+    /**
+     * Draws everything recorded since the last replay onto {@code out}, then forgets it. The state
+     * of {@code out} is unknown at the start, so the first draw sets all of it; afterwards it is
+     * left as the last draw needed it.
+     *
+     * @param out where to draw
+     */
+    public void replay(Renderer out) {
+        Arrays.sort(keys, 0, count);
+        int applied = -1;
+        int changes = 0;
+        for (int k = 0; k < count; k++) {
+            int i = (int) (keys[k] & ((1L << SEQ_BITS) - 1));
+            int s = stateOf[i];
+            if (s != applied) {
+                changes += apply(out, s, applied);
+                applied = s;
+            }
+            draw(out, i);
+        }
+        drawCalls = count;
+        stateChanges = changes;
+        clear();
+    }
+
+    /** Forgets everything recorded, without drawing it. */
+    public void clear() {
+        Arrays.fill(refs, 0, count, null);
+        Arrays.fill(fills, 0, states, null);
+        Arrays.fill(strokes, 0, states, null);
+        Arrays.fill(fonts, 0, states, null);
+        Arrays.fill(dashTable, 0, states, null);
+        count = 0;
+        pointCount = 0;
+        states = 0;
+        state = -1;
+        group = 0;
+        batching = false;
+    }
+
+    /** @return draws recorded since the last replay. */
+    public int size() {
+        return count;
+    }
+
+    /** @return draws made by the last replay. */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /** @return state settings made by the last replay. */
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    // ---------------- Recording ----------------
+
+    private void add(int op, Object ref, double a0, double a1, double a2, double a3,
+                     double a4, double a5, double a6, double a7) {
+        if (count == ops.length) {
+            grow();
+        }
+        if (state < 0) {
+            state = intern();
+        }
+        int i = count++;
+        ops[i] = op;
+        refs[i] = ref;
+        int a = i * ARGS;
+        args[a] = a0;
+        args[a + 1] = a1;
+        args[a + 2] = a2;
+        args[a + 3] = a3;
+        args[a + 4] = a4;
+        args[a + 5] = a5;
+        args[a + 6] = a6;
+        args[a + 7] = a7;
+
+        int g = group;
+        int p = 0;
+        if (batching) {
+            p = Math.min(place++, MAX_PLACE);
+        } else {
+            g = nextGroup(); // its own group: stays in order
+        }
+        keys[i] = ((long) g << (SEQ_BITS + STATE_BITS + PLACE_BITS))
+            | ((long) p << (SEQ_BITS + STATE_BITS))
+            | ((long) Math.min(state, MAX_STATE) << SEQ_BITS)
+            | i;
+        stateOf[i] = state;
+    }
+
+    private int nextGroup() {
+        if (group == MAX_GROUP) {
+            throw new IllegalStateException("too many draw groups recorded in one frame");
+        }
+        return ++group;
+    }
+
+    /** @return the index of the current state in the table, adding it if it is new. */
+    private int intern() {
+        for (int s = states - 1; s >= 0; s--) {
+            if (fills[s] == fill && strokes[s] == stroke && lineWidths[s] == lineWidth
+                    && alphas[s] == alpha && fonts[s] == font && caps[s] == cap && joins[s] == join
+                    && dashTable[s] == dashes) {
+                return s;
+            }
+        }
+        if (states == fills.length) {
+            int n = states * 2;
+            fills = Arrays.copyOf(fills, n);
+            strokes = Arrays.copyOf(strokes, n);
+            lineWidths = Arrays.copyOf(lineWidths, n);
+            alphas = Arrays.copyOf(alphas, n);
+            fonts = Arrays.copyOf(fonts, n);
+            caps = Arrays.copyOf(caps, n);
+            joins = Arrays.copyOf(joins, n);
+            dashTable = Arrays.copyOf(dashTable, n);
+        }
+        int s = states++;
+        fills[s] = fill;
+        strokes[s] = stroke;
+        lineWidths[s] = lineWidth;
+        alphas[s] = alpha;
+        fonts[s] = font;
+        caps[s] = cap;
+        joins[s] = join;
+        dashTable[s] = dashes;
+        return s;
+    }
+
+    private double copyPoints(double[] xs, double[] ys, int n) {
+        if (pointCount + 2 * n > points.length) {
+            points = Arrays.copyOf(points, Math.max(points.length * 2, pointCount + 2 * n));
+        }
+        int at = pointCount;
+        System.arraycopy(xs, 0, points, at, n);
+        System.arraycopy(ys, 0, points, at + n, n);
+        pointCount += 2 * n;
+        return at;
+    }
+
+    private void grow() {
+        int n = ops.length * 2;
+        if (n > (1 << SEQ_BITS)) {
+            throw new IllegalStateException("too many draws recorded in one frame");
+        }
+        ops = Arrays.copyOf(ops, n);
+        keys = Arrays.copyOf(keys, n);
+        stateOf = Arrays.copyOf(stateOf, n);
+        args = Arrays.copyOf(args, n * ARGS);
+        refs = Arrays.copyOf(refs, n);
+    }
+
+    // ---------------- Replay ----------------
+
+    /** Sets on {@code out} the parts of state {@code s} that differ from state {@code from}. */
+    private int apply(Renderer out, int s, int from) {
+        int changes = 0;
+        boolean all = from < 0;
+        if (all || fills[s] != fills[from]) { out.setFill(fills[s]); changes++; }
+        if (all || strokes[s] != strokes[from]) { out.setStroke(strokes[s]); changes++; }
+        if (all || lineWidths[s] != lineWidths[from]) { out.setLineWidth(lineWidths[s]); changes++; }
+        if (all || alphas[s] != alphas[from]) { out.setGlobalAlpha(alphas[s]); changes++; }
+        if (fonts[s] != null && (all || fonts[s] != fonts[from])) { out.setFont(fonts[s]); changes++; }
+        if (all || caps[s] != caps[from]) { out.setLineCap(caps[s]); changes++; }
+        if (all || joins[s] != joins[from]) { out.setLineJoin(joins[s]); changes++; }
+        if (all || dashTable[s] != dashTable[from]) { out.setLineDashes(dashTable[s]); changes++; }
+        return changes;
+    }
+
+    private void draw(Renderer out, int i) {
+        int a = i * ARGS;
+        double[] v = args;
+        switch (ops[i]) {
+            case FILL_RECT -> out.fillRect(v[a], v[a + 1], v[a + 2], v[a + 3]);
+            case FILL_ROUND_RECT -> out.fillRoundRect(v[a], v[a + 1], v[a + 2], v[a + 3], v[a + 4], v[a + 5]);
+            case STROKE_ROUND_RECT -> out.strokeRoundRect(v[a], v[a + 1], v[a + 2], v[a + 3], v[a + 4], v[a + 5]);
+            case FILL_OVAL -> out.fillOval(v[a], v[a + 1], v[a + 2], v[a + 3]);
+            case STROKE_OVAL -> out.strokeOval(v[a], v[a + 1], v[a + 2], v[a + 3]);
+            case STROKE_LINE -> out.strokeLine(v[a], v[a + 1], v[a + 2], v[a + 3]);
+            case FILL_POLYGON, STROKE_POLYGON -> {
+                int at = (int) v[a];
+                int n = (int) v[a + 1];
+                if (n > polyX.length) {
+                    polyX = new double[n];
+                    polyY = new double[n];
+                }
+                System.arraycopy(points, at, polyX, 0, n);
+                System.arraycopy(points, at + n, polyY, 0, n);
+                if (ops[i] == FILL_POLYGON) {
+                    out.fillPolygon(polyX, polyY, n);
+                } else {
+                    out.strokePolygon(polyX, polyY, n);
+                }
+            }
+            case FILL_TEXT -> out.fillText((String) refs[i], v[a], v[a + 1]);
+            case DRAW_IMAGE -> out.drawImage((Image) refs[i], v[a], v[a + 1], v[a + 2], v[a + 3],
+                v[a + 4], v[a + 5], v[a + 6], v[a + 7]);
+            default -> throw new IllegalStateException("unknown op " + ops[i]);
+        }
+    }
+}
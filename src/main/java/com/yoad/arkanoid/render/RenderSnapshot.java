@@ -0,0 +1,464 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.ecs.ComponentStore;
+import com.yoad.arkanoid.ecs.Renderable;
+import com.yoad.arkanoid.game.BouncePath;
+import com.yoad.arkanoid.game.Brick;
+import com.yoad.arkanoid.game.Bumper;
+import com.yoad.arkanoid.game.SimulationClock;
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.powerups.PowerUp;
+import com.yoad.arkanoid.powerups.PowerUpType;
+import com.yoad.arkanoid.sim.Simulation;
+import com.yoad.arkanoid.sprites.Ball;
+import com.yoad.arkanoid.sprites.BallSystem;
+import com.yoad.arkanoid.sprites.Paddle;
+import com.yoad.arkanoid.sprites.TrailBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.yoad.arkanoid.game.Dimensions.HEIGHT;
+
+/**
+ * Everything a frame draws, copied out of a {@link Simulation} by {@link #capture}: the
+ * renderable entities in registry order with their boxes, colors and flashes, every ball with its
+ * trail, the aim guide, the counters and the power-up timers. Drawing reads only the copy, so the
+ * simulation may step on another thread meanwhile (see {@link SnapshotBuffer}).
+ *
+ * <p>The paddle, power-ups and balls also keep where they were one step earlier, if
+ * {@link #capturePrevious} was called before that step, so drawing can blend the two by how far
+ * the clock has run into the next step ({@link #alphaAt}) and move smoothly on displays faster
+ * than the simulation. Without it both positions are the same, and so they are for a paddle that
+ * moved farther than its speed allows, which is a wrap from one edge of the screen to the other.
+ *
+ * <p>Everything is kept in primitive arrays that grow as needed and are reused from capture to
+ * capture. The only objects shared with the simulation are immutable: bumper shapes and power-up
+ * types.
+ */
+public final class RenderSnapshot {
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+    // rounding allowed on top of the paddle's reach before a move counts as a jump
+    private static final double JUMP_SLACK = 1e-6;
+
+    // renderable entities, in registry order
+    private int count;
+    private Renderable.Kind[] kinds = new Renderable.Kind[64];
+    private int[] layers = new int[64];
+    private double[] xs = new double[64], ys = new double[64], ws = new double[64], hs = new double[64];
+    private int[] colors = new int[64];
+    private boolean[] lit = new boolean[64];
+    private Object[] refs = new Object[64]; // bumper shape or power-up type
+    private double[] pxs = new double[64], pys = new double[64]; // box corner a step earlier
+
+    // balls and their trails (trail point of ball i and age a at i * trailLength + a)
+    private int balls;
+    private double[] ballX = new double[8], ballY = new double[8];
+    private int[] radii = new int[8], argbs = new int[8];
+    private int trailLength;
+    private int[] trailCounts = new int[8];
+    private double[] trailX = new double[0], trailY = new double[0];
+    private double[] ballPX = new double[8], ballPY = new double[8]; // centre a step earlier
+
+    // positions before the last step, by object, until capture lines them up with the entities
+    private boolean previous;
+    private double previousTime; // simulation time capturePrevious saw
+    private int movers;
+    private Object[] moverRefs = new Object[8];
+    private double[] moverX = new double[8], moverY = new double[8];
+    private int prevBalls;
+    private long[] prevBallIds = new long[8];
+    private double[] prevBallX = new double[8], prevBallY = new double[8];
+
+    // how far past the captured step the clock was, to interpolate by
+    private double alpha;
+    private long stampNanos;
+    private double stepNanos = 1e9 / 60;
+
+    // aim guide
+    private BouncePath guide;
+    private boolean guided;
+
+    // game state
+    private double time;
+    private long steps;
+    private int score;
+    private int blocks;
+    private boolean finished;
+    private boolean won;
+    private final double[] expiry = new double[POWER_UP_TYPES.length];
+    private boolean effects;
+
+    private final DirtyRegion scenery = new DirtyRegion();
+
+    /**
+     * Copies what a frame draws out of a simulation, and records the balls' positions in their
+     * trails. Call from the thread that steps the simulation.
+     *
+     * @param sim          the simulation
+     * @param guideBounces bounces of the first ball's path to trace for the aim guide, or 0 for none
+     */
+    public void capture(Simulation sim, int guideBounces) {
+        ComponentStore<Renderable> renderables = sim.getRegistry().renderables();
+        int n = renderables.size();
+        ensure(n);
+        if (count > n) {
+            Arrays.fill(refs, n, count, null); // let go of entities gone since the last capture
+        }
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            Renderable r = renderables.at(i);
+            switch (r.kind()) {
+                case BRICK -> {
+                    Brick b = (Brick) r.source();
+                    add(r, b.getCollisionRectangle(), b.getColor().getRGB(), b.isFlashing(), null);
+                }
+                case BUMPER -> {
+                    Bumper b = (Bumper) r.source();
+                    add(r, b.getCollisionRectangle(), b.getColor().getRGB(), b.isFlashing(), b.getShape());
+                }
+                case PADDLE -> {
+                    Paddle p = (Paddle) r.source();
+                    add(r, p.getCollisionRectangle(), 0, p.isFlashing(), null);
+                    // farther than its speed allows means it wrapped around the screen
+                    double reach = p.getSpeed() * (sim.time() - previousTime) * SimulationClock.REFERENCE_HZ;
+                    lookBack(p, count - 1, reach);
+                }
+                case POWER_UP -> {
+                    PowerUp p = (PowerUp) r.source();
+                    add(r, p.x(), p.y(), p.w(), p.h(), 0, false, p.type);
+                    lookBack(p, count - 1, Double.POSITIVE_INFINITY);
+                }
+                case BALLS -> {
+                    captureBalls((BallSystem) r.source());
+                    add(r, 0, 0, 0, 0, 0, false, null);
+                }
+            }
+        }
+
+        guided = guideBounces > 0 && !sim.getBalls().isEmpty();
+        if (guided) {
+            if (guide == null || guide.getMaxBounces() != guideBounces) {
+                guide = new BouncePath(guideBounces);
+            }
+            Ball b = sim.getBalls().get(0);
+            sim.getEnvironment().traceBounces(b.getCenterX(), b.getCenterY(), b.getDx(), b.getDy(),
+                b.getSize(), 1.5 * HEIGHT, guide);
+        }
+
+        time = sim.time();
+        steps = sim.steps();
+        score = sim.getScoreCounter().getValue();
+        blocks = sim.getBlockCounter().getValue();
+        finished = sim.isFinished();
+        won = sim.isWon();
+        effects = sim.hasActiveEffects();
+        for (PowerUpType type : POWER_UP_TYPES) {
+            expiry[type.ordinal()] = sim.effectExpiry(type);
+        }
+
+        previous = false;
+        Arrays.fill(moverRefs, 0, movers, null);
+        movers = 0;
+        prevBalls = 0;
+    }
+
+    /**
+     * Notes where the paddle, power-ups and balls are, before the simulation takes the last step
+     * it takes ahead of the next {@link #capture}. Call from the thread that steps it.
+     *
+     * @param sim the simulation
+     */
+    public void capturePrevious(Simulation sim) {
+        movers = 0;
+        previousTime = sim.time();
+        Paddle paddle = sim.getPaddle();
+        if (paddle != null) {
+            Rectangle box = paddle.getCollisionRectangle();
+            addMover(paddle, box.getStartX(), box.getStartY());
+        }
+        List<PowerUp> powerUps = sim.getPowerUps();
+        for (int i = 0, n = powerUps.size(); i < n; i++) {
+            PowerUp p = powerUps.get(i);
+            addMover(p, p.x(), p.y());
+        }
+
+        BallSystem system = sim.getBallSystem();
+        int n = system.size();
+        if (n > prevBallIds.length) {
+            int c = Math.max(n, prevBallIds.length * 2);
+            prevBallIds = Arrays.copyOf(prevBallIds, c);
+            prevBallX = Arrays.copyOf(prevBallX, c);
+            prevBallY = Arrays.copyOf(prevBallY, c);
+        }
+        for (int i = 0; i < n; i++) {
+            prevBallIds[i] = system.id(i);
+            prevBallX[i] = system.x(i);
+            prevBallY[i] = system.y(i);
+        }
+        prevBalls = n;
+        previous = true;
+    }
+
+    private void addMover(Object ref, double x, double y) {
+        if (movers == moverRefs.length) {
+            int c = movers * 2;
+            moverRefs = Arrays.copyOf(moverRefs, c);
+            moverX = Arrays.copyOf(moverX, c);
+            moverY = Arrays.copyOf(moverY, c);
+        }
+        moverRefs[movers] = ref;
+        moverX[movers] = x;
+        moverY[movers] = y;
+        movers++;
+    }
+
+    // sets where entity i was before the last step: where capturePrevious saw its object, if it
+    // did and it moved no more than reach since; a longer move was a jump, drawn without blending
+    private void lookBack(Object ref, int i, double reach) {
+        pxs[i] = xs[i];
+        pys[i] = ys[i];
+        if (!previous) {
+            return;
+        }
+        for (int j = 0; j < movers; j++) {
+            if (moverRefs[j] == ref) {
+                if (Math.abs(xs[i] - moverX[j]) <= reach + JUMP_SLACK
+                        && Math.abs(ys[i] - moverY[j]) <= reach + JUMP_SLACK) {
+                    pxs[i] = moverX[j];
+                    pys[i] = moverY[j];
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Notes how far the clock had run into the next step when this snapshot was captured, and
+     * when that was.
+     *
+     * @param alpha       leftover time as a fraction of a step, see {@code SimulationClock.alpha()}
+     * @param stepSeconds length of a step
+     */
+    public void stamp(double alpha, double stepSeconds) {
+        this.alpha = alpha;
+        this.stepNanos = stepSeconds * 1e9;
+        this.stampNanos = System.nanoTime();
+    }
+
+    /**
+     * How far to blend from the previous positions to the captured ones: the fraction of a step
+     * the clock had run past the capture, plus the time since, up to 1.
+     *
+     * @param nanoTime now, from {@link System#nanoTime()}
+     * @return the blend, from 0 (previous positions) to 1 (captured ones)
+     */
+    public double alphaAt(long nanoTime) {
+        double a = alpha + (nanoTime - stampNanos) / stepNanos;
+        return a < 0 ? 0 : (a > 1 ? 1 : a);
+    }
+
+    private void captureBalls(BallSystem system) {
+        system.recordTrails();
+        TrailBuffer trails = system.getTrails();
+        int n = system.size();
+        int length = trails.getLength();
+        if (n > ballX.length) {
+            int c = Math.max(n, ballX.length * 2);
+            ballX = Arrays.copyOf(ballX, c);
+            ballY = Arrays.copyOf(ballY, c);
+            radii = Arrays.copyOf(radii, c);
+            argbs = Arrays.copyOf(argbs, c);
+            trailCounts = Arrays.copyOf(trailCounts, c);
+            ballPX = Arrays.copyOf(ballPX, c);
+            ballPY = Arrays.copyOf(ballPY, c);
+        }
+        if (trailX.length < ballX.length * length) {
+            trailX = new double[ballX.length * length];
+            trailY = new double[ballX.length * length];
+        }
+        balls = n;
+        trailLength = length;
+        for (int i = 0; i < n; i++) {
+            ballX[i] = system.x(i);
+            ballY[i] = system.y(i);
+            lookBackBall(system.id(i), i);
+            radii[i] = system.radius(i);
+            argbs[i] = system.argb(i);
+            int points = trails.count(i);
+            trailCounts[i] = points;
+            for (int age = 0, at = i * length; age < points; age++, at++) {
+                trailX[at] = trails.x(i, age);
+                trailY[at] = trails.y(i, age);
+            }
+        }
+    }
+
+    // sets where ball i was before the last step; balls keep their slot unless one was removed
+    private void lookBackBall(long id, int i) {
+        ballPX[i] = ballX[i];
+        ballPY[i] = ballY[i];
+        if (!previous) {
+            return;
+        }
+        int j = i < prevBalls && prevBallIds[i] == id ? i : -1;
+        for (int k = 0; j < 0 && k < prevBalls; k++) {
+            if (prevBallIds[k] == id) {
+                j = k;
+            }
+        }
+        if (j >= 0) {
+            ballPX[i] = prevBallX[j];
+            ballPY[i] = prevBallY[j];
+        }
+    }
+
+    private void add(Renderable r, Rectangle box, int color, boolean flash, Object ref) {
+        add(r, box.getStartX(), box.getStartY(), box.getWidth(), box.getHeight(), color, flash, ref);
+    }
+
+    private void add(Renderable r, double x, double y, double w, double h, int color, boolean flash, Object ref) {
+        int i = count++;
+        kinds[i] = r.kind();
+        layers[i] = r.layer();
+        xs[i] = x;
+        ys[i] = y;
+        ws[i] = w;
+        hs[i] = h;
+        colors[i] = color;
+        lit[i] = flash;
+        refs[i] = ref;
+    }
+
+    private void ensure(int n) {
+        if (n <= kinds.length) {
+            return;
+        }
+        int c = Math.max(n, kinds.length * 2);
+        kinds = Arrays.copyOf(kinds, c);
+        layers = Arrays.copyOf(layers, c);
+        xs = Arrays.copyOf(xs, c);
+        ys = Arrays.copyOf(ys, c);
+        ws = Arrays.copyOf(ws, c);
+        hs = Arrays.copyOf(hs, c);
+        colors = Arrays.copyOf(colors, c);
+        lit = Arrays.copyOf(lit, c);
+        refs = Arrays.copyOf(refs, c);
+        pxs = Arrays.copyOf(pxs, c);
+        pys = Arrays.copyOf(pys, c);
+    }
+
+    // ---------------- Entities ----------------
+
+    /** @return renderable entities captured. */
+    public int size() { return count; }
+
+    /** @return what entity {@code i} is. */
+    public Renderable.Kind kind(int i) { return kinds[i]; }
+
+    /** @return the {@link Renderable} layer of entity {@code i}. */
+    public int layer(int i) { return layers[i]; }
+
+    /** @return left of entity {@code i}'s box; 0 for balls. */
+    public double x(int i) { return xs[i]; }
+
+    /** @return top of entity {@code i}'s box. */
+    public double y(int i) { return ys[i]; }
+
+    /** @return width of entity {@code i}'s box. */
+    public double w(int i) { return ws[i]; }
+
+    /** @return height of entity {@code i}'s box. */
+    public double h(int i) { return hs[i]; }
+
+    /** @return left of entity {@code i}'s box, blended from a step earlier by {@code t}. */
+    public double x(int i, double t) { return pxs[i] + (xs[i] - pxs[i]) * t; }
+
+    /** @return top of entity {@code i}'s box, blended from a step earlier by {@code t}. */
+    public double y(int i, double t) { return pys[i] + (ys[i] - pys[i]) * t; }
+
+    /** @return RGB of a brick or bumper. */
+    public int color(int i) { return colors[i]; }
+
+    /** @return {@code true} if entity {@code i} flashes from a recent hit. */
+    public boolean isFlashing(int i) { return lit[i]; }
+
+    /** @return the shape of bumper {@code i}. */
+    public ConvexShape shape(int i) { return (ConvexShape) refs[i]; }
+
+    /** @return the type of power-up {@code i}. */
+    public PowerUpType powerUpType(int i) { return (PowerUpType) refs[i]; }
+
+    // ---------------- Balls ----------------
+
+    /** @return balls captured. */
+    public int ballCount() { return balls; }
+
+    /** @return centre x of ball {@code i}. */
+    public double ballX(int i) { return ballX[i]; }
+
+    /** @return centre y of ball {@code i}. */
+    public double ballY(int i) { return ballY[i]; }
+
+    /** @return centre x of ball {@code i}, blended from a step earlier by {@code t}. */
+    public double ballX(int i, double t) { return ballPX[i] + (ballX[i] - ballPX[i]) * t; }
+
+    /** @return centre y of ball {@code i}, blended from a step earlier by {@code t}. */
+    public double ballY(int i, double t) { return ballPY[i] + (ballY[i] - ballPY[i]) * t; }
+
+    /** @return radius of ball {@code i}. */
+    public int ballRadius(int i) { return radii[i]; }
+
+    /** @return ARGB of ball {@code i}. */
+    public int ballArgb(int i) { return argbs[i]; }
+
+    /** @return trail points kept per ball. */
+    public int trailLength() { return trailLength; }
+
+    /** @return trail points recorded for ball {@code i}. */
+    public int trailCount(int i) { return trailCounts[i]; }
+
+    /** @return x of ball {@code i}'s trail point of age {@code age}, 0 the newest. */
+    public double trailX(int i, int age) { return trailX[i * trailLength + age]; }
+
+    /** @return y of ball {@code i}'s trail point of age {@code age}, 0 the newest. */
+    public double trailY(int i, int age) { return trailY[i * trailLength + age]; }
+
+    /** @return the first ball's predicted path, or null if no guide was traced. */
+    public BouncePath guide() { return guided ? guide : null; }
+
+    // ---------------- Game state ----------------
+
+    /** @return simulated seconds. */
+    public double time() { return time; }
+
+    /** @return simulation steps taken. */
+    public long steps() { return steps; }
+
+    /** @return the score. */
+    public int score() { return score; }
+
+    /** @return bricks left. */
+    public int blocks() { return blocks; }
+
+    /** @return {@code true} once the game is over. */
+    public boolean isFinished() { return finished; }
+
+    /** @return {@code true} if the game was won. */
+    public boolean isWon() { return won; }
+
+    /** @return {@code true} while some power-up effect runs. */
+    public boolean hasActiveEffects() { return effects; }
+
+    /** @return simulated time a power-up effect ends, or NaN if it isn't active. */
+    public double effectExpiry(PowerUpType type) { return expiry[type.ordinal()]; }
+
+    /**
+     * The part of the brick layer that changed since the last snapshot the renderer took; set by
+     * {@link SnapshotBuffer#publish()}.
+     *
+     * @return the region to repaint
+     */
+    public DirtyRegion scenery() { return scenery; }
+}
@@ -0,0 +1,102 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.ecs.Renderable;
+
+/**
+ * Draws every entity that has a {@link Renderable}, layer by layer, handing each to its painter.
+ * Entities without one (timers, say) are never visited. It reads a {@link RenderSnapshot} of the
+ * entities rather than the simulation's registry, so it may run while the simulation steps. The
+ * bricks layer is drawn as a {@link Renderer#beginBatch() batch}, one item per entity, since its
+ * entities never overlap. Moving entities can be drawn between where they were a step earlier and
+ * where they were captured, see {@link RenderSnapshot#alphaAt}.
+ */
+public final class RenderSystem {
+    private RenderSystem() {}
+
+    /**
+     * @param g target
+     * @param s the entities to draw
+     */
+    public static void draw(Renderer g, RenderSnapshot s) {
+        for (int layer = 0; layer < Renderable.LAYERS; layer++) {
+            draw(g, s, layer);
+        }
+    }
+
+    /**
+     * Draws one layer's entities.
+     *
+     * @param g     target
+     * @param s     the entities
+     * @param layer which {@link Renderable} layer
+     */
+    public static void draw(Renderer g, RenderSnapshot s, int layer) {
+        draw(g, s, layer, 1.0);
+    }
+
+    /**
+     * Draws one layer's entities, the paddle, power-ups and balls blended between their previous
+     * and captured positions.
+     *
+     * @param g     target
+     * @param s     the entities
+     * @param layer which {@link Renderable} layer
+     * @param alpha 0 for the previous positions, 1 for the captured ones
+     */
+    public static void draw(Renderer g, RenderSnapshot s, int layer, double alpha) {
+        draw(g, s, layer, alpha, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Draws the entities of one layer that reach into a box; entities with boxes that miss it
+     * are skipped. Clip the target to the box to repaint just that part of a layer.
+     *
+     * @param g     target
+     * @param s     the entities
+     * @param layer which {@link Renderable} layer
+     * @param minX  box left
+     * @param minY  box top
+     * @param maxX  box right
+     * @param maxY  box bottom
+     */
+    public static void draw(Renderer g, RenderSnapshot s, int layer,
+                            double minX, double minY, double maxX, double maxY) {
+        draw(g, s, layer, 1.0, minX, minY, maxX, maxY);
+    }
+
+    private static void draw(Renderer g, RenderSnapshot s, int layer, double alpha,
+                             double minX, double minY, double maxX, double maxY) {
+        boolean batch = layer == Renderable.BRICKS;
+        if (batch) {
+            g.beginBatch();
+        }
+        for (int i = 0, n = s.size(); i < n; i++) {
+            if (s.layer(i) != layer) {
+                continue;
+            }
+            Renderable.Kind kind = s.kind(i);
+            if (kind != Renderable.Kind.BALLS
+                    && (s.x(i) > maxX || s.x(i) + s.w(i) < minX || s.y(i) > maxY || s.y(i) + s.h(i) < minY)) {
+                continue;
+            }
+            if (batch) {
+                g.nextItem();
+            }
+            draw(g, s, i, kind, alpha);
+        }
+        if (batch) {
+            g.endBatch();
+        }
+    }
+
+    private static void draw(Renderer g, RenderSnapshot s, int i, Renderable.Kind kind, double t) {
+        switch (kind) {
+            case BRICK -> EntityPainter.drawBrick(g, s.x(i), s.y(i), (int) s.w(i), (int) s.h(i), s.color(i), s.isFlashing(i));
+            case BUMPER -> EntityPainter.drawBumper(g, s.shape(i), s.color(i), s.isFlashing(i));
+            case PADDLE -> EntityPainter.drawPaddle(g, s.x(i, t), s.y(i, t), (int) s.w(i), (int) s.h(i), s.isFlashing(i));
+            case POWER_UP -> EntityPainter.drawPowerUp(g, s.x(i, t), s.y(i, t), (int) s.w(i), (int) s.h(i), s.powerUpType(i));
+            case BALLS -> EntityPainter.drawBalls(g, s, t);
+        }
+    }
+}
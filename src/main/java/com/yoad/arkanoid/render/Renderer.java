@@ -0,0 +1,72 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+
+/**
+ * Where the painters draw: the subset of {@code GraphicsContext} they use, so a frame can be drawn
+ * straight to a canvas ({@link FxRenderer}), recorded, sorted and replayed with fewer state
+ * changes ({@link RecordingRenderer}), or dropped ({@link #NONE}, for headless runs).
+ *
+ * <p>State (fill, stroke, line width, opacity, font, caps, joins, dashes) applies to the draw
+ * calls after it, as on a canvas. Between {@link #beginBatch()} and {@link #endBatch()} draws are
+ * grouped into items by {@link #nextItem()}; a renderer may then reorder the draws of different
+ * items to share state, keeping each item's own draws in order. Only batch items that don't
+ * overlap (bricks, say), or that look the same in any order.
+ */
+public interface Renderer {
+
+    /** Draws nothing. */
+    Renderer NONE = new NoopRenderer();
+
+    void setFill(Paint p);
+
+    void setStroke(Paint p);
+
+    void setLineWidth(double w);
+
+    void setGlobalAlpha(double a);
+
+    void setFont(Font f);
+
+    void setLineCap(StrokeLineCap cap);
+
+    void setLineJoin(StrokeLineJoin join);
+
+    /** @param dashes dash lengths, or null for solid lines; not copied, so don't change it later */
+    void setLineDashes(double[] dashes);
+
+    void fillRect(double x, double y, double w, double h);
+
+    void fillRoundRect(double x, double y, double w, double h, double arcW, double arcH);
+
+    void strokeRoundRect(double x, double y, double w, double h, double arcW, double arcH);
+
+    void fillOval(double x, double y, double w, double h);
+
+    void strokeOval(double x, double y, double w, double h);
+
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    void fillPolygon(double[] xs, double[] ys, int n);
+
+    void strokePolygon(double[] xs, double[] ys, int n);
+
+    void fillText(String text, double x, double y);
+
+    /** Draws the {@code sw} by {@code sh} part of {@code img} at ({@code sx}, {@code sy}) into the given box. */
+    void drawImage(Image img, double sx, double sy, double sw, double sh,
+                   double dx, double dy, double dw, double dh);
+
+    /** Starts a run of items whose draws may be reordered among items. */
+    default void beginBatch() { }
+
+    /** Starts the next item of a batch. */
+    default void nextItem() { }
+
+    /** Ends the batch. */
+    default void endBatch() { }
+}
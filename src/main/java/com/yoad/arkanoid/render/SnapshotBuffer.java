@@ -0,0 +1,82 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands {@link RenderSnapshot}s from the thread that steps the simulation to the thread that
+ * draws, without locks: a triple buffer. The writer fills {@link #back()} and
+ * {@link #publish()}es it; the reader takes the newest published snapshot with {@link #latest()}.
+ * Neither waits for the other, and neither ever sees a snapshot the other is using. Snapshots
+ * published faster than they are drawn are skipped.
+ *
+ * <p>Brick changes reported to {@link #markScenery} are carried in each snapshot's
+ * {@link RenderSnapshot#scenery() scenery region} until one holding them is taken, so a skipped
+ * snapshot doesn't lose a repaint; the reader clears its snapshot's region once repainted, so
+ * taking the same snapshot again repaints nothing. Both sides may be the same thread.
+ */
+public final class SnapshotBuffer {
+    private static final int INDEX = 3, FRESH = 4;
+
+    private final RenderSnapshot[] snapshots = {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+
+    // index of the snapshot between the two sides, plus FRESH if published and not yet taken
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // writer's side
+    private int back = 0;
+    private final DirtyRegion recent = new DirtyRegion(); // since the last publish
+    private final DirtyRegion unseen = new DirtyRegion(); // not yet in a taken snapshot
+
+    // reader's side
+    private int front = 2;
+
+    // ---------------- Writer ----------------
+
+    /** @return the snapshot to fill before the next {@link #publish()}. */
+    public RenderSnapshot back() {
+        return snapshots[back];
+    }
+
+    /**
+     * Notes a brick-layer change for the next published snapshot.
+     * @param box what changed
+     */
+    public void markScenery(Rectangle box) {
+        recent.mark(box);
+    }
+
+    /** Notes that the whole brick layer changed. */
+    public void markAllScenery() {
+        recent.markAll();
+    }
+
+    /** @return {@code true} if brick changes were noted since the last {@link #publish()}. */
+    public boolean hasScenery() {
+        return !recent.isEmpty();
+    }
+
+    /** Makes the back snapshot the newest one for the reader, and starts on another. */
+    public void publish() {
+        if ((middle.get() & FRESH) == 0) {
+            unseen.clear(); // the reader took the last one, and with it everything unseen then
+        }
+        unseen.mark(recent);
+        recent.clear();
+        DirtyRegion scenery = snapshots[back].scenery();
+        scenery.clear();
+        scenery.mark(unseen);
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // ---------------- Reader ----------------
+
+    /** @return the newest published snapshot; the same one again if none was published since. */
+    public RenderSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return snapshots[front];
+    }
+}
@@ -0,0 +1,240 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.config.Theme;
+import com.yoad.arkanoid.game.Dimensions;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * One image holding pre-drawn sprites (a brick tile per color, the paddle per width, balls,
+ * power-up pills), so drawing an entity is a single {@code drawImage} of its part of the image.
+ *
+ * <p>Sprites are identified by a {@link #key} and drawn into the atlas the first time they are
+ * asked for, in the display's pixels. Until the next {@link #prepare} copies the atlas into its
+ * image, the caller paints a new sprite directly; so does it for sprites too big for the atlas,
+ * or once the atlas is full. The atlas starts over when the theme, the game's scale or the
+ * display's scale changes, or after it filled up. Use from the FX application thread.
+ */
+final class SpriteAtlas {
+
+    /** Side of the atlas image, in device pixels. */
+    static final int SIZE = 1024;
+
+    /** Largest sprite side the atlas takes, in device pixels; larger ones are always painted. */
+    static final int MAX_SPRITE = SIZE / 4;
+
+    private Canvas canvas;
+    private WritableImage image;
+    private SnapshotParameters snapshot;
+    private FxRenderer painter; // draws into the canvas
+
+    // what the sprites were drawn for
+    private Theme theme;
+    private double gameScale;
+    private double scale = 1.0;
+
+    // key -> sprite index, open addressing (0 marks a free cell)
+    private long[] keys = new long[256];
+    private int[] indices = new int[256];
+
+    // sprites by index: where they sit in the image (device pixels) and their margin (canvas units)
+    private int count;
+    private int ready;
+    private double[] sx = new double[64], sy = new double[64], sw = new double[64], sh = new double[64];
+    private double[] margins = new double[64];
+    private boolean full;
+
+    // shelf packing: sprites fill rows left to right, each row as high as its tallest sprite
+    private double shelfX, shelfY, shelfH;
+
+    /**
+     * Packs a sprite's identity into a key.
+     *
+     * @param kind  what the sprite shows, 1..63
+     * @param w     width in canvas units, up to 4095
+     * @param h     height in canvas units, up to 4095
+     * @param color its color, or any other 32 bits that tell sprites of the kind apart
+     * @param lit   {@code true} for the flash variant
+     * @return a non-zero key
+     */
+    static long key(int kind, int w, int h, int color, boolean lit) {
+        return ((long) kind << 57) | (lit ? 1L << 56 : 0) | ((long) (w & 0xfff) << 44)
+            | ((long) (h & 0xfff) << 32) | (color & 0xffffffffL);
+    }
+
+    /**
+     * Gets the atlas ready for a frame: starts over if the theme or a scale changed, or the atlas
+     * filled up, and otherwise makes the sprites drawn in since the last frame drawable.
+     *
+     * @param theme       the current theme
+     * @param renderScale device pixels per canvas unit
+     */
+    void prepare(Theme theme, double renderScale) {
+        if (full || theme != this.theme || renderScale != scale || Dimensions.SCALE != gameScale) {
+            this.theme = theme;
+            this.scale = renderScale;
+            this.gameScale = Dimensions.SCALE;
+            clear();
+        } else if (ready < count) {
+            image = canvas.snapshot(snapshot, image);
+            ready = count;
+        }
+    }
+
+    /**
+     * Draws a sprite with its top-left corner at ({@code x}, {@code y}).
+     *
+     * @param g   target
+     * @param key the sprite
+     * @param x   left
+     * @param y   top
+     * @return {@code false} if the sprite isn't drawable yet; paint it directly this time
+     */
+    boolean draw(Renderer g, long key, double x, double y) {
+        int i = find(key);
+        if (i < 0 || i >= ready) {
+            return false;
+        }
+        double m = margins[i];
+        g.drawImage(image, sx[i], sy[i], sw[i], sh[i], x - m, y - m, sw[i] / scale, sh[i] / scale);
+        return true;
+    }
+
+    /**
+     * Draws a sprite stretched so its {@code w} by {@code h} box becomes {@code dw} by {@code dh}.
+     *
+     * @return {@code false} if the sprite isn't drawable yet; paint it directly this time
+     */
+    boolean draw(Renderer g, long key, double w, double h, double x, double y, double dw, double dh) {
+        int i = find(key);
+        if (i < 0 || i >= ready) {
+            return false;
+        }
+        double kx = dw / w, ky = dh / h, m = margins[i];
+        g.drawImage(image, sx[i], sy[i], sw[i], sh[i],
+            x - m * kx, y - m * ky, sw[i] / scale * kx, sh[i] / scale * ky);
+        return true;
+    }
+
+    /**
+     * Makes room for a new sprite and returns where to draw it: a renderer whose origin is the
+     * sprite's top-left corner, in canvas units. Call {@link #end()} once it is drawn.
+     *
+     * @param key    the sprite
+     * @param w      width of its box
+     * @param h      height of its box
+     * @param margin room drawn on around the box, for strokes and shadows
+     * @return where to draw, or null if the sprite is already in the atlas or doesn't fit
+     */
+    Renderer begin(long key, double w, double h, double margin) {
+        if (full || find(key) >= 0) {
+            return null;
+        }
+        double pw = Math.ceil((w + 2 * margin) * scale) + 1;
+        double ph = Math.ceil((h + 2 * margin) * scale) + 1;
+        if (pw > MAX_SPRITE || ph > MAX_SPRITE) {
+            return null;
+        }
+        if (shelfX + pw > SIZE) {
+            shelfX = 0;
+            shelfY += shelfH;
+            shelfH = 0;
+        }
+        if (shelfY + ph > SIZE) {
+            full = true; // starts over on the next frame
+            return null;
+        }
+        if (canvas == null) {
+            canvas = new Canvas(SIZE, SIZE);
+            snapshot = new SnapshotParameters();
+            snapshot.setFill(Color.TRANSPARENT);
+            painter = new FxRenderer(canvas.getGraphicsContext2D());
+        }
+        int i = add(key);
+        sx[i] = shelfX;
+        sy[i] = shelfY;
+        sw[i] = pw;
+        sh[i] = ph;
+        margins[i] = margin;
+        shelfX += pw;
+        shelfH = Math.max(shelfH, ph);
+
+        GraphicsContext a = canvas.getGraphicsContext2D();
+        a.save();
+        a.translate(sx[i], sy[i]);
+        a.scale(scale, scale);
+        a.translate(margin, margin);
+        return painter;
+    }
+
+    /** Finishes the sprite started by {@link #begin}. */
+    void end() {
+        canvas.getGraphicsContext2D().restore();
+    }
+
+    private void clear() {
+        Arrays.fill(keys, 0L);
+        count = 0;
+        ready = 0;
+        full = false;
+        shelfX = shelfY = shelfH = 0;
+        if (canvas != null) {
+            canvas.getGraphicsContext2D().clearRect(0, 0, SIZE, SIZE);
+        }
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int c = hash(key) & mask; keys[c] != 0; c = (c + 1) & mask) {
+            if (keys[c] == key) {
+                return indices[c];
+            }
+        }
+        return -1;
+    }
+
+    private int add(long key) {
+        if ((count + 1) * 2 > keys.length) {
+            long[] oldKeys = keys;
+            int[] oldIndices = indices;
+            keys = new long[oldKeys.length * 2];
+            indices = new int[oldKeys.length * 2];
+            for (int c = 0; c < oldKeys.length; c++) {
+                if (oldKeys[c] != 0) {
+                    put(oldKeys[c], oldIndices[c]);
+                }
+            }
+        }
+        if (count == sx.length) {
+            int n = count * 2;
+            sx = Arrays.copyOf(sx, n);
+            sy = Arrays.copyOf(sy, n);
+            sw = Arrays.copyOf(sw, n);
+            sh = Arrays.copyOf(sh, n);
+            margins = Arrays.copyOf(margins, n);
+        }
+        put(key, count);
+        return count++;
+    }
+
+    private void put(long key, int index) {
+        int mask = keys.length - 1;
+        int c = hash(key) & mask;
+        while (keys[c] != 0) {
+            c = (c + 1) & mask;
+        }
+        keys[c] = key;
+        indices[c] = index;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,104 @@
+package com.yoad.arkanoid.sim;
+
+import com.yoad.arkanoid.game.BouncePath;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.sprites.Ball;
+
+import static com.yoad.arkanoid.game.Dimensions.*;
+
+/**
+ * A paddle autopilot that looks ahead: it traces the next falling ball's path through its
+ * bounces off walls and bricks ({@link com.yoad.arkanoid.game.World#traceBounces}) and moves the
+ * paddle to where that path comes down to it, instead of chasing the ball where it is now. Each
+ * time a ball starts coming down it aims for another of the paddle's five regions, so the ball
+ * leaves at changing angles rather than settling into a loop.
+ *
+ * <p>A ball keeps to its traced path until it bounces, so the landing point is only traced again
+ * when the ball, its velocity or the world's collidables change, or every few steps for bricks
+ * that move on their own.
+ */
+public final class Autopilot {
+
+    /** Bounces followed per trace. */
+    public static final int MAX_BOUNCES = 8;
+
+    /** Steps a landing point is kept while nothing about the ball or the world changes. */
+    public static final int RETRACE_STEPS = 8;
+
+    // paddle regions to aim for, in turn (see Paddle.hit); 2 is the middle
+    private static final int[] AIM_REGIONS = {1, 3, 0, 4, 2};
+
+    private final BouncePath path = new BouncePath(MAX_BOUNCES);
+    private int aim = 0;
+    private boolean falling = false;
+
+    // what the last trace was for, and where it came down
+    private Ball traced;
+    private double tracedDx;
+    private double tracedDy;
+    private long tracedModifications;
+    private int age;
+    private double landingX;
+
+    /**
+     * Sets the paddle input for the next step.
+     * @param sim the game to steer
+     */
+    public void steer(Simulation sim) {
+        Rectangle r = sim.getPaddle().getCollisionRectangle();
+
+        // the falling ball that comes down to the paddle first (walls don't change that)
+        Ball target = null;
+        double soonest = Double.POSITIVE_INFINITY;
+        for (Ball b : sim.getBalls()) {
+            double steps = (r.getStartY() - b.getSize() - b.getCenterY()) / b.getDy();
+            if (b.getDy() > 0 && steps >= 0 && steps < soonest) {
+                target = b;
+                soonest = steps;
+            }
+        }
+        if (target == null) {
+            // all on the way up: get ready for the lowest, whose path comes back down soonest
+            falling = false;
+            for (Ball b : sim.getBalls()) {
+                if (target == null || b.getCenterY() > target.getCenterY()) {
+                    target = b;
+                }
+            }
+            if (target == null) {
+                sim.setInput(false, false);
+                return;
+            }
+        } else if (!falling) {
+            falling = true;
+            aim = (aim + 1) % AIM_REGIONS.length;
+        }
+        World world = sim.getEnvironment();
+        if (target != traced || target.getDx() != tracedDx || target.getDy() != tracedDy
+                || world.getModificationCount() != tracedModifications || ++age >= RETRACE_STEPS) {
+            world.traceBounces(target.getCenterX(), target.getCenterY(), target.getDx(), target.getDy(),
+                target.getSize(), 2.0 * HEIGHT, path);
+            landingX = path.crossingX(r.getStartY() - target.getSize());
+            traced = target;
+            tracedDx = target.getDx();
+            tracedDy = target.getDy();
+            tracedModifications = world.getModificationCount();
+            age = 0;
+        }
+        double x = Double.isNaN(landingX) ? target.getCenterX() : landingX;
+        // put that region of the paddle under the landing point, without running off the edge
+        // (the paddle wraps around there)
+        double left = x - r.getWidth() * (AIM_REGIONS[aim] + 0.5) / 5.0;
+        left = Math.max(0, Math.min(WIDTH - r.getWidth(), left));
+        double dead = r.getWidth() / 20.0;
+        sim.setInput(r.getStartX() > left + dead, r.getStartX() < left - dead);
+    }
+
+    /**
+     * @return the last path traced, for drawing.
+     */
+    public BouncePath getPath() {
+        return path;
+    }
+}
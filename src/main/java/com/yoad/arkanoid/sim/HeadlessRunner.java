@@ -0,0 +1,133 @@
+package com.yoad.arkanoid.sim;
+
+import com.yoad.arkanoid.config.GameConfig;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.sprites.Ball;
+
+/**
+ * Plays whole games with no display: a simple autopilot steers the paddle under the lowest
+ * falling ball, or with {@code predict} an {@link Autopilot} that steers to where it will land.
+ * Useful for soak tests and for measuring simulation throughput on build machines.
+ *
+ * <pre>
+ *   ./gradlew simulate --args="1000"        # games to play
+ *   java -cp build/classes/java/main com.yoad.arkanoid.sim.HeadlessRunner 1000 HARD 42
+ *   ./gradlew simulate --args="1000 HARD 42 fixed batch"
+ * </pre>
+ *
+ * Options after the seed: {@code fixed} for fixed-point physics, {@code bounce} for ball-to-ball
+ * collisions, {@code moving} for moving bricks, {@code bumpers} for the bumper obstacles,
+ * {@code predict} for the looking-ahead autopilot, and a {@link World.Broadphase} name
+ * ({@code linear}, {@code spatial_hash}, {@code batch}) to pick the broadphase.
+ */
+public final class HeadlessRunner {
+
+    /** Games are cut off after this much simulated time. */
+    public static final double MAX_GAME_SECONDS = 600.0;
+
+    private final GameConfig config;
+    private final double stepSeconds;
+    private final boolean predict;
+
+    /**
+     * Constructs a runner with the simple autopilot.
+     * @param config difficulty, theme and simulation rate for every game
+     */
+    public HeadlessRunner(GameConfig config) {
+        this(config, false);
+    }
+
+    /**
+     * Constructs a runner.
+     * @param config  difficulty, theme and simulation rate for every game
+     * @param predict steer with an {@link Autopilot} that traces the ball's bounces ahead
+     */
+    public HeadlessRunner(GameConfig config, boolean predict) {
+        this.config = config;
+        this.stepSeconds = 1.0 / config.simulationHz();
+        this.predict = predict;
+    }
+
+    /**
+     * Plays one game to the end (or to {@link #MAX_GAME_SECONDS}).
+     * @param seed random seed for the game
+     * @return the finished simulation, for inspecting its score and counters
+     */
+    public Simulation play(long seed) {
+        Simulation sim = new Simulation(config, seed);
+        sim.initialize();
+        long maxSteps = (long) (MAX_GAME_SECONDS / stepSeconds);
+        Autopilot autopilot = predict ? new Autopilot() : null;
+        while (!sim.isFinished() && sim.steps() < maxSteps) {
+            if (autopilot != null) {
+                autopilot.steer(sim);
+            } else {
+                steer(sim);
+            }
+            sim.step(stepSeconds);
+        }
+        return sim;
+    }
+
+    /** Moves the paddle toward the lowest ball that is coming down. */
+    static void steer(Simulation sim) {
+        Ball target = null;
+        for (Ball b : sim.getBalls()) {
+            if (b.getDy() > 0 && (target == null || b.getY() > target.getY())) {
+                target = b;
+            }
+        }
+        if (target == null) {
+            sim.setInput(false, false);
+            return;
+        }
+        Rectangle r = sim.getPaddle().getCollisionRectangle();
+        double center = r.getStartX() + r.getWidth() / 2.0;
+        double dead = r.getWidth() / 6.0;
+        sim.setInput(target.getX() < center - dead, target.getX() > center + dead);
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        GameConfig config = new GameConfig();
+        if (args.length > 1) {
+            config.setDifficulty(GameConfig.Difficulty.valueOf(args[1].toUpperCase()));
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        boolean predict = false;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("fixed")) {
+                config.setFixedPointPhysics(true);
+            } else if (args[i].equalsIgnoreCase("bounce")) {
+                config.setBallCollisions(true);
+            } else if (args[i].equalsIgnoreCase("moving")) {
+                config.setMovingBricks(true);
+            } else if (args[i].equalsIgnoreCase("bumpers")) {
+                config.setBumpers(true);
+            } else if (args[i].equalsIgnoreCase("predict")) {
+                predict = true;
+            } else {
+                config.setBroadphase(World.Broadphase.valueOf(args[i].toUpperCase()));
+            }
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(config, predict);
+        int won = 0;
+        long totalScore = 0;
+        long totalSteps = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            Simulation sim = runner.play(seed + i);
+            if (sim.isWon()) won++;
+            totalScore += sim.getScoreCounter().getValue();
+            totalSteps += sim.steps();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("games=%d won=%d avgScore=%.1f steps=%d%n",
+            games, won, games == 0 ? 0.0 : totalScore / (double) games, totalSteps);
+        System.out.printf("%.2fs  %.0f games/s  %.0f steps/s%n",
+            seconds, games / seconds, totalSteps / seconds);
+    }
+}
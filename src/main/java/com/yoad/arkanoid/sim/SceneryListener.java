@@ -0,0 +1,22 @@
+package com.yoad.arkanoid.sim;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+
+/**
+ * Told when something on the scenery layer (bricks, walls, bumpers) changes how it looks: a brick
+ * goes, or starts or stops flashing. The JavaFX front end repaints only that part of its brick
+ * layer; headless runs use {@link #NONE}. Bricks that move on their own are not reported; a front
+ * end redraws the layer every frame while any do.
+ */
+@FunctionalInterface
+public interface SceneryListener {
+
+    /** Ignores every change. */
+    SceneryListener NONE = area -> { };
+
+    /**
+     * Called when part of the scenery needs repainting.
+     * @param area the box of the entity that changed; read it right away, it may move later
+     */
+    void sceneryChanged(Rectangle area);
+}
@@ -0,0 +1,577 @@
+package com.yoad.arkanoid.sim;
+
+import com.yoad.arkanoid.config.GameConfig;
+import com.yoad.arkanoid.config.ThemeColors;
+import com.yoad.arkanoid.ecs.ComponentStore;
+import com.yoad.arkanoid.ecs.MotionSystem;
+import com.yoad.arkanoid.ecs.Path;
+import com.yoad.arkanoid.ecs.PathMotion;
+import com.yoad.arkanoid.ecs.PathSystem;
+import com.yoad.arkanoid.ecs.Registry;
+import com.yoad.arkanoid.ecs.Renderable;
+import com.yoad.arkanoid.ecs.TimedEffect;
+import com.yoad.arkanoid.ecs.TimedEffectSystem;
+import com.yoad.arkanoid.events.BallRemover;
+import com.yoad.arkanoid.events.BlockRemover;
+import com.yoad.arkanoid.events.Counter;
+import com.yoad.arkanoid.events.ScoreTrackingListener;
+import com.yoad.arkanoid.game.Brick;
+import com.yoad.arkanoid.game.Bumper;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.physics.BrickGrid;
+import com.yoad.arkanoid.physics.Collidable;
+import com.yoad.arkanoid.powerups.PowerUp;
+import com.yoad.arkanoid.powerups.PowerUpType;
+import com.yoad.arkanoid.sprites.Ball;
+import com.yoad.arkanoid.sprites.BallSystem;
+import com.yoad.arkanoid.sprites.Paddle;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.yoad.arkanoid.game.Dimensions.*;
+
+/**
+ * The headless core of one game: paddle, balls, bricks, falling power-ups, their timed effects
+ * and the score/brick/ball counters, advanced in fixed steps by {@link #step(double)}.
+ *
+ * <p>Nothing here touches JavaFX. {@link com.yoad.arkanoid.game.ArkanoidGame} draws a Simulation
+ * and feeds it input; {@link HeadlessRunner} plays whole games with no display at all. Given the
+ * same seed and the same input per step, two simulations play out identically.
+ *
+ * <p>Every game object is an entity in the simulation's {@link Registry}, described by the
+ * components it has. Per-step work runs as systems over single component stores: falling
+ * power-ups move through {@link MotionSystem}, and hit flashes and power-up effects end through
+ * {@link TimedEffectSystem}. A brick that isn't flashing costs nothing per step.
+ */
+public class Simulation {
+
+    private final GameConfig config;
+    private final Random random;
+    private final World environment = new World();
+    private SoundPlayer sounds = SoundPlayer.NONE;
+    private SceneryListener scenery = SceneryListener.NONE;
+
+    // Entities
+    private Paddle paddle;
+    private final BallSystem balls = new BallSystem(environment);
+    private final Registry registry = new Registry();
+    private final ComponentStore<Brick> bricks = registry.newStore();
+    private final ComponentStore<PowerUp> powerUps = registry.newStore();
+
+    // Save original size and speed for reverting
+    private int basePaddleWidth;
+    private int basePaddleSpeed;
+
+    // Running timed power-ups, each an entity with a TimedEffect
+    private final Map<PowerUpType, Integer> activeEffects = new EnumMap<>(PowerUpType.class);
+
+    // Game accounting
+    private final Counter blockCounter = new Counter();
+    private final Counter ballCounter  = new Counter();
+    private final Counter score        = new Counter();
+
+    private final BlockRemover blockRemover = new BlockRemover(this, blockCounter, score);
+    private final BallRemover  ballRemover  = new BallRemover(this, ballCounter);
+    private final ScoreTrackingListener scoreTracker = new ScoreTrackingListener(score);
+
+    // Clock and end state
+    private double time = 0.0;
+    private long steps = 0L;
+    private boolean finished = false;
+    private boolean won = false;
+
+    /**
+     * Constructs a simulation with an unseeded random source.
+     * @param config difficulty, theme and speeds
+     */
+    public Simulation(GameConfig config) {
+        this(config, new Random());
+    }
+
+    /**
+     * Constructs a reproducible simulation.
+     * @param config difficulty, theme and speeds
+     * @param seed   seed for power-up drops
+     */
+    public Simulation(GameConfig config, long seed) {
+        this(config, new Random(seed));
+    }
+
+    private Simulation(GameConfig config, Random random) {
+        this.config = config;
+        this.random = random;
+        this.balls.setParallel(config.parallelPhysics());
+        this.balls.setEventDriven(config.eventPhysics());
+        this.balls.setFixedPoint(config.fixedPointPhysics());
+        this.balls.setBallCollisions(config.ballCollisions());
+        this.balls.setTrailLength(config.trailLength());
+        this.environment.setBroadphase(config.broadphase());
+
+        // the balls are stored apart (BallSystem) and drawn as one batch
+        int e = registry.create();
+        registry.renderables().put(e, new Renderable(Renderable.Kind.BALLS, Renderable.BALLS, balls));
+    }
+
+    /**
+     * Builds the level: the paddle, the first ball, the brick triangle, the bumpers if they are on
+     * and the walls just outside the visible area.
+     */
+    public void initialize() {
+        // Paddle — anchor from the bottom, not a magic number
+        Rectangle r = new Rectangle(sx(357), HEIGHT - sx(24), sx(94), sx(12));
+        paddle = new Paddle(r);
+        paddle.addToGame(this);
+        basePaddleWidth = paddle.getCollisionRectangle().getWidth();
+        basePaddleSpeed = paddle.getSpeed();
+
+        // Ball
+        double s = config.ballSpeed();
+        balls.add(sx(200), sx(360), s, -s, sx(6), java.awt.Color.WHITE.getRGB());
+        ballCounter.increase(1);
+
+        // Bricks (grid) — scale the ORIGIN too (not just sizes)
+        int blockWidth  = sx(49);
+        int blockHeight = sx(23);
+        int rows = config.rows();
+        int cols = config.cols();
+
+        // 800×600-era origin was ~ (xRight=751, yTop=150)
+        int startXRight = sx(751);
+        int startY      = sx(150);
+
+        int[] colors = ThemeColors.brickRows(config.theme());
+
+        // index the bricks by (row, col) so ball queries walk only the cells they cross
+        environment.setBrickGrid(new BrickGrid(
+            startXRight - (cols - 1) * blockWidth, startY, blockWidth, blockHeight, cols, rows));
+
+        for (int row = 0; row < rows; row++) {
+            java.awt.Color current = new java.awt.Color(colors[row % colors.length]);
+            Path path = config.movingBricks() ? rowPath(row, blockWidth, blockHeight) : null;
+
+            for (int col = 0; col < cols; col++) {
+                int x = startXRight - col * blockWidth;   // use scaled origin + scaled width
+                int y = startY + row * blockHeight;       // use scaled origin + scaled height
+
+                Brick block = new Brick(new Rectangle(new Point(x, y), blockWidth, blockHeight), current);
+                block.setPath(path);
+                block.addToGame(this);
+                blockCounter.increase(1);
+                block.addHitListener(blockRemover);
+                block.addHitListener(scoreTracker);
+            }
+            cols--;
+        }
+
+        if (config.bumpers()) {
+            addBumpers(new java.awt.Color(colors[0]));
+        }
+
+        // Walls placed just outside the visible canvas (still collidable)
+        int t = sx(28); // wall thickness
+
+        Brick topWall    = new Brick(new Rectangle(new Point(0,   -t),    WIDTH, t), java.awt.Color.GRAY);
+        Brick leftWall   = new Brick(new Rectangle(new Point(-t,   0),     t,     HEIGHT), java.awt.Color.GRAY);
+        Brick rightWall  = new Brick(new Rectangle(new Point(WIDTH, 0),     t,     HEIGHT), java.awt.Color.GRAY);
+        Brick bottomWall = new Brick(new Rectangle(new Point(0,    HEIGHT), WIDTH, t), java.awt.Color.GRAY);
+        bottomWall.addHitListener(ballRemover);
+
+        topWall.addToGame(this);
+        leftWall.addToGame(this);
+        rightWall.addToGame(this);
+        bottomWall.addToGame(this);
+    }
+
+    /**
+     * Places the bumpers in the open space between the bricks and the paddle, clear of where the
+     * first ball starts: a round one on the left, a tilted pill in the middle and a wedge on the
+     * right.
+     */
+    private void addBumpers(java.awt.Color color) {
+        new Bumper(ConvexShape.circle(sx(150), sx(420), sx(14)), color).addToGame(this);
+        new Bumper(ConvexShape.capsule(sx(360), sx(400), sx(440), sx(430), sx(6)), color).addToGame(this);
+        new Bumper(ConvexShape.polygon(sx(620), sx(440), sx(680), sx(440), sx(650), sx(400)), color)
+            .addToGame(this);
+    }
+
+    /**
+     * How a row of bricks moves with moving bricks on. A row moves as one, so its bricks never
+     * overlap, and nothing moves right of where it starts, so the right column stays on screen.
+     */
+    private static Path rowPath(int row, int blockWidth, int blockHeight) {
+        return switch (row % 3) {
+            case 0 -> Path.slide(-blockWidth / 2.0, 0, 4.0);
+            case 1 -> Path.orbit(blockHeight / 4.0, 2.5);
+            default -> Path.oscillate(0, blockHeight / 4.0, 3.0);
+        };
+    }
+
+    // ---------------- Stepping ----------------
+
+    /**
+     * Sets which paddle keys are held for the following steps.
+     * @param left  move left
+     * @param right move right
+     */
+    public void setInput(boolean left, boolean right) {
+        if (paddle != null) {
+            paddle.setInput(left, right);
+        }
+    }
+
+    /**
+     * Advances the game by one fixed step. Does nothing once the game is finished.
+     * @param dt step length in seconds
+     */
+    public void step(double dt) {
+        if (finished) {
+            return;
+        }
+        time += dt;
+        steps++;
+
+        // entities destroyed during the tick go at its end, so systems can loop safely
+        registry.deferChanges();
+        try {
+            tick(dt);
+        } finally {
+            registry.applyChanges();
+        }
+    }
+
+    private void tick(double dt) {
+        // moving bricks first, so balls see them where they are at the end of this step
+        PathSystem.update(registry, time);
+        ComponentStore<PathMotion> paths = registry.paths();
+        for (int i = 0, n = paths.size(); i < n; i++) {
+            Brick b = bricks.get(paths.entityAt(i));
+            if (b != null) {
+                b.followTransform();
+            }
+        }
+
+        paddle.timePassed(dt);
+        balls.step(dt); // balls lost during the step are compacted away at its end
+
+        if (blockCounter.getValue() <= 0) {
+            finished = true;
+            won = true;
+        } else if (ballCounter.getValue() <= 0) {
+            sounds.play(SoundCue.LOSE);
+            finished = true;
+        }
+
+        // falling power-ups
+        MotionSystem.update(registry, dt);
+        for (int i = 0, n = powerUps.size(); i < n; i++) {
+            PowerUp p = powerUps.at(i);
+            // off-screen bottom → drop
+            if (p.y() > HEIGHT) { registry.destroy(powerUps.entityAt(i)); continue; }
+            // caught by paddle?
+            if (intersects(p, paddle.getCollisionRectangle())) {
+                applyPowerUp(p.type);
+                registry.destroy(powerUps.entityAt(i));
+            }
+        }
+
+        // end hit flashes and power-ups whose time is up
+        TimedEffectSystem.update(registry, time);
+    }
+
+    // ---------------- Game interface (used by listeners & entities) ----------------
+
+    /**
+     * Adds a collidable object to the game environment.
+     * @param c the collidable object to add
+     */
+    public void addCollidable(Collidable c) {
+        environment.addCollidable(c);
+    }
+
+    /**
+     * Removes a collidable object from the game environment.
+     * @param c the collidable object to remove
+     */
+    public void removeCollidable(Collidable c) {
+        environment.removeCollidable(c);
+    }
+
+    /**
+     * Puts a ball in play; it moves on every step. Its state moves into the game's
+     * {@link BallSystem}.
+     * @param b the ball
+     */
+    public void addBall(Ball b) {
+        balls.add(b);
+    }
+
+    /**
+     * Takes a ball out of play.
+     * @param b the ball
+     */
+    public void removeBall(Ball b) {
+        balls.remove(b);
+    }
+
+    /**
+     * Puts the paddle in play as a drawn collidable entity.
+     * @param p the paddle
+     */
+    public void addPaddle(Paddle p) {
+        int e = registry.create();
+        registry.renderables().put(e, new Renderable(Renderable.Kind.PADDLE, Renderable.PADDLE, p));
+        p.bind(this, e);
+        environment.addCollidable(p);
+    }
+
+    /**
+     * Adds a brick (or wall) as an entity: a drawn collidable that reports its hits.
+     * @param b the brick
+     */
+    public void addBrick(Brick b) {
+        int e = registry.create();
+        registry.transforms().put(e, b.getTransform());
+        registry.renderables().put(e, new Renderable(Renderable.Kind.BRICK, Renderable.BRICKS, b));
+        if (b.getPath() != null) {
+            registry.paths().put(e, new PathMotion(b.getPath(), b.getTransform().x, b.getTransform().y));
+        }
+        bricks.put(e, b);
+        b.bind(this, e);
+        environment.addCollidable(b);
+    }
+
+    /**
+     * Adds a bumper as an entity: a drawn collidable that never goes away.
+     * @param b the bumper
+     */
+    public void addBumper(Bumper b) {
+        int e = registry.create();
+        registry.renderables().put(e, new Renderable(Renderable.Kind.BUMPER, Renderable.BRICKS, b));
+        b.bind(this, e);
+        environment.addCollidable(b);
+    }
+
+    /**
+     * Removes a brick. Balls stop hitting it at once; its entity goes at the end of the step.
+     * @param b the brick
+     */
+    public void removeBrick(Brick b) {
+        scenery.sceneryChanged(b.getCollisionRectangle());
+        environment.removeCollidable(b);
+        registry.destroy(b.getEntity());
+    }
+
+    /**
+     * Lights an entity up for a moment, e.g. a brick that was just hit.
+     * @param entity  the entity
+     * @param seconds how long, in simulation time
+     */
+    public void flash(int entity, double seconds) {
+        if (!registry.isAlive(entity)) {
+            return;
+        }
+        TimedEffect f = registry.effects().get(entity);
+        if (f != null) {
+            f.extendTo(time + seconds);
+            return;
+        }
+        Rectangle area = sceneryArea(entity);
+        if (area == null) {
+            registry.effects().put(entity, new TimedEffect(time + seconds, null));
+        } else {
+            // a brick lights up and goes back: both change the brick layer
+            scenery.sceneryChanged(area);
+            registry.effects().put(entity, new TimedEffect(time + seconds, () -> scenery.sceneryChanged(area)));
+        }
+    }
+
+    /** The box of an entity drawn on the scenery layer, or null if it is drawn elsewhere. */
+    private Rectangle sceneryArea(int entity) {
+        Renderable r = registry.renderables().get(entity);
+        if (r == null || r.layer() != Renderable.BRICKS || !(r.source() instanceof Collidable c)) {
+            return null;
+        }
+        return c.getCollisionRectangle();
+    }
+
+    /**
+     * @param entity an entity
+     * @return {@code true} while a {@link #flash} on it lasts
+     */
+    public boolean isFlashing(int entity) {
+        return registry.effects().has(entity);
+    }
+
+    /**
+     * Drops a power-up centered on the given point.
+     * @param centerX center x
+     * @param centerY center y
+     * @param type    what it does when caught
+     */
+    public void spawnPowerUp(double centerX, double centerY, PowerUpType type) {
+        int half = sx(12);
+        PowerUp p = new PowerUp(type, centerX - half, centerY - half);
+        int e = registry.create();
+        registry.transforms().put(e, p.transform());
+        registry.motions().put(e, p.motion());
+        registry.renderables().put(e, new Renderable(Renderable.Kind.POWER_UP, Renderable.POWER_UPS, p));
+        powerUps.put(e, p);
+    }
+
+    /**
+     * Raises a sound cue.
+     * @param cue the sound to play
+     */
+    public void playSound(SoundCue cue) {
+        sounds.play(cue);
+    }
+
+    /** @return the game's random source; seeded games draw every random choice from it. */
+    public Random random() {
+        return random;
+    }
+
+    public void setSoundPlayer(SoundPlayer player) {
+        this.sounds = (player != null ? player : SoundPlayer.NONE);
+    }
+
+    /**
+     * Sets who is told when the scenery changes; {@link SceneryListener#NONE} for headless runs.
+     * @param listener the listener
+     */
+    public void setSceneryListener(SceneryListener listener) {
+        this.scenery = (listener != null ? listener : SceneryListener.NONE);
+    }
+
+    // ---------------- State for front ends ----------------
+
+    public World getEnvironment() { return environment; }
+
+    public Paddle getPaddle() { return paddle; }
+
+    /** @return the balls in play, as a live read-only view in storage order. */
+    public List<Ball> getBalls() { return balls.handles(); }
+
+    /** @return the primitive-array store the balls live in. */
+    public BallSystem getBallSystem() { return balls; }
+
+    /** @return the game's entities and their components. */
+    public Registry getRegistry() { return registry; }
+
+    /** @return the bricks and walls (in no particular order). */
+    public List<Brick> getBricks() { return bricks.view(); }
+
+    public List<PowerUp> getPowerUps() { return powerUps.view(); }
+
+    /** @return active timed effects and the simulation time at which each one wears off. */
+    public Map<PowerUpType, Double> getEffectExpiry() {
+        Map<PowerUpType, Double> expiry = new EnumMap<>(PowerUpType.class);
+        activeEffects.forEach((type, e) -> expiry.put(type, registry.effects().get(e).until()));
+        return Collections.unmodifiableMap(expiry);
+    }
+
+    /**
+     * Like {@link #getEffectExpiry()} for one effect, without building a map.
+     * @param type a timed power-up
+     * @return simulation time it wears off at, or NaN if it isn't active
+     */
+    public double effectExpiry(PowerUpType type) {
+        Integer e = activeEffects.get(type);
+        return e == null ? Double.NaN : registry.effects().get(e).until();
+    }
+
+    /** @return {@code true} while any timed power-up is active. */
+    public boolean hasActiveEffects() { return !activeEffects.isEmpty(); }
+
+    /** @return simulated seconds since the game started. */
+    public double time() { return time; }
+
+    /** @return number of steps taken so far. */
+    public long steps() { return steps; }
+
+    public boolean isFinished() { return finished; }
+
+    /** @return {@code true} if the game finished with every brick cleared. */
+    public boolean isWon() { return won; }
+
+    public Counter getScoreCounter() { return score; }
+
+    public Counter getBlockCounter() { return blockCounter; }
+
+    public Counter getBallCounter() { return ballCounter; }
+
+    // ---------------- Power-ups ----------------
+
+    private boolean intersects(PowerUp p, Rectangle r) {
+        int rx = r.getStartX(), ry = r.getStartY(), rw = r.getWidth(), rh = r.getHeight();
+        double px = p.x(), py = p.y(); int pw = p.w(), ph = p.h();
+        return px < rx + rw && px + pw > rx && py < ry + rh && py + ph > ry;
+    }
+
+    private void applyPowerUp(PowerUpType type) {
+        // Sound effect
+        sounds.play(SoundCue.POWERUP);
+        switch (type) {
+            case EXPAND_PADDLE -> {
+                paddle.scaleWidthTo((int)Math.round(basePaddleWidth * 1.5));
+                startEffect(type, 12.0, () -> paddle.scaleWidthTo(basePaddleWidth)); // 12s
+            }
+            case PADDLE_SPEED -> {
+                paddle.setSpeed((int)Math.round(basePaddleSpeed * 1.5));
+                startEffect(type, 10.0, () -> paddle.setSpeed(basePaddleSpeed)); // 10s
+            }
+            case MULTI_BALL -> {
+                int existing = balls.size();
+                int cap = config.maxBalls(); // total balls max
+                int canAdd = Math.max(0, cap - existing);
+                if (canAdd <= 0) return;
+
+                double s = config.ballSpeed(); // same as the first ball
+                int spawned = 0;
+
+                // one new ball per existing one; new balls land past `existing`
+                // spawned without handles; a new ball gets one once it first hits something
+                for (int i = 0; i < existing && spawned < canAdd; i++) {
+                    int r = balls.radius(i);
+
+                    // decide vertical sign: keep current up/down
+                    double signY = (balls.vy(i) < 0 ? -1.0 : 1.0);
+
+                    double dx = +s * 0.95;
+                    double dy = signY * s;
+
+                    // nudge start so it doesn’t overlap the source ball
+                    double offset = r + sx(2);
+
+                    balls.spawn((int) balls.x(i) + offset, (int) balls.y(i) - offset, dx, dy, r, balls.argb(i));
+
+                    ballCounter.increase(1);
+                    spawned++;
+                }
+            }
+        }
+    }
+
+    /** Runs {@code revert} once {@code seconds} pass; catching the same type again restarts the clock. */
+    private void startEffect(PowerUpType type, double seconds, Runnable revert) {
+        Integer running = activeEffects.get(type);
+        if (running != null) {
+            registry.effects().get(running).extendTo(time + seconds);
+            return;
+        }
+        int e = registry.create();
+        registry.effects().put(e, new TimedEffect(time + seconds, () -> {
+            activeEffects.remove(type);
+            registry.destroy(e);
+            revert.run();
+        }));
+        activeEffects.put(type, e);
+    }
+}
@@ -0,0 +1,8 @@
+package com.yoad.arkanoid.sim;
+
+/** Sound effects the simulation asks for; the front end decides how (and whether) to play them. */
+public enum SoundCue {
+    BRICK,     // a brick was destroyed
+    POWERUP,   // the paddle caught a power-up
+    LOSE       // the last ball was lost
+}
@@ -0,0 +1,18 @@
+package com.yoad.arkanoid.sim;
+
+/**
+ * Receives the {@link SoundCue}s raised by a {@link Simulation}. The JavaFX front end plays audio
+ * clips; headless runs use {@link #NONE}.
+ */
+@FunctionalInterface
+public interface SoundPlayer {
+
+    /** Ignores every cue. */
+    SoundPlayer NONE = cue -> { };
+
+    /**
+     * Called when the simulation wants a sound played.
+     * @param cue the sound to play
+     */
+    void play(SoundCue cue);
+}
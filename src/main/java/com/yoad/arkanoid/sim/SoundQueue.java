@@ -0,0 +1,31 @@
+package com.yoad.arkanoid.sim;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Holds the cues of a simulation stepping on its own thread until the front end's thread plays
+ * them with {@link #playQueued}. Only whether a cue was raised is kept, not how often: a cue
+ * raised several times between two frames plays once. Nothing is allocated per cue.
+ */
+public final class SoundQueue implements SoundPlayer {
+    private static final SoundCue[] CUES = SoundCue.values();
+
+    private final AtomicIntegerArray raised = new AtomicIntegerArray(CUES.length);
+
+    @Override
+    public void play(SoundCue cue) {
+        raised.set(cue.ordinal(), 1);
+    }
+
+    /**
+     * Plays the cues raised since the last call, and forgets them.
+     * @param player where to play them
+     */
+    public void playQueued(SoundPlayer player) {
+        for (SoundCue cue : CUES) {
+            if (raised.get(cue.ordinal()) != 0 && raised.getAndSet(cue.ordinal(), 0) != 0) {
+                player.play(cue);
+            }
+        }
+    }
+}
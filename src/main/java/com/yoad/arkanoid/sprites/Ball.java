@@ -1,37 +1,37 @@
 package com.yoad.arkanoid.sprites;
 
-import com.yoad.arkanoid.game.ArkanoidGame;
+import com.yoad.arkanoid.game.SimulationClock;
 import com.yoad.arkanoid.game.World;
 import com.yoad.arkanoid.geometry.Line;
 import com.yoad.arkanoid.geometry.Point;
-import com.yoad.arkanoid.geometry.Rectangle;
 import com.yoad.arkanoid.geometry.Velocity;
-import com.yoad.arkanoid.physics.CollisionInfo;
-import com.yoad.arkanoid.fx.FxColors;
+import com.yoad.arkanoid.sim.Simulation;
 
-import javafx.geometry.Point2D;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
-
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.awt.Color;
 import java.util.Random;
 
 /**
  * The sprites.Ball class represents a ball with a center point, radius, and color.
- * It provides methods to access its properties and draw it on a given surface.
+ * It provides methods to access its properties and to move it through its world; drawing is
+ * done by {@code render.EntityPainter}.
+ *
+ * <p>The state itself lives in a {@link BallSystem} slot; a Ball is a handle to it, so many balls
+ * can be stepped in one tight loop over primitive arrays. The handle stays valid when the system
+ * compacts its slots. Once the ball is removed the handle holds a copy of its last state, which
+ * can still be read and changed, but it no longer moves.
  */
-public class Ball implements Sprite {
+public class Ball {
     // Fields
-    private Point center;
-    private final int radius;
-    private Color fxColor;
-    private Velocity velocity;
-    private World environment;
+    BallSystem system; // null once removed
+    int index;
 
-    private final Deque<Point2D> trail = new ArrayDeque<>(12);
-    private static final int TRAIL_LEN = 8;
-    private static final double TRAIL_ALPHA = 0.18;
+    // the last state, once removed
+    private double x;
+    private double y;
+    private double dx;
+    private double dy;
+    private int radius;
+    private int argb;
 
     /**
      * Constructs a sprites.Ball object with a specified center point, radius, and color.
@@ -41,23 +41,24 @@ public class Ball implements Sprite {
      * @param color  the color of the ball
      * @param environment the balls environment
      */
-    public Ball(Point center, int r, java.awt.Color awtColor, World environment) {
-        this.center = center;
-        this.radius = r;
-        this.fxColor = FxColors.toFx(awtColor);
-        this.velocity = new Velocity(0, 0);
-        this.environment = environment;
+    public Ball(Point center, int r, Color color, World environment) {
+        int argb = (color != null ? color : Color.WHITE).getRGB();
+        new BallSystem(environment, 1).attach(this, center.getX(), center.getY(), 0, 0, r, argb);
     }
 
-    /**
-     * Overload: Constructs a Ball with JavaFX color directly.
-     */
-    public Ball(Point center, int r, Color fxColor, World environment) {
-        this.center = center;
-        this.radius = r;
-        this.fxColor = (fxColor != null ? fxColor : Color.WHITE);
-        this.velocity = new Velocity(0, 0);
-        this.environment = environment;
+    /** Handle that {@link BallSystem} binds to a slot itself. */
+    Ball() {
+    }
+
+    /** Unbinds the handle from its slot, keeping this state. */
+    void keep(double cx, double cy, double vx, double vy, int r, int color) {
+        system = null;
+        x = cx;
+        y = cy;
+        dx = vx;
+        dy = vy;
+        radius = r;
+        argb = color;
     }
 
     /**
@@ -65,61 +66,46 @@ public class Ball implements Sprite {
      *
      * @return the x-coordinate of the center
      */
-    public int getX() { return (int) this.center.getX(); }
+    public int getX() { return (int) getCenterX(); }
 
     /**
      * Returns the y-coordinate of the ball's center.
      *
      * @return the y-coordinate of the center
      */
-    public int getY() { return (int) this.center.getY(); }
+    public int getY() { return (int) getCenterY(); }
 
     /**
      * Returns the radius (size) of the ball.
      *
      * @return the radius of the ball
      */
-    public int getSize() { return this.radius; }
+    public int getSize() { return system != null ? system.radius(index) : radius; }
 
     /**
      * returns this balls color.
      * @return color.
      */
-    public java.awt.Color getColor() { return FxColors.toAwt(this.fxColor); }
+    public Color getColor() { return new Color(getArgb(), true); }
 
-    /** Preferred getter for rendering/styling in JavaFX code. */
-    public Color getFxColor() { return this.fxColor; }
+    /**
+     * returns this balls color without allocating.
+     * @return color as {@code 0xAARRGGBB}.
+     */
+    public int getArgb() { return system != null ? system.argb(index) : argb; }
 
     /**
-     * Draws the ball on the specified Surface.
+     * Returns the exact center, without the rounding of {@link #getX()} and {@link #getY()}.
      *
-     * @param g the Surface on which to draw the ball
+     * @return the center point
      */
-    @Override
-    public void draw(GraphicsContext g) {
-        // (optional) trail: comment this block out if you didn't add the trail
-        pushTrail();
-        if (!trail.isEmpty()) {
-            Point2D[] pts = trail.toArray(new Point2D[0]);
-            for (int i = 0; i < pts.length; i++) {
-                double t = 1.0 - (i / (double) TRAIL_LEN);
-                double alpha = TRAIL_ALPHA * t;
-                double r = getSize() * (0.75 + 0.25 * t);
-                g.setFill(Color.color(1, 1, 1, alpha));
-                g.fillOval(pts[i].getX() - r, pts[i].getY() - r, r * 2, r * 2);
-            }
-        }
+    public Point getCenter() { return new Point(getCenterX(), getCenterY()); }
 
-        // actual ball
-        double d = this.radius * 2.0;
-        g.setFill(this.fxColor);
-        g.fillOval(this.center.getX() - this.radius, this.center.getY() - this.radius, d, d);
-    }
+    /** @return exact center x. */
+    public double getCenterX() { return system != null ? system.x(index) : x; }
 
-    private void pushTrail() {
-        trail.addFirst(new Point2D(getX(), getY()));
-        while (trail.size() > TRAIL_LEN) trail.removeLast();
-    }
+    /** @return exact center y. */
+    public double getCenterY() { return system != null ? system.y(index) : y; }
 
     /**
      * Sets the velocity of the ball.
@@ -127,7 +113,7 @@ public class Ball implements Sprite {
      * @param v the velocity to be assigned to the ball
      */
     public void setVelocity(Velocity v) {
-        this.velocity = v; 
+        setVelocity(v.getDx(), v.getDy());
     }
 
     /**
@@ -137,33 +123,33 @@ public class Ball implements Sprite {
      * @param dy the change in y direction
      */
     public void setVelocity(double dx, double dy) {
-        this.velocity = new Velocity(dx, dy); 
-    }
-
-    /**
-     * sets the balls environment.
-     * @param env
-     */
-    public void setEnvironment(World env) {
-        this.environment = env;
+        if (system != null) {
+            system.setVelocity(index, dx, dy);
+        } else {
+            this.dx = dx;
+            this.dy = dy;
+        }
     }
 
     /**
-     * Adds this sprite to the specified game.
-     * The sprite will be managed by the game and be part of the game's sprite collection,
-     * allowing it to be drawn and updated during the game loop.
+     * Puts this ball in play in the specified game, so it is moved on every step and drawn.
      *
-     * @param g the game to which this sprite will be added.
-     *          This game will manage the sprite and include it in its sprite collection.
+     * @param g the game to which this ball will be added.
      */
-    public void addToGame(ArkanoidGame g) { g.addSprite(this); }
+    public void addToGame(Simulation g) { g.addBall(this); }
 
     /**
      * Returns the current velocity of the ball.
      *
      * @return a new geometry.Velocity object representing the ball's velocity
      */
-    public Velocity getVelocity() { return new Velocity(this.velocity.getDx(), this.velocity.getDy()); }
+    public Velocity getVelocity() { return new Velocity(getDx(), getDy()); }
+
+    /** @return velocity x without allocating. */
+    public double getDx() { return system != null ? system.vx(index) : dx; }
+
+    /** @return velocity y without allocating. */
+    public double getDy() { return system != null ? system.vy(index) : dy; }
 
     /**
      * Generates a random velocity based on the balls size.
@@ -195,8 +181,8 @@ public class Ball implements Sprite {
      * @return a shapes.Line representing the ball's next movement path based on its velocity
      */
     public Line getTrajectory() {
-        Point start = this.center;
-        Point end = new Point(center.getX() + velocity.getDx() * 3, center.getY() + velocity.getDy() * 3);
+        Point start = getCenter();
+        Point end = new Point(start.getX() + getDx() * 3, start.getY() + getDy() * 3);
         return new Line(start, end);
     }
 
@@ -204,51 +190,38 @@ public class Ball implements Sprite {
      * sets the balls color.
      * @param color to this color.
      */
-    public void setColor(java.awt.Color awt) { this.fxColor = FxColors.toFx(awt); }
-
-    /** Set color from JavaFX (preferred). */
-    public void setFxColor(Color fx) { if (fx != null) this.fxColor = fx; }
+    public void setColor(Color color) {
+        if (color == null) {
+            return;
+        }
+        if (system != null) {
+            system.setArgb(index, color.getRGB());
+        } else {
+            argb = color.getRGB();
+        }
+    }
 
     /**
-     * Moves the ball one step forward based on its current velocity.
-     * The method updates the ball's position by applying its velocity to the current position.
-     * The new position is computed by calling the {@link Velocity#applyToPoint(Point)} method
-     * on the current position.
-     *
-     * @see Velocity#applyToPoint(Point)
+     * Moves the ball one tick forward (one velocity length), bouncing off anything in the way.
      */
-    @Override
     public void timePassed() {
-        Line trajectory = this.getTrajectory();
-        CollisionInfo collisionInfo = environment.getClosestCollision(trajectory);
-
-        if (collisionInfo == null) {
-            this.center = this.getVelocity().applyToPoint(this.center);
-        } else {
-            Point collisionPoint = collisionInfo.collisionPoint();
-            double dx = this.getVelocity().getDx();
-            double dy = this.getVelocity().getDy();
-
-            // Push-out distance (increased aggressively)
-            double epsilon = 6.0; // Matches paddle's teleport distance
-
-            // Push the ball out HARD along its trajectory
-            double newX = collisionPoint.getX() - epsilon * Math.signum(dx);
-            double newY = collisionPoint.getY() - epsilon * Math.signum(dy);
-            this.center = new Point(newX, newY);
-
-            // Update velocity (direction only, speed unchanged)
-            Velocity newVelocity = collisionInfo.collisionObject().hit(this, collisionPoint, this.getVelocity());
-            this.setVelocity(newVelocity);
+        timePassed(1.0 / SimulationClock.REFERENCE_HZ);
+    }
 
-            // Safety: If still stuck (rare), push again
-            Rectangle paddleRect = collisionInfo.collisionObject().getCollisionRectangle();
-            if (paddleRect.contains(this.center)) {
-                epsilon += 4.0; // Extra-hard push
-                newX = collisionPoint.getX() - epsilon * Math.signum(dx);
-                newY = collisionPoint.getY() - epsilon;
-                this.center = new Point(newX, newY);
-            }
+    /**
+     * Moves the ball {@code dt} seconds forward, bouncing off anything in the way. The velocity is
+     * in pixels per reference tick, so the ball covers {@code dt * REFERENCE_HZ} velocity lengths.
+     * The ball is swept as a circle of its radius, so it cannot tunnel through thin obstacles or
+     * corners at any speed. After each contact the velocity is updated by the object that was hit
+     * and the remaining part of the step continues from the contact point, up to the world's
+     * {@link World#getMaxCollisionIterations() iteration cap}. {@link BallSystem#step(double)}
+     * does the same for all balls at once. A removed ball stays where it is.
+     *
+     * @param dt length of the simulation step in seconds
+     */
+    public void timePassed(double dt) {
+        if (system != null) {
+            system.step(index, dt);
         }
     }
 
@@ -256,7 +229,7 @@ public class Ball implements Sprite {
      * removes the ball from the game.
      * @param g the game.
      */
-    public void removeFromGame(ArkanoidGame g) {
-        g.removeSprite(this);
+    public void removeFromGame(Simulation g) {
+        g.removeBall(this);
     }
 }
@@ -0,0 +1,88 @@
+package com.yoad.arkanoid.sprites;
+
+import java.util.Arrays;
+
+/**
+ * Spatial hash of ball centres, rebuilt from scratch every tick. Balls are counting-sorted into
+ * buckets by the hash of their square cell, so a build is two passes over the balls and
+ * allocates nothing once the arrays are big enough. With cells at least one ball diameter wide,
+ * every ball a ball can touch lies in its own cell or one of the eight around it.
+ */
+final class BallHash {
+    private int[] cellX = new int[0];    // slot -> cell column
+    private int[] cellY = new int[0];    // slot -> cell row
+    private int[] bucketOf = new int[0]; // slot -> bucket, or -1 if left out
+    private int[] start = new int[1];    // bucket -> first index into slots; start[b + 1] ends it
+    private int[] slots = new int[0];    // slot indices grouped by bucket, ascending within one
+    private int mask = 0;
+    private double cell = 1;
+
+    /**
+     * Hashes balls {@code 0..n-1}, skipping removed ones.
+     * @param x        centre x per slot
+     * @param y        centre y per slot
+     * @param removed  slots to leave out
+     * @param n        number of slots
+     * @param cellSize cell edge in pixels
+     */
+    void build(double[] x, double[] y, boolean[] removed, int n, double cellSize) {
+        if (cellX.length < n) {
+            cellX = new int[x.length];
+            cellY = new int[x.length];
+            bucketOf = new int[x.length];
+            slots = new int[x.length];
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, n) * 2 - 1) << 1; // power of two >= 2n
+        if (start.length < buckets + 1) {
+            start = new int[buckets + 1];
+        }
+        mask = buckets - 1;
+        cell = cellSize;
+        Arrays.fill(start, 0, buckets + 1, 0);
+
+        for (int i = 0; i < n; i++) {
+            if (removed[i]) {
+                bucketOf[i] = -1;
+                continue;
+            }
+            cellX[i] = (int) Math.floor(x[i] / cell);
+            cellY[i] = (int) Math.floor(y[i] / cell);
+            int b = bucket(cellX[i], cellY[i]);
+            bucketOf[i] = b;
+            start[b]++;
+        }
+        // turn counts into the end of each bucket...
+        int total = 0;
+        for (int b = 0; b < buckets; b++) {
+            total += start[b];
+            start[b] = total;
+        }
+        start[buckets] = total;
+        // ...and fill from the back, which leaves each bucket's slots ascending and start[b] at
+        // the bucket's beginning
+        for (int i = n - 1; i >= 0; i--) {
+            int b = bucketOf[i];
+            if (b >= 0) {
+                slots[--start[b]] = i;
+            }
+        }
+    }
+
+    int cellX(int slot) { return cellX[slot]; }
+    int cellY(int slot) { return cellY[slot]; }
+
+    /** Bucket holding cell {@code (cx, cy)}; other cells may share it. */
+    int bucket(int cx, int cy) {
+        int h = cx * 0x9E3779B1 ^ cy * 0x85EBCA6B;
+        return (h ^ (h >>> 15)) & mask;
+    }
+
+    /** @return first index into {@link #slot} of bucket {@code b}. */
+    int start(int b) { return start[b]; }
+
+    /** @return one past the last index into {@link #slot} of bucket {@code b}. */
+    int end(int b) { return start[b + 1]; }
+
+    /** @return the {@code k}-th hashed slot. */
+    int slot(int k) { return slots[k]; }
+}
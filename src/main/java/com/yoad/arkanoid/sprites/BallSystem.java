@@ -0,0 +1,869 @@
+package com.yoad.arkanoid.sprites;
+
+import com.yoad.arkanoid.game.SimulationClock;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.geometry.Fixed;
+import com.yoad.arkanoid.geometry.FixedHit;
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.physics.Collidable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stores every ball of a world as parallel primitive arrays (struct of arrays) and moves them all
+ * in one loop, so a step over thousands of balls walks a few contiguous arrays and allocates
+ * nothing unless a ball actually touches something.
+ *
+ * <p>Each ball can have a {@link Ball} object, a thin handle that reads and writes its slot; it
+ * is what collidables and hit listeners receive. Balls {@linkplain #spawn spawned} in bulk get
+ * their handle only when something first asks for it, and each slot carries an {@link #id} that
+ * stays with the ball, so code that only reads positions never needs one. Slots are kept dense:
+ * removing a ball moves the last one into its place and updates that ball's handle, and the
+ * removed ball's handle keeps a copy of its last state. Balls removed while the system is
+ * stepping (by a hit listener, say) are only marked, and compacted once the step is over, so
+ * indices stay valid for the rest of the loop.
+ *
+ * <p>In {@linkplain #setParallel(boolean) parallel mode} a step has two phases. First every
+ * ball's collision query runs on the fork-join pool against the world as it stands; queries only
+ * read, so they need no locking. Then, on the calling thread and in slot order, each ball is
+ * moved: a ball whose query found nothing just advances, and a ball that touches something is
+ * resolved exactly as the serial loop would, hit callbacks, brick removal and all. Removals made
+ * by earlier balls can only take contacts away, so a miss stays a miss; a contact found before
+ * the world changed is queried again. The outcome is identical to the serial mode.
+ *
+ * <p>In {@linkplain #setEventDriven(boolean) event-driven mode} each ball's next contact with the
+ * static geometry is predicted once, a good stretch ahead, and queued by time. Until that time
+ * comes the ball just advances by its velocity each step, with no collision query at all; then
+ * it gets an ordinary step and a new prediction. The paddle moves, so its whole lane counts as a
+ * contact: a ball near the paddle's height is stepped in full every tick. Moving bricks widen
+ * that lane to every height they cover, and a lane that changes drops all predictions. Adding collidables or
+ * changing a ball's velocity from outside drops the affected predictions. Removing a brick does
+ * not: a prediction can then only be early, never late, and an early one costs a single extra
+ * query. The outcome is identical to the serial mode.
+ *
+ * <p>With {@linkplain #setBallCollisions(boolean) ball collisions} on, every step ends with a
+ * pass that bounces touching balls off each other elastically, heavier (bigger) balls pushing
+ * lighter ones more. Pairs are found through a spatial hash of the ball centres rebuilt each
+ * step, so the pass costs about one visit per ball, and are resolved in slot order, after the
+ * walls and bricks. A ball whose velocity changes this way counts as changed from outside for
+ * event-driven mode, so every mode still gives the same result. In fixed-point mode the pass
+ * rounds what it touches back onto the grid; it needs only arithmetic and square roots, which
+ * come out the same on every machine.
+ *
+ * <p>In {@linkplain #setFixedPoint(boolean) fixed-point mode} positions and velocities are kept on
+ * the 1/65536-pixel grid of a 16.16 {@link Fixed} number, which a double holds exactly, and every
+ * move, contact test and reflection is done in integer arithmetic. The same game then plays out
+ * bit for bit the same on any machine. Its outcome differs slightly from the other modes, which
+ * work in doubles.
+ */
+public class BallSystem {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Below this many balls a parallel step still runs serially; the hand-off isn't worth it. */
+    public static final int PARALLEL_THRESHOLD = 256;
+    // balls per fork-join leaf task
+    private static final int CHUNK = 64;
+
+    /** How far ahead, in reference ticks, event-driven mode looks for a ball's next contact. */
+    public static final double HORIZON_TICKS = 120.0;
+    // predictions end this much early, so rounding in the per-step advance can't overshoot them
+    private static final double MARGIN_TICKS = 1e-3;
+    private static final double MARGIN_PIXELS = 1e-3;
+    // extra height around the paddle lane that counts as being in it
+    private static final double LANE_PAD = 1.0;
+
+    /** Points kept per ball for the motion trail, unless {@link #setTrailLength} says otherwise. */
+    public static final int DEFAULT_TRAIL_LENGTH = 8;
+
+    // each pool thread queries with its own working memory
+    private static final ThreadLocal<World.Scratch> SCRATCH = ThreadLocal.withInitial(World.Scratch::new);
+
+    private final World environment;
+
+    private int count = 0;
+    private double[] x;
+    private double[] y;
+    private double[] vx;
+    private double[] vy;
+    private int[] radius;
+    private int[] argb;
+    private boolean[] removed;
+    private Ball[] handles;          // null until a slot's handle is asked for
+    private long[] ids;
+    private long nextId = 0;
+    private final TrailBuffer trails;
+
+    private int stepping = 0;        // > 0 while balls are being moved
+    private int pendingRemovals = 0;
+
+    // reused by move() for the collision query
+    private final RayHit sweepHit = new RayHit();
+
+    // parallel mode: pool, and the first contact each ball's query found this step
+    private ForkJoinPool pool = null;
+    private Collidable[] firstHit = new Collidable[0];
+    private RayHit[] firstContact = new RayHit[0];
+
+    // event-driven mode: queue of due times (in ticks), and what predictions were made against
+    private ImpactQueue events = null;
+    private double clock = 0.0;
+    private long predictedInsertions = -1L;
+    private double laneMin = Double.POSITIVE_INFINITY;
+    private double laneMax = Double.NEGATIVE_INFINITY;
+    private int[] dueSlots = new int[0];
+    private final RayHit predictHit = new RayHit();
+    private final World.Scratch predictScratch = new World.Scratch();
+
+    // ball-to-ball collisions: off, or the hash rebuilt every step
+    private BallHash ballHash = null;
+
+    // fixed-point mode
+    private boolean fixedPoint = false;
+    private final FixedHit fixedHit = new FixedHit();
+    private final World.Scratch fixedScratch = new World.Scratch();
+
+    private final List<Ball> view = new AbstractList<>() {
+        @Override
+        public Ball get(int i) {
+            if (i < 0 || i >= count) {
+                throw new IndexOutOfBoundsException(i);
+            }
+            return handle(i);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    };
+
+    /**
+     * Constructs an empty system.
+     * @param environment the world the balls move and collide in
+     */
+    public BallSystem(World environment) {
+        this(environment, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty system with room for {@code capacity} balls before it has to grow.
+     * @param environment the world the balls move and collide in
+     * @param capacity    initial number of slots
+     */
+    public BallSystem(World environment, int capacity) {
+        this.environment = environment;
+        int n = Math.max(1, capacity);
+        x = new double[n];
+        y = new double[n];
+        vx = new double[n];
+        vy = new double[n];
+        radius = new int[n];
+        argb = new int[n];
+        removed = new boolean[n];
+        handles = new Ball[n];
+        ids = new long[n];
+        trails = new TrailBuffer(DEFAULT_TRAIL_LENGTH, n);
+    }
+
+    /**
+     * Adds a ball.
+     * @param cx     center x
+     * @param cy     center y
+     * @param dx     velocity x, pixels per reference tick
+     * @param dy     velocity y, pixels per reference tick
+     * @param r      radius
+     * @param color  color as {@code 0xAARRGGBB}
+     * @return the new ball's handle
+     */
+    public Ball add(double cx, double cy, double dx, double dy, int r, int color) {
+        spawn(cx, cy, dx, dy, r, color);
+        return handle(count - 1);
+    }
+
+    /**
+     * Adds a ball without making its handle, for bulk spawns. Its slot is the last one,
+     * {@code size() - 1}, until a removal moves it; {@link #handle(int)} makes the handle later.
+     * @param cx     center x
+     * @param cy     center y
+     * @param dx     velocity x, pixels per reference tick
+     * @param dy     velocity y, pixels per reference tick
+     * @param r      radius
+     * @param color  color as {@code 0xAARRGGBB}
+     */
+    public void spawn(double cx, double cy, double dx, double dy, int r, int color) {
+        if (count == x.length) {
+            grow();
+        }
+        x[count] = fixedPoint ? Fixed.snap(cx) : cx;
+        y[count] = fixedPoint ? Fixed.snap(cy) : cy;
+        vx[count] = fixedPoint ? Fixed.snap(dx) : dx;
+        vy[count] = fixedPoint ? Fixed.snap(dy) : dy;
+        radius[count] = r;
+        argb[count] = color;
+        removed[count] = false;
+        handles[count] = null;
+        ids[count] = nextId++;
+        trails.clear(count);
+        if (events != null) {
+            events.update(count, Double.NEGATIVE_INFINITY);
+        }
+        count++;
+    }
+
+    /**
+     * Moves a ball from whatever system it is in (e.g. the private one of a ball built with
+     * {@link Ball#Ball(Point, int, java.awt.Color, World)}) into this one. The handle stays valid.
+     * @param b the ball
+     */
+    public void add(Ball b) {
+        BallSystem from = b.system;
+        if (from == this) {
+            return;
+        }
+        if (from == null) { // out of play: it carries its own state
+            attach(b, b.getCenterX(), b.getCenterY(), b.getDx(), b.getDy(), b.getSize(), b.getArgb());
+            return;
+        }
+        int i = b.index;
+        attach(b, from.x[i], from.y[i], from.vx[i], from.vy[i], from.radius[i], from.argb[i]);
+        from.handles[i] = null;
+        from.removeSlot(i);
+    }
+
+    /**
+     * Removes a ball. While the system is stepping, the ball stops moving at once but its slot is
+     * only freed when the step ends. A removed handle keeps a copy of its last state, and no
+     * longer moves.
+     * @param b the ball
+     */
+    public void remove(Ball b) {
+        if (b.system != this) {
+            return;
+        }
+        int i = b.index;
+        if (stepping > 0) {
+            if (!removed[i]) {
+                removed[i] = true;
+                pendingRemovals++;
+            }
+            return;
+        }
+        detach(i);
+    }
+
+    /**
+     * Turns the two-phase parallel step on or off. Results are the same either way.
+     * @param on run collision queries on the common fork-join pool
+     */
+    public void setParallel(boolean on) {
+        this.pool = on ? ForkJoinPool.commonPool() : null;
+    }
+
+    /** @return {@code true} if steps run their collision queries in parallel. */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Turns event-driven stepping on or off. Results are the same either way. While on, steps run
+     * on the calling thread even if {@linkplain #setParallel(boolean) parallel mode} is set.
+     * @param on predict each ball's next contact and skip its queries until then
+     */
+    public void setEventDriven(boolean on) {
+        if (on == (events != null)) {
+            return;
+        }
+        if (!on) {
+            events = null;
+            return;
+        }
+        events = new ImpactQueue();
+        for (int i = 0; i < count; i++) {
+            events.update(i, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    /** @return {@code true} if balls skip collision queries until their predicted contact. */
+    public boolean isEventDriven() {
+        return events != null;
+    }
+
+    /**
+     * Turns elastic ball-to-ball collisions on or off.
+     * @param on bounce balls off each other at the end of every step
+     */
+    public void setBallCollisions(boolean on) {
+        ballHash = on ? (ballHash != null ? ballHash : new BallHash()) : null;
+    }
+
+    /** @return {@code true} if balls bounce off each other. */
+    public boolean isBallCollisions() {
+        return ballHash != null;
+    }
+
+    /**
+     * Turns fixed-point stepping on or off. Turning it on rounds every ball's position and
+     * velocity to the 16.16 grid. While on, steps run serially on the calling thread, whatever
+     * the parallel and event-driven settings are.
+     * @param on move balls with integer arithmetic only
+     */
+    public void setFixedPoint(boolean on) {
+        if (on == fixedPoint) {
+            return;
+        }
+        fixedPoint = on;
+        if (on) {
+            for (int i = 0; i < count; i++) {
+                snapSlot(i);
+            }
+        } else if (events != null) {
+            events.expireAll(); // predictions went stale while fixed-point steps ran
+        }
+    }
+
+    /** @return {@code true} if balls move with integer arithmetic on the 16.16 grid. */
+    public boolean isFixedPoint() {
+        return fixedPoint;
+    }
+
+    /** @return number of balls, including ones removed during the current step. */
+    public int size() { return count; }
+
+    /** @return live view of the balls' handles, in slot order. */
+    public List<Ball> handles() { return view; }
+
+    /** @return every ball's recent positions, by slot (the index in {@link #handles()}). */
+    public TrailBuffer getTrails() { return trails; }
+
+    /**
+     * Sets how many positions each ball's trail keeps, 0 for none. Forgets the current trails;
+     * recording costs the same whatever the length.
+     * @param length points per ball
+     */
+    public void setTrailLength(int length) {
+        trails.setLength(length, x.length);
+    }
+
+    /** Records every ball's position at the head of its trail. Called once per rendered frame. */
+    public void recordTrails() {
+        for (int i = 0; i < count; i++) {
+            trails.push(i, x[i], y[i]);
+        }
+    }
+
+    /**
+     * Moves every ball {@code dt} seconds forward, bouncing off anything in its way.
+     * @param dt length of the simulation step in seconds
+     */
+    public void step(double dt) {
+        stepping++;
+        try {
+            environment.refreshMovingCollidables(); // the paddle and moving bricks moved since
+            int n = count; // balls added during the step start moving next step
+            if (fixedPoint) {
+                for (int i = 0; i < n; i++) {
+                    if (!removed[i]) {
+                        moveFixed(i, dt);
+                    }
+                }
+            } else if (events != null) {
+                stepEvents(n, dt);
+            } else if (pool != null && n >= PARALLEL_THRESHOLD) {
+                stepParallel(n, dt);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    if (!removed[i]) {
+                        move(i, dt, null, null);
+                    }
+                }
+            }
+            if (ballHash != null) {
+                collideBalls(n);
+            }
+        } finally {
+            finishStep();
+        }
+    }
+
+    private void stepParallel(int n, double dt) {
+        double ticks = dt * SimulationClock.REFERENCE_HZ;
+        if (firstHit.length < n) {
+            firstHit = new Collidable[x.length];
+            firstContact = new RayHit[x.length];
+            for (int i = 0; i < firstContact.length; i++) {
+                firstContact[i] = new RayHit();
+            }
+        }
+
+        // Phase 1: read-only queries, spread over the pool
+        long modifications = environment.getModificationCount();
+        long insertions = environment.getInsertionCount();
+        pool.invoke(new QueryTask(0, n, ticks));
+
+        // Phase 2: apply in slot order, exactly as the serial loop would
+        for (int i = 0; i < n; i++) {
+            Collidable first = firstHit[i];
+            firstHit[i] = null;
+            if (removed[i]) {
+                continue;
+            }
+            if (first == null && environment.getInsertionCount() == insertions) {
+                x[i] += vx[i] * ticks;
+                y[i] += vy[i] * ticks;
+            } else if (first != null && environment.getModificationCount() == modifications) {
+                move(i, dt, first, firstContact[i]);
+            } else {
+                move(i, dt, null, null);
+            }
+        }
+    }
+
+    private void stepEvents(int n, double dt) {
+        double ticks = dt * SimulationClock.REFERENCE_HZ;
+        double end = clock + ticks;
+
+        // new geometry or a moved paddle lane voids every prediction
+        boolean laneMoved = updateLane();
+        if (laneMoved || environment.getInsertionCount() != predictedInsertions) {
+            predictedInsertions = environment.getInsertionCount();
+            events.expireAll();
+        }
+
+        // balls whose predicted contact falls within this step get a full step, in slot order
+        if (dueSlots.length < n) {
+            dueSlots = new int[x.length];
+        }
+        int due = 0;
+        while (events.peekKey() < end) {
+            dueSlots[due++] = events.poll();
+        }
+        Arrays.sort(dueSlots, 0, due);
+
+        // everyone else is in open space
+        for (int i = 0; i < n; i++) {
+            if (!removed[i] && events.contains(i)) {
+                x[i] += vx[i] * ticks;
+                y[i] += vy[i] * ticks;
+            }
+        }
+        for (int k = 0; k < due; k++) {
+            int i = dueSlots[k];
+            if (removed[i]) {
+                continue;
+            }
+            move(i, dt, null, null);
+            if (!removed[i]) {
+                predict(i, end);
+            }
+        }
+        clock = end;
+    }
+
+    /** Bounces every touching pair among slots {@code 0..n-1}, in slot order. */
+    private void collideBalls(int n) {
+        int maxRadius = 0;
+        for (int i = 0; i < n; i++) {
+            maxRadius = Math.max(maxRadius, radius[i]);
+        }
+        ballHash.build(x, y, removed, n, Math.max(1, 2 * maxRadius));
+        for (int i = 0; i < n; i++) {
+            if (removed[i]) {
+                continue;
+            }
+            int cx = ballHash.cellX(i);
+            int cy = ballHash.cellY(i);
+            for (int ny = cy - 1; ny <= cy + 1; ny++) {
+                for (int nx = cx - 1; nx <= cx + 1; nx++) {
+                    int b = ballHash.bucket(nx, ny);
+                    for (int k = ballHash.start(b), end = ballHash.end(b); k < end; k++) {
+                        int j = ballHash.slot(k);
+                        // each pair once, and only balls really in this cell (buckets are shared)
+                        if (j > i && !removed[j] && ballHash.cellX(j) == nx && ballHash.cellY(j) == ny) {
+                            collidePair(i, j);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Separates two overlapping balls and, if they are closing in, bounces them elastically. */
+    private void collidePair(int i, int j) {
+        double dx = x[j] - x[i];
+        double dy = y[j] - y[i];
+        double reach = radius[i] + radius[j];
+        double dist2 = dx * dx + dy * dy;
+        if (dist2 >= reach * reach || dist2 == 0) {
+            return; // apart, or exactly on top of each other with no direction to push
+        }
+        double dist = Math.sqrt(dist2);
+        double nx = dx / dist;
+        double ny = dy / dist;
+        // mass goes with area
+        double mi = (double) radius[i] * radius[i];
+        double mj = (double) radius[j] * radius[j];
+        double share = mj / (mi + mj); // of the correction that falls on ball i
+
+        double overlap = reach - dist;
+        x[i] -= nx * overlap * share;
+        y[i] -= ny * overlap * share;
+        x[j] += nx * overlap * (1 - share);
+        y[j] += ny * overlap * (1 - share);
+
+        double closing = (vx[j] - vx[i]) * nx + (vy[j] - vy[i]) * ny;
+        if (closing < 0) {
+            vx[i] += 2 * share * closing * nx;
+            vy[i] += 2 * share * closing * ny;
+            vx[j] -= 2 * (1 - share) * closing * nx;
+            vy[j] -= 2 * (1 - share) * closing * ny;
+        }
+        if (fixedPoint) {
+            snapSlot(i);
+            snapSlot(j);
+        }
+        if (events != null) {
+            events.update(i, Double.NEGATIVE_INFINITY);
+            events.update(j, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    private void snapSlot(int i) {
+        x[i] = Fixed.snap(x[i]);
+        y[i] = Fixed.snap(y[i]);
+        vx[i] = Fixed.snap(vx[i]);
+        vy[i] = Fixed.snap(vy[i]);
+    }
+
+    /** Recomputes the band of heights the moving collidables span; true if it changed. */
+    private boolean updateLane() {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        List<Collidable> moving = environment.getMovingCollidables();
+        for (int k = 0, m = moving.size(); k < m; k++) {
+            Rectangle r = moving.get(k).getCollisionRectangle();
+            min = Math.min(min, r.getStartY());
+            max = Math.max(max, r.getStartY() + r.getHeight());
+        }
+        boolean changed = min != laneMin || max != laneMax;
+        laneMin = min;
+        laneMax = max;
+        return changed;
+    }
+
+    /** Queues slot {@code i} for the step in which it may first touch something, from time {@code now}. */
+    private void predict(int i, double now) {
+        double r = radius[i];
+        double speed = Math.hypot(vx[i], vy[i]);
+
+        // ticks until the ball reaches the paddle lane
+        double top = laneMin - LANE_PAD - r;
+        double bottom = laneMax + LANE_PAD + r;
+        double toLane;
+        if (y[i] >= top && y[i] <= bottom) {
+            toLane = 0;
+        } else if (y[i] < top && vy[i] > 0) {
+            toLane = (top - y[i]) / vy[i];
+        } else if (y[i] > bottom && vy[i] < 0) {
+            toLane = (bottom - y[i]) / vy[i];
+        } else {
+            toLane = Double.POSITIVE_INFINITY;
+        }
+
+        double toHit = Double.POSITIVE_INFINITY;
+        if (speed > 0) {
+            toHit = HORIZON_TICKS;
+            Collidable c = environment.getClosestStaticCollision(
+                x[i], y[i], vx[i] * HORIZON_TICKS, vy[i] * HORIZON_TICKS, r, predictHit, predictScratch);
+            if (c != null) {
+                toHit = predictHit.getT() * HORIZON_TICKS;
+            }
+        }
+
+        double margin = speed > 0 ? Math.max(MARGIN_TICKS, MARGIN_PIXELS / speed) : 0;
+        events.update(i, now + Math.min(toHit, toLane) - margin);
+    }
+
+    /** Runs the first collision query of a range of balls; writes only that range's slots. */
+    private final class QueryTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final double ticks;
+
+        QueryTask(int from, int to, double ticks) {
+            this.from = from;
+            this.to = to;
+            this.ticks = ticks;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new QueryTask(from, mid, ticks), new QueryTask(mid, to, ticks));
+                return;
+            }
+            World.Scratch scratch = SCRATCH.get();
+            for (int i = from; i < to; i++) {
+                firstHit[i] = environment.getClosestCollision(
+                    x[i], y[i], vx[i] * ticks, vy[i] * ticks, radius[i], firstContact[i], scratch);
+            }
+        }
+    }
+
+    /**
+     * Moves one ball; see {@link Ball#timePassed(double)}.
+     * @param i  slot index
+     * @param dt length of the simulation step in seconds
+     */
+    void step(int i, double dt) {
+        stepping++;
+        try {
+            if (fixedPoint && !removed[i]) {
+                moveFixed(i, dt);
+            } else if (!removed[i]) {
+                move(i, dt, null, null);
+                if (events != null) {
+                    events.update(i, Double.NEGATIVE_INFINITY);
+                }
+            }
+        } finally {
+            finishStep();
+        }
+    }
+
+    private void finishStep() {
+        if (--stepping == 0 && pendingRemovals > 0) {
+            // walk down so the ball swapped into a freed slot has already been checked
+            for (int i = count - 1; i >= 0; i--) {
+                if (removed[i]) {
+                    detach(i);
+                }
+            }
+            pendingRemovals = 0;
+        }
+    }
+
+    /**
+     * The velocity is in pixels per reference tick, so the ball covers {@code dt * REFERENCE_HZ}
+     * velocity lengths, swept as a circle and resolved contact by contact up to the world's
+     * iteration cap. {@code first}, if given, is the answer to the first query, already known.
+     */
+    private void move(int i, double dt, Collidable first, RayHit firstHitInfo) {
+        double remaining = dt * SimulationClock.REFERENCE_HZ; // ticks still to travel
+        int iterations = environment.getMaxCollisionIterations();
+        double r = radius[i];
+
+        while (remaining > 0 && iterations-- > 0) {
+            double dx = vx[i] * remaining;
+            double dy = vy[i] * remaining;
+
+            Collidable hitObject;
+            RayHit hit;
+            if (first != null) {
+                hitObject = first;
+                hit = firstHitInfo;
+                first = null;
+            } else {
+                hitObject = environment.getClosestCollision(x[i], y[i], dx, dy, r, sweepHit);
+                hit = sweepHit;
+            }
+            if (hitObject == null) {
+                x[i] += dx;
+                y[i] += dy;
+                return;
+            }
+
+            double nx = hit.getNormalX();
+            double ny = hit.getNormalY();
+            double t = hit.getT();
+            if (hit.isInside()) {
+                // Started overlapping (e.g. the paddle slid into us): step out first
+                x[i] += nx * hit.getDepth();
+                y[i] += ny * hit.getDepth();
+            } else {
+                x[i] += dx * t;
+                y[i] += dy * t;
+            }
+
+            // The object sees the touching point on its own surface
+            Point contact = new Point(x[i] - nx * r, y[i] - ny * r);
+            Velocity v = hitObject.hit(handle(i), contact, new Velocity(vx[i], vy[i]));
+            if (removed[i]) {
+                return; // a hit listener took the ball out of play
+            }
+            vx[i] = v.getDx();
+            vy[i] = v.getDy();
+
+            remaining *= (1.0 - t);
+        }
+    }
+
+    /**
+     * {@link #move} in 16.16 integers. The slot's doubles hold grid values exactly, so they convert
+     * in and out without rounding; a collidable's answer is rounded back onto the grid.
+     */
+    private void moveFixed(int i, double dt) {
+        long remaining = Fixed.of(dt * SimulationClock.REFERENCE_HZ); // ticks still to travel
+        int iterations = environment.getMaxCollisionIterations();
+        int r = radius[i] << Fixed.SHIFT;
+        int px = Fixed.of(x[i]);
+        int py = Fixed.of(y[i]);
+        int pvx = Fixed.of(vx[i]);
+        int pvy = Fixed.of(vy[i]);
+
+        while (remaining > 0 && iterations-- > 0) {
+            int dx = (int) Fixed.mul(pvx, remaining);
+            int dy = (int) Fixed.mul(pvy, remaining);
+
+            Collidable hitObject = environment.getClosestCollisionFixed(px, py, dx, dy, r, fixedHit, fixedScratch);
+            if (hitObject == null) {
+                px += dx;
+                py += dy;
+                break;
+            }
+
+            int nx = fixedHit.getNormalX();
+            int ny = fixedHit.getNormalY();
+            int t = fixedHit.getT();
+            if (fixedHit.isInside()) {
+                px += (int) Fixed.mul(nx, fixedHit.getDepth());
+                py += (int) Fixed.mul(ny, fixedHit.getDepth());
+            } else {
+                px += (int) Fixed.mul(dx, t);
+                py += (int) Fixed.mul(dy, t);
+            }
+            x[i] = Fixed.toDouble(px);
+            y[i] = Fixed.toDouble(py);
+
+            Point contact = new Point(Fixed.toDouble(px - Fixed.mul(nx, r)), Fixed.toDouble(py - Fixed.mul(ny, r)));
+            Velocity v = hitObject.hit(handle(i), contact, new Velocity(vx[i], vy[i]));
+            if (removed[i]) {
+                return; // a hit listener took the ball out of play
+            }
+            pvx = Fixed.of(v.getDx());
+            pvy = Fixed.of(v.getDy());
+            vx[i] = Fixed.toDouble(pvx);
+            vy[i] = Fixed.toDouble(pvy);
+
+            remaining = Fixed.mul(remaining, Fixed.ONE - t);
+        }
+        x[i] = Fixed.toDouble(px);
+        y[i] = Fixed.toDouble(py);
+    }
+
+    // ---------------- Slot access ----------------
+
+    /** @return centre x of the ball in slot {@code i}. */
+    public double x(int i) { return x[i]; }
+
+    /** @return centre y of the ball in slot {@code i}. */
+    public double y(int i) { return y[i]; }
+
+    /** @return velocity x of the ball in slot {@code i}, pixels per reference tick. */
+    public double vx(int i) { return vx[i]; }
+
+    /** @return velocity y of the ball in slot {@code i}, pixels per reference tick. */
+    public double vy(int i) { return vy[i]; }
+
+    /** @return radius of the ball in slot {@code i}. */
+    public int radius(int i) { return radius[i]; }
+
+    /** @return color of the ball in slot {@code i}, as {@code 0xAARRGGBB}. */
+    public int argb(int i) { return argb[i]; }
+
+    /** @return the ball in slot {@code i}'s id: unique in this system, and kept when slots move. */
+    public long id(int i) { return ids[i]; }
+
+    /** @return the handle of the ball in slot {@code i}, made now if it has none yet. */
+    public Ball handle(int i) {
+        Ball b = handles[i];
+        if (b == null) {
+            b = new Ball();
+            b.system = this;
+            b.index = i;
+            handles[i] = b;
+        }
+        return b;
+    }
+
+    void setVelocity(int i, double dx, double dy) {
+        vx[i] = fixedPoint ? Fixed.snap(dx) : dx;
+        vy[i] = fixedPoint ? Fixed.snap(dy) : dy;
+        if (events != null && !removed[i]) {
+            events.update(i, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    void setArgb(int i, int color) {
+        argb[i] = color;
+    }
+
+    // ---------------- Storage ----------------
+
+    /** Appends a slot with the given state and binds {@code handle} to it. */
+    void attach(Ball handle, double cx, double cy, double dx, double dy, int r, int color) {
+        spawn(cx, cy, dx, dy, r, color);
+        handles[count - 1] = handle;
+        handle.system = this;
+        handle.index = count - 1;
+    }
+
+    /** Removes slot {@code i}, leaving its handle, if it has one, with a copy of its state. */
+    private void detach(int i) {
+        Ball b = handles[i];
+        if (b != null) {
+            b.keep(x[i], y[i], vx[i], vy[i], radius[i], argb[i]);
+        }
+        removeSlot(i);
+    }
+
+    /** Swap-removes slot {@code i}: the last ball moves into it. */
+    private void removeSlot(int i) {
+        int last = count - 1;
+        if (events != null) {
+            events.remove(i);
+            events.rename(last, i);
+        }
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            radius[i] = radius[last];
+            argb[i] = argb[last];
+            removed[i] = removed[last];
+            handles[i] = handles[last];
+            if (handles[i] != null) {
+                handles[i].index = i;
+            }
+            ids[i] = ids[last];
+            trails.move(last, i);
+        } else {
+            trails.clear(i);
+        }
+        handles[last] = null;
+        removed[last] = false;
+        count = last;
+    }
+
+    private void grow() {
+        int n = x.length * 2;
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        vx = Arrays.copyOf(vx, n);
+        vy = Arrays.copyOf(vy, n);
+        radius = Arrays.copyOf(radius, n);
+        argb = Arrays.copyOf(argb, n);
+        removed = Arrays.copyOf(removed, n);
+        handles = Arrays.copyOf(handles, n);
+        ids = Arrays.copyOf(ids, n);
+        trails.grow(n);
+    }
+}
@@ -0,0 +1,155 @@
+package com.yoad.arkanoid.sprites;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of ball slots keyed by the time each ball is next due for a full
+ * collision step. Every slot is in the heap at most once; {@link #update} moves an existing entry
+ * and {@link #rename} follows a ball that was swapped into another slot.
+ */
+final class ImpactQueue {
+    private int[] heap = new int[16];   // heap position -> slot
+    private double[] key = new double[16]; // slot -> due time
+    private int[] pos = new int[16];    // slot -> heap position, or -1
+    private int size = 0;
+
+    ImpactQueue() {
+        Arrays.fill(pos, -1);
+    }
+
+    int size() { return size; }
+
+    boolean contains(int slot) {
+        return slot < pos.length && pos[slot] >= 0;
+    }
+
+    /** @return the earliest due time, or positive infinity if empty. */
+    double peekKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : key[heap[0]];
+    }
+
+    /** Removes and returns the slot due first. */
+    int poll() {
+        int slot = heap[0];
+        removeAt(0);
+        return slot;
+    }
+
+    /** Inserts {@code slot}, or moves it if already queued. */
+    void update(int slot, double due) {
+        ensureSlot(slot);
+        int p = pos[slot];
+        if (p < 0) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = slot;
+            pos[slot] = size;
+            key[slot] = due;
+            siftUp(size++);
+            return;
+        }
+        double old = key[slot];
+        key[slot] = due;
+        if (due < old) {
+            siftUp(p);
+        } else {
+            siftDown(p);
+        }
+    }
+
+    void remove(int slot) {
+        if (contains(slot)) {
+            removeAt(pos[slot]);
+        }
+    }
+
+    /** The ball in slot {@code from} now lives in slot {@code to}, which is not queued. */
+    void rename(int from, int to) {
+        if (!contains(from)) {
+            return;
+        }
+        ensureSlot(to);
+        int p = pos[from];
+        heap[p] = to;
+        pos[to] = p;
+        key[to] = key[from];
+        pos[from] = -1;
+    }
+
+    /** Makes every queued slot due immediately. */
+    void expireAll() {
+        for (int p = 0; p < size; p++) {
+            key[heap[p]] = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    void clear() {
+        for (int p = 0; p < size; p++) {
+            pos[heap[p]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int p) {
+        int slot = heap[p];
+        pos[slot] = -1;
+        int last = heap[--size];
+        if (p == size) {
+            return;
+        }
+        heap[p] = last;
+        pos[last] = p;
+        siftDown(p);
+        siftUp(pos[last]);
+    }
+
+    private void siftUp(int p) {
+        int slot = heap[p];
+        double k = key[slot];
+        while (p > 0) {
+            int parent = (p - 1) >>> 1;
+            int other = heap[parent];
+            if (key[other] <= k) {
+                break;
+            }
+            heap[p] = other;
+            pos[other] = p;
+            p = parent;
+        }
+        heap[p] = slot;
+        pos[slot] = p;
+    }
+
+    private void siftDown(int p) {
+        int slot = heap[p];
+        double k = key[slot];
+        int half = size >>> 1;
+        while (p < half) {
+            int child = 2 * p + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]]) {
+                child = right;
+            }
+            int other = heap[child];
+            if (k <= key[other]) {
+                break;
+            }
+            heap[p] = other;
+            pos[other] = p;
+            p = child;
+        }
+        heap[p] = slot;
+        pos[slot] = p;
+    }
+
+    private void ensureSlot(int slot) {
+        if (slot >= pos.length) {
+            int n = Math.max(slot + 1, pos.length * 2);
+            int old = pos.length;
+            pos = Arrays.copyOf(pos, n);
+            Arrays.fill(pos, old, n, -1);
+            key = Arrays.copyOf(key, n);
+        }
+    }
+}
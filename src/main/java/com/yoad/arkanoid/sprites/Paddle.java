@@ -1,42 +1,54 @@
 package com.yoad.arkanoid.sprites;
 
-import com.yoad.arkanoid.game.ArkanoidGame;
+import com.yoad.arkanoid.ecs.Registry;
+import com.yoad.arkanoid.game.SimulationClock;
 import com.yoad.arkanoid.geometry.Point;
 import com.yoad.arkanoid.geometry.Rectangle;
 import com.yoad.arkanoid.geometry.Velocity;
 import com.yoad.arkanoid.physics.Collidable;
-
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
-
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.CycleMethod;
-import javafx.scene.paint.LinearGradient;
-import javafx.scene.paint.Stop;
-
+import com.yoad.arkanoid.sim.Simulation;
 
 import static com.yoad.arkanoid.game.Dimensions.*;
 
 /**
  * The sprites.Paddle class represents a paddle in the game.
- * It implements both the sprites.Sprite and physics.Collidable interfaces.
+ * It implements the physics.Collidable interface; drawing is done by render.EntityPainter.
  * The paddle can move left and right based on keyboard input,
  * and it can interact with the ball when a collision occurs.
  * The paddle is a rectangular object, and its behavior is dependent on the region where the ball hits it.
  */
-public class Paddle implements Sprite, Collidable {
+public class Paddle implements Collidable {
 
     private Rectangle rectangle;
 
-    // Input flags (fed each frame by ArkanoidGame)
+    // Input flags (fed each step by the Simulation)
     private boolean leftPressed = false;
     private boolean rightPressed = false;
 
     // Movement tuning
     private int speed = sx(6);;
 
-    private long flashUntilNs = 0L; // brief hit flash
+    // Bounce direction of each of the five top regions, left to right, as unit vectors. Angles are
+    // measured from +x with y pointing down (see Velocity.fromAngleAndSpeed), so straight up is
+    // 270. Worked out once with StrictMath, so a bounce is the same on every machine; the centre
+    // region reflects the ball instead.
+    private static final double[] REGION_ANGLES = {210, 240, 270, 300, 330};
+    private static final double[] REGION_DX = new double[REGION_ANGLES.length];
+    private static final double[] REGION_DY = new double[REGION_ANGLES.length];
+    static {
+        for (int k = 0; k < REGION_ANGLES.length; k++) {
+            double rad = StrictMath.toRadians(REGION_ANGLES[k]);
+            REGION_DX[k] = StrictMath.cos(rad);
+            REGION_DY[k] = StrictMath.sin(rad);
+        }
+    }
+
+    /** How long the paddle glows after a bounce, in simulation seconds. */
+    public static final double FLASH_SECONDS = 0.14;
+
+    // the simulation this paddle is in, and its entity there
+    private Simulation game;
+    private int entity = Registry.NONE;
 
     /**
      * Constructs a new sprites.Paddle object with a specified rectangle.
@@ -58,20 +70,28 @@ public class Paddle implements Sprite, Collidable {
     }
 
     /**
-     * Moves the paddle to the left by 5 units.
+     * Moves the paddle to the left by one tick's worth of speed.
      */
     public void moveLeft() {
-        rectangle.move(-speed);
-        if (rectangle.getStartX() <= -sx(50)) {
-            rectangle.move(sx(862)); // 862 * 1.5 preserves prior wrap behavior
-        }
+        moveLeft(1.0);
     }
 
     /**
-     * Moves the paddle to the right by 5 units.
+     * Moves the paddle to the right by one tick's worth of speed.
      */
     public void moveRight() {
-        rectangle.move(speed);
+        moveRight(1.0);
+    }
+
+    private void moveLeft(double ticks) {
+        rectangle.move(-speed * ticks);
+        if (rectangle.getStartX() <= -sx(50)) {
+            rectangle.move(sx(862)); // 862 * 1.5 preserves prior wrap behavior
+        }
+    }
+
+    private void moveRight(double ticks) {
+        rectangle.move(speed * ticks);
         if (rectangle.getStartX() >= sx(760)) {
             rectangle.move(-sx(862));
         }
@@ -81,62 +101,33 @@ public class Paddle implements Sprite, Collidable {
      * This method is called when time has passed. It checks for key presses
      * and moves the paddle left or right accordingly.
      */
-    @Override
     public void timePassed() {
-        if (leftPressed)  moveLeft();
-        if (rightPressed) moveRight();
+        timePassed(1.0 / SimulationClock.REFERENCE_HZ);
     }
 
     /**
-     * Draws the paddle on the given draw surface.
-     * @param surface The surface to draw on.
+     * Moves the paddle for {@code dt} seconds of held input; speed is per reference tick.
+     * @param dt length of the simulation step in seconds
      */
-    @Override
-    public void draw(GraphicsContext g) {
-        var r = this.getCollisionRectangle();
-        double x = r.getStartX();
-        double y = r.getStartY();
-        double w = r.getWidth();
-        double h = r.getHeight();
-
-        // Capsule radius
-        double rad = Math.min(w, h) * 0.9;
-
-        // Subtle shadow under paddle
-        g.setGlobalAlpha(0.28);
-        g.setFill(Color.color(0, 0, 0, 0.55));
-        g.fillOval(x + w * 0.04, y + h * 0.65, w * 0.92, h * 0.58);
-        g.setGlobalAlpha(1.0);
-
-        // Flash brighten on recent hit (but stay in white family)
-        boolean flashing = System.nanoTime() < flashUntilNs;
-        double boost = flashing ? 1.08 : 1.0;
-
-        // White gradient: soft top → neutral → light shadowed bottom
-        Color cTop    = Color.WHITE.deriveColor(0, 1, 1.00 * boost, 1.0);
-        Color cMid    = Color.web("#f2f4f8"); // very light gray
-        Color cBottom = Color.web("#e4e7ec"); // slightly darker for depth
-
-        LinearGradient fill = new LinearGradient(
-            0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
-            new Stop(0.0, cTop),
-            new Stop(0.45, cMid),
-            new Stop(1.0, cBottom)
-        );
-
-        // Body
-        g.setFill(fill);
-        g.fillRoundRect(x, y, w, h, rad, rad);
+    public void timePassed(double dt) {
+        double ticks = dt * SimulationClock.REFERENCE_HZ;
+        if (leftPressed)  moveLeft(ticks);
+        if (rightPressed) moveRight(ticks);
+    }
 
-        // Crisp top highlight line
-        g.setStroke(Color.color(1, 1, 1, 0.70));
-        g.setLineWidth(Math.max(1.0, h * 0.09));
-        g.strokeLine(x + w * 0.08, y + h * 0.28, x + w * 0.92, y + h * 0.28);
+    /**
+     * @return {@code true} for a short while after the ball bounced off the paddle.
+     */
+    public boolean isFlashing() { return game != null && game.isFlashing(entity); }
 
-        // Subtle outer edge
-        g.setStroke(Color.color(0, 0, 0, 0.22));
-        g.setLineWidth(1.25);
-        g.strokeRoundRect(x + 0.5, y + 0.5, w - 1, h - 1, rad, rad);
+    /**
+     * Called by the simulation when this paddle becomes one of its entities.
+     * @param game   the simulation
+     * @param entity the paddle's entity id there
+     */
+    public void bind(Simulation game, int entity) {
+        this.game = game;
+        this.entity = entity;
     }
 
     /**
@@ -146,6 +137,13 @@ public class Paddle implements Sprite, Collidable {
     @Override
     public Rectangle getCollisionRectangle() { return rectangle; }
 
+    /**
+     * The paddle moves and changes width, so the world must not bin it by position.
+     * @return false.
+     */
+    @Override
+    public boolean isStatic() { return false; }
+
     /**
      * Handles the collision of the ball with the paddle. The ball's velocity changes
      * based on the region of the paddle where the collision occurs.
@@ -157,7 +155,9 @@ public class Paddle implements Sprite, Collidable {
      */
     @Override
     public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
-        flashUntilNs = System.nanoTime() + (long)(140e6); // ~140ms flash on contact
+        if (game != null) {
+            game.flash(entity, FLASH_SECONDS); // brief flash on contact
+        }
 
         double currentDx = currentVelocity.getDx();
         double currentDy = currentVelocity.getDy();
@@ -169,26 +169,23 @@ public class Paddle implements Sprite, Collidable {
         int paddleBottomY = paddleTopY + rectangle.getHeight();
 
         // If collision is from BELOW the paddle (should not happen normally)
-        if (collisionPoint.getY() > paddleBottomY) {
+        if (collisionPoint.getY() >= paddleBottomY) {
             return new Velocity(currentDx, Math.abs(currentDy)); // Force downward bounce
         }
 
-        // If collision is from ABOVE (normal case)
-        if (collisionPoint.getY() < paddleTopY) {
-            // Divide paddle into 5 regions for better edge control
+        // If collision is from ABOVE (normal case) - contacts land exactly on the top face
+        if (collisionPoint.getY() <= paddleTopY) {
+            // Divide paddle into 5 regions for better edge control: sharp angles at the far
+            // edges, moderate ones beside the centre, and a plain reflection in the middle
             double regionSize = paddleWidth / 5.0;
-
-            if (collisionPoint.getX() <= paddleLeftX + regionSize) {
-                return Velocity.fromAngleAndSpeed(300, speed); // Far left: sharp angle
-            } else if (collisionPoint.getX() <= paddleLeftX + 2 * regionSize) {
-                return Velocity.fromAngleAndSpeed(330, speed); // Left-middle: moderate angle
-            } else if (collisionPoint.getX() <= paddleLeftX + 3 * regionSize) {
+            int region = 0;
+            while (region < 4 && collisionPoint.getX() > paddleLeftX + (region + 1) * regionSize) {
+                region++;
+            }
+            if (region == 2) {
                 return new Velocity(currentDx, -currentDy); // Center: straight up
-            } else if (collisionPoint.getX() <= paddleLeftX + 4 * regionSize) {
-                return Velocity.fromAngleAndSpeed(30, speed); // Right-middle: moderate angle
-            } else {
-                return Velocity.fromAngleAndSpeed(60, speed); // Far right: sharp angle
             }
+            return new Velocity(REGION_DX[region] * speed, REGION_DY[region] * speed);
         }
 
         // If collision is from the SIDE (e.g., paddle moving into the ball)
@@ -202,13 +199,11 @@ public class Paddle implements Sprite, Collidable {
     }
 
     /**
-     * Adds this paddle to the given game by adding it to both the sprite collection
-     * and the collidable collection.
+     * Adds this paddle to the given game's collidable collection.
      * @param g The game to add this paddle to.
      */
-    public void addToGame(ArkanoidGame g) {
-        g.addSprite(this    );
-        g.addCollidable(this);
+    public void addToGame(Simulation g) {
+        g.addPaddle(this);
     }
 
     //-----PowerUps-----
@@ -0,0 +1,128 @@
+package com.yoad.arkanoid.sprites;
+
+import java.util.Arrays;
+
+/**
+ * Recent positions of every ball, for the renderer's motion trails: one ring of
+ * {@link #getLength()} points per ball slot, all in two shared primitive arrays, so recording a
+ * frame's positions allocates nothing. Rows follow the slots of a {@link BallSystem}, which moves
+ * a row along when it swaps a ball into another slot.
+ */
+public final class TrailBuffer {
+    private int length;
+    private double[] xs;
+    private double[] ys;
+    private int[] head;  // slot -> ring index of the newest point
+    private int[] count; // slot -> points recorded, up to length
+
+    /**
+     * @param length   points kept per ball
+     * @param capacity ball slots to make room for
+     */
+    TrailBuffer(int length, int capacity) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must not be negative: " + length);
+        }
+        this.length = length;
+        allocate(Math.max(1, capacity));
+    }
+
+    /** @return points kept per ball. */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @param slot a ball slot
+     * @return points recorded for it so far, up to {@link #getLength()}
+     */
+    public int count(int slot) {
+        return count[slot];
+    }
+
+    /**
+     * @param slot a ball slot
+     * @param age  0 for the newest point, up to {@code count(slot) - 1}
+     * @return x of that point
+     */
+    public double x(int slot, int age) {
+        return xs[index(slot, age)];
+    }
+
+    /**
+     * @param slot a ball slot
+     * @param age  0 for the newest point, up to {@code count(slot) - 1}
+     * @return y of that point
+     */
+    public double y(int slot, int age) {
+        return ys[index(slot, age)];
+    }
+
+    // ---------------- Kept in step with BallSystem ----------------
+
+    /** Changes how many points are kept, forgetting every trail. */
+    void setLength(int newLength, int capacity) {
+        if (newLength < 0) {
+            throw new IllegalArgumentException("length must not be negative: " + newLength);
+        }
+        if (newLength != length) {
+            length = newLength;
+            allocate(capacity);
+        }
+    }
+
+    /** Records a new newest point, dropping the oldest once the ring is full. */
+    void push(int slot, double x, double y) {
+        if (length == 0) {
+            return;
+        }
+        int h = head[slot] + 1;
+        if (h == length) {
+            h = 0;
+        }
+        head[slot] = h;
+        xs[slot * length + h] = x;
+        ys[slot * length + h] = y;
+        if (count[slot] < length) {
+            count[slot]++;
+        }
+    }
+
+    /** Forgets a slot's trail. */
+    void clear(int slot) {
+        head[slot] = 0;
+        count[slot] = 0;
+    }
+
+    /** Moves the trail of slot {@code from} to slot {@code to}. */
+    void move(int from, int to) {
+        System.arraycopy(xs, from * length, xs, to * length, length);
+        System.arraycopy(ys, from * length, ys, to * length, length);
+        head[to] = head[from];
+        count[to] = count[from];
+        clear(from);
+    }
+
+    /** Makes room for {@code capacity} slots, keeping what is recorded. */
+    void grow(int capacity) {
+        xs = Arrays.copyOf(xs, capacity * length);
+        ys = Arrays.copyOf(ys, capacity * length);
+        head = Arrays.copyOf(head, capacity);
+        count = Arrays.copyOf(count, capacity);
+    }
+
+    private void allocate(int capacity) {
+        xs = new double[capacity * length];
+        ys = new double[capacity * length];
+        head = new int[capacity];
+        count = new int[capacity];
+    }
+
+    private int index(int slot, int age) {
+        int i = head[slot] - age;
+        if (i < 0) {
+            i += length;
+        }
+        return slot * length + i;
+    }
+}
@@ -1,17 +1,51 @@
 package com.yoad.arkanoid.ui;
 
 import com.yoad.arkanoid.config.Theme;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.*;
-
-import static com.yoad.arkanoid.game.Dimensions.*;
+import javafx.scene.transform.Transform;
 
 public final class Backgrounds {
   private Backgrounds() {}
 
+  // the last background rendered, reused until the theme, the canvas size or the screen scale changes
+  private static WritableImage cached;
+  private static Theme cachedTheme;
+  private static double cachedW, cachedH, cachedScale;
+
+  /**
+   * Fills the whole canvas with the theme's background. The gradients are rendered once into an
+   * image at the canvas size, in the display's pixels, and drawn from there, so a frame costs a
+   * single image copy. Call from the FX application thread.
+   */
   public static void drawGameBackground(GraphicsContext g, Theme theme) {
-    double w = WIDTH, h = HEIGHT;
+    Canvas target = g.getCanvas();
+    double w = target.getWidth(), h = target.getHeight();
+    double scale = UIUtils.renderScale(target);
+    if (cached == null || theme != cachedTheme || w != cachedW || h != cachedH || scale != cachedScale) {
+      cached = render(theme, w, h, scale);
+      cachedTheme = theme;
+      cachedW = w;
+      cachedH = h;
+      cachedScale = scale;
+    }
+    g.drawImage(cached, 0, 0, w, h);
+  }
+
+  private static WritableImage render(Theme theme, double w, double h, double scale) {
+    Canvas scratch = new Canvas(w, h);
+    paint(scratch.getGraphicsContext2D(), theme, w, h);
+    SnapshotParameters params = new SnapshotParameters();
+    params.setFill(Color.TRANSPARENT);
+    params.setTransform(Transform.scale(scale, scale));
+    return scratch.snapshot(params,
+        new WritableImage((int) Math.ceil(w * scale), (int) Math.ceil(h * scale)));
+  }
 
+  private static void paint(GraphicsContext g, Theme theme, double w, double h) {
     // themed vertical gradient
     LinearGradient base = switch (theme) {
       case OCEAN -> lg("#0ea5e9", "#1e40af");   // sky → indigo
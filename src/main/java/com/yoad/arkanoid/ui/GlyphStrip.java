@@ -0,0 +1,159 @@
+package com.yoad.arkanoid.ui;
+
+import com.yoad.arkanoid.render.Renderer;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+
+/**
+ * The digits (and a minus, a point and an "s") of one font and color, pre-drawn side by side in
+ * an image, for numbers that change every frame such as the score and power-up countdowns.
+ * Drawing a number is one {@code drawImage} per character, with no string built and no text laid
+ * out. The strip is redrawn if the display's scale, as set by {@link TextCache#setRenderScale},
+ * changes. Get one from {@link TextCache#digits}.
+ */
+public final class GlyphStrip {
+
+    /** The characters in the strip. */
+    public static final String GLYPHS = "0123456789-.s";
+
+    private static final int MINUS = 10, POINT = 11, SECONDS = 12;
+    private static final double PAD = 2;
+
+    private final Font font;
+    private final Color color;
+    private final double[] advance = new double[GLYPHS.length()];
+    private final double[] cellX = new double[GLYPHS.length()];
+    private final double ascent;
+    private final double height;
+    private final int[] digits = new int[24]; // glyph indices of the number being drawn
+
+    private WritableImage image;
+    private double scale;
+
+    GlyphStrip(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        double x = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            advance[i] = TextCache.width(font, GLYPHS.substring(i, i + 1));
+            cellX[i] = x;
+            x += Math.ceil(advance[i]) + 2 * PAD;
+        }
+        Text t = TextCache.measure(font, GLYPHS);
+        this.ascent = t.getBaselineOffset();
+        this.height = Math.ceil(t.getLayoutBounds().getHeight()) + 2 * PAD;
+    }
+
+    /** @return the strip's font. */
+    public Font getFont() {
+        return font;
+    }
+
+    /** @return the strip's color. */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * @param value a whole number
+     * @return how wide {@link #drawInt} draws it
+     */
+    public double intWidth(long value) {
+        int n = format(value, 0);
+        double w = 0;
+        for (int i = 0; i < n; i++) {
+            w += advance[digits[i]];
+        }
+        return w;
+    }
+
+    /**
+     * Draws a whole number.
+     *
+     * @param g     target
+     * @param value the number
+     * @param x     left
+     * @param y     baseline
+     * @return x after the last character
+     */
+    public double drawInt(Renderer g, long value, double x, double y) {
+        return draw(g, format(value, 0), x, y, false);
+    }
+
+    /**
+     * Draws a number of seconds to a tenth, like {@code 3.4s}.
+     *
+     * @param g       target
+     * @param seconds the time
+     * @param x       left
+     * @param y       baseline
+     * @return x after the last character
+     */
+    public double drawSeconds(Renderer g, double seconds, double x, double y) {
+        return draw(g, format(Math.round(seconds * 10), 1), x, y, true);
+    }
+
+    // writes value, with that many digits after the point, into digits; returns the count
+    private int format(long value, int decimals) {
+        boolean negative = value < 0;
+        int n = 0;
+        do {
+            if (n == decimals && decimals > 0) {
+                digits[n++] = POINT;
+            }
+            digits[n++] = (int) Math.abs(value % 10);
+            value /= 10;
+        } while (value != 0 || n <= decimals);
+        if (negative) {
+            digits[n++] = MINUS;
+        }
+        // most significant first
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int c = digits[i];
+            digits[i] = digits[j];
+            digits[j] = c;
+        }
+        return n;
+    }
+
+    private double draw(Renderer g, int n, double x, double y, boolean seconds) {
+        double s = TextCache.renderScale();
+        if (image == null || s != scale) {
+            render(s);
+        }
+        for (int i = 0; i < n; i++) {
+            x = glyph(g, digits[i], x, y);
+        }
+        return seconds ? glyph(g, SECONDS, x, y) : x;
+    }
+
+    private double glyph(Renderer g, int i, double x, double y) {
+        double w = Math.ceil(advance[i]) + 2 * PAD;
+        g.drawImage(image, cellX[i] * scale, 0, w * scale, height * scale,
+            x - PAD, y - ascent - PAD, w, height);
+        return x + advance[i];
+    }
+
+    private void render(double s) {
+        double w = cellX[GLYPHS.length() - 1] + Math.ceil(advance[GLYPHS.length() - 1]) + 2 * PAD;
+        Canvas c = new Canvas(w, height);
+        GraphicsContext g = c.getGraphicsContext2D();
+        g.setFont(font);
+        g.setFill(color);
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            g.fillText(GLYPHS.substring(i, i + 1), cellX[i] + PAD, PAD + ascent);
+        }
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setTransform(Transform.scale(s, s));
+        image = c.snapshot(params, new WritableImage((int) Math.ceil(w * s), (int) Math.ceil(height * s)));
+        scale = s;
+    }
+}
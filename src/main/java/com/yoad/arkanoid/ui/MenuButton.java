@@ -1,13 +1,15 @@
 package com.yoad.arkanoid.ui;
 
-import javafx.scene.canvas.GraphicsContext;
+import com.yoad.arkanoid.render.Renderer;
+
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
 import static com.yoad.arkanoid.game.Dimensions.*;
-import static com.yoad.arkanoid.ui.UIUtils.*;
 
 public class MenuButton {
+    private static final Color EDGE = Color.color(1, 1, 1, 0.18);
+
     public double x, y, w, h;
     public String label;
     public boolean hovered = false;
@@ -21,21 +23,22 @@ public class MenuButton {
     }
 
     /** Default styled draw (good for main menu). */
-    public void draw(GraphicsContext g, Color base, Color hover) {
+    public void draw(Renderer g, Color base, Color hover) {
         draw(g, base, hover, 20 * SCALE, sx(12));
     }
 
     /** Customizable draw (use for pause menu differences). */
-    public void draw(GraphicsContext g, Color base, Color hover, double fontPx, double cornerRadius) {
+    public void draw(Renderer g, Color base, Color hover, double fontPx, double cornerRadius) {
         Color fill = hovered ? hover : base;
         g.setFill(fill);
-        fillRoundRect(g, x, y, w, h, cornerRadius);
-        g.setStroke(Color.color(1, 1, 1, 0.18));
+        g.fillRoundRect(x, y, w, h, cornerRadius, cornerRadius);
+        g.setStroke(EDGE);
         g.setLineWidth(1.0);
-        strokeRoundRect(g, x, y, w, h, cornerRadius);
+        g.strokeRoundRect(x, y, w, h, cornerRadius, cornerRadius);
 
         g.setFill(Color.WHITE);
-        g.setFont(Font.font(fontPx));
-        drawCentered(g, label, x + w / 2.0, y + h / 2.0 + sx(7));
+        Font font = TextCache.font(fontPx);
+        g.setFont(font);
+        g.fillText(label, x + (w - TextCache.width(font, label)) / 2.0, y + h / 2.0 + sx(7));
     }
 }
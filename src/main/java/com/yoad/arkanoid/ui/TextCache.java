@@ -0,0 +1,110 @@
+package com.yoad.arkanoid.ui;
+
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared fonts, text widths and digit strips, so drawing text that was drawn before allocates
+ * nothing: a font of a given size is made once, a string is measured once per font, and numbers
+ * that change every frame are drawn from a {@link GlyphStrip}. Use from the FX application
+ * thread.
+ */
+public final class TextCache {
+    private TextCache() {}
+
+    /** Strings measured per font before its widths are forgotten, for text that keeps changing. */
+    public static final int MAX_WIDTHS = 512;
+
+    // the measuring node, reused for every string
+    private static final Text MEASURE = new Text();
+
+    private static double[] sizes = new double[8];
+    private static Font[] fonts = new Font[8];
+    private static int fontCount;
+
+    private static final Map<Font, Map<String, Double>> WIDTHS = new HashMap<>();
+    private static final List<GlyphStrip> STRIPS = new ArrayList<>();
+    private static double renderScale = 1.0;
+
+    /**
+     * Sets how many device pixels a canvas unit covers, so digit strips are drawn sharp; call at
+     * the start of every frame. A strip is redrawn when this changes.
+     * @param scale device pixels per canvas unit, see {@link UIUtils#renderScale}
+     */
+    public static void setRenderScale(double scale) {
+        renderScale = scale;
+    }
+
+    /** @return the scale set by {@link #setRenderScale}. */
+    static double renderScale() {
+        return renderScale;
+    }
+
+    /**
+     * @param size font size in canvas units
+     * @return the default font at that size, the same instance every time
+     */
+    public static Font font(double size) {
+        for (int i = 0; i < fontCount; i++) {
+            if (sizes[i] == size) {
+                return fonts[i];
+            }
+        }
+        if (fontCount == sizes.length) {
+            sizes = Arrays.copyOf(sizes, fontCount * 2);
+            fonts = Arrays.copyOf(fonts, fontCount * 2);
+        }
+        sizes[fontCount] = size;
+        fonts[fontCount] = Font.font(size);
+        return fonts[fontCount++];
+    }
+
+    /**
+     * @param font the font
+     * @param s    a string
+     * @return how wide {@code s} is in {@code font}
+     */
+    public static double width(Font font, String s) {
+        Map<String, Double> widths = WIDTHS.computeIfAbsent(font, f -> new HashMap<>());
+        Double w = widths.get(s);
+        if (w == null) {
+            if (widths.size() >= MAX_WIDTHS) {
+                widths.clear();
+            }
+            w = measure(font, s).getLayoutBounds().getWidth();
+            widths.put(s, w);
+        }
+        return w;
+    }
+
+    /**
+     * @param font  the font
+     * @param color the glyphs' color
+     * @return the digit strip for that font and color, made on first use
+     */
+    public static GlyphStrip digits(Font font, Color color) {
+        for (int i = 0, n = STRIPS.size(); i < n; i++) {
+            GlyphStrip s = STRIPS.get(i);
+            if (s.getFont() == font && s.getColor().equals(color)) {
+                return s;
+            }
+        }
+        GlyphStrip s = new GlyphStrip(font, color);
+        STRIPS.add(s);
+        return s;
+    }
+
+    /** Lays {@code s} out in {@code font} on the shared measuring node. */
+    static Text measure(Font font, String s) {
+        MEASURE.setFont(font);
+        MEASURE.setText(s);
+        return MEASURE;
+    }
+}
@@ -1,21 +1,30 @@
 package com.yoad.arkanoid.ui;
 
+import com.yoad.arkanoid.render.Renderer;
+
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 
 import static com.yoad.arkanoid.game.Dimensions.sx;
 
 public final class TextFx {
     private TextFx() {}
 
+    private static final DropShadow SHADOW = new DropShadow();
+    static {
+        SHADOW.setRadius(sx(6));
+        SHADOW.setOffsetX(0);
+        SHADOW.setOffsetY(sx(2));
+        SHADOW.setColor(Color.color(0, 0, 0, 0.55));
+    }
+    private static final Color OUTLINE = Color.color(0, 0, 0, 0.35);
+    private static final Color PILL_SHADOW = Color.color(0, 0, 0, 0.25);
+
     // --- helpers to measure text without getFontMetrics ---
     private static double textWidth(GraphicsContext g, String s) {
-        Text t = new Text(s);
-        t.setFont(g.getFont());
-        return t.getLayoutBounds().getWidth();
+        return TextCache.width(g.getFont(), s);
     }
 
     private static double fontHeight(GraphicsContext g) {
@@ -27,16 +36,10 @@ public final class TextFx {
     public static void centered(GraphicsContext g, String s, double cx, double cy, Font font, Color fill) {
         g.setFont(font);
 
-        DropShadow shadow = new DropShadow();
-        shadow.setRadius(sx(6));
-        shadow.setOffsetX(0);
-        shadow.setOffsetY(sx(2));
-        shadow.setColor(Color.color(0, 0, 0, 0.55));
-
         double w = textWidth(g, s);
         double h = fontHeight(g);
 
-        g.setEffect(shadow);
+        g.setEffect(SHADOW);
         g.setFill(fill);
         g.fillText(s, cx - w * 0.5, cy + h * 0.35);
         g.setEffect(null);
@@ -45,7 +48,7 @@ public final class TextFx {
     /** Left-aligned text with a light outline. */
     public static void outlined(GraphicsContext g, String s, double x, double y, Font font, Color fill) {
         g.setFont(font);
-        g.setFill(Color.color(0,0,0,0.35));
+        g.setFill(OUTLINE);
         g.fillText(s, x+0.7, y+0.7);
         g.fillText(s, x-0.7, y+0.7);
         g.fillText(s, x+0.7, y-0.7);
@@ -55,11 +58,37 @@ public final class TextFx {
     }
 
     /** Rounded pill label used by HUD. */
-    public static void pill(GraphicsContext g, String s, double cx, double cy, Font font, Color bg, Color fg) {
+    public static void pill(Renderer g, String s, double cx, double cy, Font font, Color bg, Color fg) {
+        double w = TextCache.width(font, s);
+        pillBody(g, w, cx, cy, font, bg);
+
+        // text
         g.setFont(font);
+        g.setFill(fg);
+        g.fillText(s, cx - w * 0.5, cy + font.getSize() * 0.35);
+    }
+
+    /**
+     * Rounded pill label ending in a number, e.g. "Score: 120". The number is drawn from a
+     * {@link GlyphStrip}, so a label whose number changes every frame allocates nothing.
+     */
+    public static void pill(Renderer g, String prefix, long number, double cx, double cy, Font font, Color bg, Color fg) {
+        GlyphStrip digits = TextCache.digits(font, fg);
+        double pw = TextCache.width(font, prefix);
+        double w = pw + digits.intWidth(number);
+        pillBody(g, w, cx, cy, font, bg);
+
+        // text
+        double x = cx - w * 0.5, y = cy + font.getSize() * 0.35;
+        g.setFont(font);
+        g.setFill(fg);
+        g.fillText(prefix, x, y);
+        digits.drawInt(g, number, x + pw, y);
+    }
+
+    private static void pillBody(Renderer g, double w, double cx, double cy, Font font, Color bg) {
         double padX = sx(10), padY = sx(6);
-        double w = textWidth(g, s);
-        double h = fontHeight(g);
+        double h = font.getSize();
 
         double bw = w + padX * 2;
         double bh = h + padY * 2;
@@ -67,15 +96,11 @@ public final class TextFx {
         double y = cy - bh * 0.5;
 
         // shadow
-        g.setFill(Color.color(0,0,0,0.25));
+        g.setFill(PILL_SHADOW);
         g.fillRoundRect(x, y + sx(2), bw, bh, sx(16), sx(16));
 
         // body
         g.setFill(bg);
         g.fillRoundRect(x, y, bw, bh, sx(16), sx(16));
-
-        // text
-        g.setFill(fg);
-        g.fillText(s, cx - w * 0.5, cy + h * 0.35);
     }
 }
@@ -1,7 +1,8 @@
 package com.yoad.arkanoid.ui;
 
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.text.Text;
+import javafx.stage.Window;
 
 /**
  * Class for modularity of menu buttons
@@ -11,9 +12,7 @@ public final class UIUtils {
 
     /** Center text horizontally around cx. */
     public static void drawCentered(GraphicsContext g, String text, double cx, double cy) {
-        Text t = new Text(text);
-        t.setFont(g.getFont());
-        double w = t.getLayoutBounds().getWidth();
+        double w = TextCache.width(g.getFont(), text);
         g.fillText(text, cx - w / 2.0, cy);
     }
 
@@ -24,4 +23,13 @@ public final class UIUtils {
     public static void strokeRoundRect(GraphicsContext g, double x, double y, double w, double h, double r) {
         g.strokeRoundRect(x, y, w, h, r, r);
     }
+
+    /** Device pixels per canvas unit (2 on most HiDPI screens), or 1 before the canvas is shown. */
+    public static double renderScale(Canvas c) {
+        if (c.getScene() == null || c.getScene().getWindow() == null) {
+            return 1.0;
+        }
+        Window win = c.getScene().getWindow();
+        return Math.max(win.getRenderScaleX(), win.getRenderScaleY());
+    }
 }
@@ -0,0 +1,78 @@
+package com.yoad.arkanoid.ecs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistryTest {
+
+    @Test
+    void storeSwapsLastIntoRemovedSlot() {
+        ComponentStore<String> store = new ComponentStore<>();
+        store.put(3, "a");
+        store.put(70, "b"); // past the initial sparse array
+        store.put(5, "c");
+
+        assertTrue(store.remove(3));
+        assertFalse(store.remove(3));
+        assertEquals(2, store.size());
+        assertEquals(5, store.entityAt(0));
+        assertEquals("c", store.get(5));
+        assertEquals("b", store.get(70));
+        assertNull(store.get(3));
+        assertFalse(store.has(-1));
+    }
+
+    @Test
+    void destroyClearsEveryStoreAndWaitsWhileDeferred() {
+        Registry r = new Registry();
+        ComponentStore<String> tags = r.newStore();
+        int a = r.create();
+        int b = r.create();
+        r.transforms().put(a, new Transform(0, 0, 1, 1));
+        tags.put(a, "a");
+        tags.put(b, "b");
+
+        r.deferChanges();
+        r.destroy(a);
+        assertTrue(r.isAlive(a));
+        assertTrue(tags.has(a));
+        r.applyChanges();
+
+        assertFalse(r.isAlive(a));
+        assertFalse(tags.has(a));
+        assertFalse(r.transforms().has(a));
+        assertEquals(1, r.size());
+        // ids are not reused
+        assertNotEquals(a, r.create());
+    }
+
+    @Test
+    void effectsEndOnTimeAndMotionMovesOnlyMovers() {
+        Registry r = new Registry();
+        List<String> ended = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int e = r.create();
+            String name = "e" + i;
+            r.effects().put(e, new TimedEffect(i, () -> ended.add(name)));
+        }
+        TimedEffectSystem.update(r, 1.5);
+        ended.sort(null);
+        assertEquals(List.of("e0", "e1"), ended);
+        assertEquals(2, r.effects().size());
+
+        int still = r.create();
+        int mover = r.create();
+        Transform parked = new Transform(10, 10, 5, 5);
+        Transform falling = new Transform(10, 10, 5, 5);
+        r.transforms().put(still, parked);
+        r.transforms().put(mover, falling);
+        r.motions().put(mover, new Motion(0, 100));
+        MotionSystem.update(r, 0.5);
+        assertEquals(10, parked.y, 0.0);
+        assertEquals(60, falling.y, 0.0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.yoad.arkanoid.game;
+
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.physics.Collidable;
+import com.yoad.arkanoid.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BouncePathTest {
+
+    private static Collidable box(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+        };
+    }
+
+    /** A 200 x 100 room with walls on every side. */
+    private static World room() {
+        World w = new World();
+        w.addCollidable(box(-20, 0, 20, 100));
+        w.addCollidable(box(200, 0, 20, 100));
+        w.addCollidable(box(0, -20, 200, 20));
+        w.addCollidable(box(0, 100, 200, 20));
+        return w;
+    }
+
+    @Test
+    void mirrorsOffEveryWallItMeets() {
+        World w = room();
+        BouncePath path = new BouncePath(3);
+        assertEquals(3, w.traceBounces(50, 50, 2, 2, 5, 10_000, path));
+        assertEquals(4, path.size());
+        double[][] expected = {{50, 50}, {95, 95}, {185, 5}, {195, 15}};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], path.getX(i), 1e-9, "point " + i);
+            assertEquals(expected[i][1], path.getY(i), 1e-9, "point " + i);
+        }
+        assertNull(path.getHit(0));
+        assertSame(w.getCollidables().get(3), path.getHit(1));
+        assertSame(w.getCollidables().get(2), path.getHit(2));
+        assertSame(w.getCollidables().get(1), path.getHit(3));
+    }
+
+    @Test
+    void endsWhereTheLengthRunsOut() {
+        World w = room();
+        BouncePath path = new BouncePath(4);
+        assertEquals(1, w.traceBounces(50, 50, 1, 0, 5, 200, path));
+        assertEquals(3, path.size());
+        assertEquals(195, path.getX(1), 1e-9);
+        assertEquals(50 + 145 - 55, path.getX(2), 1e-9);
+        assertNull(path.getHit(2));
+
+        assertEquals(0, w.traceBounces(50, 50, 0, 0, 5, 200, path));
+        assertEquals(1, path.size());
+    }
+
+    @Test
+    void crossingIsFoundOnTheWayDown() {
+        World w = room();
+        BouncePath path = new BouncePath(4);
+        w.traceBounces(100, 50, 1, -1, 5, 10_000, path);
+        // up to the ceiling at (145, 5), then down to the right wall at (195, 55)
+        assertEquals(165, path.crossingX(25), 1e-9);
+        assertTrue(Double.isNaN(path.crossingX(200)));
+    }
+
+    @Test
+    void tracesAreTheSameInEveryBroadphase() {
+        World w = room();
+        Random rng = new Random(3);
+        for (int i = 0; i < 400; i++) {
+            w.addCollidable(box(rng.nextInt(190), rng.nextInt(90), 2 + rng.nextInt(8), 2 + rng.nextInt(6)));
+        }
+        BouncePath expected = new BouncePath(6);
+        BouncePath actual = new BouncePath(6);
+        for (int q = 0; q < 300; q++) {
+            double x = rng.nextDouble() * 200;
+            double y = rng.nextDouble() * 100;
+            double a = rng.nextDouble() * Math.PI * 2;
+            w.setBroadphase(World.Broadphase.LINEAR);
+            w.traceBounces(x, y, Math.cos(a), Math.sin(a), 1.5, 600, expected);
+            for (World.Broadphase mode : new World.Broadphase[] {World.Broadphase.SPATIAL_HASH, World.Broadphase.BATCH}) {
+                w.setBroadphase(mode);
+                w.traceBounces(x, y, Math.cos(a), Math.sin(a), 1.5, 600, actual);
+                assertEquals(expected.size(), actual.size(), mode + " trace " + q);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.getX(i), actual.getX(i), 0.0);
+                    assertEquals(expected.getY(i), actual.getY(i), 0.0);
+                    assertSame(expected.getHit(i), actual.getHit(i));
+                }
+            }
+        }
+    }
+}
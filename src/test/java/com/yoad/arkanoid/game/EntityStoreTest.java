@@ -0,0 +1,60 @@
+package com.yoad.arkanoid.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityStoreTest {
+
+    @Test
+    void removeMovesLastIntoHoleAndKeepsOrderKeys() {
+        EntityStore<String> store = new EntityStore<>();
+        store.add("a");
+        store.add("b");
+        store.add("c");
+        store.add("b"); // already stored
+        assertEquals(3, store.size());
+
+        assertTrue(store.remove("a"));
+        assertFalse(store.remove("a"));
+        assertEquals(List.of("c", "b"), store.view());
+        assertTrue(store.orderOf("b") < store.orderOf("c"));
+
+        store.add("d");
+        assertTrue(store.orderOf("c") < store.orderOf("d"));
+        assertTrue(store.remove("d"));
+        assertTrue(store.remove("c"));
+        assertEquals(List.of("b"), store.view());
+    }
+
+    @Test
+    void deferredChangesApplyInOrderAtTheEnd() {
+        EntityStore<String> store = new EntityStore<>();
+        store.add("a");
+        store.add("b");
+
+        String[] spawned = {"xa", "xb"};
+
+        store.deferChanges();
+        store.deferChanges();
+        for (int i = 0; i < store.size(); i++) {
+            // visiting an entity adds and removes others; the loop sees none of it
+            store.add(spawned[i]);
+            assertTrue(store.remove("a"));
+        }
+        store.add("late");
+        store.remove("late");
+        assertEquals(2, store.size());
+
+        store.applyChanges();
+        assertEquals(2, store.size()); // still inside the outer pass
+        store.applyChanges();
+        assertEquals(3, store.size());
+        assertFalse(store.contains("a"));
+        assertTrue(store.contains("xa"));
+        assertTrue(store.contains("xb"));
+        assertFalse(store.contains("late"));
+    }
+}
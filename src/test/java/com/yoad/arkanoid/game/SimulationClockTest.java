@@ -0,0 +1,49 @@
+package com.yoad.arkanoid.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationClockTest {
+
+    private static int stepsOver(SimulationClock clock, double frameHz, double seconds) {
+        int total = 0;
+        int frames = (int) Math.round(seconds * frameHz);
+        for (int i = 0; i < frames; i++) {
+            total += clock.advance(1.0 / frameHz);
+        }
+        return total;
+    }
+
+    @Test
+    void stepCountIndependentOfRefreshRate() {
+        int at60 = stepsOver(new SimulationClock(120, 8), 60, 10);
+        int at144 = stepsOver(new SimulationClock(120, 8), 144, 10);
+        int at240 = stepsOver(new SimulationClock(120, 8), 240, 10);
+        assertEquals(1200, at60, 1);
+        assertEquals(1200, at144, 1);
+        assertEquals(1200, at240, 1);
+    }
+
+    @Test
+    void longFrameIsCappedAndDropsAreReported() {
+        SimulationClock clock = new SimulationClock(64, 5);
+        assertEquals(5, clock.advance(0.25));
+        assertEquals(11, clock.lastDroppedSteps());
+        assertEquals(11, clock.droppedSteps());
+        // the dropped time is gone, not owed
+        assertEquals(1, clock.advance(1.0 / 64));
+        assertEquals(0, clock.lastDroppedSteps());
+    }
+
+    @Test
+    void leftoverTimeCarriesOver() {
+        SimulationClock clock = new SimulationClock(64, 5);
+        assertEquals(0, clock.advance(0.25 / 64));
+        assertEquals(0.25, clock.alpha(), 1e-9);
+        assertEquals(1, clock.advance(1.0 / 64));
+        assertEquals(0.25, clock.alpha(), 1e-9);
+        clock.reset();
+        assertEquals(0.0, clock.alpha(), 0.0);
+    }
+}
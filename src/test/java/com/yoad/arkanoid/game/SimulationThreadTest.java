@@ -0,0 +1,35 @@
+package com.yoad.arkanoid.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationThreadTest {
+
+    @Test
+    void aFailingPassStopsTheThreadAndIsReportedOnce() throws InterruptedException {
+        AtomicInteger passes = new AtomicInteger();
+        IllegalStateException boom = new IllegalStateException("boom");
+        SimulationThread thread = new SimulationThread(0.001, dt -> {
+            if (passes.incrementAndGet() == 3) {
+                throw boom;
+            }
+        });
+        thread.start();
+
+        Throwable failure = null;
+        for (int i = 0; i < 500 && failure == null; i++) {
+            Thread.sleep(2);
+            failure = thread.takeFailure();
+        }
+        assertSame(boom, failure);
+        assertNull(thread.takeFailure());
+
+        Thread.sleep(20);
+        assertEquals(3, passes.get()); // no pass after the failure
+        thread.stop();
+        assertFalse(thread.isRunning());
+    }
+}
@@ -0,0 +1,297 @@
+package com.yoad.arkanoid.game;
+
+import com.yoad.arkanoid.geometry.ConvexShape;
+import com.yoad.arkanoid.geometry.Line;
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.physics.BrickGrid;
+import com.yoad.arkanoid.physics.Collidable;
+import com.yoad.arkanoid.physics.CollisionInfo;
+import com.yoad.arkanoid.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldBroadphaseTest {
+
+    private static Collidable box(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+        };
+    }
+
+    /** A box that moves, like a paddle or a sliding brick. */
+    private static Collidable mover(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+
+            @Override
+            public boolean isStatic() {
+                return false;
+            }
+        };
+    }
+
+    private static World brickWall(List<Collidable> out) {
+        World w = new World();
+        // adjacent bricks share edges, so ties between neighbours are common
+        for (int row = 0; row < 20; row++) {
+            for (int col = 0; col < 30; col++) {
+                Collidable c = box(col * 30, 100 + row * 15, 30, 15);
+                w.addCollidable(c);
+                out.add(c);
+            }
+        }
+        w.addCollidable(box(-28, 0, 28, 750));
+        w.addCollidable(box(0, -28, 1000, 28));
+        return w;
+    }
+
+    private static void assertSameResult(CollisionInfo a, CollisionInfo b) {
+        if (a == null || b == null) {
+            assertSame(a, b);
+            return;
+        }
+        assertSame(a.collisionObject(), b.collisionObject());
+        assertEquals(a.collisionPoint().getX(), b.collisionPoint().getX(), 0.0);
+        assertEquals(a.collisionPoint().getY(), b.collisionPoint().getY(), 0.0);
+    }
+
+    @Test
+    void spatialHashMatchesLinearScan() {
+        World w = brickWall(new ArrayList<>());
+        Random rng = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            double x = rng.nextDouble() * 1000 - 20;
+            double y = rng.nextDouble() * 500;
+            // mix short ball-sized steps with long rays and exact edge hits
+            double len = (i % 3 == 0) ? 300 : 12;
+            double a = rng.nextDouble() * Math.PI * 2;
+            if (i % 7 == 0) {
+                x = Math.round(x / 30) * 30;
+            }
+            Line l = new Line(x, y, x + Math.cos(a) * len, y + Math.sin(a) * len);
+
+            w.setBroadphase(World.Broadphase.LINEAR);
+            CollisionInfo linear = w.getClosestCollision(l);
+            w.setBroadphase(World.Broadphase.SPATIAL_HASH);
+            assertSameResult(linear, w.getClosestCollision(l));
+        }
+    }
+
+    private static final World.Broadphase[] FAST_MODES = {
+        World.Broadphase.SPATIAL_HASH, World.Broadphase.BATCH
+    };
+
+    @Test
+    void brickGridAndBatchMatchLinearScan() {
+        World w = new World();
+        w.addCollidable(box(-28, 0, 28, 750));
+        w.setBrickGrid(new BrickGrid(0, 100, 30, 15, 30, 20));
+        List<Collidable> bricks = new ArrayList<>();
+        for (int row = 0; row < 20; row++) {
+            for (int col = 0; col < 30; col++) {
+                Collidable c = box(col * 30, 100 + row * 15, 30, 15);
+                w.addCollidable(c);
+                bricks.add(c);
+            }
+        }
+        // not cell-aligned, so it goes to the hash and overlaps grid bricks
+        w.addCollidable(box(100, 95, 30, 15));
+        w.addCollidable(box(0, -28, 1000, 28));
+        assertEquals(600, w.getBrickGrid().size());
+
+        Random rng = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            w.removeCollidable(bricks.get(rng.nextInt(bricks.size())));
+        }
+        RayHit a = new RayHit();
+        RayHit b = new RayHit();
+        for (int i = 0; i < 5000; i++) {
+            double x = rng.nextDouble() * 1000 - 20;
+            double y = rng.nextDouble() * 500;
+            double len = (i % 3 == 0) ? 300 : 12;
+            double ang = rng.nextDouble() * Math.PI * 2;
+            if (i % 7 == 0) {
+                x = Math.round(x / 30) * 30;
+            }
+            double dx = Math.cos(ang) * len;
+            double dy = Math.sin(ang) * len;
+
+            w.setBroadphase(World.Broadphase.LINEAR);
+            Collidable linearRay = w.getClosestCollision(x, y, dx, dy, a);
+            Collidable linearBall = w.getClosestCollision(x, y, dx, dy, 6, b);
+            double rayT = a.getT();
+            double ballT = b.getT();
+            for (World.Broadphase mode : FAST_MODES) {
+                w.setBroadphase(mode);
+                assertSame(linearRay, w.getClosestCollision(x, y, dx, dy, a), mode + " query " + i);
+                assertSame(linearBall, w.getClosestCollision(x, y, dx, dy, 6, b), mode + " query " + i);
+                if (linearRay != null) {
+                    assertEquals(rayT, a.getT(), 0.0);
+                }
+                if (linearBall != null) {
+                    assertEquals(ballT, b.getT(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void movingCollidablesMatchLinearScan() {
+        World w = brickWall(new ArrayList<>());
+        Random rng = new Random(9);
+        List<Collidable> movers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Collidable c = mover(rng.nextInt(900), rng.nextInt(500), 20 + rng.nextInt(30), 10);
+            w.addCollidable(c);
+            movers.add(c);
+        }
+        for (int i = 0; i < 50; i++) {
+            w.removeCollidable(movers.remove(rng.nextInt(movers.size())));
+        }
+        // removal swaps the last mover into the freed slot, so only the set is kept
+        assertEquals(movers.size(), w.getMovingCollidables().size());
+        assertEquals(new HashSet<>(movers), new HashSet<>(w.getMovingCollidables()));
+
+        RayHit a = new RayHit();
+        RayHit b = new RayHit();
+        for (int step = 0; step < 100; step++) {
+            for (Collidable c : movers) {
+                Rectangle r = c.getCollisionRectangle();
+                r.moveTo(r.getUpperLeft().getX() + rng.nextGaussian() * 4,
+                    r.getUpperLeft().getY() + rng.nextGaussian() * 4);
+            }
+            w.refreshMovingCollidables();
+            for (int q = 0; q < 50; q++) {
+                double x = rng.nextDouble() * 1000 - 20;
+                double y = rng.nextDouble() * 500;
+                double len = (q % 3 == 0) ? 300 : 12;
+                double ang = rng.nextDouble() * Math.PI * 2;
+                double dx = Math.cos(ang) * len;
+                double dy = Math.sin(ang) * len;
+
+                w.setBroadphase(World.Broadphase.LINEAR);
+                Collidable linearRay = w.getClosestCollision(x, y, dx, dy, a);
+                Collidable linearBall = w.getClosestCollision(x, y, dx, dy, 6, b);
+                double rayT = a.getT();
+                double ballT = b.getT();
+                for (World.Broadphase mode : FAST_MODES) {
+                    w.setBroadphase(mode);
+                    assertSame(linearRay, w.getClosestCollision(x, y, dx, dy, a), mode + " step " + step);
+                    assertSame(linearBall, w.getClosestCollision(x, y, dx, dy, 6, b), mode + " step " + step);
+                    if (linearRay != null) {
+                        assertEquals(rayT, a.getT(), 0.0);
+                    }
+                    if (linearBall != null) {
+                        assertEquals(ballT, b.getT(), 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void shapedCollidablesMatchLinearScan() {
+        World w = brickWall(new ArrayList<>());
+        Random rng = new Random(13);
+        for (int i = 0; i < 60; i++) {
+            double x = rng.nextDouble() * 900;
+            double y = rng.nextDouble() * 500;
+            ConvexShape shape = switch (i % 3) {
+                case 0 -> ConvexShape.circle(x, y, 4 + rng.nextInt(12));
+                case 1 -> ConvexShape.capsule(x, y, x + rng.nextGaussian() * 30, y + rng.nextGaussian() * 30, 3);
+                default -> ConvexShape.polygon(x, y, x + 30, y, x + 15, y - 25);
+            };
+            w.addCollidable(new Bumper(shape, java.awt.Color.WHITE));
+        }
+
+        RayHit a = new RayHit();
+        RayHit b = new RayHit();
+        for (int i = 0; i < 5000; i++) {
+            double x = rng.nextDouble() * 1000 - 20;
+            double y = rng.nextDouble() * 500;
+            double len = (i % 3 == 0) ? 300 : 12;
+            double ang = rng.nextDouble() * Math.PI * 2;
+            double dx = Math.cos(ang) * len;
+            double dy = Math.sin(ang) * len;
+
+            w.setBroadphase(World.Broadphase.LINEAR);
+            Collidable linearRay = w.getClosestCollision(x, y, dx, dy, a);
+            Collidable linearBall = w.getClosestCollision(x, y, dx, dy, 6, b);
+            double rayT = a.getT();
+            double ballT = b.getT();
+            for (World.Broadphase mode : FAST_MODES) {
+                w.setBroadphase(mode);
+                assertSame(linearRay, w.getClosestCollision(x, y, dx, dy, a), mode + " query " + i);
+                assertSame(linearBall, w.getClosestCollision(x, y, dx, dy, 6, b), mode + " query " + i);
+                if (linearRay != null) {
+                    assertEquals(rayT, a.getT(), 0.0);
+                }
+                if (linearBall != null) {
+                    assertEquals(ballT, b.getT(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shapesAreHitOnTheirOutlineNotTheirBox() {
+        World w = new World();
+        Bumper round = new Bumper(ConvexShape.circle(100, 100, 20), java.awt.Color.WHITE);
+        Collidable behind = box(140, 0, 20, 40);
+        w.addCollidable(round);
+        w.addCollidable(behind);
+        RayHit hit = new RayHit();
+
+        // across the corner of the circle's box, 24.7 from its centre
+        assertSame(behind, w.getClosestCollision(50, 115, 100, -100, hit));
+        assertEquals(0.9, hit.getT(), 1e-12);
+        // straight at it
+        assertSame(round, w.getClosestCollision(100, 50, 0, 200, hit));
+        assertEquals(30.0 / 200, hit.getT(), 1e-12);
+        assertEquals(-1, hit.getNormalY(), 1e-12);
+    }
+
+    @Test
+    void removedCollidablesAreNotReturned() {
+        List<Collidable> bricks = new ArrayList<>();
+        World w = brickWall(bricks);
+        Line down = new Line(45, 50, 45, 120);
+
+        Collidable first = w.getClosestCollision(down).collisionObject();
+        assertSame(bricks.get(1), first);
+
+        w.removeCollidable(first);
+        CollisionInfo next = w.getClosestCollision(down);
+        assertSame(bricks.get(31), next.collisionObject());
+        assertFalse(w.getCollidables().contains(first));
+    }
+}
@@ -0,0 +1,116 @@
+package com.yoad.arkanoid.geometry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ConvexShapeTest {
+
+  @Test
+  void sharpRectangleAgreesWithBoxSweep() {
+    ConvexShape shape = ConvexShape.polygon(30, 40, 90, 40, 90, 60, 30, 60);
+    Random rng = new Random(5);
+    RayHit a = new RayHit();
+    RayHit b = new RayHit();
+    int hits = 0;
+    for (int i = 0; i < 5000; i++) {
+      double ox = rng.nextDouble() * 200 - 40;
+      double oy = rng.nextDouble() * 160 - 30;
+      double dx = rng.nextGaussian() * 40;
+      double dy = rng.nextGaussian() * 40;
+      double r = rng.nextInt(3) == 0 ? 0 : 1 + rng.nextDouble() * 8;
+      if (ox > 30 - r && ox < 90 + r && oy > 40 - r && oy < 60 + r) {
+        continue; // overlaps may pick another way out near a corner; covered below
+      }
+      boolean box = RayBox.sweepCircle(ox, oy, dx, dy, r, 30, 40, 90, 60, 1.0, a);
+      assertEquals(box, shape.sweepCircle(ox, oy, dx, dy, r, 1.0, b), "sweep " + i);
+      if (box) {
+        hits++;
+        assertEquals(a.getT(), b.getT(), 1e-9);
+        assertEquals(a.getNormalX(), b.getNormalX(), 1e-9);
+        assertEquals(a.getNormalY(), b.getNormalY(), 1e-9);
+      }
+    }
+    assertTrue(hits > 300, "hits " + hits);
+  }
+
+  @Test
+  void circleHitsWhereTheCentresAreTheRadiiApart() {
+    ConvexShape shape = ConvexShape.circle(0, 0, 10);
+    RayHit hit = new RayHit();
+    assertTrue(shape.sweepCircle(-100, 0, 200, 0, 5, 1.0, hit));
+    assertEquals(85.0 / 200, hit.getT(), 1e-12);
+    assertEquals(-1, hit.getNormalX(), 1e-12);
+    assertEquals(0, hit.getNormalY(), 1e-12);
+
+    // off centre: touches at (-12, 9), 15 from the middle
+    assertTrue(shape.sweepCircle(-100, 9, 200, 0, 5, 1.0, hit));
+    assertEquals(88.0 / 200, hit.getT(), 1e-12);
+    assertEquals(-0.8, hit.getNormalX(), 1e-12);
+    assertEquals(0.6, hit.getNormalY(), 1e-12);
+
+    assertFalse(shape.sweepCircle(-100, 16, 200, 0, 5, 1.0, hit));
+  }
+
+  @Test
+  void capsuleHitsOnItsSideAndItsEnd() {
+    ConvexShape shape = ConvexShape.capsule(0, 0, 100, 0, 5);
+    RayHit hit = new RayHit();
+    assertTrue(shape.sweepCircle(50, -50, 0, 100, 5, 1.0, hit));
+    assertEquals(0.4, hit.getT(), 1e-12);
+    assertEquals(0, hit.getNormalX(), 1e-12);
+    assertEquals(-1, hit.getNormalY(), 1e-12);
+
+    assertTrue(shape.sweepCircle(150, 0, -100, 0, 5, 1.0, hit));
+    assertEquals(0.4, hit.getT(), 1e-12);
+    assertEquals(1, hit.getNormalX(), 1e-12);
+    assertEquals(0, hit.getNormalY(), 1e-12);
+  }
+
+  @Test
+  void overlapMovingDeeperIsReportedInside() {
+    ConvexShape shape = ConvexShape.circle(0, 0, 10);
+    RayHit hit = new RayHit();
+    assertTrue(shape.sweepCircle(12, 0, -1, 0, 5, 1.0, hit));
+    assertTrue(hit.isInside());
+    assertEquals(0, hit.getT());
+    assertEquals(3, hit.getDepth(), 1e-12);
+    assertEquals(1, hit.getNormalX(), 1e-12);
+
+    // already on the way out
+    assertFalse(shape.sweepCircle(12, 0, 1, 0, 5, 1.0, hit));
+  }
+
+  @Test
+  void distanceIsSignedAndPointsOut() {
+    ConvexShape triangle = ConvexShape.polygon(0, 0, 60, 0, 30, 40);
+    RayHit hit = new RayHit();
+    assertEquals(-10, triangle.distance(30, 10, hit), 1e-12);
+    assertTrue(hit.isInside());
+    assertEquals(0, hit.getNormalX(), 1e-12);
+    assertEquals(-1, hit.getNormalY(), 1e-12);
+
+    assertEquals(5, triangle.distance(-3, -4, hit), 1e-12);
+    assertFalse(hit.isInside());
+    assertEquals(-0.6, hit.getNormalX(), 1e-12);
+    assertEquals(-0.8, hit.getNormalY(), 1e-12);
+  }
+
+  @Test
+  void boundsHoldTheRoundedOutline() {
+    Rectangle r = ConvexShape.capsule(10.5, 20, 40, 30.5, 3).bounds();
+    assertEquals(7, r.getStartX());
+    assertEquals(17, r.getStartY());
+    assertEquals(36, r.getWidth());
+    assertEquals(17, r.getHeight());
+  }
+
+  @Test
+  void badOutlinesAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> ConvexShape.polygon(0, 0, 10, 0, 5, 2, 10, 10, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> ConvexShape.polygon(0, 0, 10, 0, 10, 0));
+    assertThrows(IllegalArgumentException.class, () -> new ConvexShape(0, 5, 5));
+    assertThrows(IllegalArgumentException.class, () -> new ConvexShape(1, 5));
+  }
+}
@@ -0,0 +1,70 @@
+package com.yoad.arkanoid.geometry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FixedRayBoxTest {
+
+  private static final int ONE = Fixed.ONE;
+
+  @Test
+  void faceHitStopsAtTheSurface() {
+    FixedHit hit = new FixedHit();
+    // radius 5 moving right by 20 toward a box starting at x = 15: touches after 10 of 20
+    assertTrue(FixedRayBox.sweepCircle(
+        0, 25L * ONE, 20L * ONE, 0, 5L * ONE, 15L * ONE, 0, 115L * ONE, 50L * ONE, hit));
+    assertEquals(ONE / 2, hit.getT());
+    assertEquals(-ONE, hit.getNormalX());
+    assertEquals(0, hit.getNormalY());
+    assertFalse(hit.isInside());
+  }
+
+  @Test
+  void overlapMovingDeeperIsReportedInside() {
+    FixedHit hit = new FixedHit();
+    // centre 3 above the top face with radius 5, falling
+    assertTrue(FixedRayBox.sweepCircle(
+        50L * ONE, -3L * ONE, 0, 4L * ONE, 5L * ONE, 0, 0, 100L * ONE, 50L * ONE, hit));
+    assertTrue(hit.isInside());
+    assertEquals(-ONE, hit.getNormalY());
+    assertEquals(2 * ONE, hit.getDepth());
+    // already leaving: no contact
+    assertFalse(FixedRayBox.sweepCircle(
+        50L * ONE, -3L * ONE, 0, -4L * ONE, 5L * ONE, 0, 0, 100L * ONE, 50L * ONE, hit));
+  }
+
+  @Test
+  void agreesWithTheDoubleSweep() {
+    Random rng = new Random(5);
+    RayHit expected = new RayHit();
+    FixedHit actual = new FixedHit();
+    int hits = 0;
+    for (int i = 0; i < 20000; i++) {
+      int ox = Fixed.of(rng.nextDouble() * 200 - 50);
+      int oy = Fixed.of(rng.nextDouble() * 150 - 50);
+      int dx = Fixed.of(rng.nextGaussian() * 15);
+      int dy = Fixed.of(rng.nextGaussian() * 15);
+      int r = (1 + rng.nextInt(8)) * ONE;
+
+      boolean a = RayBox.sweepCircle(Fixed.toDouble(ox), Fixed.toDouble(oy), Fixed.toDouble(dx),
+          Fixed.toDouble(dy), Fixed.toDouble(r), 0, 0, 100, 50, 1.0, expected);
+      boolean b = FixedRayBox.sweepCircle(ox, oy, dx, dy, r, 0, 0, 100L * ONE, 50L * ONE, actual);
+      if (a != b) {
+        // only a graze within rounding of the surface may be decided differently
+        double len = Math.hypot(dx, dy) / ONE;
+        assertTrue(len * Math.abs(1 - expected.getT()) < 1e-3 || !a, "query " + i);
+        continue;
+      }
+      if (a) {
+        hits++;
+        assertEquals(expected.isInside(), actual.isInside(), "query " + i);
+        assertEquals(expected.getT(), Fixed.toDouble(actual.getT()), 1e-3, "query " + i);
+        assertEquals(expected.getNormalX(), Fixed.toDouble(actual.getNormalX()), 1e-3, "query " + i);
+        assertEquals(expected.getNormalY(), Fixed.toDouble(actual.getNormalY()), 1e-3, "query " + i);
+      }
+    }
+    assertTrue(hits > 1000);
+  }
+}
@@ -0,0 +1,119 @@
+package com.yoad.arkanoid.geometry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RayBoxTest {
+
+  @Test
+  void hitsLeftFaceWithNormal() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.intersect(0, 25, 20, 0, 10, 0, 110, 50, 1.0, hit));
+    assertEquals(0.5, hit.getT(), 1e-12);
+    assertEquals(-1, hit.getNormalX());
+    assertEquals(0, hit.getNormalY());
+    assertFalse(hit.isInside());
+  }
+
+  @Test
+  void hitsBottomFaceMovingUp() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.intersect(50, 100, 0, -100, 0, 0, 100, 50, 1.0, hit));
+    assertEquals(0.5, hit.getT(), 1e-12);
+    assertEquals(0, hit.getNormalX());
+    assertEquals(1, hit.getNormalY());
+  }
+
+  @Test
+  void exactCornerSetsBothNormals() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.intersect(-10, -10, 20, 20, 0, 0, 100, 50, 1.0, hit));
+    assertTrue(hit.isCorner());
+    assertEquals(-1, hit.getNormalX());
+    assertEquals(-1, hit.getNormalY());
+  }
+
+  @Test
+  void missesBeyondSegmentEnd() {
+    RayHit hit = new RayHit();
+    assertFalse(RayBox.intersect(0, 25, 5, 0, 10, 0, 110, 50, 1.0, hit));
+    assertEquals(Double.POSITIVE_INFINITY, RayBox.entry(0, 25, 5, 0, 10, 0, 110, 50, 1.0));
+  }
+
+  @Test
+  void parallelOutsideSlabMisses() {
+    assertEquals(Double.POSITIVE_INFINITY, RayBox.entry(0, 60, 200, 0, 10, 0, 110, 50, 1.0));
+  }
+
+  @Test
+  void originInsideReportsExit() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.intersect(50, 25, 0, 50, 0, 0, 100, 50, 1.0, hit));
+    assertTrue(hit.isInside());
+    assertEquals(0.5, hit.getT(), 1e-12);
+    assertEquals(1, hit.getNormalY());
+  }
+
+  @Test
+  void agreesWithEdgeIntersection() {
+    Rectangle r = new Rectangle(new Point(30, 40), 60, 20);
+    Line l = new Line(0, 0, 100, 80);
+    Point expected = l.closestIntersectionToStartOfLine(r);
+    double t = RayBox.entry(0, 0, 100, 80, 30, 40, 90, 60, 1.0);
+    assertEquals(expected.getX(), t * 100, 1e-9);
+    assertEquals(expected.getY(), t * 80, 1e-9);
+  }
+
+  @Test
+  void sweptCircleTouchesFaceOneRadiusEarly() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.sweepCircle(0, 25, 100, 0, 5, 50, 0, 60, 50, 1.0, hit));
+    assertEquals(0.45, hit.getT(), 1e-12);
+    assertEquals(-1, hit.getNormalX(), 0.0);
+    assertEquals(0, hit.getNormalY(), 0.0);
+  }
+
+  @Test
+  void sweptCircleFollowsRoundedCorner() {
+    RayHit hit = new RayHit();
+    // passes the corner diagonally: inside the grown box but outside its rounding
+    assertFalse(RayBox.sweepCircle(-10, 0, 10, -10, 5, 0, 0, 10, 10, 1.0, hit));
+    // aimed straight at the corner
+    assertTrue(RayBox.sweepCircle(-10, -10, 10, 10, 5, 0, 0, 10, 10, 1.0, hit));
+    assertTrue(hit.isCorner());
+    assertEquals(-Math.sqrt(0.5), hit.getNormalX(), 1e-9);
+    assertEquals(-Math.sqrt(0.5), hit.getNormalY(), 1e-9);
+  }
+
+  @Test
+  void sweptCircleCannotTunnelThroughThinWall() {
+    RayHit hit = new RayHit();
+    // a 2px wall and a 300px step: the centre segment alone would cross it
+    assertTrue(RayBox.sweepCircle(0, 5, 300, 0, 4, 100, 0, 102, 10, 1.0, hit));
+    assertEquals(96.0 / 300.0, hit.getT(), 1e-12);
+  }
+
+  @Test
+  void overlappingCircleIsPushedOutOnlyWhenMovingIn() {
+    RayHit hit = new RayHit();
+    assertTrue(RayBox.sweepCircle(5, -2, 0, 3, 4, 0, 0, 10, 10, 1.0, hit));
+    assertTrue(hit.isInside());
+    assertEquals(0, hit.getT(), 0.0);
+    assertEquals(-1, hit.getNormalY(), 0.0);
+    assertEquals(2, hit.getDepth(), 1e-12);
+
+    assertFalse(RayBox.sweepCircle(5, -2, 0, -3, 4, 0, 0, 10, 10, 1.0, hit));
+  }
+
+  @Test
+  void restingCircleLeavesCleanly() {
+    RayHit hit = new RayHit();
+    // touching the top face and moving away: no contact
+    assertFalse(RayBox.sweepCircle(5, -4, 1, -3, 4, 0, 0, 10, 10, 1.0, hit));
+    // touching and moving in: contact right away
+    assertTrue(RayBox.sweepCircle(5, -4, 1, 3, 4, 0, 0, 10, 10, 1.0, hit));
+    assertEquals(0, hit.getT(), 0.0);
+    assertFalse(hit.isInside());
+  }
+}
@@ -0,0 +1,131 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AabbTreeTest {
+
+    private static Collidable box(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+
+            @Override
+            public boolean isStatic() {
+                return false;
+            }
+        };
+    }
+
+    private static boolean overlaps(Rectangle r, double minX, double minY, double maxX, double maxY) {
+        return r.getStartX() <= maxX && r.getStartX() + r.getWidth() >= minX
+            && r.getStartY() <= maxY && r.getStartY() + r.getHeight() >= minY;
+    }
+
+    @Test
+    void queriesFindEveryOverlapWhileBoxesMove() {
+        Random rng = new Random(31);
+        AabbTree tree = new AabbTree();
+        List<Collidable> boxes = new ArrayList<>();
+        List<Integer> proxies = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Collidable c = box(rng.nextInt(4000), rng.nextInt(3000), 10 + rng.nextInt(50), 10 + rng.nextInt(20));
+            boxes.add(c);
+            proxies.add(tree.insert(c));
+        }
+        for (int i = 0; i < 300; i++) {
+            int k = rng.nextInt(boxes.size());
+            tree.remove(proxies.remove(k));
+            boxes.remove(k);
+        }
+        assertEquals(boxes.size(), tree.size());
+
+        List<Collidable> found = new ArrayList<>();
+        for (int round = 0; round < 20; round++) {
+            // mostly small drifts, now and then a jump across the field
+            for (int i = 0; i < boxes.size(); i++) {
+                Rectangle r = boxes.get(i).getCollisionRectangle();
+                if (rng.nextInt(50) == 0) {
+                    r.moveTo(rng.nextInt(4000), rng.nextInt(3000));
+                } else {
+                    r.moveTo(r.getUpperLeft().getX() + rng.nextGaussian() * 3,
+                        r.getUpperLeft().getY() + rng.nextGaussian() * 3);
+                }
+                tree.update(proxies.get(i));
+            }
+            for (int q = 0; q < 50; q++) {
+                double minX = rng.nextDouble() * 4000;
+                double minY = rng.nextDouble() * 3000;
+                double maxX = minX + rng.nextDouble() * 200;
+                double maxY = minY + rng.nextDouble() * 200;
+                found.clear();
+                tree.query(minX, minY, maxX, maxY, found);
+                for (Collidable c : boxes) {
+                    if (overlaps(c.getCollisionRectangle(), minX, minY, maxX, maxY)) {
+                        assertTrue(found.contains(c), "round " + round + " query " + q);
+                    }
+                }
+                // a fat box reaches at most two margins past its box (one, plus drift the other way)
+                double m = 2 * AabbTree.DEFAULT_MARGIN;
+                for (Collidable c : found) {
+                    assertTrue(overlaps(c.getCollisionRectangle(), minX - m, minY - m, maxX + m, maxY + m));
+                }
+            }
+        }
+        // balanced: far from the 1700 levels of a list
+        assertTrue(tree.height() <= 2 * 11 + 2, "height " + tree.height());
+    }
+
+    @Test
+    void smallMovesStayInTheFatBox() {
+        AabbTree tree = new AabbTree(8);
+        Collidable c = box(100, 100, 40, 20);
+        int proxy = tree.insert(c);
+        Rectangle r = c.getCollisionRectangle();
+
+        r.moveTo(105, 96);
+        assertFalse(tree.update(proxy));
+        r.moveTo(110, 100);
+        assertTrue(tree.update(proxy));
+        assertSame(c, tree.get(proxy));
+
+        List<Collidable> found = new ArrayList<>();
+        tree.query(0, 0, 95, 95, found);
+        assertTrue(found.isEmpty());
+        tree.query(150, 110, 160, 112, found);
+        assertEquals(List.of(c), found);
+    }
+
+    @Test
+    void removedProxiesAreRejected() {
+        AabbTree tree = new AabbTree();
+        int a = tree.insert(box(0, 0, 10, 10));
+        int b = tree.insert(box(50, 0, 10, 10));
+        tree.remove(a);
+        assertThrows(IllegalArgumentException.class, () -> tree.update(a));
+        assertEquals(1, tree.size());
+
+        List<Collidable> found = new ArrayList<>();
+        tree.query(-100, -100, 100, 100, found);
+        assertEquals(1, found.size());
+        assertSame(tree.get(b), found.get(0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayBox;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoxBatchTest {
+
+    private static Collidable box(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+        };
+    }
+
+    /** Boxes of mixed sizes, some overlapping; 437 lanes, not a multiple of the vector width. */
+    private static List<Collidable> field(Random rng) {
+        List<Collidable> boxes = new ArrayList<>();
+        for (int i = 0; i < 437; i++) {
+            boxes.add(box(rng.nextInt(900), rng.nextInt(600), 5 + rng.nextInt(60), 5 + rng.nextInt(30)));
+        }
+        return boxes;
+    }
+
+    @Test
+    void picksEveryBoxTheExactSweepTouches() {
+        Random rng = new Random(17);
+        List<Collidable> boxes = field(rng);
+        BoxBatch batch = new BoxBatch();
+        boxes.forEach(batch::add);
+        // take some out so lanes get swapped around
+        for (int i = 0; i < 100; i++) {
+            Collidable c = boxes.remove(rng.nextInt(boxes.size()));
+            assertTrue(batch.remove(c));
+            assertFalse(batch.remove(c));
+        }
+        assertEquals(boxes.size(), batch.size());
+
+        BoxBatch.Scratch scratch = new BoxBatch.Scratch();
+        List<Collidable> picked = new ArrayList<>();
+        RayHit probe = new RayHit();
+        for (int i = 0; i < 4000; i++) {
+            double ox = rng.nextDouble() * 1000 - 50;
+            double oy = rng.nextDouble() * 700 - 50;
+            double len = i % 3 == 0 ? 400 : 10;
+            double ang = rng.nextDouble() * Math.PI * 2;
+            double dx = i % 11 == 0 ? 0 : Math.cos(ang) * len;
+            double dy = i % 13 == 0 ? 0 : Math.sin(ang) * len;
+            double radius = i % 2 == 0 ? 0 : 6;
+
+            picked.clear();
+            batch.query(ox, oy, dx, dy, radius, picked, scratch);
+            for (Collidable c : boxes) {
+                Rectangle r = c.getCollisionRectangle();
+                boolean touches = RayBox.sweepCircle(ox, oy, dx, dy, radius, r.getStartX(), r.getStartY(),
+                    r.getStartX() + r.getWidth(), r.getStartY() + r.getHeight(), 1.0, probe);
+                if (touches) {
+                    assertTrue(picked.contains(c), "query " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarAndPickedKernelsAgree() {
+        Random rng = new Random(23);
+        List<Collidable> boxes = field(rng);
+        BoxBatch fast = new BoxBatch();
+        BoxBatch scalar = new BoxBatch(new ScalarBoxKernel());
+        for (Collidable c : boxes) {
+            fast.add(c);
+            scalar.add(c);
+        }
+        BoxBatch.Scratch scratch = new BoxBatch.Scratch();
+        List<Collidable> a = new ArrayList<>();
+        List<Collidable> b = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            double ox = rng.nextDouble() * 1000 - 50;
+            double oy = rng.nextDouble() * 700 - 50;
+            double dx = rng.nextGaussian() * 80;
+            double dy = rng.nextGaussian() * 80;
+            a.clear();
+            b.clear();
+            fast.query(ox, oy, dx, dy, 4, a, scratch);
+            scalar.query(ox, oy, dx, dy, 4, b, scratch);
+            assertEquals(b, a, "query " + i + " with the " + BoxBatch.kernelName() + " kernel");
+        }
+    }
+}
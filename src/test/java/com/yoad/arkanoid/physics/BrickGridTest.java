@@ -0,0 +1,140 @@
+package com.yoad.arkanoid.physics;
+
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.RayBox;
+import com.yoad.arkanoid.geometry.RayHit;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrickGridTest {
+
+    private static Collidable box(int x, int y, int w, int h) {
+        return new Collidable() {
+            private final Rectangle r = new Rectangle(x, y, w, h);
+
+            @Override
+            public Rectangle getCollisionRectangle() {
+                return r;
+            }
+
+            @Override
+            public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
+                return currentVelocity;
+            }
+        };
+    }
+
+    /** Fills a cols x rows grid of 10x5 cells at (3, 7); the stored list is in insertion order. */
+    private static BrickGrid level(int cols, int rows, List<Collidable> out) {
+        BrickGrid grid = new BrickGrid(3, 7, 10, 5, cols, rows);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Collidable c = box(3 + col * 10, 7 + row * 5, 10, 5);
+                assertTrue(grid.insert(c, out.size()));
+                out.add(c);
+            }
+        }
+        return grid;
+    }
+
+    /** Reference answer: sweep every stored brick, ties to the earliest inserted. */
+    private static Collidable brute(List<Collidable> stored, double ox, double oy, double dx, double dy,
+                                    double radius, RayHit out) {
+        RayHit probe = new RayHit();
+        Collidable best = null;
+        double bestT = Double.POSITIVE_INFINITY;
+        for (Collidable c : stored) {
+            Rectangle r = c.getCollisionRectangle();
+            if (RayBox.sweepCircle(ox, oy, dx, dy, radius, r.getStartX(), r.getStartY(),
+                    r.getStartX() + r.getWidth(), r.getStartY() + r.getHeight(), 1.0, probe)
+                    && probe.getT() < bestT) {
+                bestT = probe.getT();
+                best = c;
+                out.set(probe);
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void onlyCellSizedAlignedCollidablesFit() {
+        BrickGrid grid = new BrickGrid(0, 0, 10, 5, 4, 4);
+        assertFalse(grid.insert(box(1, 0, 10, 5), 0));
+        assertFalse(grid.insert(box(0, 0, 20, 5), 0));
+        assertFalse(grid.insert(box(40, 0, 10, 5), 0));
+        Collidable c = box(10, 15, 10, 5);
+        assertTrue(grid.insert(c, 0));
+        assertFalse(grid.insert(box(10, 15, 10, 5), 1));
+        assertSame(c, grid.get(3, 1));
+
+        assertTrue(grid.remove(c));
+        assertNull(grid.get(3, 1));
+        assertFalse(grid.remove(c));
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    void walkMatchesBruteForceWithHoles() {
+        List<Collidable> stored = new ArrayList<>();
+        BrickGrid grid = level(60, 40, stored);
+        Random rng = new Random(3);
+        // punch holes so rays travel some distance before hitting
+        for (int i = 0; i < 1500; i++) {
+            Collidable c = stored.get(rng.nextInt(stored.size()));
+            if (grid.remove(c)) {
+                stored.remove(c);
+            }
+        }
+
+        RayHit a = new RayHit();
+        RayHit b = new RayHit();
+        RayHit probe = new RayHit();
+        for (int i = 0; i < 3000; i++) {
+            double ox = rng.nextDouble() * 700 - 50;
+            double oy = rng.nextDouble() * 300 - 50;
+            if (i % 5 == 0) {
+                ox = 3 + Math.round(ox / 10) * 10; // on a cell seam
+            }
+            double len = i % 2 == 0 ? 8 : 250;
+            double ang = rng.nextDouble() * Math.PI * 2;
+            double dx = Math.cos(ang) * len;
+            double dy = i % 9 == 0 ? 0 : Math.sin(ang) * len;
+            double radius = i % 4 == 0 ? 0 : 6;
+
+            Collidable expected = brute(stored, ox, oy, dx, dy, radius, a);
+            Collidable actual = grid.sweep(ox, oy, dx, dy, radius, b, probe);
+            assertSame(expected, actual, "query " + i);
+            if (expected != null) {
+                assertEquals(a.getT(), b.getT(), 0.0);
+                assertEquals(a.getNormalX(), b.getNormalX(), 0.0);
+                assertEquals(a.getNormalY(), b.getNormalY(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void raycastStopsAtFirstOccupiedCell() {
+        List<Collidable> stored = new ArrayList<>();
+        BrickGrid grid = level(200, 200, stored);
+        RayHit hit = new RayHit();
+        RayHit probe = new RayHit();
+
+        // straight down column 5 from above the grid
+        Collidable first = grid.raycast(58, 0, 0, 2000, hit, probe);
+        assertSame(grid.get(0, 5), first);
+        assertEquals(-1, hit.getNormalY(), 0.0);
+
+        // clearing the cell is all it takes for the ray to reach the next one
+        grid.remove(first);
+        assertSame(grid.get(1, 5), grid.raycast(58, 0, 0, 2000, hit, probe));
+        assertEquals(200 * 200 - 1, grid.size());
+    }
+}
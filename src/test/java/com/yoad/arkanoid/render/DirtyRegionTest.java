@@ -0,0 +1,39 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirtyRegionTest {
+
+    @Test
+    void marksGrowIntoOnePaddedBox() {
+        DirtyRegion d = new DirtyRegion();
+        assertTrue(d.isEmpty());
+        d.mark(new Rectangle(10, 20, 30, 40));
+        d.mark(100, 5, 10, 10);
+        assertFalse(d.isEmpty());
+        assertFalse(d.isAll());
+        assertEquals(10 - DirtyRegion.PAD, d.getMinX());
+        assertEquals(5 - DirtyRegion.PAD, d.getMinY());
+        assertEquals(110 + DirtyRegion.PAD, d.getMaxX());
+        assertEquals(60 + DirtyRegion.PAD, d.getMaxY());
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        DirtyRegion d = new DirtyRegion();
+        d.markAll();
+        assertTrue(d.isAll());
+        assertFalse(d.isEmpty());
+        d.clear();
+        assertTrue(d.isEmpty());
+        assertFalse(d.isAll());
+
+        // the next mark starts a new box rather than growing the old one
+        d.mark(50, 50, 1, 1);
+        assertEquals(50 - DirtyRegion.PAD, d.getMinX());
+        assertEquals(51 + DirtyRegion.PAD, d.getMaxY());
+    }
+}
@@ -0,0 +1,106 @@
+package com.yoad.arkanoid.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.text.Font;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingRendererTest {
+
+    /** Logs fills and filled rectangles; ignores the rest. */
+    private static final class Log implements Renderer {
+        final List<String> calls = new ArrayList<>();
+
+        @Override public void setFill(Paint p) { calls.add(p == Color.RED ? "red" : "blue"); }
+        @Override public void setStroke(Paint p) { }
+        @Override public void setLineWidth(double w) { }
+        @Override public void setGlobalAlpha(double a) { }
+        @Override public void setFont(Font f) { }
+        @Override public void setLineCap(StrokeLineCap cap) { }
+        @Override public void setLineJoin(StrokeLineJoin join) { }
+        @Override public void setLineDashes(double[] dashes) { }
+        @Override public void fillRect(double x, double y, double w, double h) { calls.add("rect " + (int) x); }
+        @Override public void fillRoundRect(double x, double y, double w, double h, double aw, double ah) { }
+        @Override public void strokeRoundRect(double x, double y, double w, double h, double aw, double ah) { }
+        @Override public void fillOval(double x, double y, double w, double h) { }
+        @Override public void strokeOval(double x, double y, double w, double h) { }
+        @Override public void strokeLine(double x1, double y1, double x2, double y2) { }
+        @Override public void fillPolygon(double[] xs, double[] ys, int n) { }
+        @Override public void strokePolygon(double[] xs, double[] ys, int n) { }
+        @Override public void fillText(String text, double x, double y) { }
+        @Override public void drawImage(Image img, double sx, double sy, double sw, double sh,
+                                        double dx, double dy, double dw, double dh) { }
+    }
+
+    private static void item(Renderer r, double x) {
+        r.nextItem();
+        r.setFill(Color.RED);
+        r.fillRect(x, 0, 1, 1);
+        r.setFill(Color.BLUE);
+        r.fillRect(x, 0, 1, 1);
+    }
+
+    @Test
+    void drawsOutsideABatchKeepTheirOrder() {
+        RecordingRenderer rec = new RecordingRenderer();
+        item(rec, 1);
+        item(rec, 2);
+        Log log = new Log();
+        rec.replay(log);
+        assertEquals(List.of("red", "rect 1", "blue", "rect 1", "red", "rect 2", "blue", "rect 2"), log.calls);
+        assertEquals(4, rec.getDrawCalls());
+        assertEquals(0, rec.size());
+    }
+
+    @Test
+    void batchedItemsShareStateButKeepTheirOwnOrder() {
+        RecordingRenderer rec = new RecordingRenderer();
+        rec.beginBatch();
+        item(rec, 1);
+        item(rec, 2);
+        item(rec, 3);
+        rec.endBatch();
+        Log log = new Log();
+        rec.replay(log);
+        assertEquals(List.of("red", "rect 1", "rect 2", "rect 3", "blue", "rect 1", "rect 2", "rect 3"), log.calls);
+        assertEquals(6, rec.getDrawCalls());
+    }
+
+    @Test
+    void onlyChangedStateIsSetAgain() {
+        RecordingRenderer rec = new RecordingRenderer();
+        item(rec, 1);
+        rec.replay(new Log());
+        int all = rec.getStateChanges(); // every setting for the first draw, then the fill
+
+        rec.setFill(Color.RED);
+        rec.fillRect(1, 0, 1, 1);
+        rec.fillRect(2, 0, 1, 1);
+        rec.replay(new Log());
+        assertEquals(all - 1, rec.getStateChanges());
+    }
+
+    @Test
+    void runningOutOfGroupsFailsInsteadOfReordering() {
+        RecordingRenderer rec = new RecordingRenderer();
+        assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 1 << 20; i++) {
+                rec.beginBatch();
+                rec.endBatch();
+            }
+        });
+        rec.clear(); // a new frame starts counting again
+        rec.beginBatch();
+        rec.endBatch();
+        rec.fillRect(0, 0, 1, 1);
+        assertEquals(1, rec.size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.config.GameConfig;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.ecs.Renderable;
+import com.yoad.arkanoid.sim.Simulation;
+import com.yoad.arkanoid.sprites.Ball;
+import com.yoad.arkanoid.sprites.BallSystem;
+import org.junit.jupiter.api.Test;
+
+import static com.yoad.arkanoid.game.Dimensions.WIDTH;
+import static com.yoad.arkanoid.game.Dimensions.sx;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderSnapshotTest {
+
+    private static final double DT = 1.0 / 120;
+
+    private static Simulation started() {
+        Simulation sim = new Simulation(new GameConfig(), 3);
+        sim.initialize();
+        sim.setInput(false, true);
+        for (int i = 0; i < 10; i++) {
+            sim.step(DT);
+        }
+        return sim;
+    }
+
+    private static int paddle(RenderSnapshot s) {
+        for (int i = 0; i < s.size(); i++) {
+            if (s.kind(i) == Renderable.Kind.PADDLE) {
+                return i;
+            }
+        }
+        throw new AssertionError("no paddle captured");
+    }
+
+    @Test
+    void movingEntitiesBlendFromTheirPositionsBeforeTheLastStep() {
+        Simulation sim = started();
+        Ball ball = sim.getBalls().get(0);
+        double bx = ball.getCenterX(), by = ball.getCenterY();
+        double px = sim.getPaddle().getCollisionRectangle().getStartX();
+
+        RenderSnapshot s = new RenderSnapshot();
+        s.capturePrevious(sim);
+        sim.step(DT);
+        s.capture(sim, 0);
+
+        assertEquals(bx, s.ballX(0, 0), 1e-9);
+        assertEquals(by, s.ballY(0, 0), 1e-9);
+        assertEquals(ball.getCenterX(), s.ballX(0, 1), 1e-9);
+        assertEquals((bx + ball.getCenterX()) / 2, s.ballX(0, 0.5), 1e-9);
+        int p = paddle(s);
+        assertEquals(px, s.x(p, 0), 1e-9);
+        assertEquals(s.x(p), s.x(p, 1), 1e-9);
+        assertNotEquals(s.x(p, 0), s.x(p, 1)); // it moved right
+
+        // the next capture without a look back doesn't blend
+        sim.step(DT);
+        s.capture(sim, 0);
+        assertEquals(s.ballX(0), s.ballX(0, 0), 1e-9);
+        assertEquals(s.x(p), s.x(p, 0), 1e-9);
+    }
+
+    @Test
+    void aPaddleWrappingAroundIsNeverDrawnInBetween() {
+        Simulation sim = started();
+        Rectangle box = sim.getPaddle().getCollisionRectangle();
+        box.moveTo(-sx(50) + 1, box.getStartY()); // one step left wraps it to the right edge
+        sim.setInput(true, false);
+
+        RenderSnapshot s = new RenderSnapshot();
+        s.capturePrevious(sim);
+        sim.step(DT);
+        s.capture(sim, 0);
+        s.stamp(0.0, DT);
+
+        int p = paddle(s);
+        assertTrue(s.x(p) > WIDTH / 2.0, "wrapped to the right");
+        long now = System.nanoTime();
+        for (int k = 0; k <= 10; k++) {
+            double t = s.alphaAt(now + (long) (k * DT / 10 * 1e9));
+            assertEquals(s.x(p), s.x(p, t), 1e-9);
+        }
+    }
+
+    @Test
+    void ballsAreMatchedAcrossASlotSwap() {
+        Simulation sim = started();
+        BallSystem balls = sim.getBallSystem();
+        balls.add(300, 400, 2, -3, 6, -1);
+        Ball last = balls.add(500, 400, -2, -3, 6, -1);
+
+        RenderSnapshot s = new RenderSnapshot();
+        s.capturePrevious(sim);
+        balls.remove(sim.getBalls().get(0)); // the last ball moves into slot 0
+        sim.step(DT);
+        s.capture(sim, 0);
+
+        assertSame(last, sim.getBalls().get(0));
+        assertEquals(500, s.ballX(0, 0), 1e-9);
+        assertEquals(last.getCenterX(), s.ballX(0, 1), 1e-9);
+    }
+
+    @Test
+    void alphaCountsOnFromTheStampAndStopsAtOne() {
+        RenderSnapshot s = new RenderSnapshot();
+        s.stamp(0.25, 1.0);
+        long now = System.nanoTime();
+        assertTrue(s.alphaAt(now) >= 0.25);
+        assertEquals(0.1, s.alphaAt(now + 100_000_000L) - s.alphaAt(now), 1e-6);
+        assertEquals(1.0, s.alphaAt(now + 1_000_000_000L));
+    }
+}
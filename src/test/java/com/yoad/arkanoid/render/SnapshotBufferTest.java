@@ -0,0 +1,72 @@
+package com.yoad.arkanoid.render;
+
+import com.yoad.arkanoid.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotBufferTest {
+
+    @Test
+    void readerGetsTheNewestPublishedSnapshot() {
+        SnapshotBuffer b = new SnapshotBuffer();
+        RenderSnapshot first = b.back();
+        b.publish();
+        assertSame(first, b.latest());
+        assertSame(first, b.latest()); // nothing new: the same one again
+
+        RenderSnapshot second = b.back();
+        assertNotSame(first, second);
+        b.publish();
+        RenderSnapshot third = b.back();
+        b.publish(); // second is skipped
+        assertSame(third, b.latest());
+    }
+
+    @Test
+    void writerNeverGetsTheReadersSnapshot() {
+        SnapshotBuffer b = new SnapshotBuffer();
+        for (int i = 0; i < 20; i++) {
+            b.publish();
+            if (i % 3 == 0) {
+                RenderSnapshot front = b.latest();
+                assertNotSame(front, b.back());
+            }
+        }
+        // while the reader holds on to one, the writer takes turns with the other two
+        RenderSnapshot front = b.latest();
+        Set<RenderSnapshot> written = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            written.add(b.back());
+            b.publish();
+        }
+        assertEquals(2, written.size());
+        assertFalse(written.contains(front));
+    }
+
+    @Test
+    void sceneryOfSkippedSnapshotsIsCarriedOver() {
+        SnapshotBuffer b = new SnapshotBuffer();
+        b.markScenery(new Rectangle(10, 10, 5, 5));
+        b.publish();
+        b.markScenery(new Rectangle(100, 10, 5, 5));
+        b.publish(); // the first is never taken
+
+        DirtyRegion d = b.latest().scenery();
+        assertEquals(10 - DirtyRegion.PAD, d.getMinX());
+        assertEquals(105 + DirtyRegion.PAD, d.getMaxX());
+        d.clear();
+
+        b.markScenery(new Rectangle(200, 10, 5, 5));
+        b.publish();
+        d = b.latest().scenery();
+        assertEquals(200 - DirtyRegion.PAD, d.getMinX()); // what was taken isn't repainted again
+        d.clear();
+
+        b.publish();
+        assertTrue(b.latest().scenery().isEmpty());
+    }
+}
@@ -0,0 +1,300 @@
+package com.yoad.arkanoid.sim;
+
+import com.yoad.arkanoid.config.GameConfig;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.game.Brick;
+import com.yoad.arkanoid.geometry.Fixed;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.powerups.PowerUpType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    @Test
+    void sameSeedPlaysTheSameGame() {
+        HeadlessRunner runner = new HeadlessRunner(new GameConfig());
+        Simulation a = runner.play(7);
+        Simulation b = runner.play(7);
+        assertTrue(a.isFinished() || a.time() >= HeadlessRunner.MAX_GAME_SECONDS - 1e-6);
+        assertEquals(a.steps(), b.steps());
+        assertEquals(a.getScoreCounter().getValue(), b.getScoreCounter().getValue());
+        assertEquals(a.getBlockCounter().getValue(), b.getBlockCounter().getValue());
+    }
+
+    @Test
+    void lookingAheadAutopilotClearsMoreBricks() {
+        GameConfig config = new GameConfig();
+        Simulation chaser = new HeadlessRunner(config).play(1);
+        Simulation predictor = new HeadlessRunner(config, true).play(1);
+        assertTrue(predictor.getScoreCounter().getValue() > chaser.getScoreCounter().getValue(),
+            predictor.getScoreCounter().getValue() + " vs " + chaser.getScoreCounter().getValue());
+    }
+
+    @Test
+    void parallelPhysicsMatchesSerialExactly() {
+        Simulation serial = crowd(false, false);
+        Simulation parallel = crowd(true, false);
+        for (int i = 0; i < 240 && !serial.isFinished(); i++) {
+            serial.step(1.0 / 120);
+            parallel.step(1.0 / 120);
+            assertEquals(serial.getScoreCounter().getValue(), parallel.getScoreCounter().getValue());
+            assertEquals(serial.getBallCounter().getValue(), parallel.getBallCounter().getValue());
+        }
+        assertTrue(serial.getScoreCounter().getValue() > 0);
+        assertSameState(serial, parallel);
+    }
+
+    @Test
+    void eventPhysicsMatchesSerialExactly() {
+        Simulation serial = crowd(false, false);
+        Simulation events = crowd(false, true);
+        for (int i = 0; i < 1200 && !serial.isFinished(); i++) {
+            // keep the paddle moving so balls meet it at all sorts of offsets
+            boolean left = (i / 90) % 2 == 0;
+            serial.setInput(left, !left);
+            events.setInput(left, !left);
+            serial.step(1.0 / 120);
+            events.step(1.0 / 120);
+            assertEquals(serial.getScoreCounter().getValue(), events.getScoreCounter().getValue());
+            assertEquals(serial.getBallCounter().getValue(), events.getBallCounter().getValue());
+        }
+        assertTrue(serial.getScoreCounter().getValue() > 0);
+        assertSameState(serial, events);
+    }
+
+    @Test
+    void ballCollisionsPlayTheSameInEveryMode() {
+        Simulation serial = crowd(bouncing(false, false));
+        Simulation parallel = crowd(bouncing(true, false));
+        Simulation events = crowd(bouncing(false, true));
+        for (int i = 0; i < 600 && !serial.isFinished(); i++) {
+            boolean left = (i / 90) % 2 == 0;
+            for (Simulation sim : new Simulation[] {serial, parallel, events}) {
+                sim.setInput(left, !left);
+                sim.step(1.0 / 120);
+            }
+        }
+        assertTrue(serial.getScoreCounter().getValue() > 0);
+        assertSameState(serial, parallel);
+        assertSameState(serial, events);
+    }
+
+    private static GameConfig bouncing(boolean parallel, boolean events) {
+        GameConfig config = new GameConfig();
+        config.setBallCollisions(true);
+        config.setParallelPhysics(parallel);
+        config.setEventPhysics(events);
+        return config;
+    }
+
+    @Test
+    void movingBricksMoveAndPlayTheSameInEveryMode() {
+        Simulation serial = crowd(moving(false, false, World.Broadphase.SPATIAL_HASH));
+        Simulation linear = crowd(moving(false, false, World.Broadphase.LINEAR));
+        Simulation parallel = crowd(moving(true, false, World.Broadphase.BATCH));
+        Simulation events = crowd(moving(false, true, World.Broadphase.SPATIAL_HASH));
+        var first = serial.getBricks().get(0).getCollisionRectangle();
+        int startX = first.getStartX();
+        int startY = first.getStartY();
+        boolean moved = false;
+        for (int i = 0; i < 600 && !serial.isFinished(); i++) {
+            boolean left = (i / 90) % 2 == 0;
+            for (Simulation sim : new Simulation[] {serial, linear, parallel, events}) {
+                sim.setInput(left, !left);
+                sim.step(1.0 / 120);
+            }
+            moved |= first.getStartX() != startX || first.getStartY() != startY;
+        }
+        assertTrue(moved);
+        assertTrue(serial.getScoreCounter().getValue() > 0);
+        assertSameState(serial, linear);
+        assertSameState(serial, parallel);
+        assertSameState(serial, events);
+    }
+
+    private static GameConfig moving(boolean parallel, boolean events, World.Broadphase broadphase) {
+        GameConfig config = new GameConfig();
+        config.setMovingBricks(true);
+        config.setParallelPhysics(parallel);
+        config.setEventPhysics(events);
+        config.setBroadphase(broadphase);
+        return config;
+    }
+
+    @Test
+    void bumpersPlayTheSameInEveryMode() {
+        Simulation serial = crowd(withBumpers(false, false, World.Broadphase.SPATIAL_HASH));
+        Simulation linear = crowd(withBumpers(false, false, World.Broadphase.LINEAR));
+        Simulation parallel = crowd(withBumpers(true, false, World.Broadphase.BATCH));
+        Simulation events = crowd(withBumpers(false, true, World.Broadphase.SPATIAL_HASH));
+        for (int i = 0; i < 600 && !serial.isFinished(); i++) {
+            boolean left = (i / 90) % 2 == 0;
+            for (Simulation sim : new Simulation[] {serial, linear, parallel, events}) {
+                sim.setInput(left, !left);
+                sim.step(1.0 / 120);
+            }
+        }
+        assertTrue(serial.getScoreCounter().getValue() > 0);
+        assertSameState(serial, linear);
+        assertSameState(serial, parallel);
+        assertSameState(serial, events);
+    }
+
+    private static GameConfig withBumpers(boolean parallel, boolean events, World.Broadphase broadphase) {
+        GameConfig config = new GameConfig();
+        config.setBumpers(true);
+        config.setParallelPhysics(parallel);
+        config.setEventPhysics(events);
+        config.setBroadphase(broadphase);
+        return config;
+    }
+
+    @Test
+    void fixedPointGamesAreBitIdenticalAndStayOnTheGrid() {
+        Simulation a = crowd(fixedPoint());
+        Simulation b = crowd(fixedPoint());
+        for (int i = 0; i < 1200 && !a.isFinished(); i++) {
+            boolean left = (i / 90) % 2 == 0;
+            a.setInput(left, !left);
+            b.setInput(left, !left);
+            a.step(1.0 / 120);
+            b.step(1.0 / 120);
+        }
+        assertTrue(a.getScoreCounter().getValue() > 0);
+        assertEquals(a.getScoreCounter().getValue(), b.getScoreCounter().getValue());
+        assertSameState(a, b);
+        for (var ball : a.getBalls()) {
+            assertEquals(Fixed.snap(ball.getCenterX()), ball.getCenterX(), 0.0);
+            assertEquals(Fixed.snap(ball.getDy()), ball.getDy(), 0.0);
+        }
+    }
+
+    private static GameConfig fixedPoint() {
+        GameConfig config = new GameConfig();
+        config.setFixedPointPhysics(true);
+        return config;
+    }
+
+    private static void assertSameState(Simulation expected, Simulation actual) {
+        assertEquals(expected.isFinished(), actual.isFinished());
+        assertEquals(expected.getBlockCounter().getValue(), actual.getBlockCounter().getValue());
+        assertEquals(expected.getBalls().size(), actual.getBalls().size());
+        for (int i = 0; i < expected.getBalls().size(); i++) {
+            var a = expected.getBalls().get(i);
+            var b = actual.getBalls().get(i);
+            assertEquals(a.getCenterX(), b.getCenterX(), 0.0);
+            assertEquals(a.getCenterY(), b.getCenterY(), 0.0);
+            assertEquals(a.getDx(), b.getDx(), 0.0);
+            assertEquals(a.getArgb(), b.getArgb());
+        }
+    }
+
+    /** A seeded game with a thousand extra balls spread over the field. */
+    private static Simulation crowd(boolean parallel, boolean events) {
+        GameConfig config = new GameConfig();
+        config.setParallelPhysics(parallel);
+        config.setEventPhysics(events);
+        return crowd(config);
+    }
+
+    private static Simulation crowd(GameConfig config) {
+        config.setChaos(true);
+        Simulation sim = new Simulation(config, 11);
+        sim.initialize();
+        for (int i = 0; i < 1000; i++) {
+            double angle = i * 0.7;
+            sim.getBallSystem().add(60 + (i * 37) % 880, 420 + (i * 13) % 280,
+                4 * Math.cos(angle), -2 - 2 * Math.abs(Math.sin(angle)), 6, -1);
+        }
+        sim.getBallCounter().increase(1000);
+        return sim;
+    }
+
+    @Test
+    void brickHitsScoreAndRaiseCues() {
+        GameConfig config = new GameConfig();
+        Simulation sim = new Simulation(config, 3);
+        List<SoundCue> cues = new ArrayList<>();
+        sim.setSoundPlayer(cues::add);
+        sim.initialize();
+        int bricks = sim.getBlockCounter().getValue();
+        double dt = 1.0 / config.simulationHz();
+        while (!sim.isFinished() && sim.getBlockCounter().getValue() == bricks) {
+            HeadlessRunner.steer(sim);
+            sim.step(dt);
+        }
+        assertEquals(bricks - 1, sim.getBlockCounter().getValue());
+        assertEquals(5, sim.getScoreCounter().getValue());
+        assertEquals(SoundCue.BRICK, cues.get(0));
+    }
+
+    @Test
+    void hitFlashLastsInSimulationTime() {
+        GameConfig config = new GameConfig();
+        Simulation sim = new Simulation(config, 3);
+        sim.initialize();
+        double dt = 1.0 / config.simulationHz();
+        Brick lit = null;
+        while (lit == null && !sim.isFinished()) {
+            HeadlessRunner.steer(sim);
+            sim.step(dt);
+            for (Brick b : sim.getBricks()) {
+                if (b.isFlashing()) {
+                    lit = b;
+                }
+            }
+        }
+        assertNotNull(lit);
+        // however long the wall clock takes, the flash ends with simulated time
+        sim.step(Brick.FLASH_SECONDS);
+        assertFalse(lit.isFlashing());
+    }
+
+    @Test
+    void sceneryChangesAreReportedWithTheBrickBox() {
+        GameConfig config = new GameConfig();
+        Simulation sim = new Simulation(config, 3);
+        List<Rectangle> areas = new ArrayList<>();
+        sim.setSceneryListener(areas::add);
+        sim.initialize();
+        List<Brick> before = new ArrayList<>(sim.getBricks());
+        int bricks = sim.getBlockCounter().getValue();
+        double dt = 1.0 / config.simulationHz();
+        while (!sim.isFinished() && sim.getBlockCounter().getValue() == bricks) {
+            HeadlessRunner.steer(sim);
+            sim.step(dt);
+            // paddle hits flash too, but the paddle isn't scenery
+            if (sim.getBlockCounter().getValue() == bricks) {
+                assertTrue(areas.isEmpty());
+            }
+        }
+        before.removeAll(sim.getBricks());
+        assertEquals(1, before.size());
+        assertFalse(areas.isEmpty());
+        for (Rectangle r : areas) {
+            assertSame(before.get(0).getCollisionRectangle(), r);
+        }
+    }
+
+    @Test
+    void timedEffectsRunOnSimulationTime() {
+        Simulation sim = new Simulation(new GameConfig(), 1);
+        sim.initialize();
+        int width = sim.getPaddle().getCollisionRectangle().getWidth();
+        var r = sim.getPaddle().getCollisionRectangle();
+        sim.spawnPowerUp(r.getStartX() + r.getWidth() / 2.0, r.getStartY(), PowerUpType.EXPAND_PADDLE);
+        sim.step(0.01);
+        assertTrue(sim.getPowerUps().isEmpty());
+        assertTrue(sim.getPaddle().getCollisionRectangle().getWidth() > width);
+        assertEquals(sim.time() + 12.0, sim.getEffectExpiry().get(PowerUpType.EXPAND_PADDLE), 0.011);
+
+        sim.step(12.0);
+        assertFalse(sim.getEffectExpiry().containsKey(PowerUpType.EXPAND_PADDLE));
+        assertEquals(width, sim.getPaddle().getCollisionRectangle().getWidth());
+    }
+}
@@ -0,0 +1,257 @@
+package com.yoad.arkanoid.sprites;
+
+import com.yoad.arkanoid.game.SimulationClock;
+import com.yoad.arkanoid.game.World;
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import com.yoad.arkanoid.physics.Collidable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BallSystemTest {
+
+    @Test
+    void swapRemoveKeepsHandlesPointingAtTheirBalls() {
+        BallSystem sys = new BallSystem(new World(), 2);
+        Ball a = sys.add(1, 1, 0, 0, 3, 0xff000001);
+        Ball b = sys.add(2, 2, 0, 0, 3, 0xff000002);
+        Ball c = sys.add(3, 3, 0, 0, 3, 0xff000003);
+
+        sys.remove(a);
+        assertEquals(2, sys.size());
+        assertEquals(3, c.getX());
+        assertEquals(0xff000003, c.getArgb());
+        assertEquals(2, b.getX());
+        // the removed handle keeps its last state
+        assertEquals(1, a.getX());
+        assertFalse(sys.handles().contains(a));
+    }
+
+    @Test
+    void spawnedBallsGetAHandleWhenAskedAndKeepTheirIds() {
+        BallSystem sys = new BallSystem(new World(), 2);
+        sys.spawn(1, 1, 0, 0, 3, -1);
+        sys.spawn(2, 2, 0, 0, 3, -1);
+        sys.spawn(3, 3, 0, 0, 3, -1);
+        long lastId = sys.id(2);
+        assertEquals(3, sys.size());
+        assertEquals(2, sys.x(1));
+
+        Ball first = sys.handle(0);
+        assertSame(first, sys.handles().get(0));
+        sys.remove(first);
+        assertEquals(lastId, sys.id(0)); // the last ball moved into the freed slot
+        assertEquals(3, sys.handle(0).getX());
+        assertNotEquals(sys.id(0), sys.id(1));
+
+        // out of play, the handle keeps its state; putting it back gives it a new slot
+        first.setVelocity(1, 0);
+        first.timePassed(1.0);
+        assertEquals(1, first.getX());
+        sys.add(first);
+        assertEquals(3, sys.size());
+        assertSame(first, sys.handles().get(2));
+        assertEquals(1, sys.vx(2));
+    }
+
+    @Test
+    void trailsKeepTheNewestPointsAndFollowSwappedBalls() {
+        BallSystem sys = new BallSystem(new World(), 1);
+        sys.setTrailLength(3);
+        Ball a = sys.add(0, 0, 1, 0, 3, -1);
+        Ball b = sys.add(100, 0, 0, 1, 3, -1);
+        for (int i = 0; i < 5; i++) {
+            sys.recordTrails();
+            sys.step(1.0 / SimulationClock.REFERENCE_HZ);
+        }
+        TrailBuffer trails = sys.getTrails();
+        assertEquals(3, trails.count(1));
+        // newest first: positions before steps 4, 3, 2
+        assertEquals(4, trails.y(1, 0), 1e-9);
+        assertEquals(3, trails.y(1, 1), 1e-9);
+        assertEquals(2, trails.y(1, 2), 1e-9);
+
+        sys.remove(a);
+        assertEquals(0, sys.handles().indexOf(b));
+        assertEquals(3, trails.count(0));
+        assertEquals(100, trails.x(0, 0), 1e-9);
+        assertEquals(4, trails.y(0, 0), 1e-9);
+
+        // a new ball starts with no trail
+        sys.add(5, 5, 0, 0, 3, -1);
+        assertEquals(0, trails.count(1));
+    }
+
+    @Test
+    void stepMatchesSingleBallMotion() {
+        World world = new World();
+        world.addCollidable(wall(new Rectangle(new Point(0, 100), 200, 10)));
+        BallSystem sys = new BallSystem(world);
+        Ball many = sys.add(50, 50, 3, 4, 5, -1);
+        Ball one = new Ball(new Point(50, 50), 5, java.awt.Color.WHITE, world);
+        one.setVelocity(3, 4);
+        for (int i = 0; i < 40; i++) {
+            sys.step(1.0 / 60);
+            one.timePassed(1.0 / 60);
+        }
+        assertEquals(one.getCenterX(), many.getCenterX(), 1e-9);
+        assertEquals(one.getCenterY(), many.getCenterY(), 1e-9);
+        assertTrue(many.getDy() < 0, "bounced off the floor");
+    }
+
+    @Test
+    void ballsRemovedMidStepAreCompactedAfterIt() {
+        World world = new World();
+        BallSystem sys = new BallSystem(world);
+        world.addCollidable(new Collidable() {
+            private final Rectangle r = new Rectangle(new Point(0, 100), 1000, 10);
+            @Override public Rectangle getCollisionRectangle() { return r; }
+            @Override public Velocity hit(Ball hitter, Point p, Velocity v) {
+                assertEquals(3, sys.size(), "no compaction while stepping");
+                sys.remove(hitter);
+                return v;
+            }
+        });
+        Ball falling = sys.add(10, 95, 0, 5, 2, -1);
+        Ball safe1 = sys.add(20, 10, 0, 1, 2, -1);
+        Ball safe2 = sys.add(30, 10, 0, 1, 2, -1);
+        sys.step(1.0 / 60);
+        assertEquals(2, sys.size());
+        assertTrue(sys.handles().contains(safe1));
+        assertTrue(sys.handles().contains(safe2));
+        assertFalse(sys.handles().contains(falling));
+        assertEquals(11, safe1.getY());
+        assertEquals(11, safe2.getY());
+    }
+
+    @Test
+    void aBallTakenOutOfPlayStopsResolvingContacts() {
+        // a ball that falls into a block whose listener removes it must reach it only once, even
+        // with most of the step still to travel; a second hit would count the ball lost twice
+        for (boolean fixedPoint : new boolean[] {false, true}) {
+            World world = new World();
+            BallSystem sys = new BallSystem(world);
+            sys.setFixedPoint(fixedPoint);
+            int[] hits = new int[1];
+            world.addCollidable(new Collidable() {
+                private final Rectangle r = new Rectangle(new Point(0, 100), 1000, 10);
+                @Override public Rectangle getCollisionRectangle() { return r; }
+                @Override public Velocity hit(Ball hitter, Point p, Velocity v) {
+                    hits[0]++;
+                    sys.remove(hitter);
+                    return v; // like the death block: no bounce, the ball just leaves play
+                }
+            });
+            String mode = fixedPoint ? "fixed point" : "double";
+            sys.add(10, 90, 0, 12, 2, -1).timePassed(1.0 / 60);
+            assertEquals(1, hits[0], mode);
+            sys.add(10, 90, 0, 12, 2, -1);
+            sys.step(1.0 / 60);
+            assertEquals(2, hits[0], mode);
+            assertEquals(0, sys.size());
+        }
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        BallSystem sys = new BallSystem(new World(), 1);
+        for (int i = 0; i < 10_000; i++) {
+            sys.add(i, 0, 0, 0, 1, -1);
+        }
+        assertEquals(10_000, sys.size());
+        assertEquals(9_999, sys.handles().get(9_999).getX());
+    }
+
+    @Test
+    void equalBallsMeetingHeadOnSwapVelocities() {
+        BallSystem sys = new BallSystem(new World());
+        Ball a = sys.add(100, 100, 2, 0, 5, -1);
+        Ball b = sys.add(121, 100, -2, 0, 5, -1);
+        for (int i = 0; i < 10; i++) {
+            sys.step(1.0 / 60);
+        }
+        // passing through each other without the feature
+        assertTrue(a.getCenterX() > b.getCenterX());
+
+        sys = new BallSystem(new World());
+        sys.setBallCollisions(true);
+        a = sys.add(100, 100, 2, 0, 5, -1);
+        b = sys.add(121, 100, -2, 0, 5, -1);
+        for (int i = 0; i < 10; i++) {
+            sys.step(1.0 / 60);
+        }
+        assertEquals(-2, a.getDx(), 1e-12);
+        assertEquals(2, b.getDx(), 1e-12);
+        assertTrue(b.getCenterX() - a.getCenterX() >= 10 - 1e-9, "pushed apart");
+    }
+
+    @Test
+    void biggerBallIsDeflectedLess() {
+        BallSystem sys = new BallSystem(new World());
+        sys.setBallCollisions(true);
+        Ball big = sys.add(100, 100, 1, 0, 10, -1);
+        Ball small = sys.add(113, 100, -1, 0, 5, -1);
+        sys.step(1.0 / 60);
+        assertTrue(big.getDx() > -1 && big.getDx() < 1);
+        assertTrue(small.getDx() > 1);
+        // momentum, with mass going with area, is kept
+        assertEquals(100 * 1 + 25 * -1, 100 * big.getDx() + 25 * small.getDx(), 1e-9);
+    }
+
+    @Test
+    void hashFindsEveryPairWithinACell() {
+        java.util.Random rng = new java.util.Random(9);
+        int n = 3000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        boolean[] removed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rng.nextDouble() * 600 - 100; // some negative cells too
+            y[i] = rng.nextDouble() * 400;
+            removed[i] = i % 10 == 0;
+        }
+        double cell = 12;
+        BallHash hash = new BallHash();
+        hash.build(x, y, removed, n, cell);
+
+        java.util.Set<Long> found = new java.util.HashSet<>();
+        for (int i = 0; i < n; i++) {
+            if (removed[i]) {
+                continue;
+            }
+            for (int cy = hash.cellY(i) - 1; cy <= hash.cellY(i) + 1; cy++) {
+                for (int cx = hash.cellX(i) - 1; cx <= hash.cellX(i) + 1; cx++) {
+                    int b = hash.bucket(cx, cy);
+                    for (int k = hash.start(b); k < hash.end(b); k++) {
+                        int j = hash.slot(k);
+                        if (j > i && hash.cellX(j) == cx && hash.cellY(j) == cy) {
+                            assertTrue(found.add((long) i * n + j), "pair reported twice");
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                boolean close = Math.hypot(x[j] - x[i], y[j] - y[i]) < cell;
+                if (close && !removed[i] && !removed[j]) {
+                    assertTrue(found.contains((long) i * n + j), "missed " + i + "," + j);
+                }
+                if (removed[i] || removed[j]) {
+                    assertFalse(found.contains((long) i * n + j));
+                }
+            }
+        }
+    }
+
+    private static Collidable wall(Rectangle r) {
+        return new Collidable() {
+            @Override public Rectangle getCollisionRectangle() { return r; }
+            @Override public Velocity hit(Ball hitter, Point p, Velocity v) {
+                return new Velocity(v.getDx(), -v.getDy());
+            }
+        };
+    }
+}
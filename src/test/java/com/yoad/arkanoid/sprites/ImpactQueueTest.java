@@ -0,0 +1,62 @@
+package com.yoad.arkanoid.sprites;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImpactQueueTest {
+
+    @Test
+    void pollsInDueOrderAfterUpdatesAndRemovals() {
+        ImpactQueue q = new ImpactQueue();
+        Random rng = new Random(9);
+        double[] due = new double[100];
+        for (int i = 0; i < due.length; i++) {
+            due[i] = rng.nextDouble();
+            q.update(i, due[i]);
+        }
+        for (int i = 0; i < due.length; i += 3) {
+            due[i] = rng.nextDouble();
+            q.update(i, due[i]);
+        }
+        q.remove(10);
+        due[10] = Double.NaN;
+
+        List<Integer> order = new ArrayList<>();
+        double last = Double.NEGATIVE_INFINITY;
+        while (q.size() > 0) {
+            double k = q.peekKey();
+            int slot = q.poll();
+            assertEquals(due[slot], k, 0.0);
+            assertTrue(k >= last);
+            last = k;
+            order.add(slot);
+        }
+        assertEquals(99, order.size());
+        assertFalse(order.contains(10));
+    }
+
+    @Test
+    void renameFollowsSwappedSlot() {
+        ImpactQueue q = new ImpactQueue();
+        q.update(0, 5.0);
+        q.update(1, 2.0);
+        q.update(7, 3.0);
+
+        // slot 1 is freed and the ball in slot 7 moves into it
+        q.remove(1);
+        q.rename(7, 1);
+        assertFalse(q.contains(7));
+        assertEquals(3.0, q.peekKey(), 0.0);
+        assertEquals(1, q.poll());
+
+        q.expireAll();
+        assertEquals(Double.NEGATIVE_INFINITY, q.peekKey(), 0.0);
+        assertEquals(0, q.poll());
+        assertEquals(0, q.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.yoad.arkanoid.sprites;
+
+import com.yoad.arkanoid.geometry.Point;
+import com.yoad.arkanoid.geometry.Rectangle;
+import com.yoad.arkanoid.geometry.Velocity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaddleTest {
+
+    private final Paddle paddle = new Paddle(new Rectangle(new Point(100, 500), 100, 12));
+    private final Velocity falling = new Velocity(2, 4);
+
+    private Velocity bounceAt(double x) {
+        return paddle.hit(null, new Point(x, 500), falling);
+    }
+
+    @Test
+    void everyTopRegionSendsTheBallUp() {
+        for (double x = 100; x <= 200; x += 5) {
+            assertTrue(bounceAt(x).getDy() < 0, "region at x=" + x);
+        }
+    }
+
+    @Test
+    void outerRegionsSteerTowardTheirSide() {
+        assertTrue(bounceAt(105).getDx() < 0);
+        assertTrue(bounceAt(135).getDx() < 0);
+        assertTrue(bounceAt(165).getDx() > 0);
+        assertTrue(bounceAt(195).getDx() > 0);
+        // edges are shallower than the middle-side regions
+        assertTrue(Math.abs(bounceAt(105).getDy()) < Math.abs(bounceAt(135).getDy()));
+    }
+
+    @Test
+    void bounceKeepsSpeed() {
+        double speed = Math.hypot(falling.getDx(), falling.getDy());
+        for (double x : new double[] {105, 135, 150, 165, 195}) {
+            Velocity v = bounceAt(x);
+            assertEquals(speed, Math.hypot(v.getDx(), v.getDy()), 1e-9);
+        }
+    }
+}